@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.client.api;
+
+import org.projectnessie.model.Reference;
+import org.projectnessie.model.ReferenceChangesRequest.Change;
+import org.projectnessie.model.ReferenceChangesResponse;
+
+/**
+ * Request builder to create, assign and delete multiple branches and tags with a single request.
+ *
+ * @since {@link NessieApiV2}
+ */
+public interface ChangeReferencesBuilder {
+
+  /** Adds a change, see the factory methods of {@link Change}. */
+  ChangeReferencesBuilder change(Change change);
+
+  /**
+   * Adds the creation of {@code reference}, pointing to {@code target} or, if {@code target} is
+   * {@code null}, to the "beginning of time".
+   */
+  default ChangeReferencesBuilder createReference(Reference reference, Reference target) {
+    return change(Change.createReference(reference, target));
+  }
+
+  /** Adds the assignment of {@code reference}, which is expected at its hash, to {@code target}. */
+  default ChangeReferencesBuilder assignReference(Reference reference, Reference target) {
+    return change(Change.assignReference(reference, target));
+  }
+
+  /** Adds the deletion of {@code reference}, which is expected at its hash. */
+  default ChangeReferencesBuilder deleteReference(Reference reference) {
+    return change(Change.deleteReference(reference));
+  }
+
+  /**
+   * Applies the changes and returns the outcome of each change. Failures of individual changes are
+   * reported in the response and are not thrown.
+   */
+  ReferenceChangesResponse apply();
+}
@@ -117,4 +117,12 @@ public interface NessieApiV2 extends NessieApiV1 {
    * configuration.
    */
   ReferenceHistoryBuilder referenceHistory();
+
+  /**
+   * Create, assign and delete multiple branches and tags with a single request.
+   *
+   * <p>Each change is validated and applied individually, the outcome of each change is reported
+   * in the response.
+   */
+  ChangeReferencesBuilder changeReferences();
 }
@@ -19,6 +19,7 @@ import java.util.Optional;
 import org.projectnessie.client.api.AssignBranchBuilder;
 import org.projectnessie.client.api.AssignReferenceBuilder;
 import org.projectnessie.client.api.AssignTagBuilder;
+import org.projectnessie.client.api.ChangeReferencesBuilder;
 import org.projectnessie.client.api.CommitMultipleOperationsBuilder;
 import org.projectnessie.client.api.CreateReferenceBuilder;
 import org.projectnessie.client.api.DeleteBranchBuilder;
@@ -103,6 +104,11 @@ public class HttpApiV2 implements NessieApiV2 {
     return new HttpReferenceHistory(client);
   }
 
+  @Override
+  public ChangeReferencesBuilder changeReferences() {
+    return new HttpChangeReferences(client);
+  }
+
   @Override
   public GetEntriesBuilder getEntries() {
     return new HttpGetEntries(client);
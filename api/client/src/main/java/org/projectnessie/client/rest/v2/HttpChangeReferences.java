@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.client.rest.v2;
+
+import org.projectnessie.client.api.ChangeReferencesBuilder;
+import org.projectnessie.client.http.HttpClient;
+import org.projectnessie.model.ImmutableReferenceChangesRequest;
+import org.projectnessie.model.ReferenceChangesRequest;
+import org.projectnessie.model.ReferenceChangesRequest.Change;
+import org.projectnessie.model.ReferenceChangesResponse;
+
+final class HttpChangeReferences implements ChangeReferencesBuilder {
+  private final HttpClient client;
+  private final ImmutableReferenceChangesRequest.Builder request =
+      ReferenceChangesRequest.builder();
+
+  HttpChangeReferences(HttpClient client) {
+    this.client = client;
+  }
+
+  @Override
+  public ChangeReferencesBuilder change(Change change) {
+    request.addChanges(change);
+    return this;
+  }
+
+  @Override
+  public ReferenceChangesResponse apply() {
+    return client
+        .newRequest()
+        .path("trees/bulk/references")
+        .post(request.build())
+        .readEntity(ReferenceChangesResponse.class);
+  }
+}
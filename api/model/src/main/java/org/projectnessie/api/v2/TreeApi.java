@@ -42,6 +42,8 @@ import org.projectnessie.model.LogResponse;
 import org.projectnessie.model.MergeResponse;
 import org.projectnessie.model.Operations;
 import org.projectnessie.model.Reference;
+import org.projectnessie.model.ReferenceChangesRequest;
+import org.projectnessie.model.ReferenceChangesResponse;
 import org.projectnessie.model.ReferenceHistoryResponse;
 import org.projectnessie.model.ReferencesResponse;
 import org.projectnessie.model.SingleReferenceResponse;
@@ -255,6 +257,18 @@ public interface TreeApi {
           String reference)
       throws NessieConflictException, NessieNotFoundException;
 
+  /**
+   * Create, assign and delete multiple branches and tags.
+   *
+   * <p>Each change is validated and applied individually, like {@link #createReference(String,
+   * String, Reference)}, {@link #assignReference(String, String, Reference)} and {@link
+   * #deleteReference(String, String)}. The outcome of each change is reported in the response, a
+   * failed change does not fail the whole request. Each reference name must appear at most once.
+   */
+  ReferenceChangesResponse changeReferences(
+      @Valid @jakarta.validation.Valid @NotNull @jakarta.validation.constraints.NotNull
+          ReferenceChangesRequest request);
+
   /** Cherry-pick a set of commits into a branch. */
   MergeResponse transplantCommitsIntoBranch(
       @Valid
@@ -71,6 +71,8 @@ import org.projectnessie.model.LogResponse;
 import org.projectnessie.model.MergeResponse;
 import org.projectnessie.model.Operations;
 import org.projectnessie.model.Reference;
+import org.projectnessie.model.ReferenceChangesRequest;
+import org.projectnessie.model.ReferenceChangesResponse;
 import org.projectnessie.model.ReferenceHistoryResponse;
 import org.projectnessie.model.ReferencesResponse;
 import org.projectnessie.model.SingleReferenceResponse;
@@ -546,6 +548,42 @@ public interface HttpTreeApi extends TreeApi {
           String ref)
       throws NessieConflictException, NessieNotFoundException;
 
+  @Override
+  @POST
+  @jakarta.ws.rs.POST
+  @Produces(MediaType.APPLICATION_JSON)
+  @jakarta.ws.rs.Produces(jakarta.ws.rs.core.MediaType.APPLICATION_JSON)
+  @Consumes(MediaType.APPLICATION_JSON)
+  @jakarta.ws.rs.Consumes(jakarta.ws.rs.core.MediaType.APPLICATION_JSON)
+  @Path("bulk/references")
+  @jakarta.ws.rs.Path("bulk/references")
+  @Operation(
+      summary = "Create, assign and delete multiple references",
+      description =
+          "Creates, assigns and deletes the branches and tags given in the JSON payload. Each change "
+              + "is validated and applied individually, the response contains the outcome of each "
+              + "change in the same order as the requested changes. A failed change does not fail "
+              + "the whole request.\n"
+              + "\n"
+              + "Each reference name must appear at most once in a request.",
+      operationId = "changeReferencesV2")
+  @APIResponses({
+    @APIResponse(
+        responseCode = "200",
+        description = "Changes processed, see the individual results.",
+        content = {
+          @Content(
+              mediaType = MediaType.APPLICATION_JSON,
+              schema = @Schema(implementation = ReferenceChangesResponse.class))
+        }),
+    @APIResponse(responseCode = "400", description = "Invalid input"),
+    @APIResponse(responseCode = "401", description = "Invalid credentials provided"),
+  })
+  @JsonView(Views.V2.class)
+  ReferenceChangesResponse changeReferences(
+      @RequestBody(description = "The reference changes to apply.")
+          ReferenceChangesRequest request);
+
   @Override
   @GET
   @jakarta.ws.rs.GET
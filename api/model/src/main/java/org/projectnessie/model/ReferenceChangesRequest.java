@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.util.List;
+import javax.annotation.Nullable;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.immutables.value.Value;
+import org.projectnessie.model.Reference.ReferenceType;
+
+/** Request to create, assign and delete multiple branches and tags at once. */
+@Schema(type = SchemaType.OBJECT, title = "ReferenceChangesRequest")
+@Value.Immutable
+@JsonSerialize(as = ImmutableReferenceChangesRequest.class)
+@JsonDeserialize(as = ImmutableReferenceChangesRequest.class)
+public interface ReferenceChangesRequest {
+
+  @NotNull
+  @jakarta.validation.constraints.NotNull
+  @Size(min = 1)
+  @jakarta.validation.constraints.Size(min = 1)
+  List<Change> getChanges();
+
+  static ImmutableReferenceChangesRequest.Builder builder() {
+    return ImmutableReferenceChangesRequest.builder();
+  }
+
+  enum ChangeKind {
+    CREATE,
+    ASSIGN,
+    DELETE
+  }
+
+  /** A single create, assign or delete operation. */
+  @Schema(type = SchemaType.OBJECT, title = "ReferenceChange")
+  @Value.Immutable
+  @JsonSerialize(as = ImmutableChange.class)
+  @JsonDeserialize(as = ImmutableChange.class)
+  interface Change {
+
+    @NotNull
+    @jakarta.validation.constraints.NotNull
+    ChangeKind getKind();
+
+    /**
+     * Type of the reference. Required to create a reference, validated against the existing
+     * reference when present for assign and delete operations.
+     */
+    @JsonInclude(Include.NON_NULL)
+    @Nullable
+    @jakarta.annotation.Nullable
+    ReferenceType getType();
+
+    /** Name of the reference to create, assign or delete. */
+    @NotNull
+    @jakarta.validation.constraints.NotNull
+    String getName();
+
+    /**
+     * The expected current HEAD of the reference to assign or delete. If absent, the operation is
+     * performed on the current HEAD of the reference.
+     */
+    @JsonInclude(Include.NON_NULL)
+    @Nullable
+    @jakarta.annotation.Nullable
+    String getExpectedHash();
+
+    /**
+     * The reference, optionally with a hash, the reference shall point to, required to assign a
+     * reference. If absent for a create operation, the reference points to the "beginning of
+     * time".
+     */
+    @JsonInclude(Include.NON_NULL)
+    @Nullable
+    @jakarta.annotation.Nullable
+    Reference getTarget();
+
+    static ImmutableChange.Builder builder() {
+      return ImmutableChange.builder();
+    }
+
+    static Change createReference(Reference reference, Reference target) {
+      return builder()
+          .kind(ChangeKind.CREATE)
+          .type(reference.getType())
+          .name(reference.getName())
+          .target(target)
+          .build();
+    }
+
+    static Change assignReference(Reference reference, Reference target) {
+      return builder()
+          .kind(ChangeKind.ASSIGN)
+          .type(reference.getType())
+          .name(reference.getName())
+          .expectedHash(reference.getHash())
+          .target(target)
+          .build();
+    }
+
+    static Change deleteReference(Reference reference) {
+      return builder()
+          .kind(ChangeKind.DELETE)
+          .type(reference.getType())
+          .name(reference.getName())
+          .expectedHash(reference.getHash())
+          .build();
+    }
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.util.List;
+import javax.annotation.Nullable;
+import javax.validation.constraints.NotNull;
+import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.immutables.value.Value;
+import org.projectnessie.error.ErrorCode;
+import org.projectnessie.model.ReferenceChangesRequest.Change;
+
+/** Per-change results of a {@link ReferenceChangesRequest}. */
+@Schema(type = SchemaType.OBJECT, title = "ReferenceChangesResponse")
+@Value.Immutable
+@JsonSerialize(as = ImmutableReferenceChangesResponse.class)
+@JsonDeserialize(as = ImmutableReferenceChangesResponse.class)
+public interface ReferenceChangesResponse {
+
+  /** The results, in the same order as the {@link ReferenceChangesRequest#getChanges() changes}. */
+  @NotNull
+  @jakarta.validation.constraints.NotNull
+  List<ChangeResult> getResults();
+
+  static ImmutableReferenceChangesResponse.Builder builder() {
+    return ImmutableReferenceChangesResponse.builder();
+  }
+
+  @Schema(type = SchemaType.OBJECT, title = "ReferenceChangeResult")
+  @Value.Immutable
+  @JsonSerialize(as = ImmutableChangeResult.class)
+  @JsonDeserialize(as = ImmutableChangeResult.class)
+  interface ChangeResult {
+
+    @NotNull
+    @jakarta.validation.constraints.NotNull
+    Change getChange();
+
+    /**
+     * The created or assigned reference, or the deleted reference with the hash it pointed to,
+     * present if the change succeeded.
+     */
+    @JsonInclude(Include.NON_NULL)
+    @Nullable
+    @jakarta.annotation.Nullable
+    Reference getReference();
+
+    /** Nessie-specific error code, present if the change failed. */
+    @JsonInclude(Include.NON_NULL)
+    @JsonDeserialize(using = ErrorCode.Deserializer.class)
+    @Nullable
+    @jakarta.annotation.Nullable
+    ErrorCode getErrorCode();
+
+    /** Error message, present if the change failed. */
+    @JsonInclude(Include.NON_NULL)
+    @Nullable
+    @jakarta.annotation.Nullable
+    String getErrorMessage();
+
+    @JsonIgnore
+    default boolean isSuccess() {
+      return getErrorCode() == null;
+    }
+
+    static ChangeResult changeSuccess(Change change, Reference reference) {
+      return ImmutableChangeResult.builder().change(change).reference(reference).build();
+    }
+
+    static ChangeResult changeFailure(Change change, ErrorCode errorCode, String errorMessage) {
+      return ImmutableChangeResult.builder()
+          .change(change)
+          .errorCode(errorCode)
+          .errorMessage(errorMessage)
+          .build();
+    }
+  }
+}
@@ -17,6 +17,10 @@ package org.projectnessie.perftest.gatling
 
 /** @param numberOfBranches
   *   number of branches that each simulated user creates (defaults to 100)
+  * @param bulkSize
+  *   number of branches created per request using the bulk reference changes
+  *   API, `1` means that each branch is created using an individual request
+  *   (defaults to 1)
   * @param numUsers
   *   see [[BaseParams.numUsers]]
   * @param opRate
@@ -26,6 +30,7 @@ package org.projectnessie.perftest.gatling
   */
 case class CreateManyBranchesParams(
     numberOfBranches: Int,
+    bulkSize: Int,
     override val numUsers: Int,
     override val opRate: Double,
     override val note: String
@@ -34,6 +39,7 @@ case class CreateManyBranchesParams(
   override def asPrintableString(): String = {
     s"""${super.asPrintableString().trim}
     |   num-branches:   $numberOfBranches
+    |   bulk-size:      $bulkSize
     |""".stripMargin
   }
 }
@@ -42,8 +48,10 @@ object CreateManyBranchesParams {
   def fromSystemProperties(): CreateManyBranchesParams = {
     val base = BaseParams.fromSystemProperties()
     val numberOfBranches: Int = Integer.getInteger("sim.branches", 100).toInt
+    val bulkSize: Int = Integer.getInteger("sim.bulkSize", 1).toInt
     CreateManyBranchesParams(
       numberOfBranches,
+      bulkSize,
       base.numUsers,
       base.opRate,
       base.note
@@ -47,22 +47,49 @@ class CreateManyBranchesSimulation extends Simulation {
     )
   }
 
-  /** Creates a Nessie branch. This is the action that we want to measure. */
+  /** Creates a Nessie branch, or a batch of `bulkSize` Nessie branches using a
+    * single bulk request. This is the action that we want to measure.
+    */
   private def createBranch: ChainBuilder = {
-    val chain = exec(
-      nessie("Create branch")
-        .execute { (client, session) =>
-          val defaultBranch: Branch = session("defaultBranch").as[Branch]
-          val branchNum: Int = session("branchNum").asOption[Int].get
-          val branchName = s"branch-${session.userId}-$branchNum"
-          client
-            .createReference()
-            .sourceRefName(defaultBranch.getName)
-            .reference(Branch.of(branchName, defaultBranch.getHash))
-            .create()
-          session
-        }
-    )
+    val action =
+      if (params.bulkSize > 1) {
+        nessie("Create branches bulk")
+          .execute { (client, session) =>
+            val defaultBranch: Branch = session("defaultBranch").as[Branch]
+            val batchNum: Int = session("branchNum").asOption[Int].get
+            val changes = client.changeReferences()
+            // the last batch may be smaller than `bulkSize`
+            val firstBranchNum = batchNum * params.bulkSize
+            val batchSize =
+              Math.min(params.bulkSize, params.numberOfBranches - firstBranchNum)
+            for (i <- 0 until batchSize) {
+              val branchNum = firstBranchNum + i
+              val branchName = s"branch-${session.userId}-$branchNum"
+              changes.createReference(Branch.of(branchName, null), defaultBranch)
+            }
+            val failed = changes.apply().getResults.stream().filter(r => !r.isSuccess).count()
+            if (failed > 0) {
+              throw new IllegalStateException(
+                s"Failed to create $failed of $batchSize branches"
+              )
+            }
+            session
+          }
+      } else {
+        nessie("Create branch")
+          .execute { (client, session) =>
+            val defaultBranch: Branch = session("defaultBranch").as[Branch]
+            val branchNum: Int = session("branchNum").asOption[Int].get
+            val branchName = s"branch-${session.userId}-$branchNum"
+            client
+              .createReference()
+              .sourceRefName(defaultBranch.getName)
+              .reference(Branch.of(branchName, defaultBranch.getHash))
+              .create()
+            session
+          }
+      }
+    val chain = exec(action)
 
     if (params.opRate > 0) {
       // "pace" the commits, if commit-rate is configured
@@ -81,8 +108,12 @@ class CreateManyBranchesSimulation extends Simulation {
     val scn = scenario("Commit-To-Branch")
       .exec(getReference)
 
-    // Process configured number of commits
-    scn.repeat(params.numberOfBranches, "branchNum") {
+    // Process configured number of branches, in batches of `bulkSize` branches
+    val iterations =
+      if (params.bulkSize > 1)
+        (params.numberOfBranches + params.bulkSize - 1) / params.bulkSize
+      else params.numberOfBranches
+    scn.repeat(iterations, "branchNum") {
       createBranch
     }
   }
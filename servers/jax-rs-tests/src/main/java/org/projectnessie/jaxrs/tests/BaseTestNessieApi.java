@@ -78,6 +78,7 @@ import org.projectnessie.error.NessieNamespaceNotEmptyException;
 import org.projectnessie.error.NessieNamespaceNotFoundException;
 import org.projectnessie.error.NessieNotFoundException;
 import org.projectnessie.error.NessieReferenceConflictException;
+import org.projectnessie.error.NessieReferenceNotFoundException;
 import org.projectnessie.error.ReferenceConflicts;
 import org.projectnessie.model.Branch;
 import org.projectnessie.model.CommitConsistency;
@@ -111,6 +112,8 @@ import org.projectnessie.model.Operation.Delete;
 import org.projectnessie.model.Operation.Put;
 import org.projectnessie.model.Reference;
 import org.projectnessie.model.Reference.ReferenceType;
+import org.projectnessie.model.ReferenceChangesResponse;
+import org.projectnessie.model.ReferenceChangesResponse.ChangeResult;
 import org.projectnessie.model.ReferenceHistoryResponse;
 import org.projectnessie.model.ReferenceHistoryState;
 import org.projectnessie.model.ReferencesResponse;
@@ -2106,4 +2109,55 @@ public abstract class BaseTestNessieApi {
         .extracting(ReferenceHistoryState::commitHash)
         .containsExactlyElementsOf(expectedHashes);
   }
+
+  @Test
+  @NessieApiVersions(versions = {NessieApiVersion.V2})
+  public void changeReferences() throws Exception {
+    Branch main = api().getDefaultBranch();
+    Branch existing = createReference(Branch.of("bulk-existing", main.getHash()), main.getName());
+    Branch toAssign = createReference(Branch.of("bulk-assign", main.getHash()), main.getName());
+    Branch committed =
+        prepCommit(existing, "commit")
+            .operation(Put.of(ContentKey.of("bulk-table"), IcebergTable.of("m", 1, 2, 3, 4)))
+            .commit();
+
+    ReferenceChangesResponse response =
+        apiV2()
+            .changeReferences()
+            .createReference(Branch.of("bulk-branch", null), main)
+            .createReference(Tag.of("bulk-tag", null), main)
+            .createReference(existing, main)
+            .assignReference(toAssign, committed)
+            .deleteReference(Branch.of("bulk-not-there", main.getHash()))
+            .apply();
+
+    soft.assertThat(response.getResults())
+        .extracting(ChangeResult::getReference, ChangeResult::getErrorCode)
+        .containsExactly(
+            tuple(Branch.of("bulk-branch", main.getHash()), null),
+            tuple(Tag.of("bulk-tag", main.getHash()), null),
+            tuple(null, ErrorCode.REFERENCE_ALREADY_EXISTS),
+            tuple(Branch.of("bulk-assign", committed.getHash()), null),
+            tuple(null, ErrorCode.REFERENCE_NOT_FOUND));
+    soft.assertThat(api().getReference().refName("bulk-tag").get())
+        .isEqualTo(Tag.of("bulk-tag", main.getHash()));
+    soft.assertThat(api().getReference().refName("bulk-assign").get())
+        .isEqualTo(Branch.of("bulk-assign", committed.getHash()));
+
+    response =
+        apiV2()
+            .changeReferences()
+            .deleteReference(Branch.of("bulk-branch", main.getHash()))
+            .deleteReference(Tag.of("bulk-tag", main.getHash()))
+            .deleteReference(Branch.of("bulk-existing", main.getHash()))
+            .apply();
+
+    soft.assertThat(response.getResults())
+        .extracting(ChangeResult::getErrorCode)
+        .containsExactly(null, null, ErrorCode.REFERENCE_CONFLICT);
+    soft.assertThatThrownBy(() -> api().getReference().refName("bulk-branch").get())
+        .isInstanceOf(NessieReferenceNotFoundException.class);
+    soft.assertThatThrownBy(() -> api().getReference().refName("bulk-tag").get())
+        .isInstanceOf(NessieReferenceNotFoundException.class);
+  }
 }
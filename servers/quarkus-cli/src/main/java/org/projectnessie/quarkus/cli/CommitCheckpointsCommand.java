@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.quarkus.cli;
+
+import static org.projectnessie.versioned.storage.common.logic.Logics.referenceLogic;
+import static org.projectnessie.versioned.storage.common.logic.Logics.repositoryLogic;
+import static org.projectnessie.versioned.storage.common.logic.ReferencesQuery.referencesQuery;
+import static org.projectnessie.versioned.storage.versionstore.RefMapping.REFS;
+
+import java.io.PrintWriter;
+import org.projectnessie.versioned.storage.common.logic.PagedResult;
+import org.projectnessie.versioned.storage.common.persist.Reference;
+import org.projectnessie.versioned.storage.versionstore.CommitCheckpoints;
+import picocli.CommandLine;
+
+@CommandLine.Command(
+    name = "commit-checkpoints",
+    mixinStandardHelpOptions = true,
+    description =
+        "Creates the missing commit checkpoints used to speed up timestamp-relative and "
+            + "n-th-predecessor lookups for all named references.")
+public class CommitCheckpointsCommand extends BaseCommand {
+
+  @Override
+  public Integer call() throws Exception {
+    warnOnInMemory();
+
+    if (!repositoryLogic(persist).repositoryExists()) {
+      spec.commandLine().getErr().println("Nessie repository does not exist");
+      return EXIT_CODE_REPO_DOES_NOT_EXIST;
+    }
+
+    PrintWriter out = spec.commandLine().getOut();
+    CommitCheckpoints checkpoints = new CommitCheckpoints(persist);
+
+    int references = 0;
+    int updated = 0;
+    PagedResult<Reference, String> refs =
+        referenceLogic(persist).queryReferences(referencesQuery(REFS));
+    while (refs.hasNext()) {
+      Reference ref = refs.next();
+      int count = checkpoints.backfill(ref.pointer());
+      if (count > 0) {
+        out.printf("Created or updated %d commit checkpoints for %s.%n", count, ref.name());
+      }
+      references++;
+      updated += count;
+    }
+
+    out.printf(
+        "Created or updated %d commit checkpoints for %d references.%n", updated, references);
+    return 0;
+  }
+}
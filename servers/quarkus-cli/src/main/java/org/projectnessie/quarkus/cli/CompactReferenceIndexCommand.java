@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.quarkus.cli;
+
+import static org.projectnessie.versioned.storage.common.logic.Logics.referenceLogic;
+import static org.projectnessie.versioned.storage.common.logic.Logics.repositoryLogic;
+
+import java.io.PrintWriter;
+import org.projectnessie.versioned.storage.common.logic.ReferenceIndexCompactionParams;
+import org.projectnessie.versioned.storage.common.logic.ReferenceIndexCompactionResult;
+import picocli.CommandLine;
+
+@CommandLine.Command(
+    name = "compact-reference-index",
+    mixinStandardHelpOptions = true,
+    description =
+        "Purges deleted references and rewrites the internal index of all reference names into a "
+            + "compact commit without the history of reference creations and deletions. "
+            + "Safe to run while Nessie servers are running.")
+public class CompactReferenceIndexCommand extends BaseCommand {
+
+  @CommandLine.Option(
+      names = {"--batch-size"},
+      description = "The number of reference names to check at once, defaults to 100.")
+  private int batchSize = ReferenceIndexCompactionParams.DEFAULT_BATCH_SIZE;
+
+  @CommandLine.Option(
+      names = {"--batch-delay"},
+      description =
+          "The delay in milliseconds after each batch of reference names, used to throttle the "
+              + "load on the database, defaults to 0.")
+  private long batchDelayMillis = ReferenceIndexCompactionParams.DEFAULT_BATCH_DELAY_MILLIS;
+
+  @Override
+  public Integer call() throws Exception {
+    warnOnInMemory();
+
+    if (!repositoryLogic(persist).repositoryExists()) {
+      spec.commandLine().getErr().println("Nessie repository does not exist");
+      return EXIT_CODE_REPO_DOES_NOT_EXIST;
+    }
+
+    PrintWriter out = spec.commandLine().getOut();
+
+    ReferenceIndexCompactionResult result =
+        referenceLogic(persist)
+            .compactReferenceIndex(
+                ReferenceIndexCompactionParams.builder()
+                    .batchSize(batchSize)
+                    .batchDelayMillis(batchDelayMillis)
+                    .progressListener(
+                        progress ->
+                            out.printf(
+                                "Processed %d shards, checked %d references, purged %d.%n",
+                                progress.processedShards(),
+                                progress.checkedReferences(),
+                                progress.purgedReferences()))
+                    .build());
+
+    out.printf(
+        "Checked %d references, purged %d deleted references, compacted %d of %d shards of the "
+            + "reference index, dropped %d index entries.%n",
+        result.checkedReferences(),
+        result.purgedReferences(),
+        result.compactedShards(),
+        result.processedShards(),
+        result.droppedIndexEntries());
+    return 0;
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.quarkus.cli;
+
+import static org.projectnessie.versioned.storage.common.logic.Logics.repositoryLogic;
+
+import jakarta.inject.Inject;
+import java.io.PrintWriter;
+import org.projectnessie.versioned.storage.common.persist.Backend;
+import org.projectnessie.versioned.storage.jdbc.JdbcBackend;
+import org.projectnessie.versioned.storage.jdbc.ObjsTableLayout;
+import picocli.CommandLine;
+
+@CommandLine.Command(
+    name = "migrate-jdbc-objects",
+    mixinStandardHelpOptions = true,
+    description =
+        "Copies all objects from the objects table of another layout to the objects table of the "
+            + "layout configured via 'nessie.version.store.persist.jdbc.objs-table-layout'. "
+            + "Must only be run while no Nessie server is running.")
+public class MigrateJdbcObjectsCommand extends BaseCommand {
+
+  @Inject Backend backend;
+
+  @CommandLine.Option(
+      names = {"--from"},
+      description = "Layout of the objects table to copy the objects from, defaults to COLUMNS.")
+  private ObjsTableLayout from = ObjsTableLayout.COLUMNS;
+
+  @CommandLine.Option(
+      names = {"--progress-interval"},
+      description = "Print a progress message every N scanned objects, defaults to 10000.")
+  private long progressInterval = 10_000L;
+
+  @Override
+  public Integer call() throws Exception {
+    if (!(backend instanceof JdbcBackend)) {
+      spec.commandLine()
+          .getErr()
+          .println("Objects table migrations are only supported for the JDBC version store type");
+      return EXIT_CODE_GENERIC_ERROR;
+    }
+
+    if (!repositoryLogic(persist).repositoryExists()) {
+      spec.commandLine().getErr().println("Nessie repository does not exist");
+      return EXIT_CODE_REPO_DOES_NOT_EXIST;
+    }
+
+    PrintWriter out = spec.commandLine().getOut();
+    long[] lastReported = {0L};
+    long copied =
+        ((JdbcBackend) backend)
+            .migrateObjects(
+                persist.config(),
+                from,
+                scanned -> {
+                  if (scanned - lastReported[0] >= progressInterval) {
+                    lastReported[0] = scanned;
+                    out.printf("Scanned %d objects ...%n", scanned);
+                    out.flush();
+                  }
+                });
+
+    out.printf("Copied %d objects from the %s objects table layout.%n", copied, from);
+    return 0;
+  }
+}
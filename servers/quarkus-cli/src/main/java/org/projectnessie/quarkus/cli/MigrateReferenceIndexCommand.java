@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.quarkus.cli;
+
+import static org.projectnessie.versioned.storage.common.logic.Logics.repositoryLogic;
+
+import picocli.CommandLine;
+
+@CommandLine.Command(
+    name = "migrate-reference-index",
+    mixinStandardHelpOptions = true,
+    description =
+        "Migrates the internal index of all reference names to the configured number of shards. "
+            + "Must only be run while no Nessie server is creating or deleting references.")
+public class MigrateReferenceIndexCommand extends BaseCommand {
+
+  @CommandLine.Option(
+      names = {"--shards"},
+      description =
+          "The number of shards of the reference name index, defaults to the configured "
+              + "'nessie.version.store.persist.reference-index-shards'.")
+  private Integer shards;
+
+  @Override
+  public Integer call() throws Exception {
+    warnOnInMemory();
+
+    if (!repositoryLogic(persist).repositoryExists()) {
+      spec.commandLine().getErr().println("Nessie repository does not exist");
+      return EXIT_CODE_REPO_DOES_NOT_EXIST;
+    }
+
+    int numShards = shards != null ? shards : persist.config().referenceIndexShards();
+    int moved = repositoryLogic(persist).migrateReferenceIndexShards(numShards);
+
+    spec.commandLine()
+        .getOut()
+        .printf(
+            "Moved %d reference names, the reference name index has %d shards.%n",
+            moved, numShards);
+    return 0;
+  }
+}
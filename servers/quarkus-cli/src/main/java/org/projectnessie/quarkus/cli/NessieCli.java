@@ -30,9 +30,14 @@ import picocli.CommandLine.HelpCommand;
       NessieInfo.class,
       HelpCommand.class,
       CheckContent.class,
+      CommitCheckpointsCommand.class,
+      CompactReferenceIndexCommand.class,
       EraseRepository.class,
       ExportRepository.class,
-      ImportRepository.class
+      ImportRepository.class,
+      MigrateJdbcObjectsCommand.class,
+      MigrateReferenceIndexCommand.class,
+      ReferenceHistoryCommand.class
     })
 public class NessieCli extends BaseCommand {
 
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.quarkus.cli;
+
+import static org.projectnessie.versioned.storage.common.logic.Logics.repositoryLogic;
+import static org.projectnessie.versioned.storage.common.logic.PagingToken.fromString;
+import static org.projectnessie.versioned.storage.versionstore.RefMapping.REFS;
+import static org.projectnessie.versioned.storage.versionstore.RefMapping.REFS_HEADS;
+
+import java.io.PrintWriter;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.projectnessie.versioned.storage.common.logic.PagedResult;
+import org.projectnessie.versioned.storage.common.objtypes.ReferenceHistoryObj.Entry;
+import org.projectnessie.versioned.storage.versionstore.ReferenceHistoryLog;
+import picocli.CommandLine;
+
+@CommandLine.Command(
+    name = "reference-history",
+    mixinStandardHelpOptions = true,
+    description =
+        "Shows the recorded history log of the HEAD changes of a reference, the most recent change "
+            + "first. Requires 'nessie.version.store.persist.reference-history-log' to be enabled.")
+public class ReferenceHistoryCommand extends BaseCommand {
+
+  @CommandLine.Option(
+      names = {"--ref"},
+      required = true,
+      description =
+          "Name of the reference, either a branch name or a full reference name starting with "
+              + "'refs/'.")
+  private String ref;
+
+  @CommandLine.Option(
+      names = {"--limit"},
+      description = "Maximum number of shown history entries, defaults to 50.")
+  private int limit = 50;
+
+  @CommandLine.Option(
+      names = {"--page-token"},
+      description = "Show the entries starting at the given page token of a previous invocation.")
+  private String pageToken;
+
+  @Override
+  public Integer call() throws Exception {
+    warnOnInMemory();
+
+    if (!repositoryLogic(persist).repositoryExists()) {
+      spec.commandLine().getErr().println("Nessie repository does not exist");
+      return EXIT_CODE_REPO_DOES_NOT_EXIST;
+    }
+
+    PrintWriter out = spec.commandLine().getOut();
+
+    String refName = ref.startsWith(REFS) ? ref : REFS_HEADS + ref;
+    PagedResult<Entry, Long> entries =
+        new ReferenceHistoryLog(persist)
+            .entries(refName, pageToken != null ? fromString(pageToken) : null);
+
+    for (int i = 0; i < limit && entries.hasNext(); i++) {
+      Entry entry = entries.next();
+      out.printf(
+          "%8d  %s  %s -> %s%s%n",
+          entry.seq(),
+          Instant.EPOCH.plusNanos(TimeUnit.MICROSECONDS.toNanos(entry.created())),
+          entry.from(),
+          entry.to(),
+          entry.gap() ? "  (preceding changes missing)" : "");
+      if (i == limit - 1 && entries.hasNext()) {
+        out.printf("Next page token: %s%n", entries.tokenForKey(entry.seq() - 1).asString());
+      }
+    }
+    return 0;
+  }
+}
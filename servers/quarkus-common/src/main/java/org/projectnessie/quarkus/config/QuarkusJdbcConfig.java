@@ -19,7 +19,9 @@ import io.quarkus.runtime.annotations.StaticInitSafe;
 import io.smallrye.config.ConfigMapping;
 import io.smallrye.config.WithName;
 import java.util.Optional;
+import java.util.OptionalInt;
 import org.projectnessie.versioned.storage.jdbc.JdbcBackendBaseConfig;
+import org.projectnessie.versioned.storage.jdbc.ObjsTableLayout;
 
 @StaticInitSafe
 @ConfigMapping(prefix = "nessie.version.store.persist.jdbc")
@@ -32,4 +34,31 @@ public interface QuarkusJdbcConfig extends JdbcBackendBaseConfig {
   @WithName("schema")
   @Override
   Optional<String> schema();
+
+  @WithName("batch-size")
+  @Override
+  OptionalInt batchSize();
+
+  @WithName("scan-page-size")
+  @Override
+  OptionalInt scanPageSize();
+
+  @WithName("fetch-chunk-size")
+  @Override
+  OptionalInt fetchChunkSize();
+
+  @WithName("fetch-parallelism")
+  @Override
+  OptionalInt fetchParallelism();
+
+  @WithName("objs-table-layout")
+  @Override
+  Optional<ObjsTableLayout> objsTableLayout();
+
+  /**
+   * Name of the Quarkus datasource of a read replica of the default datasource. Reads of objects
+   * that cannot change are served from the read replica, if configured.
+   */
+  @WithName("read-replica-datasource")
+  Optional<String> readReplicaDatasource();
 }
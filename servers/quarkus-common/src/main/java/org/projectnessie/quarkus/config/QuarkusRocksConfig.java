@@ -20,7 +20,10 @@ import io.smallrye.config.ConfigMapping;
 import io.smallrye.config.WithDefault;
 import io.smallrye.config.WithName;
 import java.nio.file.Path;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
 import org.projectnessie.versioned.storage.rocksdb.RocksDBBackendBaseConfig;
+import org.projectnessie.versioned.storage.rocksdb.RocksDBColumnFamilyConfig;
 
 @StaticInitSafe
 @ConfigMapping(prefix = "nessie.version.store.persist.rocks")
@@ -30,4 +33,32 @@ public interface QuarkusRocksConfig extends RocksDBBackendBaseConfig {
   @WithDefault("/tmp/nessie-rocksdb-store")
   @Override
   Path databasePath();
+
+  @WithName("block-cache-size")
+  @Override
+  OptionalLong blockCacheSize();
+
+  @WithName("max-background-jobs")
+  @Override
+  OptionalInt maxBackgroundJobs();
+
+  @WithName("rate-limit-bytes-per-second")
+  @Override
+  OptionalLong rateLimitBytesPerSecond();
+
+  @WithName("max-total-wal-size")
+  @Override
+  OptionalLong maxTotalWalSize();
+
+  @WithName("lock-timeout-millis")
+  @Override
+  OptionalLong lockTimeoutMillis();
+
+  @WithName("references")
+  @Override
+  RocksDBColumnFamilyConfig references();
+
+  @WithName("objects")
+  @Override
+  RocksDBColumnFamilyConfig objects();
 }
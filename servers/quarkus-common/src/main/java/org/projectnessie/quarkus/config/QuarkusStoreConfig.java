@@ -61,6 +61,11 @@ public interface QuarkusStoreConfig extends StoreConfig {
   @Override
   long retryMaxSleepMillis();
 
+  @WithName(CONFIG_RETRY_ADAPTIVE_BACKOFF)
+  @WithDefault("" + DEFAULT_RETRY_ADAPTIVE_BACKOFF)
+  @Override
+  boolean retryAdaptiveBackoff();
+
   @WithName(CONFIG_PARENTS_PER_COMMIT)
   @WithDefault("" + DEFAULT_PARENTS_PER_COMMIT)
   @Override
@@ -101,6 +106,26 @@ public interface QuarkusStoreConfig extends StoreConfig {
   @Override
   long referencePreviousHeadTimeSpanSeconds();
 
+  @WithName(CONFIG_DIFF_CONTENT_BATCH_SIZE)
+  @WithDefault("" + DEFAULT_DIFF_CONTENT_BATCH_SIZE)
+  @Override
+  int diffContentBatchSize();
+
+  @WithName(CONFIG_REFERENCE_INDEX_SHARDS)
+  @WithDefault("" + DEFAULT_REFERENCE_INDEX_SHARDS)
+  @Override
+  int referenceIndexShards();
+
+  @WithName(CONFIG_REFERENCE_SUMMARIES)
+  @WithDefault("" + DEFAULT_REFERENCE_SUMMARIES)
+  @Override
+  boolean referenceSummaries();
+
+  @WithName(CONFIG_REFERENCE_HISTORY_LOG)
+  @WithDefault("" + DEFAULT_REFERENCE_HISTORY_LOG)
+  @Override
+  boolean referenceHistoryLog();
+
   String CONFIG_CACHE_CAPACITY_MB = "cache-capacity-mb";
 
   @WithName(CONFIG_CACHE_CAPACITY_MB)
@@ -16,26 +16,37 @@
 package org.projectnessie.quarkus.providers.storage;
 
 import static org.projectnessie.quarkus.config.VersionStoreConfig.VersionStoreType.JDBC;
+import static org.projectnessie.versioned.storage.jdbc.JdbcBackendBaseConfig.DEFAULT_FETCH_PARALLELISM;
 
 import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource.DataSourceLiteral;
 import io.quarkus.datasource.common.runtime.DatabaseKind;
 import jakarta.enterprise.context.Dependent;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.projectnessie.quarkus.config.QuarkusJdbcConfig;
 import org.projectnessie.quarkus.providers.versionstore.StoreType;
 import org.projectnessie.versioned.storage.common.persist.Backend;
+import org.projectnessie.versioned.storage.jdbc.ImmutableJdbcBackendConfig;
 import org.projectnessie.versioned.storage.jdbc.JdbcBackendConfig;
 import org.projectnessie.versioned.storage.jdbc.JdbcBackendFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 @StoreType(JDBC)
 @Dependent
 public class JdbcBackendBuilder implements BackendBuilder {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(JdbcBackendBuilder.class);
+
   @SuppressWarnings("CdiInjectionPointsInspection")
   @Inject
   AgroalDataSource dataSource;
 
+  @Inject @Any Instance<AgroalDataSource> dataSources;
+
   @Inject
   @ConfigProperty(name = "quarkus.datasource.db-kind")
   String databaseKind;
@@ -53,7 +64,35 @@ public class JdbcBackendBuilder implements BackendBuilder {
     }
 
     JdbcBackendFactory factory = new JdbcBackendFactory();
-    JdbcBackendConfig c = JdbcBackendConfig.builder().from(config).dataSource(dataSource).build();
-    return factory.buildBackend(c);
+    ImmutableJdbcBackendConfig.Builder c =
+        JdbcBackendConfig.builder().from(config).dataSource(dataSource);
+    checkPoolSize("default", dataSource);
+    config
+        .readReplicaDatasource()
+        .ifPresent(
+            name -> {
+              AgroalDataSource replica = dataSources.select(new DataSourceLiteral(name)).get();
+              checkPoolSize(name, replica);
+              c.readReplicaDataSource(replica);
+            });
+    return factory.buildBackend(c.build());
+  }
+
+  /**
+   * Warns if the connection pool of a datasource is not larger than the fetch parallelism, in which
+   * case a single bulk fetch can borrow all connections of the pool.
+   */
+  private void checkPoolSize(String name, AgroalDataSource ds) {
+    int fetchParallelism = config.fetchParallelism().orElse(DEFAULT_FETCH_PARALLELISM);
+    int maxSize = ds.getConfiguration().connectionPoolConfiguration().maxSize();
+    if (maxSize <= fetchParallelism) {
+      LOGGER.warn(
+          "The maximum size {} of the connection pool of the {} datasource is not larger than "
+              + "nessie.version.store.persist.jdbc.fetch-parallelism {}, concurrent bulk fetches "
+              + "will wait for connections.",
+          maxSize,
+          name,
+          fetchParallelism);
+    }
   }
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.quarkus.providers.storage;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.Nonnull;
+import org.projectnessie.versioned.storage.common.logic.CommitRetryListener;
+
+/**
+ * Publishes commit retry metrics to Micrometer.
+ *
+ * <p>The number of references is unbounded, so the meters are not tagged with the reference name.
+ * The {@value #TAG_REFERENCE} tag only distinguishes the default branch, which usually receives
+ * most of the commits, from {@value #OTHER_REFERENCES all other references}.
+ */
+final class MicrometerCommitRetryListener implements CommitRetryListener {
+
+  static final String PREFIX = "nessie.storage.commit-retry";
+  static final String TAG_REFERENCE = "reference";
+  static final String DEFAULT_BRANCH = "default-branch";
+  static final String OTHER_REFERENCES = "other";
+
+  private final String defaultBranchName;
+  private final Meters defaultBranch;
+  private final Meters others;
+
+  MicrometerCommitRetryListener(MeterRegistry meterRegistry, String defaultBranchName) {
+    this.defaultBranchName = defaultBranchName;
+    this.defaultBranch = new Meters(meterRegistry, DEFAULT_BRANCH);
+    this.others = new Meters(meterRegistry, OTHER_REFERENCES);
+  }
+
+  private Meters meters(String refName) {
+    return defaultBranchName.equals(refName) ? defaultBranch : others;
+  }
+
+  @Override
+  public void onRetry(@Nonnull String refName, long sleepMillis) {
+    meters(refName).sleep.record(sleepMillis, MILLISECONDS);
+  }
+
+  @Override
+  public void onSuccess(@Nonnull String refName, int retries, long durationNanos) {
+    meters(refName).retries.record(retries);
+  }
+
+  @Override
+  public void onTimeout(@Nonnull String refName, int retries, long durationNanos) {
+    meters(refName).timeouts.record(durationNanos, NANOSECONDS);
+  }
+
+  private static final class Meters {
+    final Timer sleep;
+    final DistributionSummary retries;
+    final Timer timeouts;
+
+    Meters(MeterRegistry meterRegistry, String reference) {
+      this.sleep =
+          Timer.builder(PREFIX + ".sleep")
+              .description("Sleep time between two commit attempts.")
+              .tag(TAG_REFERENCE, reference)
+              .publishPercentileHistogram()
+              .register(meterRegistry);
+      this.retries =
+          DistributionSummary.builder(PREFIX + ".retries")
+              .description("Number of retries of successful commits.")
+              .tag(TAG_REFERENCE, reference)
+              .publishPercentileHistogram()
+              .register(meterRegistry);
+      this.timeouts =
+          Timer.builder(PREFIX + ".timeouts")
+              .description("Duration of commits that failed after exceeding the retry limits.")
+              .tag(TAG_REFERENCE, reference)
+              .publishPercentileHistogram()
+              .register(meterRegistry);
+    }
+  }
+}
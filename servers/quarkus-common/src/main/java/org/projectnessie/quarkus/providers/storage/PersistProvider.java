@@ -39,6 +39,7 @@ import org.projectnessie.versioned.storage.cache.CacheBackend;
 import org.projectnessie.versioned.storage.cache.CacheConfig;
 import org.projectnessie.versioned.storage.cache.CacheSizing;
 import org.projectnessie.versioned.storage.cache.PersistCaches;
+import org.projectnessie.versioned.storage.common.config.StoreConfig;
 import org.projectnessie.versioned.storage.common.persist.Backend;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.common.persist.PersistFactory;
@@ -127,8 +128,14 @@ public class PersistProvider {
 
     LOGGER.info("Creating/opening version store {} ...", versionStoreType);
 
+    StoreConfig config =
+        StoreConfig.Adjustable.empty()
+            .from(storeConfig)
+            .withCommitRetryListener(
+                new MicrometerCommitRetryListener(meterRegistry, serverConfig.getDefaultBranch()));
+
     PersistFactory persistFactory = b.createFactory();
-    Persist persist = persistFactory.newPersist(storeConfig);
+    Persist persist = persistFactory.newPersist(config);
 
     String info = b.configInfo();
     if (!info.isEmpty()) {
@@ -17,6 +17,7 @@ package org.projectnessie.quarkus.providers.storage;
 
 import static org.projectnessie.quarkus.config.VersionStoreConfig.VersionStoreType.ROCKSDB;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.enterprise.context.Dependent;
 import jakarta.inject.Inject;
 import org.projectnessie.quarkus.config.QuarkusRocksConfig;
@@ -31,10 +32,13 @@ public class RocksDBBackendBuilder implements BackendBuilder {
 
   @Inject QuarkusRocksConfig config;
 
+  @Inject MeterRegistry meterRegistry;
+
   @Override
   public Backend buildBackend() {
     RocksDBBackendFactory factory = new RocksDBBackendFactory();
-    RocksDBBackendConfig c = RocksDBBackendConfig.builder().from(config).build();
+    RocksDBBackendConfig c =
+        RocksDBBackendConfig.builder().from(config).meterRegistry(meterRegistry).build();
     return factory.buildBackend(c);
   }
 }
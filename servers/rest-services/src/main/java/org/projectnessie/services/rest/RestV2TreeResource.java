@@ -58,6 +58,8 @@ import org.projectnessie.model.LogResponse.LogEntry;
 import org.projectnessie.model.MergeResponse;
 import org.projectnessie.model.Operations;
 import org.projectnessie.model.Reference;
+import org.projectnessie.model.ReferenceChangesRequest;
+import org.projectnessie.model.ReferenceChangesResponse;
 import org.projectnessie.model.ReferenceHistoryResponse;
 import org.projectnessie.model.ReferencesResponse;
 import org.projectnessie.model.SingleReferenceResponse;
@@ -328,6 +330,14 @@ public class RestV2TreeResource implements HttpTreeApi {
     return SingleReferenceResponse.builder().reference(deleted).build();
   }
 
+  @JsonView(Views.V2.class)
+  @Override
+  public ReferenceChangesResponse changeReferences(ReferenceChangesRequest request) {
+    return ReferenceChangesResponse.builder()
+        .results(tree().changeReferences(request.getChanges()))
+        .build();
+  }
+
   private static Reference.ReferenceType parseReferenceType(String type) {
     if (type == null) {
       return null;
@@ -41,11 +41,13 @@ dependencies {
   implementation("com.fasterxml.jackson.core:jackson-annotations")
 
   jmhImplementation(libs.jmh.core)
+  jmhImplementation(project(path = ":nessie-protobuf-relocated", configuration = "shadow"))
   jmhAnnotationProcessor(libs.jmh.generator.annprocess)
   jmhRuntimeOnly(project(":nessie-versioned-storage-inmemory"))
   jmhRuntimeOnly(project(":nessie-versioned-storage-bigtable"))
   jmhRuntimeOnly(project(":nessie-versioned-storage-cassandra"))
   jmhRuntimeOnly(project(":nessie-versioned-storage-rocksdb"))
+  jmhRuntimeOnly(project(":nessie-versioned-storage-rocksdb-tests"))
   jmhRuntimeOnly(project(":nessie-versioned-storage-mongodb"))
   jmhRuntimeOnly(project(":nessie-versioned-storage-dynamodb"))
   jmhRuntimeOnly(project(":nessie-versioned-storage-jdbc"))
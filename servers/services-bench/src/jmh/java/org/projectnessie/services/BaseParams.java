@@ -32,6 +32,7 @@ abstract class BaseParams {
   public static final String DEFAULT_BRANCH_NAME = "main";
 
   Backend backend;
+  Persist persist;
   VersionStore versionStore;
   BackendTestFactory backendTestFactory;
 
@@ -55,7 +56,7 @@ abstract class BaseParams {
     backend = backendTestFactory.createNewBackend();
     backend.setupSchema();
     PersistFactory factory = backend.createFactory();
-    Persist persist = factory.newPersist(StoreConfig.Adjustable.empty());
+    persist = factory.newPersist(StoreConfig.Adjustable.empty());
     repositoryLogic(persist).initialize(DEFAULT_BRANCH_NAME);
     versionStore = new VersionStoreImpl(persist);
   }
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.services;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.projectnessie.versioned.storage.common.objtypes.ContentValueObj.contentValue;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+
+import java.util.concurrent.ThreadLocalRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+
+/**
+ * Compares storing a batch of objects via {@link
+ * org.projectnessie.versioned.storage.common.persist.Persist#storeObjs(Obj[])} against storing the
+ * same objects one by one.
+ */
+@Warmup(iterations = 2, time = 2000, timeUnit = MILLISECONDS)
+@Measurement(iterations = 3, time = 1000, timeUnit = MILLISECONDS)
+@Fork(1)
+@Threads(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+public class StoreObjsBench {
+
+  @State(Scope.Benchmark)
+  public static class BenchmarkParam extends BaseParams {
+
+    @Param({"In-Memory", "RocksDB"})
+    public String backendName;
+
+    @Param({"1", "20", "100"})
+    public int batchSize;
+
+    @Param({"200"})
+    public int payloadSize;
+
+    @Setup
+    public void setup() throws Exception {
+      super.init(backendName);
+    }
+
+    @Override
+    @TearDown
+    public void tearDown() throws Exception {
+      super.tearDown();
+    }
+
+    Obj[] newObjs() {
+      Obj[] objs = new Obj[batchSize];
+      byte[] payload = new byte[payloadSize];
+      for (int i = 0; i < batchSize; i++) {
+        ThreadLocalRandom.current().nextBytes(payload);
+        objs[i] = contentValue(randomObjId(), "cid", 1, ByteString.copyFrom(payload));
+      }
+      return objs;
+    }
+  }
+
+  @Benchmark
+  public boolean[] storeObjs(BenchmarkParam param) throws Exception {
+    return param.persist.storeObjs(param.newObjs());
+  }
+
+  @Benchmark
+  public boolean[] storeObjIndividually(BenchmarkParam param) throws Exception {
+    Obj[] objs = param.newObjs();
+    boolean[] r = new boolean[objs.length];
+    for (int i = 0; i < objs.length; i++) {
+      r[i] = param.persist.storeObj(objs[i]);
+    }
+    return r;
+  }
+
+  @Benchmark
+  public void upsertObjs(BenchmarkParam param) throws Exception {
+    param.persist.upsertObjs(param.newObjs());
+  }
+
+  @Benchmark
+  public void upsertObjIndividually(BenchmarkParam param) throws Exception {
+    for (Obj obj : param.newObjs()) {
+      param.persist.upsertObj(obj);
+    }
+  }
+}
@@ -23,6 +23,8 @@ import static java.util.Collections.emptyMap;
 import static java.util.Collections.singleton;
 import static java.util.function.Function.identity;
 import static org.projectnessie.model.CommitResponse.AddedContent.addedContent;
+import static org.projectnessie.model.ReferenceChangesResponse.ChangeResult.changeFailure;
+import static org.projectnessie.model.ReferenceChangesResponse.ChangeResult.changeSuccess;
 import static org.projectnessie.services.authz.Check.canReadContentKey;
 import static org.projectnessie.services.authz.Check.canReadEntries;
 import static org.projectnessie.services.authz.Check.canViewReference;
@@ -41,12 +43,16 @@ import static org.projectnessie.services.cel.CELUtil.VAR_REF;
 import static org.projectnessie.services.cel.CELUtil.VAR_REF_META;
 import static org.projectnessie.services.cel.CELUtil.VAR_REF_TYPE;
 import static org.projectnessie.services.impl.RefUtil.toNamedRef;
+import static org.projectnessie.versioned.ReferenceChange.referenceAssign;
+import static org.projectnessie.versioned.ReferenceChange.referenceCreate;
+import static org.projectnessie.versioned.ReferenceChange.referenceDelete;
 
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import jakarta.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -64,6 +70,7 @@ import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import org.projectnessie.cel.tools.Script;
 import org.projectnessie.cel.tools.ScriptException;
+import org.projectnessie.error.ErrorCode;
 import org.projectnessie.error.NessieConflictException;
 import org.projectnessie.error.NessieNotFoundException;
 import org.projectnessie.error.NessieReferenceAlreadyExistsException;
@@ -92,11 +99,14 @@ import org.projectnessie.model.Operation;
 import org.projectnessie.model.Operations;
 import org.projectnessie.model.Reference;
 import org.projectnessie.model.Reference.ReferenceType;
+import org.projectnessie.model.ReferenceChangesRequest.Change;
+import org.projectnessie.model.ReferenceChangesResponse.ChangeResult;
 import org.projectnessie.model.ReferenceHistoryResponse;
 import org.projectnessie.model.ReferenceHistoryState;
 import org.projectnessie.model.ReferenceMetadata;
 import org.projectnessie.model.Tag;
 import org.projectnessie.model.Validation;
+import org.projectnessie.services.authz.AccessCheckException;
 import org.projectnessie.services.authz.AccessContext;
 import org.projectnessie.services.authz.Authorizer;
 import org.projectnessie.services.authz.AuthzPaginationIterator;
@@ -121,16 +131,23 @@ import org.projectnessie.versioned.MergeResult;
 import org.projectnessie.versioned.NamedRef;
 import org.projectnessie.versioned.Put;
 import org.projectnessie.versioned.ReferenceAlreadyExistsException;
+import org.projectnessie.versioned.ReferenceAssignedResult;
+import org.projectnessie.versioned.ReferenceChange;
+import org.projectnessie.versioned.ReferenceChangeResult;
 import org.projectnessie.versioned.ReferenceConflictException;
+import org.projectnessie.versioned.ReferenceCreatedResult;
+import org.projectnessie.versioned.ReferenceDeletedResult;
 import org.projectnessie.versioned.ReferenceHistory;
 import org.projectnessie.versioned.ReferenceInfo;
 import org.projectnessie.versioned.ReferenceNotFoundException;
+import org.projectnessie.versioned.Result;
 import org.projectnessie.versioned.TagName;
 import org.projectnessie.versioned.Unchanged;
 import org.projectnessie.versioned.VersionStore;
 import org.projectnessie.versioned.VersionStore.CommitValidator;
 import org.projectnessie.versioned.VersionStore.MergeOp;
 import org.projectnessie.versioned.VersionStore.TransplantOp;
+import org.projectnessie.versioned.VersionStoreException;
 import org.projectnessie.versioned.WithHash;
 import org.projectnessie.versioned.paging.PaginationIterator;
 
@@ -287,6 +304,21 @@ public class TreeApiImpl extends BaseApiImpl implements TreeService {
   public Reference createReference(
       String refName, ReferenceType type, String targetHash, String sourceRefName)
       throws NessieNotFoundException, NessieConflictException {
+    ReferenceChange change = verifyCreateReference(refName, type, targetHash, sourceRefName);
+    NamedRef namedReference = change.getNamedRef();
+    try {
+      Hash hash = getStore().create(namedReference, change.getTargetHash()).getHash();
+      return RefUtil.toReference(namedReference, hash);
+    } catch (ReferenceNotFoundException e) {
+      throw new NessieReferenceNotFoundException(e.getMessage(), e);
+    } catch (ReferenceAlreadyExistsException e) {
+      throw new NessieReferenceAlreadyExistsException(e.getMessage(), e);
+    }
+  }
+
+  private ReferenceChange verifyCreateReference(
+      String refName, ReferenceType type, String targetHash, String sourceRefName)
+      throws NessieNotFoundException {
     Validation.validateForbiddenReferenceName(refName);
     NamedRef namedReference = toNamedRef(type, refName);
 
@@ -314,14 +346,7 @@ public class TreeApiImpl extends BaseApiImpl implements TreeService {
     }
     check.checkAndThrow();
 
-    try {
-      Hash hash = getStore().create(namedReference, targetHashObj).getHash();
-      return RefUtil.toReference(namedReference, hash);
-    } catch (ReferenceNotFoundException e) {
-      throw new NessieReferenceNotFoundException(e.getMessage(), e);
-    } catch (ReferenceAlreadyExistsException e) {
-      throw new NessieReferenceAlreadyExistsException(e.getMessage(), e);
-    }
+    return referenceCreate(namedReference, targetHashObj);
   }
 
   @Override
@@ -335,6 +360,26 @@ public class TreeApiImpl extends BaseApiImpl implements TreeService {
   public Reference assignReference(
       ReferenceType referenceType, String referenceName, String expectedHash, Reference assignTo)
       throws NessieNotFoundException, NessieConflictException {
+    ReferenceChange change =
+        verifyAssignReference(referenceType, referenceName, expectedHash, assignTo);
+    Hash targetHash = change.getTargetHash().orElseThrow(IllegalStateException::new);
+    try {
+      getStore()
+          .assign(
+              change.getNamedRef(),
+              change.getExpectedHash().orElseThrow(IllegalStateException::new),
+              targetHash);
+      return RefUtil.toReference(change.getNamedRef(), targetHash);
+    } catch (ReferenceNotFoundException e) {
+      throw new NessieReferenceNotFoundException(e.getMessage(), e);
+    } catch (ReferenceConflictException e) {
+      throw new NessieReferenceConflictException(e.getReferenceConflicts(), e.getMessage(), e);
+    }
+  }
+
+  private ReferenceChange verifyAssignReference(
+      ReferenceType referenceType, String referenceName, String expectedHash, Reference assignTo)
+      throws NessieNotFoundException {
     try {
 
       ResolvedHash oldRef =
@@ -363,12 +408,9 @@ public class TreeApiImpl extends BaseApiImpl implements TreeService {
           .canAssignRefToHash(oldRef.getNamedRef())
           .checkAndThrow();
 
-      getStore().assign(oldRef.getNamedRef(), oldRef.getHash(), newRef.getHash());
-      return RefUtil.toReference(oldRef.getNamedRef(), newRef.getHash());
+      return referenceAssign(oldRef.getNamedRef(), oldRef.getHash(), newRef.getHash());
     } catch (ReferenceNotFoundException e) {
       throw new NessieReferenceNotFoundException(e.getMessage(), e);
-    } catch (ReferenceConflictException e) {
-      throw new NessieReferenceConflictException(e.getReferenceConflicts(), e.getMessage(), e);
     }
   }
 
@@ -376,6 +418,25 @@ public class TreeApiImpl extends BaseApiImpl implements TreeService {
   public Reference deleteReference(
       ReferenceType referenceType, String referenceName, String expectedHash)
       throws NessieConflictException, NessieNotFoundException {
+    ReferenceChange change = verifyDeleteReference(referenceType, referenceName, expectedHash);
+    try {
+      Hash deletedAthash =
+          getStore()
+              .delete(
+                  change.getNamedRef(),
+                  change.getExpectedHash().orElseThrow(IllegalStateException::new))
+              .getHash();
+      return RefUtil.toReference(change.getNamedRef(), deletedAthash);
+    } catch (ReferenceNotFoundException e) {
+      throw new NessieReferenceNotFoundException(e.getMessage(), e);
+    } catch (ReferenceConflictException e) {
+      throw new NessieReferenceConflictException(e.getReferenceConflicts(), e.getMessage(), e);
+    }
+  }
+
+  private ReferenceChange verifyDeleteReference(
+      ReferenceType referenceType, String referenceName, String expectedHash)
+      throws NessieNotFoundException {
     try {
       ReferenceInfo<CommitMeta> resolved =
           getStore().getNamedRef(referenceName, GetNamedRefsParams.DEFAULT);
@@ -402,12 +463,87 @@ public class TreeApiImpl extends BaseApiImpl implements TreeService {
                   expectedHash,
                   new HashValidator("Expected hash").hashMustBeUnambiguous());
 
-      Hash deletedAthash = getStore().delete(ref, refToDelete.getHash()).getHash();
-      return RefUtil.toReference(ref, deletedAthash);
+      return referenceDelete(ref, refToDelete.getHash());
     } catch (ReferenceNotFoundException e) {
       throw new NessieReferenceNotFoundException(e.getMessage(), e);
-    } catch (ReferenceConflictException e) {
-      throw new NessieReferenceConflictException(e.getReferenceConflicts(), e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public List<ChangeResult> changeReferences(List<Change> changes) {
+    ChangeResult[] results = new ChangeResult[changes.size()];
+    List<ReferenceChange> storeChanges = new ArrayList<>(changes.size());
+    List<Integer> storeChangeIndexes = new ArrayList<>(changes.size());
+    for (int i = 0; i < results.length; i++) {
+      Change change = changes.get(i);
+      try {
+        storeChanges.add(verifyReferenceChange(change));
+        storeChangeIndexes.add(i);
+      } catch (NessieNotFoundException e) {
+        results[i] = changeFailure(change, e.getErrorCode(), e.getMessage());
+      } catch (AccessCheckException e) {
+        results[i] = changeFailure(change, ErrorCode.FORBIDDEN, e.getMessage());
+      } catch (IllegalArgumentException e) {
+        results[i] = changeFailure(change, ErrorCode.BAD_REQUEST, e.getMessage());
+      }
+    }
+
+    List<ReferenceChangeResult> storeResults = getStore().changeReferences(storeChanges);
+    for (int i = 0; i < storeResults.size(); i++) {
+      int index = storeChangeIndexes.get(i);
+      ReferenceChangeResult storeResult = storeResults.get(i);
+      if (storeResult.isSuccess()) {
+        NamedRef namedRef = storeResult.getChange().getNamedRef();
+        Result result = storeResult.getResult().get();
+        Hash hash;
+        if (result instanceof ReferenceCreatedResult) {
+          hash = ((ReferenceCreatedResult) result).getHash();
+        } else if (result instanceof ReferenceAssignedResult) {
+          hash = ((ReferenceAssignedResult) result).getCurrentHash();
+        } else {
+          hash = ((ReferenceDeletedResult) result).getHash();
+        }
+        results[index] = changeSuccess(changes.get(index), RefUtil.toReference(namedRef, hash));
+      } else {
+        VersionStoreException failure = storeResult.getFailure().get();
+        ErrorCode errorCode;
+        if (failure instanceof ReferenceNotFoundException) {
+          errorCode = ErrorCode.REFERENCE_NOT_FOUND;
+        } else if (failure instanceof ReferenceAlreadyExistsException) {
+          errorCode = ErrorCode.REFERENCE_ALREADY_EXISTS;
+        } else if (failure instanceof ReferenceConflictException) {
+          errorCode = ErrorCode.REFERENCE_CONFLICT;
+        } else {
+          errorCode = ErrorCode.UNKNOWN;
+        }
+        results[index] = changeFailure(changes.get(index), errorCode, failure.getMessage());
+      }
+    }
+
+    return Arrays.asList(results);
+  }
+
+  private ReferenceChange verifyReferenceChange(Change change) throws NessieNotFoundException {
+    Reference target = change.getTarget();
+    switch (change.getKind()) {
+      case CREATE:
+        checkArgument(change.getType() != null, "Mandatory reference type missing");
+        checkArgument(
+            change.getExpectedHash() == null, "Expected hash not allowed for create operation");
+        return verifyCreateReference(
+            change.getName(),
+            change.getType(),
+            target != null ? target.getHash() : null,
+            target != null ? target.getName() : null);
+      case ASSIGN:
+        checkArgument(target != null, "Mandatory assignment target missing");
+        return verifyAssignReference(
+            change.getType(), change.getName(), change.getExpectedHash(), target);
+      case DELETE:
+        checkArgument(target == null, "Target not allowed for delete operation");
+        return verifyDeleteReference(change.getType(), change.getName(), change.getExpectedHash());
+      default:
+        throw new IllegalArgumentException("Unknown change kind " + change.getKind());
     }
   }
 
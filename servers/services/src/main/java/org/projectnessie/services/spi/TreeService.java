@@ -43,6 +43,8 @@ import org.projectnessie.model.MergeResponse;
 import org.projectnessie.model.Operations;
 import org.projectnessie.model.Reference;
 import org.projectnessie.model.Reference.ReferenceType;
+import org.projectnessie.model.ReferenceChangesRequest.Change;
+import org.projectnessie.model.ReferenceChangesResponse.ChangeResult;
 import org.projectnessie.model.ReferenceHistoryResponse;
 import org.projectnessie.versioned.NamedRef;
 import org.projectnessie.versioned.WithHash;
@@ -109,6 +111,14 @@ public interface TreeService {
           String expectedHash)
       throws NessieConflictException, NessieNotFoundException;
 
+  /**
+   * Creates, assigns and deletes multiple references. Each change is validated and applied like the
+   * corresponding single-reference operation, failures are reported per change.
+   *
+   * @return the result for each change, in the same order as {@code changes}
+   */
+  List<ChangeResult> changeReferences(@Valid @NotNull List<Change> changes);
+
   <R> R getCommitLog(
       @Valid @NotNull @Pattern(regexp = REF_NAME_REGEX, message = REF_NAME_MESSAGE) String namedRef,
       FetchOption fetchOption,
@@ -45,6 +45,7 @@ dependencies {
 
   compileOnly(platform(libs.jackson.bom))
   compileOnly("com.fasterxml.jackson.core:jackson-annotations")
+  compileOnly("com.fasterxml.jackson.core:jackson-databind")
 
   testImplementation(platform(libs.junit.bom))
   testImplementation(libs.bundles.junit.testing)
@@ -104,13 +104,8 @@ public class TasksServiceImpl implements TasksService {
 
     // Try to get the object and immediately return if it has a final state. We expect to hit final
     // states way more often, so preventing the concurrent-hash-map interactions and especially the
-    // asynchronous task handling improves the implementation.
-    // TODO using `fetchObj()` would be wrong here, because it is *synchronous* and can block.
-    //  Options:
-    //  a) remove this "optimization"
-    //  b) add a `getObjIfCached(ObjId)` --> chosen for now
-    //  c) add a `fetchObjAsync()`, but adding async variants to all database implementations will
-    //     be tricky
+    // asynchronous task handling improves the implementation. Only cached objects are considered,
+    // because this must not block. Other objects are fetched by the asynchronous task controller.
     Obj obj = persist.getImmediate(taskRequest.objId());
     if (obj != null) {
       T taskObj = castObj(taskRequest, obj);
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.nessie.tasks.service.tasktypes;
+
+import static org.projectnessie.versioned.storage.common.objtypes.CustomObjType.dynamicCaching;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import org.immutables.value.Value;
+import org.projectnessie.nessie.tasks.api.TaskObj;
+import org.projectnessie.nessie.tasks.api.TaskState;
+import org.projectnessie.versioned.storage.common.logic.ReferenceIndexCompactionResult;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.ObjType;
+
+/** State and statistics of a reference index compaction run via the tasks service. */
+@Value.Immutable
+@JsonSerialize(as = ImmutableReferenceIndexCompactionTaskObj.class)
+@JsonDeserialize(as = ImmutableReferenceIndexCompactionTaskObj.class)
+public interface ReferenceIndexCompactionTaskObj extends TaskObj {
+  ObjType TYPE =
+      dynamicCaching(
+          "ref-index-compaction",
+          "ric",
+          ReferenceIndexCompactionTaskObj.class,
+          TaskObj.taskDefaultCacheExpire());
+
+  @Override
+  @Value.Default
+  default ObjType type() {
+    return TYPE;
+  }
+
+  /** Identifies the compaction run, see {@link ReferenceIndexCompactionTaskRequest#runId()}. */
+  String runId();
+
+  /** See {@link ReferenceIndexCompactionResult#processedShards()}. */
+  @Value.Default
+  default int processedShards() {
+    return 0;
+  }
+
+  /** See {@link ReferenceIndexCompactionResult#compactedShards()}. */
+  @Value.Default
+  default int compactedShards() {
+    return 0;
+  }
+
+  /** See {@link ReferenceIndexCompactionResult#checkedReferences()}. */
+  @Value.Default
+  default long checkedReferences() {
+    return 0L;
+  }
+
+  /** See {@link ReferenceIndexCompactionResult#purgedReferences()}. */
+  @Value.Default
+  default long purgedReferences() {
+    return 0L;
+  }
+
+  /** See {@link ReferenceIndexCompactionResult#droppedIndexEntries()}. */
+  @Value.Default
+  default long droppedIndexEntries() {
+    return 0L;
+  }
+
+  interface Builder extends TaskObj.Builder {
+
+    @Override
+    Builder id(ObjId id);
+
+    @CanIgnoreReturnValue
+    Builder runId(String runId);
+
+    @CanIgnoreReturnValue
+    Builder processedShards(int processedShards);
+
+    @CanIgnoreReturnValue
+    Builder compactedShards(int compactedShards);
+
+    @CanIgnoreReturnValue
+    Builder checkedReferences(long checkedReferences);
+
+    @CanIgnoreReturnValue
+    Builder purgedReferences(long purgedReferences);
+
+    @CanIgnoreReturnValue
+    Builder droppedIndexEntries(long droppedIndexEntries);
+
+    @Override
+    @CanIgnoreReturnValue
+    Builder taskState(TaskState taskState);
+
+    ReferenceIndexCompactionTaskObj build();
+  }
+
+  static Builder builder() {
+    return ImmutableReferenceIndexCompactionTaskObj.builder();
+  }
+}
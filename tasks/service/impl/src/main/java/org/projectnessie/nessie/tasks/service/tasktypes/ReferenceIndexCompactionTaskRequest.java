@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.nessie.tasks.service.tasktypes;
+
+import static org.projectnessie.nessie.tasks.api.TaskState.successState;
+import static org.projectnessie.nessie.tasks.service.tasktypes.ReferenceIndexCompactionTaskObj.TYPE;
+import static org.projectnessie.versioned.storage.common.logic.Logics.referenceLogic;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import org.immutables.value.Value;
+import org.projectnessie.nessie.tasks.api.TaskBehavior;
+import org.projectnessie.nessie.tasks.api.TaskRequest;
+import org.projectnessie.versioned.storage.common.exceptions.RetryTimeoutException;
+import org.projectnessie.versioned.storage.common.logic.ReferenceIndexCompactionParams;
+import org.projectnessie.versioned.storage.common.logic.ReferenceIndexCompactionResult;
+import org.projectnessie.versioned.storage.common.logic.ReferenceLogic;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.ObjIdHasher;
+import org.projectnessie.versioned.storage.common.persist.ObjType;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+
+/**
+ * Requests a {@linkplain ReferenceLogic#compactReferenceIndex(ReferenceIndexCompactionParams)
+ * reference index compaction}, which is performed at most once per {@linkplain #runId() run ID}
+ * across all Nessie instances sharing the same repository.
+ */
+@Value.Immutable
+public interface ReferenceIndexCompactionTaskRequest
+    extends TaskRequest<ReferenceIndexCompactionTaskObj, ReferenceIndexCompactionTaskObj.Builder> {
+  @Override
+  @Value.NonAttribute
+  default ObjType objType() {
+    return TYPE;
+  }
+
+  /**
+   * Identifies the compaction run, for example the date of a scheduled, daily maintenance. Task
+   * requests with the same run ID share the same task object and result.
+   */
+  @Value.Parameter(order = 1)
+  String runId();
+
+  @Value.Parameter(order = 2)
+  ObjId objId();
+
+  @Value.Parameter(order = 3)
+  ReferenceIndexCompactionParams params();
+
+  @Value.Parameter(order = 4)
+  Persist persist();
+
+  /**
+   * Executor to run the compaction, which can take a long time and must therefore not be run on an
+   * event loop.
+   */
+  @Value.Parameter(order = 5)
+  Executor executor();
+
+  @Override
+  @Value.Parameter(order = 6)
+  TaskBehavior<ReferenceIndexCompactionTaskObj, ReferenceIndexCompactionTaskObj.Builder>
+      behavior();
+
+  @Override
+  @Value.NonAttribute
+  default CompletionStage<ReferenceIndexCompactionTaskObj.Builder> submitExecution() {
+    return CompletableFuture.supplyAsync(
+        () -> {
+          ReferenceIndexCompactionResult result;
+          try {
+            result = referenceLogic(persist()).compactReferenceIndex(params());
+          } catch (RetryTimeoutException e) {
+            throw new CompletionException(e);
+          }
+          return ReferenceIndexCompactionTaskObj.builder()
+              .id(objId())
+              .runId(runId())
+              .processedShards(result.processedShards())
+              .compactedShards(result.compactedShards())
+              .checkedReferences(result.checkedReferences())
+              .purgedReferences(result.purgedReferences())
+              .droppedIndexEntries(result.droppedIndexEntries())
+              .taskState(successState());
+        },
+        executor());
+  }
+
+  @Override
+  default ReferenceIndexCompactionTaskObj.Builder applyRequestToObjBuilder(
+      ReferenceIndexCompactionTaskObj.Builder builder) {
+    return builder.runId(runId());
+  }
+
+  static ReferenceIndexCompactionTaskRequest referenceIndexCompactionTaskRequest(
+      String runId, ReferenceIndexCompactionParams params, Persist persist, Executor executor) {
+    ObjId objId = ObjIdHasher.objIdHasher(TYPE.name()).hash(runId).generate();
+    return ImmutableReferenceIndexCompactionTaskRequest.of(
+        runId, objId, params, persist, executor, ReferenceIndexCompactionTaskBehavior.INSTANCE);
+  }
+}
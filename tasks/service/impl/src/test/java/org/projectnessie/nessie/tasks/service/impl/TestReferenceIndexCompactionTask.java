@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.nessie.tasks.service.impl;
+
+import static org.mockito.Mockito.mock;
+import static org.projectnessie.nessie.tasks.service.impl.TestTasksServiceImpl.tasksServiceConfig;
+import static org.projectnessie.nessie.tasks.service.tasktypes.ReferenceIndexCompactionTaskRequest.referenceIndexCompactionTaskRequest;
+import static org.projectnessie.versioned.storage.common.logic.Logics.referenceLogic;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.CompletableFuture;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.nessie.tasks.api.TaskState;
+import org.projectnessie.nessie.tasks.api.Tasks;
+import org.projectnessie.nessie.tasks.service.tasktypes.ReferenceIndexCompactionTaskObj;
+import org.projectnessie.nessie.tasks.service.tasktypes.ReferenceIndexCompactionTaskRequest;
+import org.projectnessie.versioned.storage.common.logic.ReferenceIndexCompactionParams;
+import org.projectnessie.versioned.storage.common.logic.ReferenceLogic;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.common.persist.Reference;
+import org.projectnessie.versioned.storage.inmemorytests.InmemoryBackendTestFactory;
+import org.projectnessie.versioned.storage.testextension.NessieBackend;
+import org.projectnessie.versioned.storage.testextension.NessiePersist;
+import org.projectnessie.versioned.storage.testextension.PersistExtension;
+import org.threeten.extra.MutableClock;
+
+@ExtendWith({PersistExtension.class, SoftAssertionsExtension.class})
+@NessieBackend(InmemoryBackendTestFactory.class)
+public class TestReferenceIndexCompactionTask {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @Test
+  public void compactReferenceIndex(@NessiePersist Persist persist) throws Exception {
+    ReferenceLogic refLogic = referenceLogic(persist);
+    for (int i = 0; i < 5; i++) {
+      Reference ref = refLogic.createReference("refs/heads/branch-" + i, randomObjId(), null);
+      if (i < 3) {
+        refLogic.deleteReference(ref.name(), ref.pointer());
+      }
+    }
+
+    MutableClock clock = MutableClock.of(Instant.now(), ZoneId.of("UTC"));
+    TestingTasksAsync async = new TestingTasksAsync(clock);
+    TasksServiceImpl service =
+        new TasksServiceImpl(async, mock(TaskServiceMetrics.class), tasksServiceConfig(1));
+    Tasks tasks = service.forPersist(persist);
+
+    ReferenceIndexCompactionTaskRequest request =
+        referenceIndexCompactionTaskRequest(
+            "run-1", ReferenceIndexCompactionParams.builder().build(), persist, Runnable::run);
+
+    CompletableFuture<ReferenceIndexCompactionTaskObj> future =
+        tasks.submit(request).toCompletableFuture();
+    soft.assertThat(async.doWork()).isEqualTo(1);
+    soft.assertThat(future).isCompleted();
+
+    ReferenceIndexCompactionTaskObj result = future.get();
+    soft.assertThat(result)
+        .extracting(
+            ReferenceIndexCompactionTaskObj::runId,
+            ReferenceIndexCompactionTaskObj::processedShards,
+            ReferenceIndexCompactionTaskObj::compactedShards,
+            ReferenceIndexCompactionTaskObj::checkedReferences,
+            ReferenceIndexCompactionTaskObj::purgedReferences,
+            ReferenceIndexCompactionTaskObj::droppedIndexEntries)
+        .containsExactly("run-1", 1, 1, 6L, 0L, 3L);
+    soft.assertThat(result.taskState()).isEqualTo(TaskState.successState());
+
+    // The result of a run is persisted, another service instance does not run it again
+    TasksServiceImpl otherService =
+        new TasksServiceImpl(async, mock(TaskServiceMetrics.class), tasksServiceConfig(2));
+    CompletableFuture<ReferenceIndexCompactionTaskObj> otherFuture =
+        otherService.forPersist(persist).submit(request).toCompletableFuture();
+    async.doWork();
+    soft.assertThat(otherFuture).isCompleted();
+    soft.assertThat(otherFuture.get())
+        .extracting(
+            ReferenceIndexCompactionTaskObj::id,
+            ReferenceIndexCompactionTaskObj::droppedIndexEntries)
+        .containsExactly(result.id(), 3L);
+  }
+}
@@ -21,6 +21,7 @@ import org.projectnessie.api.v2.params.GetReferenceParams;
 import org.projectnessie.client.api.AssignBranchBuilder;
 import org.projectnessie.client.api.AssignReferenceBuilder;
 import org.projectnessie.client.api.AssignTagBuilder;
+import org.projectnessie.client.api.ChangeReferencesBuilder;
 import org.projectnessie.client.api.CommitMultipleOperationsBuilder;
 import org.projectnessie.client.api.CreateReferenceBuilder;
 import org.projectnessie.client.api.DeleteBranchBuilder;
@@ -111,6 +112,11 @@ final class CombinedClientImpl implements NessieApiV2 {
     return new CombinedReferenceHistory(treeApi);
   }
 
+  @Override
+  public ChangeReferencesBuilder changeReferences() {
+    return new CombinedChangeReferences(treeApi);
+  }
+
   @Override
   public GetEntriesBuilder getEntries() {
     return new CombinedGetEntries(treeApi);
@@ -109,6 +109,15 @@ public class EventsVersionStore implements VersionStore {
     return result;
   }
 
+  @Override
+  public List<ReferenceChangeResult> changeReferences(List<ReferenceChange> changes) {
+    List<ReferenceChangeResult> results = delegate.changeReferences(changes);
+    for (ReferenceChangeResult result : results) {
+      result.getResult().ifPresent(resultSink);
+    }
+    return results;
+  }
+
   @Nonnull
   @Override
   public RepositoryInformation getRepositoryInformation() {
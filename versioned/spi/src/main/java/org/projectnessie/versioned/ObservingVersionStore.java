@@ -142,6 +142,14 @@ public class ObservingVersionStore implements VersionStore {
     return delegate.delete(ref, hash);
   }
 
+  @WithSpan
+  @Override
+  @Counted(PREFIX)
+  @Timed(value = PREFIX, histogram = true)
+  public List<ReferenceChangeResult> changeReferences(List<ReferenceChange> changes) {
+    return delegate.changeReferences(changes);
+  }
+
   @WithSpan
   @Override
   @Counted(PREFIX)
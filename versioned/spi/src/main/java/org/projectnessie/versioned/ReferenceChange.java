@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Optional;
+import org.immutables.value.Value;
+
+/**
+ * A single create, assign or delete operation of a bulk reference change via {@link
+ * VersionStore#changeReferences(java.util.List)}.
+ */
+@Value.Immutable
+public interface ReferenceChange {
+
+  enum Kind {
+    /** Creates a reference, see {@link VersionStore#create(NamedRef, Optional)}. */
+    CREATE,
+    /** Assigns a reference, see {@link VersionStore#assign(NamedRef, Hash, Hash)}. */
+    ASSIGN,
+    /** Deletes a reference, see {@link VersionStore#delete(NamedRef, Hash)}. */
+    DELETE
+  }
+
+  @Value.Parameter(order = 1)
+  Kind getKind();
+
+  @Value.Parameter(order = 2)
+  NamedRef getNamedRef();
+
+  /** The expected current HEAD of the reference, required for assign and delete operations. */
+  @Value.Parameter(order = 3)
+  Optional<Hash> getExpectedHash();
+
+  /**
+   * The hash the reference shall point to, required for assign operations, optional for create
+   * operations.
+   */
+  @Value.Parameter(order = 4)
+  Optional<Hash> getTargetHash();
+
+  @Value.Check
+  default void check() {
+    switch (getKind()) {
+      case CREATE:
+        checkArgument(!getExpectedHash().isPresent(), "Expected hash not allowed for create");
+        break;
+      case ASSIGN:
+        checkArgument(getExpectedHash().isPresent(), "Expected hash required for assign");
+        checkArgument(getTargetHash().isPresent(), "Target hash required for assign");
+        break;
+      case DELETE:
+        checkArgument(getExpectedHash().isPresent(), "Expected hash required for delete");
+        checkArgument(!getTargetHash().isPresent(), "Target hash not allowed for delete");
+        break;
+      default:
+        throw new IllegalStateException("Unknown kind " + getKind());
+    }
+  }
+
+  static ReferenceChange referenceCreate(NamedRef namedRef, Optional<Hash> targetHash) {
+    return ImmutableReferenceChange.of(Kind.CREATE, namedRef, Optional.empty(), targetHash);
+  }
+
+  static ReferenceChange referenceAssign(NamedRef namedRef, Hash expectedHash, Hash targetHash) {
+    return ImmutableReferenceChange.of(
+        Kind.ASSIGN, namedRef, Optional.of(expectedHash), Optional.of(targetHash));
+  }
+
+  static ReferenceChange referenceDelete(NamedRef namedRef, Hash expectedHash) {
+    return ImmutableReferenceChange.of(
+        Kind.DELETE, namedRef, Optional.of(expectedHash), Optional.empty());
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned;
+
+import java.util.Optional;
+import org.immutables.value.Value;
+
+/**
+ * Outcome of a single {@link ReferenceChange} of a bulk reference change via {@link
+ * VersionStore#changeReferences(java.util.List)}.
+ */
+@Value.Immutable
+public interface ReferenceChangeResult {
+
+  @Value.Parameter(order = 1)
+  ReferenceChange getChange();
+
+  /**
+   * The {@link ReferenceCreatedResult}, {@link ReferenceAssignedResult} or {@link
+   * ReferenceDeletedResult}, if the change succeeded.
+   */
+  @Value.Parameter(order = 2)
+  Optional<Result> getResult();
+
+  /**
+   * The reason why the change failed, usually a {@link ReferenceNotFoundException}, {@link
+   * ReferenceAlreadyExistsException} or {@link ReferenceConflictException}.
+   */
+  @Value.Parameter(order = 3)
+  Optional<VersionStoreException> getFailure();
+
+  default boolean isSuccess() {
+    return getResult().isPresent();
+  }
+
+  @Value.Check
+  default void check() {
+    if (getResult().isPresent() == getFailure().isPresent()) {
+      throw new IllegalStateException("Either result or failure must be present");
+    }
+  }
+
+  static ReferenceChangeResult referenceChangeSuccess(ReferenceChange change, Result result) {
+    return ImmutableReferenceChangeResult.of(change, Optional.of(result), Optional.empty());
+  }
+
+  static ReferenceChangeResult referenceChangeFailure(
+      ReferenceChange change, VersionStoreException failure) {
+    return ImmutableReferenceChangeResult.of(change, Optional.empty(), Optional.of(failure));
+  }
+}
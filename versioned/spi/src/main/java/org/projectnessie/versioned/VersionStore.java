@@ -16,9 +16,12 @@
 package org.projectnessie.versioned;
 
 import static org.projectnessie.versioned.DefaultMetadataRewriter.DEFAULT_METADATA_REWRITER;
+import static org.projectnessie.versioned.ReferenceChangeResult.referenceChangeFailure;
+import static org.projectnessie.versioned.ReferenceChangeResult.referenceChangeSuccess;
 
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -285,6 +288,54 @@ public interface VersionStore {
   ReferenceDeletedResult delete(NamedRef ref, Hash hash)
       throws ReferenceNotFoundException, ReferenceConflictException;
 
+  /**
+   * Creates, assigns and deletes multiple references.
+   *
+   * <p>Each change is validated and applied individually, like {@link #create(NamedRef,
+   * Optional)}, {@link #assign(NamedRef, Hash, Hash)} and {@link #delete(NamedRef, Hash)}, a failed
+   * change does not affect the other changes. Implementations may however group the bookkeeping of
+   * multiple changes, for example record the creation of many references at once.
+   *
+   * <p>Each reference name must appear at most once in {@code changes}.
+   *
+   * @param changes the changes to apply
+   * @return the result for each change, in the same order as {@code changes}
+   */
+  default List<ReferenceChangeResult> changeReferences(List<ReferenceChange> changes) {
+    List<ReferenceChangeResult> results = new ArrayList<>(changes.size());
+    for (ReferenceChange change : changes) {
+      try {
+        Result result;
+        switch (change.getKind()) {
+          case CREATE:
+            result = create(change.getNamedRef(), change.getTargetHash());
+            break;
+          case ASSIGN:
+            result =
+                assign(
+                    change.getNamedRef(),
+                    change.getExpectedHash().orElseThrow(IllegalStateException::new),
+                    change.getTargetHash().orElseThrow(IllegalStateException::new));
+            break;
+          case DELETE:
+            result =
+                delete(
+                    change.getNamedRef(),
+                    change.getExpectedHash().orElseThrow(IllegalStateException::new));
+            break;
+          default:
+            throw new IllegalStateException("Unknown kind " + change.getKind());
+        }
+        results.add(referenceChangeSuccess(change, result));
+      } catch (ReferenceNotFoundException
+          | ReferenceAlreadyExistsException
+          | ReferenceConflictException e) {
+        results.add(referenceChangeFailure(change, e));
+      }
+    }
+    return results;
+  }
+
   /**
    * Resolve the given {@link NamedRef} and return information about it, which at least contains the
    * current HEAD commit hash plus, optionally, additional information.
@@ -25,6 +25,10 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.projectnessie.model.IdentifiedContentKey.identifiedContentKeyFromContent;
 import static org.projectnessie.versioned.ContentResult.contentResult;
+import static org.projectnessie.versioned.ReferenceChange.referenceCreate;
+import static org.projectnessie.versioned.ReferenceChange.referenceDelete;
+import static org.projectnessie.versioned.ReferenceChangeResult.referenceChangeFailure;
+import static org.projectnessie.versioned.ReferenceChangeResult.referenceChangeSuccess;
 import static org.projectnessie.versioned.VersionStore.KeyRestrictions.NO_KEY_RESTRICTIONS;
 
 import com.google.common.collect.ImmutableMap;
@@ -482,6 +486,26 @@ class TestEventsVersionStore {
     verifyNoMoreInteractions(delegate, sink);
   }
 
+  @Test
+  void testChangeReferences() throws Exception {
+    ReferenceChange create = referenceCreate(branch1, Optional.of(hash1));
+    ReferenceChange delete = referenceDelete(branch2, hash2);
+    ReferenceCreatedResult created =
+        ImmutableReferenceCreatedResult.builder().namedRef(branch1).hash(hash1).build();
+    List<ReferenceChangeResult> expectedResults =
+        Arrays.asList(
+            referenceChangeSuccess(create, created),
+            referenceChangeFailure(delete, new ReferenceNotFoundException("irrelevant")));
+    when(delegate.changeReferences(Arrays.asList(create, delete))).thenReturn(expectedResults);
+    EventsVersionStore versionStore = new EventsVersionStore(delegate, sink);
+    List<ReferenceChangeResult> actualResults =
+        versionStore.changeReferences(Arrays.asList(create, delete));
+    assertThat(actualResults).isEqualTo(expectedResults);
+    verify(delegate).changeReferences(Arrays.asList(create, delete));
+    verify(sink).accept(created);
+    verifyNoMoreInteractions(delegate, sink);
+  }
+
   @Test
   void testHashOnReferenceSuccess() throws ReferenceNotFoundException {
     when(delegate.hashOnReference(branch1, Optional.of(hash1), emptyList())).thenReturn(hash1);
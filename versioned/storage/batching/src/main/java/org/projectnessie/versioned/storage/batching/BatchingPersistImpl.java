@@ -22,6 +22,7 @@ import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -411,6 +412,19 @@ final class BatchingPersistImpl implements BatchingPersist, ValidatingPersist {
     return delegate().fetchReferences(names);
   }
 
+  @Override
+  public boolean supportsReferenceScans() {
+    return delegate().supportsReferenceScans();
+  }
+
+  @Override
+  @Nonnull
+  @javax.annotation.Nonnull
+  public List<Reference> scanReferences(
+      @Nonnull @javax.annotation.Nonnull String prefix, @Nullable String startAfter, int limit) {
+    return delegate().scanReferences(prefix, startAfter, limit);
+  }
+
   @Override
   @Nonnull
   @javax.annotation.Nonnull
@@ -418,4 +432,12 @@ final class BatchingPersistImpl implements BatchingPersist, ValidatingPersist {
       @Nonnull @javax.annotation.Nonnull Set<ObjType> returnedObjTypes) {
     throw new UnsupportedOperationException();
   }
+
+  @Override
+  @Nonnull
+  @javax.annotation.Nonnull
+  public List<CloseableIterator<Obj>> scanAllObjects(
+      @Nonnull @javax.annotation.Nonnull Set<ObjType> returnedObjTypes, int partitions) {
+    throw new UnsupportedOperationException();
+  }
 }
@@ -38,6 +38,8 @@ import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.s
 import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.serializeReference;
 
 import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
 import com.google.api.gax.batching.Batcher;
 import com.google.api.gax.rpc.ApiException;
 import com.google.cloud.bigtable.data.v2.models.ConditionalRowMutation;
@@ -52,6 +54,7 @@ import com.google.cloud.bigtable.data.v2.models.RowMutation;
 import com.google.cloud.bigtable.data.v2.models.RowMutationEntry;
 import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.ByteString;
 import jakarta.annotation.Nonnull;
 import java.nio.ByteBuffer;
@@ -60,6 +63,9 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
@@ -356,6 +362,83 @@ public class BigTablePersist implements Persist {
     }
   }
 
+  @Override
+  public boolean supportsNativeAsync() {
+    return true;
+  }
+
+  @Override
+  @Nonnull
+  public CompletionStage<Reference> fetchReferenceAsync(@Nonnull String name) {
+    return toCompletableFuture(backend.client().readRowAsync(backend.tableRefs, dbKey(name)))
+        .thenApply(row -> row != null ? referenceFromRow(row) : null);
+  }
+
+  @Override
+  @Nonnull
+  public CompletionStage<Obj> fetchObjAsync(@Nonnull ObjId id) {
+    return toCompletableFuture(backend.client().readRowAsync(backend.tableObjs, dbKey(id)))
+        .thenApply(
+            row -> {
+              if (row == null) {
+                throw new CompletionException(new ObjNotFoundException(id));
+              }
+              return objFromRow(row);
+            });
+  }
+
+  @Override
+  @Nonnull
+  public CompletionStage<boolean[]> storeObjsAsync(@Nonnull Obj[] objs) {
+    @SuppressWarnings("unchecked")
+    CompletableFuture<Boolean>[] futures = new CompletableFuture[objs.length];
+    for (int i = 0; i < objs.length; i++) {
+      Obj obj = objs[i];
+      if (obj != null) {
+        ConditionalRowMutation conditionalRowMutation;
+        try {
+          conditionalRowMutation = mutationForStoreObj(obj, false);
+        } catch (ObjTooLargeException e) {
+          return CompletableFuture.failedStage(e);
+        }
+        futures[i] =
+            toCompletableFuture(backend.client().checkAndMutateRowAsync(conditionalRowMutation));
+      } else {
+        futures[i] = CompletableFuture.completedFuture(true);
+      }
+    }
+
+    return CompletableFuture.allOf(futures)
+        .thenApply(
+            v -> {
+              boolean[] r = new boolean[objs.length];
+              for (int i = 0; i < objs.length; i++) {
+                r[i] = !futures[i].join();
+              }
+              return r;
+            });
+  }
+
+  private static <T> CompletableFuture<T> toCompletableFuture(ApiFuture<T> apiFuture) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    ApiFutures.addCallback(
+        apiFuture,
+        new ApiFutureCallback<>() {
+          @Override
+          public void onFailure(Throwable t) {
+            future.completeExceptionally(
+                t instanceof ApiException ? apiException((ApiException) t) : t);
+          }
+
+          @Override
+          public void onSuccess(T result) {
+            future.complete(result);
+          }
+        },
+        MoreExecutors.directExecutor());
+    return future;
+  }
+
   private static final Map<ObjType, ByteString> OBJ_TYPE_VALUES =
       ObjTypes.allObjTypes().stream()
           .collect(
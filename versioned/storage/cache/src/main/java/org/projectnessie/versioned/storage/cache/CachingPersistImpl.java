@@ -16,7 +16,12 @@
 package org.projectnessie.versioned.storage.cache;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
 import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
 import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
@@ -130,6 +135,72 @@ class CachingPersistImpl implements Persist {
     return r;
   }
 
+  @Override
+  @Nonnull
+  public CompletionStage<Obj> fetchObjAsync(@Nonnull ObjId id) {
+    Obj o = cache.get(id);
+    if (o != null) {
+      return CompletableFuture.completedStage(o);
+    }
+    return persist
+        .fetchObjAsync(id)
+        .whenComplete(
+            (obj, failure) -> {
+              if (obj != null) {
+                cache.put(obj);
+              } else if (unwrap(failure) instanceof ObjNotFoundException) {
+                cache.remove(id);
+              }
+            });
+  }
+
+  @Override
+  @Nonnull
+  public CompletionStage<Obj[]> fetchObjsAsync(@Nonnull ObjId[] ids) {
+    ObjId[] backendIds = null;
+    Obj[] r = new Obj[ids.length];
+
+    for (int i = 0; i < ids.length; i++) {
+      ObjId id = ids[i];
+      if (id == null) {
+        continue;
+      }
+      Obj o = cache.get(id);
+      if (o != null) {
+        r[i] = o;
+      } else {
+        if (backendIds == null) {
+          backendIds = new ObjId[ids.length];
+        }
+        backendIds[i] = id;
+      }
+    }
+
+    if (backendIds == null) {
+      return CompletableFuture.completedStage(r);
+    }
+
+    return persist
+        .fetchObjsAsync(backendIds)
+        .thenApply(
+            backendResult -> {
+              for (int i = 0; i < backendResult.length; i++) {
+                Obj o = backendResult[i];
+                if (o != null) {
+                  r[i] = o;
+                  cache.put(o);
+                }
+              }
+              return r;
+            });
+  }
+
+  private static Throwable unwrap(Throwable failure) {
+    return failure instanceof CompletionException && failure.getCause() != null
+        ? failure.getCause()
+        : failure;
+  }
+
   @Override
   public boolean storeObj(@Nonnull Obj obj, boolean ignoreSoftSizeRestrictions)
       throws ObjTooLargeException {
@@ -152,6 +223,22 @@ class CachingPersistImpl implements Persist {
     return stored;
   }
 
+  @Override
+  @Nonnull
+  public CompletionStage<boolean[]> storeObjsAsync(@Nonnull Obj[] objs) {
+    return persist
+        .storeObjsAsync(objs)
+        .thenApply(
+            stored -> {
+              for (int i = 0; i < stored.length; i++) {
+                if (stored[i]) {
+                  cache.put(objs[i]);
+                }
+              }
+              return stored;
+            });
+  }
+
   @Override
   public void upsertObj(@Nonnull Obj obj) throws ObjTooLargeException {
     try {
@@ -232,6 +319,13 @@ class CachingPersistImpl implements Persist {
     return persist.scanAllObjects(returnedObjTypes);
   }
 
+  @Override
+  @Nonnull
+  public List<CloseableIterator<Obj>> scanAllObjects(
+      @Nonnull Set<ObjType> returnedObjTypes, int partitions) {
+    return persist.scanAllObjects(returnedObjTypes, partitions);
+  }
+
   // plain delegates...
 
   @Override
@@ -292,9 +386,32 @@ class CachingPersistImpl implements Persist {
     return persist.fetchReference(name);
   }
 
+  @Override
+  public boolean supportsNativeAsync() {
+    return persist.supportsNativeAsync();
+  }
+
+  @Override
+  @Nonnull
+  public CompletionStage<Reference> fetchReferenceAsync(@Nonnull String name) {
+    return persist.fetchReferenceAsync(name);
+  }
+
   @Override
   @Nonnull
   public Reference[] fetchReferences(@Nonnull String[] names) {
     return persist.fetchReferences(names);
   }
+
+  @Override
+  public boolean supportsReferenceScans() {
+    return persist.supportsReferenceScans();
+  }
+
+  @Override
+  @Nonnull
+  public List<Reference> scanReferences(
+      @Nonnull String prefix, @Nullable String startAfter, int limit) {
+    return persist.scanReferences(prefix, startAfter, limit);
+  }
 }
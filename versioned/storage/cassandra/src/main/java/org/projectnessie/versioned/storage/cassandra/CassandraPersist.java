@@ -34,6 +34,7 @@ import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.M
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.MAX_CONCURRENT_STORES;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.PURGE_REFERENCE;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.SCAN_OBJS;
+import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.SELECT_BATCH_SIZE;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.UPDATE_REFERENCE_POINTER;
 import static org.projectnessie.versioned.storage.cassandra.CassandraSerde.deserializeObjId;
 import static org.projectnessie.versioned.storage.cassandra.CassandraSerde.serializeObjId;
@@ -51,9 +52,15 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.projectnessie.versioned.storage.cassandra.CassandraBackend.BatchedQuery;
@@ -273,17 +280,10 @@ public class CassandraPersist implements Persist {
             backend.executeAsync(
                 backend.buildStatement(FIND_OBJS, config.repositoryId(), idsToStrings.apply(keys)));
 
-    Function<Row, Obj> rowMapper =
-        row -> {
-          ObjType objType = ObjTypes.forName(requireNonNull(row.getString(COL_OBJ_TYPE.name())));
-          ObjId id = deserializeObjId(row.getString(COL_OBJ_ID.name()));
-          String versionToken = row.getString(COL_OBJ_VERS.name());
-          return ObjSerializers.forType(objType).deserialize(row, objType, id, versionToken);
-        };
-
     Obj[] r;
     try (BatchedQuery<ObjId, Obj> batchedQuery =
-        backend.newBatchedQuery(queryFunc, rowMapper, Obj::id, ids.length, Obj.class)) {
+        backend.newBatchedQuery(
+            queryFunc, CassandraPersist::deserializeObjRow, Obj::id, ids.length, Obj.class)) {
 
       for (int i = 0; i < ids.length; i++) {
         ObjId id = ids[i];
@@ -312,6 +312,105 @@ public class CassandraPersist implements Persist {
     return r;
   }
 
+  private static Obj deserializeObjRow(Row row) {
+    ObjType objType = ObjTypes.forName(requireNonNull(row.getString(COL_OBJ_TYPE.name())));
+    ObjId id = deserializeObjId(row.getString(COL_OBJ_ID.name()));
+    String versionToken = row.getString(COL_OBJ_VERS.name());
+    return ObjSerializers.forType(objType).deserialize(row, objType, id, versionToken);
+  }
+
+  @Override
+  public boolean supportsNativeAsync() {
+    return true;
+  }
+
+  @Override
+  @Nonnull
+  public CompletionStage<Reference> fetchReferenceAsync(@Nonnull String name) {
+    AtomicReference<Reference> ref = new AtomicReference<>();
+    return consumeAllPages(
+            backend.executeAsync(
+                backend.buildStatement(
+                    FIND_REFERENCES, config.repositoryId(), singletonList(name))),
+            row -> ref.set(CassandraSerde.deserializeReference(row)))
+        .thenApply(v -> ref.get());
+  }
+
+  @Override
+  @Nonnull
+  public CompletionStage<Obj> fetchObjAsync(@Nonnull ObjId id) {
+    return fetchObjsAsync(new ObjId[] {id}).thenApply(r -> r[0]);
+  }
+
+  @Override
+  @Nonnull
+  public CompletionStage<Obj[]> fetchObjsAsync(@Nonnull ObjId[] ids) {
+    Map<ObjId, Obj> found = new ConcurrentHashMap<>();
+    Consumer<Row> rowConsumer =
+        row -> {
+          Obj obj = deserializeObjRow(row);
+          found.put(obj.id(), obj);
+        };
+
+    List<CompletableFuture<Void>> queries = new ArrayList<>();
+    List<String> keys = new ArrayList<>(SELECT_BATCH_SIZE);
+    for (ObjId id : ids) {
+      if (id != null) {
+        keys.add(id.toString());
+        if (keys.size() == SELECT_BATCH_SIZE) {
+          queries.add(fetchObjsPages(keys, rowConsumer));
+          keys = new ArrayList<>(SELECT_BATCH_SIZE);
+        }
+      }
+    }
+    if (!keys.isEmpty()) {
+      queries.add(fetchObjsPages(keys, rowConsumer));
+    }
+
+    return CompletableFuture.allOf(queries.toArray(new CompletableFuture[0]))
+        .thenApply(
+            v -> {
+              Obj[] r = new Obj[ids.length];
+              List<ObjId> notFound = null;
+              for (int i = 0; i < ids.length; i++) {
+                ObjId id = ids[i];
+                if (id != null) {
+                  r[i] = found.get(id);
+                  if (r[i] == null) {
+                    if (notFound == null) {
+                      notFound = new ArrayList<>();
+                    }
+                    notFound.add(id);
+                  }
+                }
+              }
+              if (notFound != null) {
+                throw new CompletionException(new ObjNotFoundException(notFound));
+              }
+              return r;
+            });
+  }
+
+  private CompletableFuture<Void> fetchObjsPages(List<String> keys, Consumer<Row> rowConsumer) {
+    return consumeAllPages(
+            backend.executeAsync(backend.buildStatement(FIND_OBJS, config.repositoryId(), keys)),
+            rowConsumer)
+        .toCompletableFuture();
+  }
+
+  private static CompletionStage<Void> consumeAllPages(
+      CompletionStage<AsyncResultSet> query, Consumer<Row> rowConsumer) {
+    return query.thenCompose(
+        rs -> {
+          for (Row row : rs.currentPage()) {
+            rowConsumer.accept(row);
+          }
+          return rs.hasMorePages()
+              ? consumeAllPages(rs.fetchNextPage(), rowConsumer)
+              : CompletableFuture.completedStage(null);
+        });
+  }
+
   @Override
   public boolean storeObj(@Nonnull Obj obj, boolean ignoreSoftSizeRestrictions)
       throws ObjTooLargeException {
@@ -34,6 +34,7 @@ import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONF
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexElement.indexElement;
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.newStoreIndex;
 import static org.projectnessie.versioned.storage.common.indexes.StoreKey.key;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitCheckpointObj.Skip.skip;
 import static org.projectnessie.versioned.storage.common.objtypes.CommitHeaders.EMPTY_COMMIT_HEADERS;
 import static org.projectnessie.versioned.storage.common.objtypes.CommitHeaders.newCommitHeaders;
 import static org.projectnessie.versioned.storage.common.objtypes.CommitObj.commitBuilder;
@@ -71,12 +72,19 @@ import com.google.common.collect.Lists;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.IntFunction;
 import java.util.function.Supplier;
@@ -99,12 +107,15 @@ import org.projectnessie.versioned.storage.common.exceptions.RefAlreadyExistsExc
 import org.projectnessie.versioned.storage.common.exceptions.RefConditionFailedException;
 import org.projectnessie.versioned.storage.common.exceptions.RefNotFoundException;
 import org.projectnessie.versioned.storage.common.indexes.StoreIndex;
+import org.projectnessie.versioned.storage.common.objtypes.CommitCheckpointObj;
 import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
 import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
 import org.projectnessie.versioned.storage.common.objtypes.CommitType;
 import org.projectnessie.versioned.storage.common.objtypes.Compression;
 import org.projectnessie.versioned.storage.common.objtypes.ContentValueObj;
 import org.projectnessie.versioned.storage.common.objtypes.JsonObj;
+import org.projectnessie.versioned.storage.common.objtypes.ReferenceHistoryObj;
+import org.projectnessie.versioned.storage.common.objtypes.ReferenceSummaryObj;
 import org.projectnessie.versioned.storage.common.objtypes.StandardObjType;
 import org.projectnessie.versioned.storage.common.objtypes.StringObj;
 import org.projectnessie.versioned.storage.common.objtypes.TagObj;
@@ -371,6 +382,44 @@ public class AbstractBasePersistTests {
     soft.assertThat(persist.fetchReferences(new String[205])).hasSize(205).containsOnlyNulls();
   }
 
+  @Test
+  public void scanReferences() throws Exception {
+    assumeThat(persist.supportsReferenceScans()).isTrue();
+
+    String prefix = "scan-" + randomUUID() + "/";
+    List<Reference> references = new ArrayList<>();
+    for (String name : asList("b", "a", "a/x", "\u00e4", "\u20ac", "c", "a0", "b\u00df")) {
+      Reference reference = reference(prefix + name, randomObjId(), false, 1L, null);
+      persist.addReference(reference);
+      references.add(reference);
+    }
+    references.add(persist.markReferenceAsDeleted(references.remove(5)));
+    references.sort(Comparator.comparing(Reference::name));
+
+    // not matching the prefix
+    String outside = prefix.substring(0, prefix.length() - 1);
+    for (String name : asList(outside, outside + ".", outside + "0")) {
+      persist.addReference(reference(name, randomObjId(), false, 1L, null));
+    }
+
+    soft.assertThat(persist.scanReferences(prefix, null, 100))
+        .containsExactlyElementsOf(references);
+    soft.assertThat(persist.scanReferences(prefix, null, 3))
+        .containsExactlyElementsOf(references.subList(0, 3));
+    soft.assertThat(persist.scanReferences(prefix, references.get(3).name(), 100))
+        .containsExactlyElementsOf(references.subList(4, references.size()));
+    soft.assertThat(persist.scanReferences(prefix, references.get(3).name(), 2))
+        .containsExactlyElementsOf(references.subList(4, 6));
+    soft.assertThat(persist.scanReferences(prefix, prefix, 100))
+        .containsExactlyElementsOf(references);
+    soft.assertThat(persist.scanReferences(prefix, "a", 100))
+        .containsExactlyElementsOf(references);
+    soft.assertThat(persist.scanReferences(prefix, "z", 100)).isEmpty();
+    soft.assertThat(persist.scanReferences(prefix + "a", null, 100))
+        .containsExactlyElementsOf(references.subList(0, 3));
+    soft.assertThat(persist.scanReferences(prefix + "nope", null, 100)).isEmpty();
+  }
+
   public static Stream<Obj> allObjectTypeSamples() {
     String nonAscii = "äöüß^€éèêµ";
     byte[] someFooBar = "Some foo bar baz".getBytes(UTF_8);
@@ -450,6 +499,34 @@ public class AbstractBasePersistTests {
         ref("foo", randomObjId(), 123L, null),
         ref("bar", randomObjId(), 456L, randomObjId()),
         uniqueId("space", uuidToBytes(UUID.randomUUID())),
+        CommitCheckpointObj.builder()
+            .id(randomObjId())
+            .commitId(randomObjId())
+            .seq(128L)
+            .created(123L)
+            .addSkips(skip(randomObjId(), 64L, 100L, 99L), skip(randomObjId(), 0L, 0L, 0L))
+            .build(),
+        ReferenceSummaryObj.builder()
+            .id(randomObjId())
+            .versionToken("1")
+            .reference("refs/heads/feature")
+            .baseReference("refs/heads/main")
+            .head(randomObjId())
+            .seq(42L)
+            .baseHead(randomObjId())
+            .baseSeq(44L)
+            .commonAncestor(randomObjId())
+            .commitsAhead(3)
+            .commitsBehind(5)
+            .build(),
+        ReferenceHistoryObj.builder()
+            .id(randomObjId())
+            .versionToken("1")
+            .reference("refs/heads/main")
+            .addEntries(
+                ReferenceHistoryObj.Entry.entry(1L, EMPTY_OBJ_ID, randomObjId(), 123L),
+                ReferenceHistoryObj.Entry.entry(2L, randomObjId(), randomObjId(), 456L))
+            .build(),
         // custom object types
         SimpleTestObj.builder()
             .id(randomObjId())
@@ -645,6 +722,15 @@ public class AbstractBasePersistTests {
     if (type.equals(JsonObj.TYPE)) {
       return INDEX;
     }
+    if (type.equals(CommitCheckpointObj.TYPE)) {
+      return TAG;
+    }
+    if (type.equals(ReferenceSummaryObj.TYPE)) {
+      return TAG;
+    }
+    if (type.equals(ReferenceHistoryObj.TYPE)) {
+      return TAG;
+    }
     throw new IllegalArgumentException(type.name());
   }
 
@@ -777,6 +863,46 @@ public class AbstractBasePersistTests {
         .containsExactly(obj1, obj2, obj3, obj4, obj5);
   }
 
+  @Test
+  public void concurrentStoreObjs() throws Exception {
+    int numThreads = 4;
+    List<Obj> objects =
+        IntStream.range(0, 101)
+            .mapToObj(i -> tag(randomObjId(), null, null, ByteString.copyFrom(new byte[42])))
+            .collect(Collectors.toList());
+
+    // Each thread stores all objects, in a different order, each object must be stored once
+    ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+    try {
+      List<Future<Map<ObjId, Boolean>>> futures = new ArrayList<>();
+      for (int t = 0; t < numThreads; t++) {
+        List<Obj> shuffled = new ArrayList<>(objects);
+        Collections.shuffle(shuffled);
+        futures.add(
+            executor.submit(
+                () -> {
+                  boolean[] stored = persist.storeObjs(shuffled.toArray(new Obj[0]));
+                  Map<ObjId, Boolean> r = new HashMap<>();
+                  for (int i = 0; i < stored.length; i++) {
+                    r.put(shuffled.get(i).id(), stored[i]);
+                  }
+                  return r;
+                }));
+      }
+
+      Map<ObjId, Integer> storedCount = new HashMap<>();
+      for (Future<Map<ObjId, Boolean>> future : futures) {
+        future.get().forEach((id, stored) -> storedCount.merge(id, stored ? 1 : 0, Integer::sum));
+      }
+      soft.assertThat(storedCount.values()).hasSize(objects.size()).containsOnly(1);
+    } finally {
+      executor.shutdown();
+    }
+
+    soft.assertThat(persist.fetchObjs(objects.stream().map(Obj::id).toArray(ObjId[]::new)))
+        .containsExactlyElementsOf(objects);
+  }
+
   @Test
   public void fetchEmptyObjId() {
     soft.assertThatThrownBy(() -> persist.fetchObj(EMPTY_OBJ_ID))
@@ -823,6 +949,51 @@ public class AbstractBasePersistTests {
         .containsExactlyInAnyOrder(EMPTY_OBJ_ID, id, id2);
   }
 
+  @Test
+  public void asyncStoreAndFetch() throws Exception {
+    List<TagObj> objects =
+        IntStream.range(0, 57)
+            .mapToObj(i -> tag(randomObjId(), null, null, ByteString.copyFrom(new byte[42])))
+            .collect(Collectors.toList());
+    Obj[] objs = objects.toArray(new Obj[0]);
+    ObjId[] ids = objects.stream().map(Obj::id).toArray(ObjId[]::new);
+
+    soft.assertThat(persist.storeObjsAsync(objs).toCompletableFuture().join())
+        .hasSize(objects.size())
+        .containsOnly(true);
+    soft.assertThat(persist.storeObjsAsync(objs).toCompletableFuture().join())
+        .hasSize(objects.size())
+        .containsOnly(false);
+
+    soft.assertThat(persist.fetchObjsAsync(ids).toCompletableFuture().join())
+        .containsExactlyElementsOf(objects);
+    soft.assertThat(persist.fetchObjAsync(ids[0]).toCompletableFuture().join())
+        .isEqualTo(objects.get(0));
+
+    ObjId id = randomObjId();
+    soft.assertThatThrownBy(() -> persist.fetchObjAsync(id).toCompletableFuture().join())
+        .isInstanceOf(CompletionException.class)
+        .cause()
+        .isInstanceOf(ObjNotFoundException.class)
+        .asInstanceOf(type(ObjNotFoundException.class))
+        .extracting(ObjNotFoundException::objIds, list(ObjId.class))
+        .containsExactly(id);
+    soft.assertThatThrownBy(
+            () -> persist.fetchObjsAsync(new ObjId[] {ids[0], id}).toCompletableFuture().join())
+        .isInstanceOf(CompletionException.class)
+        .cause()
+        .isInstanceOf(ObjNotFoundException.class)
+        .asInstanceOf(type(ObjNotFoundException.class))
+        .extracting(ObjNotFoundException::objIds, list(ObjId.class))
+        .containsExactly(id);
+
+    String name = "async-ref-" + randomUUID();
+    soft.assertThat(persist.fetchReferenceAsync(name).toCompletableFuture().join()).isNull();
+    Reference ref = persist.addReference(reference(name, ids[0], false, 12345L, null));
+    soft.assertThat(persist.fetchReferenceAsync(name).toCompletableFuture().join())
+        .isEqualTo(ref);
+  }
+
   @Test
   public void storeCommitObjHardObjectSizeLimit() {
     int hardLimit = persist.hardObjectSizeLimit();
@@ -1071,6 +1242,33 @@ public class AbstractBasePersistTests {
           // fall through
       }
     }
+    if (obj instanceof CommitCheckpointObj) {
+      return CommitCheckpointObj.builder()
+          .id(obj.id())
+          .commitId(randomObjId())
+          .seq(192L)
+          .created(456L)
+          .addSkips(skip(randomObjId(), 128L, 400L, 300L))
+          .build();
+    }
+    if (obj instanceof ReferenceSummaryObj) {
+      return ReferenceSummaryObj.builder()
+          .from((ReferenceSummaryObj) obj)
+          .versionToken("2")
+          .head(randomObjId())
+          .seq(43L)
+          .commonAncestor(null)
+          .commitsAhead(43)
+          .commitsBehind(10)
+          .build();
+    }
+    if (obj instanceof ReferenceHistoryObj) {
+      return ReferenceHistoryObj.builder()
+          .from((ReferenceHistoryObj) obj)
+          .versionToken("2")
+          .addEntries(ReferenceHistoryObj.Entry.entry(3L, randomObjId(), randomObjId(), 789L))
+          .build();
+    }
     if (obj instanceof SimpleTestObj) {
       return SimpleTestObj.builder()
           .id(obj.id())
@@ -1181,6 +1379,33 @@ public class AbstractBasePersistTests {
     }
   }
 
+  @ParameterizedTest
+  @ValueSource(ints = {1, 2, 3, 7, 16, 300})
+  public void scanAllObjectsPartitioned(int partitions) throws Exception {
+    Obj[] values =
+        IntStream.range(0, 200)
+            .mapToObj(i -> contentValue("content-id-" + i, i, copyFromUtf8("value-" + i)))
+            .toArray(Obj[]::new);
+
+    // Clear the already initialized repo...
+    persist.erase();
+    persist.storeObjs(values);
+
+    List<CloseableIterator<Obj>> scans = persist.scanAllObjects(Set.of(VALUE), partitions);
+    soft.assertThat(scans).isNotEmpty().hasSizeLessThanOrEqualTo(partitions);
+
+    List<Obj> scanned = new ArrayList<>();
+    for (CloseableIterator<Obj> scan : scans) {
+      try (CloseableIterator<Obj> s = scan) {
+        scanned.addAll(newArrayList(s));
+      }
+    }
+    soft.assertThat(scanned).containsExactlyInAnyOrder(values);
+
+    soft.assertThatThrownBy(() -> persist.scanAllObjects(Set.of(VALUE), 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
   /**
    * Make sure that objects <em>inserted</em> with {@link Persist#upsertObj(Obj)} and {@link
    * Persist#upsertObjs(Obj[])} can be retrieved with {@link Persist#fetchObjs(ObjId[])} and {@link
@@ -21,8 +21,11 @@ import static java.lang.Thread.sleep;
 import static java.util.Arrays.asList;
 import static java.util.Collections.shuffle;
 import static java.util.Collections.singletonList;
+import static java.util.Comparator.comparing;
+import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.Executors.newFixedThreadPool;
 import static java.util.stream.IntStream.rangeClosed;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assumptions.assumeThat;
 import static org.assertj.core.api.InstanceOfAssertFactories.list;
 import static org.assertj.core.api.InstanceOfAssertFactories.type;
@@ -31,13 +34,19 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.spy;
 import static org.projectnessie.nessie.relocated.protobuf.ByteString.copyFromUtf8;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_COMMIT_TIMEOUT_MILLIS;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_REFERENCE_INDEX_SHARDS;
+import static org.projectnessie.versioned.storage.common.indexes.StoreKey.key;
 import static org.projectnessie.versioned.storage.common.logic.CommitLogQuery.commitLogQuery;
+import static org.projectnessie.versioned.storage.common.logic.InternalRef.REF_REFS;
 import static org.projectnessie.versioned.storage.common.logic.InternalRef.REF_REPO;
 import static org.projectnessie.versioned.storage.common.logic.InternalRef.allInternalRefs;
+import static org.projectnessie.versioned.storage.common.logic.InternalRef.refRefsShards;
 import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
+import static org.projectnessie.versioned.storage.common.logic.Logics.indexesLogic;
 import static org.projectnessie.versioned.storage.common.logic.Logics.referenceLogic;
 import static org.projectnessie.versioned.storage.common.logic.PagingToken.emptyPagingToken;
 import static org.projectnessie.versioned.storage.common.logic.PagingToken.pagingToken;
+import static org.projectnessie.versioned.storage.common.logic.ReferenceIndexCompactionResult.referenceIndexCompactionResult;
 import static org.projectnessie.versioned.storage.common.logic.ReferencesQuery.referencesQuery;
 import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
 import static org.projectnessie.versioned.storage.common.persist.ObjId.objIdFromString;
@@ -67,12 +76,17 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.projectnessie.versioned.storage.common.exceptions.RefAlreadyExistsException;
 import org.projectnessie.versioned.storage.common.exceptions.RefConditionFailedException;
+import org.projectnessie.versioned.storage.common.exceptions.RefException;
 import org.projectnessie.versioned.storage.common.exceptions.RefNotFoundException;
 import org.projectnessie.versioned.storage.common.exceptions.RetryTimeoutException;
+import org.projectnessie.versioned.storage.common.logic.BulkReferenceResult;
 import org.projectnessie.versioned.storage.common.logic.InternalRef;
 import org.projectnessie.versioned.storage.common.logic.PagedResult;
 import org.projectnessie.versioned.storage.common.logic.PagingToken;
+import org.projectnessie.versioned.storage.common.logic.ReferenceIndexCompactionParams;
+import org.projectnessie.versioned.storage.common.logic.ReferenceIndexCompactionResult;
 import org.projectnessie.versioned.storage.common.logic.ReferenceLogic;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
 import org.projectnessie.versioned.storage.common.objtypes.CommitType;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.persist.Persist;
@@ -258,6 +272,220 @@ public abstract class AbstractReferenceLogicTests {
         .allMatch(c -> c.commitType() == CommitType.INTERNAL);
   }
 
+  @Test
+  public void createDeleteBulk() throws Exception {
+    ReferenceLogic refLogic = referenceLogic(persist);
+    ObjId refRefsHead = requireNonNull(persist.fetchReference(REF_REFS.name())).pointer();
+
+    Reference existing = refLogic.createReference("refs/bulk/existing", randomObjId(), null);
+    ObjId refRefsBefore = requireNonNull(persist.fetchReference(REF_REFS.name())).pointer();
+    soft.assertThat(refRefsBefore).isNotEqualTo(refRefsHead);
+
+    List<Reference> toCreate = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      toCreate.add(reference("refs/bulk/ref-" + i, randomObjId(), false, 0L, randomObjId()));
+    }
+    toCreate.add(reference(existing.name(), randomObjId(), false, 0L, null));
+
+    List<BulkReferenceResult> created = refLogic.createReferences(toCreate);
+    soft.assertThat(created).hasSize(toCreate.size());
+    for (int i = 0; i < 20; i++) {
+      Reference expected = toCreate.get(i);
+      soft.assertThat(created.get(i).reference())
+          .get()
+          .extracting(Reference::name, Reference::pointer, Reference::extendedInfoObj)
+          .containsExactly(expected.name(), expected.pointer(), expected.extendedInfoObj());
+    }
+    soft.assertThat(created.get(20).failure())
+        .get()
+        .isInstanceOf(RefAlreadyExistsException.class)
+        .extracting(RefException::reference)
+        .isEqualTo(existing);
+
+    // All new reference names are recorded in a single commit
+    ObjId refRefsAfterCreate = requireNonNull(persist.fetchReference(REF_REFS.name())).pointer();
+    soft.assertThat(commitLogic(persist).fetchCommit(refRefsAfterCreate))
+        .extracting(CommitObj::directParent)
+        .isEqualTo(refRefsBefore);
+    soft.assertThat(
+            refLogic.getReferences(
+                toCreate.stream().map(Reference::name).collect(Collectors.toList())))
+        .doesNotContainNull();
+
+    List<Reference> toDelete = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      toDelete.add(created.get(i).reference().get());
+    }
+    toDelete.add(reference(existing.name(), randomObjId(), false, 0L, null));
+    toDelete.add(reference("refs/bulk/not-exists", randomObjId(), false, 0L, null));
+
+    List<BulkReferenceResult> deleted = refLogic.deleteReferences(toDelete);
+    soft.assertThat(deleted).hasSize(toDelete.size());
+    soft.assertThat(deleted.subList(0, 20)).allMatch(BulkReferenceResult::isSuccess);
+    soft.assertThat(deleted.get(20).failure())
+        .get()
+        .isInstanceOf(RefConditionFailedException.class);
+    soft.assertThat(deleted.get(21).failure()).get().isInstanceOf(RefNotFoundException.class);
+
+    ObjId refRefsAfterDelete = requireNonNull(persist.fetchReference(REF_REFS.name())).pointer();
+    soft.assertThat(commitLogic(persist).fetchCommit(refRefsAfterDelete))
+        .extracting(CommitObj::directParent)
+        .isEqualTo(refRefsAfterCreate);
+    soft.assertThat(
+            refLogic.getReferences(
+                toDelete.subList(0, 20).stream()
+                    .map(Reference::name)
+                    .collect(Collectors.toList())))
+        .containsOnlyNulls();
+    soft.assertThat(refLogic.getReferences(singletonList(existing.name())))
+        .containsExactly(existing);
+
+    soft.assertThatIllegalArgumentException()
+        .isThrownBy(
+            () ->
+                refLogic.createReferences(
+                    asList(
+                        reference("refs/bulk/dup", randomObjId(), false, 0L, null),
+                        reference("refs/bulk/dup", randomObjId(), false, 0L, null))));
+  }
+
+  @Test
+  public void shardedReferenceIndex(
+      @NessieStoreConfig(name = CONFIG_REFERENCE_INDEX_SHARDS, value = "4") @NessiePersist
+          Persist persist)
+      throws Exception {
+    ReferenceLogic refLogic = referenceLogic(persist);
+    Map<String, ObjId> shardHeads = new LinkedHashMap<>();
+    for (InternalRef shard : refRefsShards(4)) {
+      shardHeads.put(shard.name(), requireNonNull(persist.fetchReference(shard.name())).pointer());
+    }
+
+    List<Reference> branches = new ArrayList<>();
+    for (int i = 0; i < 30; i++) {
+      branches.add(refLogic.createReference("refs/heads/branch-" + i, randomObjId(), null));
+    }
+    List<BulkReferenceResult> created =
+        refLogic.createReferences(
+            IntStream.range(0, 30)
+                .mapToObj(i -> reference("refs/tags/tag-" + i, randomObjId(), false, 0L, null))
+                .collect(Collectors.toList()));
+    soft.assertThat(created).allMatch(BulkReferenceResult::isSuccess);
+    List<Reference> tags =
+        created.stream().map(r -> r.reference().get()).collect(Collectors.toList());
+
+    // Reference names are distributed across all shards
+    soft.assertThat(shardHeads)
+        .allSatisfy(
+            (shard, head) ->
+                assertThat(requireNonNull(persist.fetchReference(shard)).pointer())
+                    .isNotEqualTo(head));
+
+    Reference main = requireNonNull(persist.fetchReference("refs/heads/main"));
+    List<Reference> all = new ArrayList<>(branches);
+    all.addAll(tags);
+    all.add(main);
+
+    soft.assertThat(newArrayList(refLogic.queryReferences(referencesQuery())))
+        .containsExactlyInAnyOrderElementsOf(all)
+        .isSortedAccordingTo(comparing((Reference r) -> key(r.name())));
+    soft.assertThat(newArrayList(refLogic.queryReferences(referencesQuery("refs/tags/"))))
+        .containsExactlyInAnyOrderElementsOf(tags)
+        .isSortedAccordingTo(comparing((Reference r) -> key(r.name())));
+    soft.assertThat(
+            refLogic.getReferences(all.stream().map(Reference::name).collect(Collectors.toList())))
+        .containsExactlyElementsOf(all);
+
+    for (Reference branch : branches.subList(0, 15)) {
+      refLogic.deleteReference(branch.name(), branch.pointer());
+    }
+    soft.assertThat(refLogic.deleteReferences(tags)).allMatch(BulkReferenceResult::isSuccess);
+
+    List<Reference> remaining = new ArrayList<>(branches.subList(15, 30));
+    remaining.add(main);
+    soft.assertThat(newArrayList(refLogic.queryReferences(referencesQuery())))
+        .containsExactlyInAnyOrderElementsOf(remaining)
+        .isSortedAccordingTo(comparing((Reference r) -> key(r.name())));
+    soft.assertThat(
+            refLogic.getReferences(
+                branches.subList(0, 15).stream()
+                    .map(Reference::name)
+                    .collect(Collectors.toList())))
+        .containsOnlyNulls();
+  }
+
+  @Test
+  public void compactReferenceIndex(
+      @NessieStoreConfig(name = CONFIG_REFERENCE_INDEX_SHARDS, value = "2") @NessiePersist
+          Persist persist)
+      throws Exception {
+    ReferenceLogic refLogic = referenceLogic(persist);
+
+    List<Reference> live = new ArrayList<>();
+    live.add(requireNonNull(persist.fetchReference("refs/heads/main")));
+    for (int i = 0; i < 20; i++) {
+      Reference ref = refLogic.createReference("refs/heads/branch-" + i, randomObjId(), null);
+      if (i % 2 == 0) {
+        refLogic.deleteReference(ref.name(), ref.pointer());
+      } else {
+        live.add(ref);
+      }
+    }
+    // Simulate a reference deletion that failed after marking the reference as deleted.
+    Reference tombstone = refLogic.createReference("refs/heads/tombstone", randomObjId(), null);
+    persist.markReferenceAsDeleted(tombstone);
+
+    List<ReferenceIndexCompactionResult> progress = new ArrayList<>();
+    ReferenceIndexCompactionResult result =
+        refLogic.compactReferenceIndex(
+            ReferenceIndexCompactionParams.builder()
+                .batchSize(3)
+                .batchDelayMillis(1L)
+                .progressListener(progress::add)
+                .build());
+
+    soft.assertThat(result)
+        .isEqualTo(referenceIndexCompactionResult(2, 2, 22L, 1L, 11L))
+        .isEqualTo(progress.get(progress.size() - 1));
+    soft.assertThat(progress).hasSizeGreaterThan(2);
+    soft.assertThat(persist.fetchReference(tombstone.name())).isNull();
+
+    List<String> indexedNames = new ArrayList<>();
+    for (InternalRef shard : refRefsShards(2)) {
+      ObjId shardHead = requireNonNull(persist.fetchReference(shard.name())).pointer();
+      CommitObj head = requireNonNull(commitLogic(persist).fetchCommit(shardHead));
+      soft.assertThat(head.directParent()).isEqualTo(EMPTY_OBJ_ID);
+      indexesLogic(persist)
+          .buildCompleteIndexOrEmpty(head)
+          .forEach(
+              el -> {
+                soft.assertThat(el.content().action().exists()).isTrue();
+                indexedNames.add(el.key().rawString());
+              });
+    }
+    soft.assertThat(indexedNames)
+        .containsExactlyInAnyOrderElementsOf(
+            live.stream().map(Reference::name).collect(Collectors.toList()));
+    soft.assertThat(newArrayList(refLogic.queryReferences(referencesQuery())))
+        .containsExactlyInAnyOrderElementsOf(live);
+
+    // Nothing left to compact
+    soft.assertThat(
+            refLogic.compactReferenceIndex(ReferenceIndexCompactionParams.builder().build()))
+        .isEqualTo(referenceIndexCompactionResult(2, 0, 11L, 0L, 0L));
+
+    // A reference marked as deleted, whose index entry has been dropped, is purged
+    persist.addReference(reference(tombstone.name(), randomObjId(), false, 0L, null));
+    persist.markReferenceAsDeleted(requireNonNull(persist.fetchReference(tombstone.name())));
+    soft.assertThat(refLogic.getReferences(singletonList(tombstone.name()))).containsOnlyNulls();
+    soft.assertThat(persist.fetchReference(tombstone.name())).isNull();
+
+    // References can be created and deleted after the compaction
+    Reference recreated = refLogic.createReference("refs/heads/branch-0", randomObjId(), null);
+    soft.assertThat(refLogic.getReference(recreated.name())).isEqualTo(recreated);
+    refLogic.deleteReference(live.get(1).name(), live.get(1).pointer());
+    soft.assertThat(refLogic.getReferences(singletonList(live.get(1).name()))).containsOnlyNulls();
+  }
+
   @Test
   public void assign() throws Exception {
     ReferenceLogic refLogic = referenceLogic(persist);
@@ -456,6 +684,51 @@ public abstract class AbstractReferenceLogicTests {
     }
   }
 
+  /**
+   * Pages through more references than are fetched per batch from the database, with and without a
+   * reference name prefix.
+   */
+  @ParameterizedTest
+  @ValueSource(ints = {50, 51, 123})
+  public void referencesQueryPaging(int numRefs) throws Exception {
+    ReferenceLogic refLogic = referenceLogic(persist);
+
+    refLogic.deleteReference("refs/heads/main", EMPTY_OBJ_ID);
+
+    List<Reference> matching = new ArrayList<>();
+    for (int i = 0; i < numRefs; i++) {
+      String name = String.format("paging/%05d", i);
+      matching.add(refLogic.createReference(name, randomObjId(), randomObjId()));
+    }
+    List<Reference> all = new ArrayList<>(matching);
+    for (String name : asList("paging", "paging.", "paging0")) {
+      all.add(refLogic.createReference(name, randomObjId(), randomObjId()));
+    }
+
+    soft.assertThat(newArrayList(refLogic.queryReferences(referencesQuery("paging/"))))
+        .containsExactlyInAnyOrderElementsOf(matching);
+    soft.assertThat(newArrayList(refLogic.queryReferences(referencesQuery())))
+        .containsExactlyInAnyOrderElementsOf(all);
+
+    for (String prefix : asList("paging/", null)) {
+      List<Reference> paged = new ArrayList<>();
+      PagingToken token = null;
+      do {
+        PagedResult<Reference, String> iter =
+            refLogic.queryReferences(referencesQuery(token, prefix, false));
+        for (int i = 0; i < 17 && iter.hasNext(); i++) {
+          paged.add(iter.next());
+        }
+        // The token of a page is the name of the first reference of the next page.
+        token = iter.hasNext() ? iter.tokenForKey(iter.next().name()) : null;
+      } while (token != null);
+
+      soft.assertThat(paged)
+          .describedAs("prefix: '%s'", prefix)
+          .containsExactlyInAnyOrderElementsOf(prefix != null ? matching : all);
+    }
+  }
+
   /**
    * Exercises a bunch of reference names that can be problematic, if the database uses collators
    * that for example collapse adjacent spaces.
@@ -15,14 +15,21 @@
  */
 package org.projectnessie.versioned.storage.commontests;
 
+import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Sets.newHashSet;
 import static java.util.Collections.emptyList;
 import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.InstanceOfAssertFactories.type;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_REFERENCE_INDEX_SHARDS;
 import static org.projectnessie.versioned.storage.common.logic.InternalRef.allInternalRefs;
+import static org.projectnessie.versioned.storage.common.logic.InternalRef.refRefsShard;
+import static org.projectnessie.versioned.storage.common.logic.InternalRef.refRefsShardForName;
+import static org.projectnessie.versioned.storage.common.logic.InternalRef.refRefsShards;
 import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
+import static org.projectnessie.versioned.storage.common.logic.Logics.indexesLogic;
 import static org.projectnessie.versioned.storage.common.logic.Logics.referenceLogic;
 import static org.projectnessie.versioned.storage.common.logic.Logics.repositoryLogic;
 import static org.projectnessie.versioned.storage.common.logic.ReferencesQuery.referencesQuery;
@@ -33,6 +40,8 @@ import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObj
 import static org.projectnessie.versioned.storage.common.persist.Reference.reference;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
@@ -43,8 +52,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
 import org.projectnessie.versioned.storage.common.exceptions.RefNotFoundException;
 import org.projectnessie.versioned.storage.common.exceptions.RetryTimeoutException;
+import org.projectnessie.versioned.storage.common.indexes.StoreIndexElement;
 import org.projectnessie.versioned.storage.common.logic.CommitLogic;
 import org.projectnessie.versioned.storage.common.logic.CreateCommit;
 import org.projectnessie.versioned.storage.common.logic.ImmutableRepositoryDescription;
@@ -53,6 +64,7 @@ import org.projectnessie.versioned.storage.common.logic.ReferenceLogic;
 import org.projectnessie.versioned.storage.common.logic.RepositoryDescription;
 import org.projectnessie.versioned.storage.common.logic.RepositoryLogic;
 import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
 import org.projectnessie.versioned.storage.common.objtypes.CommitType;
 import org.projectnessie.versioned.storage.common.persist.CloseableIterator;
 import org.projectnessie.versioned.storage.common.persist.Obj;
@@ -61,6 +73,7 @@ import org.projectnessie.versioned.storage.common.persist.ObjTypes;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.common.persist.Reference;
 import org.projectnessie.versioned.storage.testextension.NessiePersist;
+import org.projectnessie.versioned.storage.testextension.NessieStoreConfig;
 import org.projectnessie.versioned.storage.testextension.PersistExtension;
 
 /** {@link RepositoryLogic} related tests to be run against every {@link Persist} implementation. */
@@ -99,7 +112,9 @@ public class AbstractRepositoryLogicTests {
                 .repositoryCreatedTime(Instant.ofEpochSecond(456789));
 
     RepositoryDescription.Builder repoDescBuilder =
-        RepositoryDescription.builder().defaultBranchName("main-branch-foo");
+        RepositoryDescription.builder()
+            .defaultBranchName("main-branch-foo")
+            .referenceIndexShards(1);
     builderConsumer.accept(repoDescBuilder);
 
     repositoryLogic.initialize("main-branch-foo", createDefaultBranch, builderConsumer);
@@ -264,4 +279,100 @@ public class AbstractRepositoryLogicTests {
                 .defaultBranchName("main2")
                 .build());
   }
+
+  @Test
+  public void migrateReferenceIndexShards(
+      @NessieStoreConfig(name = CONFIG_REFERENCE_INDEX_SHARDS, value = "4") @NessiePersist
+          Persist persist)
+      throws Exception {
+    RepositoryLogic repositoryLogic = repositoryLogic(persist);
+    ReferenceLogic referenceLogic = referenceLogic(persist);
+
+    for (int i = 0; i < 25; i++) {
+      referenceLogic.createReference("refs/heads/branch-" + i, randomObjId(), null);
+    }
+    List<Reference> references = newArrayList(referenceLogic.queryReferences(referencesQuery()));
+    List<String> names = references.stream().map(Reference::name).collect(toList());
+    soft.assertThat(names).hasSize(26);
+
+    for (InternalRef shard : refRefsShards(4)) {
+      soft.assertThat(indexedNames(persist, shard))
+          .isNotEmpty()
+          .allMatch(name -> refRefsShard(refRefsShardForName(name, 4)).equals(shard));
+    }
+
+    int notInFirstShard =
+        (int) names.stream().filter(name -> refRefsShardForName(name, 4) != 0).count();
+
+    // Migrate to a single shard
+    soft.assertThat(repositoryLogic.migrateReferenceIndexShards(1)).isEqualTo(notInFirstShard);
+    soft.assertThat(indexedNames(persist, refRefsShard(0)))
+        .containsExactlyInAnyOrderElementsOf(names);
+    for (int shard = 1; shard < 4; shard++) {
+      soft.assertThat(indexedNames(persist, refRefsShard(shard))).isEmpty();
+    }
+    soft.assertThat(repositoryLogic.migrateReferenceIndexShards(1)).isEqualTo(0);
+
+    // Migrate back to four shards
+    soft.assertThat(repositoryLogic.migrateReferenceIndexShards(4)).isEqualTo(notInFirstShard);
+    soft.assertThat(newArrayList(referenceLogic.queryReferences(referencesQuery())))
+        .containsExactlyElementsOf(references);
+    soft.assertThat(referenceLogic.getReferences(names)).containsExactlyElementsOf(references);
+    soft.assertThat(repositoryLogic.fetchRepositoryDescription())
+        .extracting(RepositoryDescription::referenceIndexShards)
+        .isEqualTo(4);
+  }
+
+  @Test
+  public void changedReferenceIndexShards(
+      @NessieStoreConfig(name = CONFIG_REFERENCE_INDEX_SHARDS, value = "4")
+          @NessiePersist(initializeRepo = false)
+          Persist shardedPersist)
+      throws Exception {
+    repositoryLogic(persist).initialize("main");
+    soft.assertThat(repositoryLogic(persist).fetchRepositoryDescription())
+        .extracting(RepositoryDescription::referenceIndexShards)
+        .isEqualTo(1);
+
+    // The number of shards must not be changed without migrating the reference name index
+    soft.assertThatIllegalStateException()
+        .isThrownBy(() -> repositoryLogic(shardedPersist).initialize("main"))
+        .withMessageContaining("has 1 shard(s), but 4 shard(s) are configured")
+        .withMessageContaining("migrate-reference-index");
+    soft.assertThat(shardedPersist.fetchReference(refRefsShard(1).name())).isNull();
+
+    ReferenceLogic shardedReferenceLogic = referenceLogic(shardedPersist);
+    String name = "refs/heads/branch-0";
+    for (int i = 1; refRefsShardForName(name, 4) == 0; i++) {
+      name = "refs/heads/branch-" + i;
+    }
+    String nameInOtherShard = name;
+    soft.assertThatIllegalStateException()
+        .isThrownBy(
+            () -> shardedReferenceLogic.createReference(nameInOtherShard, randomObjId(), null))
+        .withMessageContaining("migrate-reference-index");
+    soft.assertThatIllegalStateException()
+        .isThrownBy(() -> newArrayList(shardedReferenceLogic.queryReferences(referencesQuery())))
+        .withMessageContaining("migrate-reference-index");
+
+    repositoryLogic(persist).migrateReferenceIndexShards(4);
+    soft.assertThatCode(() -> repositoryLogic(shardedPersist).initialize("main"))
+        .doesNotThrowAnyException();
+    soft.assertThatIllegalStateException()
+        .isThrownBy(() -> repositoryLogic(persist).initialize("main"))
+        .withMessageContaining("has 4 shard(s), but 1 shard(s) are configured");
+  }
+
+  private static List<String> indexedNames(Persist persist, InternalRef refRefs)
+      throws ObjNotFoundException {
+    Reference ref = requireNonNull(persist.fetchReference(refRefs.name()));
+    CommitObj commit = commitLogic(persist).fetchCommit(ref.pointer());
+    List<String> names = new ArrayList<>();
+    for (StoreIndexElement<CommitOp> el : indexesLogic(persist).buildCompleteIndexOrEmpty(commit)) {
+      if (el.content().action().exists()) {
+        names.add(el.key().rawString());
+      }
+    }
+    return names;
+  }
 }
@@ -34,6 +34,7 @@ dependencies {
 
   compileOnly(libs.errorprone.annotations)
   implementation(libs.agrona)
+  implementation(libs.caffeine)
   implementation(libs.guava)
   implementation(project(path = ":nessie-protobuf-relocated", configuration = "shadow"))
   implementation(libs.slf4j.api)
@@ -22,6 +22,7 @@ import java.time.Clock;
 import java.time.Instant;
 import java.util.function.Function;
 import org.immutables.value.Value;
+import org.projectnessie.versioned.storage.common.logic.CommitRetryListener;
 import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
 import org.projectnessie.versioned.storage.common.objtypes.IndexObj;
 import org.projectnessie.versioned.storage.common.objtypes.IndexSegmentsObj;
@@ -50,6 +51,9 @@ public interface StoreConfig {
   String CONFIG_RETRY_MAX_SLEEP_MILLIS = "retry-max-sleep-millis";
   int DEFAULT_RETRY_MAX_SLEEP_MILLIS = 250;
 
+  String CONFIG_RETRY_ADAPTIVE_BACKOFF = "retry-adaptive-backoff";
+  boolean DEFAULT_RETRY_ADAPTIVE_BACKOFF = false;
+
   String CONFIG_MAX_INCREMENTAL_INDEX_SIZE = "max-incremental-index-size";
   int DEFAULT_MAX_INCREMENTAL_INDEX_SIZE = 50 * 1024;
 
@@ -71,6 +75,18 @@ public interface StoreConfig {
   String CONFIG_PREVIOUS_HEAD_TIME_SPAN_SECONDS = "ref-previous-head-time-span-seconds";
   long DEFAULT_PREVIOUS_HEAD_TIME_SPAN_SECONDS = 5 * 60;
 
+  String CONFIG_DIFF_CONTENT_BATCH_SIZE = "diff-content-batch-size";
+  int DEFAULT_DIFF_CONTENT_BATCH_SIZE = 50;
+
+  String CONFIG_REFERENCE_INDEX_SHARDS = "reference-index-shards";
+  int DEFAULT_REFERENCE_INDEX_SHARDS = 1;
+
+  String CONFIG_REFERENCE_SUMMARIES = "reference-summaries";
+  boolean DEFAULT_REFERENCE_SUMMARIES = false;
+
+  String CONFIG_REFERENCE_HISTORY_LOG = "reference-history-log";
+  boolean DEFAULT_REFERENCE_HISTORY_LOG = false;
+
   /**
    * Committing operations by default enforce that all (parent) namespaces exist.
    *
@@ -178,6 +194,24 @@ public interface StoreConfig {
     return DEFAULT_RETRY_MAX_SLEEP_MILLIS;
   }
 
+  /**
+   * Whether the initial sleep time bounds for commit retries are derived from the recently observed
+   * contention on the committed reference. If enabled, the initial bounds for a reference with
+   * frequent concurrent, conflicting updates are sized using the observed failure rate and commit
+   * attempt duration, within the {@link #retryInitialSleepMillisLower() lower} and {@link
+   * #retryMaxSleepMillis() maximum} sleep times. Commits against references without observed
+   * contention use the configured initial bounds. Default is {@value
+   * #DEFAULT_RETRY_ADAPTIVE_BACKOFF}.
+   *
+   * @see #retryInitialSleepMillisLower()
+   * @see #retryInitialSleepMillisUpper()
+   * @see #retryMaxSleepMillis()
+   */
+  @Value.Default
+  default boolean retryAdaptiveBackoff() {
+    return DEFAULT_RETRY_ADAPTIVE_BACKOFF;
+  }
+
   /**
    * The number of parent-commit-hashes stored in {@link CommitObj#tail()}. Defaults to {@value
    * #DEFAULT_PARENTS_PER_COMMIT}.
@@ -243,6 +277,16 @@ public interface StoreConfig {
     return Clock.systemUTC();
   }
 
+  /**
+   * Receives the events of the commit retry loops of the {@link Persist} instance using this
+   * configuration, for example to publish metrics. Defaults to a listener that ignores all events.
+   */
+  @Value.Default
+  @Value.Auxiliary
+  default CommitRetryListener commitRetryListener() {
+    return CommitRetryListener.NOOP;
+  }
+
   @Value.Default
   default int referencePreviousHeadCount() {
     return DEFAULT_PREVIOUS_HEAD_COUNT;
@@ -253,6 +297,55 @@ public interface StoreConfig {
     return DEFAULT_PREVIOUS_HEAD_TIME_SPAN_SECONDS;
   }
 
+  /**
+   * The number of diff entries for which the content objects are fetched at once using a single
+   * bulk request when computing a diff, defaults to {@value #DEFAULT_DIFF_CONTENT_BATCH_SIZE}.
+   */
+  @Value.Default
+  default int diffContentBatchSize() {
+    return DEFAULT_DIFF_CONTENT_BATCH_SIZE;
+  }
+
+  /**
+   * The number of internal references across which the index of all reference names is
+   * partitioned, defaults to {@value #DEFAULT_REFERENCE_INDEX_SHARDS}. Creating and deleting
+   * references only contends on the internal reference that maintains the name of the affected
+   * reference.
+   *
+   * <p>All Nessie instances that access the same repository must use the same value. Changing the
+   * value for an existing repository requires migrating the reference name index via {@link
+   * org.projectnessie.versioned.storage.common.logic.RepositoryLogic#migrateReferenceIndexShards(int)}
+   * while no references are being created or deleted.
+   */
+  @Value.Default
+  default int referenceIndexShards() {
+    return DEFAULT_REFERENCE_INDEX_SHARDS;
+  }
+
+  /**
+   * Whether materialized {@link
+   * org.projectnessie.versioned.storage.common.objtypes.ReferenceSummaryObj reference summaries}
+   * relative to the default branch are maintained when references are committed to, and used by
+   * reference listings that compute the common ancestor or ahead/behind information against the
+   * default branch, defaults to {@value #DEFAULT_REFERENCE_SUMMARIES}.
+   */
+  @Value.Default
+  default boolean referenceSummaries() {
+    return DEFAULT_REFERENCE_SUMMARIES;
+  }
+
+  /**
+   * Whether the pointer changes of named references are recorded in an append-only {@link
+   * org.projectnessie.versioned.storage.common.objtypes.ReferenceHistoryObj history log}, defaults
+   * to {@value #DEFAULT_REFERENCE_HISTORY_LOG}. Unlike the {@link #referencePreviousHeadCount()
+   * previous HEADs} of a reference, the history log is not bounded and is written asynchronously
+   * after the reference has been updated.
+   */
+  @Value.Default
+  default boolean referenceHistoryLog() {
+    return DEFAULT_REFERENCE_HISTORY_LOG;
+  }
+
   /**
    * Retrieves the current timestamp in microseconds since epoch, using the configured {@link
    * #clock()}.
@@ -305,6 +398,10 @@ public interface StoreConfig {
       if (v != null) {
         a = a.withRetryMaxSleepMillis(Long.parseLong(v.trim()));
       }
+      v = configFunction.apply(CONFIG_RETRY_ADAPTIVE_BACKOFF);
+      if (v != null) {
+        a = a.withRetryAdaptiveBackoff(Boolean.parseBoolean(v.trim()));
+      }
       v = configFunction.apply(CONFIG_PARENTS_PER_COMMIT);
       if (v != null) {
         a = a.withParentsPerCommit(Integer.parseInt(v.trim()));
@@ -337,6 +434,22 @@ public interface StoreConfig {
       if (v != null) {
         a = a.withReferencePreviousHeadTimeSpanSeconds(Long.parseLong(v.trim()));
       }
+      v = configFunction.apply(CONFIG_DIFF_CONTENT_BATCH_SIZE);
+      if (v != null) {
+        a = a.withDiffContentBatchSize(Integer.parseInt(v.trim()));
+      }
+      v = configFunction.apply(CONFIG_REFERENCE_INDEX_SHARDS);
+      if (v != null) {
+        a = a.withReferenceIndexShards(Integer.parseInt(v.trim()));
+      }
+      v = configFunction.apply(CONFIG_REFERENCE_SUMMARIES);
+      if (v != null) {
+        a = a.withReferenceSummaries(Boolean.parseBoolean(v.trim()));
+      }
+      v = configFunction.apply(CONFIG_REFERENCE_HISTORY_LOG);
+      if (v != null) {
+        a = a.withReferenceHistoryLog(Boolean.parseBoolean(v.trim()));
+      }
       return a;
     }
 
@@ -358,6 +471,9 @@ public interface StoreConfig {
     /** See {@link StoreConfig#retryMaxSleepMillis()}. */
     Adjustable withRetryMaxSleepMillis(long retryMaxSleepMillis);
 
+    /** See {@link StoreConfig#retryAdaptiveBackoff()}. */
+    Adjustable withRetryAdaptiveBackoff(boolean retryAdaptiveBackoff);
+
     /** See {@link StoreConfig#parentsPerCommit()}. */
     Adjustable withParentsPerCommit(int parentsPerCommit);
 
@@ -379,8 +495,23 @@ public interface StoreConfig {
     /** See {@link StoreConfig#clock()}. */
     Adjustable withClock(Clock clock);
 
+    /** See {@link StoreConfig#commitRetryListener()}. */
+    Adjustable withCommitRetryListener(CommitRetryListener commitRetryListener);
+
     Adjustable withReferencePreviousHeadCount(int referencePreviousHeadCount);
 
     Adjustable withReferencePreviousHeadTimeSpanSeconds(long referencePreviousHeadTimeSpanSeconds);
+
+    /** See {@link StoreConfig#diffContentBatchSize()}. */
+    Adjustable withDiffContentBatchSize(int diffContentBatchSize);
+
+    /** See {@link StoreConfig#referenceIndexShards()}. */
+    Adjustable withReferenceIndexShards(int referenceIndexShards);
+
+    /** See {@link StoreConfig#referenceSummaries()}. */
+    Adjustable withReferenceSummaries(boolean referenceSummaries);
+
+    /** See {@link StoreConfig#referenceHistoryLog()}. */
+    Adjustable withReferenceHistoryLog(boolean referenceHistoryLog);
   }
 }
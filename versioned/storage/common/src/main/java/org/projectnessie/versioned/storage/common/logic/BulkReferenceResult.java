@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.logic;
+
+import jakarta.annotation.Nonnull;
+import java.util.Optional;
+import org.immutables.value.Value;
+import org.projectnessie.versioned.storage.common.exceptions.RefException;
+import org.projectnessie.versioned.storage.common.persist.Reference;
+
+/**
+ * Outcome of a single reference of a bulk reference operation like {@link
+ * ReferenceLogic#createReferences(java.util.List)}.
+ */
+@Value.Immutable
+public interface BulkReferenceResult {
+
+  /** Name of the reference. */
+  @Value.Parameter(order = 1)
+  String name();
+
+  /** The created or deleted reference, if the operation for this reference succeeded. */
+  @Value.Parameter(order = 2)
+  Optional<Reference> reference();
+
+  /** The reason why the operation for this reference failed. */
+  @Value.Parameter(order = 3)
+  Optional<RefException> failure();
+
+  default boolean isSuccess() {
+    return reference().isPresent();
+  }
+
+  @Value.Check
+  default void check() {
+    if (reference().isPresent() == failure().isPresent()) {
+      throw new IllegalStateException("Either reference or failure must be present");
+    }
+  }
+
+  static BulkReferenceResult bulkReferenceSuccess(@Nonnull Reference reference) {
+    return ImmutableBulkReferenceResult.of(
+        reference.name(), Optional.of(reference), Optional.empty());
+  }
+
+  static BulkReferenceResult bulkReferenceFailure(
+      @Nonnull String name, @Nonnull RefException failure) {
+    return ImmutableBulkReferenceResult.of(name, Optional.empty(), Optional.of(failure));
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.logic;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import static org.projectnessie.versioned.storage.common.persist.PerPersist.perPersistCache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.google.common.annotations.VisibleForTesting;
+import jakarta.annotation.Nonnull;
+import org.projectnessie.versioned.storage.common.persist.PerPersist;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+
+/**
+ * Tracks the recently observed commit contention per reference and {@link Persist}, used to size
+ * the sleep times of the {@link CommitRetry commit retry loop} when {@link
+ * org.projectnessie.versioned.storage.common.config.StoreConfig#retryAdaptiveBackoff() adaptive
+ * backoff} is enabled.
+ */
+public final class CommitContention {
+
+  /** Weight of the latest observation in the exponentially weighted moving averages. */
+  static final double SMOOTHING = 0.2d;
+
+  /** References with a smaller failure rate are considered as not contended. */
+  static final double CONTENDED_FAILURE_RATE = 0.1d;
+
+  /** Upper bound of the estimated number of concurrent committers. */
+  static final double MAX_CONCURRENT_COMMITTERS = 16d;
+
+  /**
+   * Maximum number of tracked references per {@link Persist}, the statistics of the least recently
+   * used references are evicted when this number is exceeded.
+   */
+  static final int MAX_TRACKED_REFERENCES = 10_000;
+
+  private static final CommitContention INSTANCE = new CommitContention();
+
+  private final PerPersist<Cache<String, ReferenceContention>> references =
+      perPersistCache(MAX_TRACKED_REFERENCES);
+
+  @VisibleForTesting
+  CommitContention() {}
+
+  public static CommitContention commitContention() {
+    return INSTANCE;
+  }
+
+  ReferenceContention forReference(@Nonnull Persist persist, @Nonnull String refName) {
+    return references.get(persist).get(refName, k -> new ReferenceContention());
+  }
+
+  static final class ReferenceContention {
+    private double failureRate;
+    private double attemptNanos;
+
+    synchronized void recordAttempt(boolean failed, long attemptNanos) {
+      this.failureRate = failureRate * (1d - SMOOTHING) + (failed ? SMOOTHING : 0d);
+      this.attemptNanos =
+          this.attemptNanos == 0d
+              ? attemptNanos
+              : this.attemptNanos * (1d - SMOOTHING) + attemptNanos * SMOOTHING;
+    }
+
+    synchronized double failureRate() {
+      return failureRate;
+    }
+
+    /**
+     * Returns the initial lower sleep time bound for the next commit against this reference, or
+     * {@code 0} if the reference is not contended.
+     *
+     * <p>With a failure rate of {@code f}, roughly {@code f / (1 - f)} committers compete for the
+     * same reference. Sleeping for that many attempt durations gives the competing committers the
+     * chance to finish before the next attempt.
+     */
+    synchronized long initialSleepMillis() {
+      if (failureRate < CONTENDED_FAILURE_RATE) {
+        return 0L;
+      }
+      double committers = Math.min(failureRate / (1d - failureRate), MAX_CONCURRENT_COMMITTERS);
+      return NANOSECONDS.toMillis((long) (attemptNanos * committers));
+    }
+  }
+}
@@ -17,6 +17,7 @@ package org.projectnessie.versioned.storage.common.logic;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.base.Throwables.throwIfUnchecked;
 import static com.google.common.collect.Maps.newHashMapWithExpectedSize;
 import static com.google.common.collect.Sets.newHashSetWithExpectedSize;
 import static java.util.Collections.emptyIterator;
@@ -66,6 +67,9 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -85,6 +89,7 @@ import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
 import org.projectnessie.versioned.storage.common.objtypes.CommitOp.Action;
 import org.projectnessie.versioned.storage.common.objtypes.CommitType;
 import org.projectnessie.versioned.storage.common.objtypes.IndexStripe;
+import org.projectnessie.versioned.storage.common.persist.AsyncPersistAdapter;
 import org.projectnessie.versioned.storage.common.persist.CloseableIterator;
 import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
@@ -100,6 +105,10 @@ final class CommitLogicImpl implements CommitLogic {
   private static final Logger LOGGER = LoggerFactory.getLogger(CommitLogicImpl.class);
 
   static final String NO_COMMON_ANCESTOR_IN_PARENTS_OF = "No common ancestor in parents of ";
+
+  /** Number of partitions requested when scanning all commits. */
+  static final int SCAN_PARTITIONS = Math.min(Runtime.getRuntime().availableProcessors(), 16);
+
   private final Persist persist;
 
   CommitLogicImpl(Persist persist) {
@@ -1086,22 +1095,67 @@ final class CommitLogicImpl implements CommitLogic {
 
     // scanAllCommitLogEntries() returns all commits in no specific order, parents may be scanned
     // before or after their children.
-    try (CloseableIterator<Obj> scan = persist.scanAllObjects(Collections.singleton(COMMIT))) {
-      while (scan.hasNext()) {
-        CommitObj commit = (CommitObj) scan.next();
+    Consumer<CommitObj> handler =
+        commit -> {
+          if (identify.handleCommit(commit)) {
+            commitHandler.accept(commit);
+            // no need to bother with secondary parents, we are scanning everything anyway
+          }
+        };
+
+    List<CloseableIterator<Obj>> scans =
+        persist.scanAllObjects(Collections.singleton(COMMIT), SCAN_PARTITIONS);
+    if (scans.size() == 1) {
+      scanCommits(scans.get(0), handler);
+    } else {
+      // Scan the partitions concurrently, but handle one commit at a time.
+      Consumer<CommitObj> synchronizedHandler =
+          commit -> {
+            synchronized (identify) {
+              handler.accept(commit);
+            }
+          };
+      // The long-running scans use their own executor with one thread per partition, so that they
+      // neither exhaust nor wait for the shared executor used by concurrent requests.
+      ExecutorService scanExecutor =
+          AsyncPersistAdapter.newExecutor("nessie-scan-commits-", scans.size(), scans.size());
+      try {
+        CompletableFuture<?>[] partitionScans =
+            scans.stream()
+                .map(
+                    scan ->
+                        AsyncPersistAdapter.supplyAsync(
+                                scanExecutor,
+                                () -> {
+                                  scanCommits(scan, synchronizedHandler);
+                                  return null;
+                                })
+                            .toCompletableFuture())
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(partitionScans).join();
+      } catch (CompletionException e) {
+        throwIfUnchecked(e.getCause());
+        throw e;
+      } finally {
+        scanExecutor.shutdown();
+      }
+    }
+
+    return identify.finish();
+  }
+
+  private static void scanCommits(CloseableIterator<Obj> scan, Consumer<CommitObj> handler) {
+    try (CloseableIterator<Obj> s = scan) {
+      while (s.hasNext()) {
+        CommitObj commit = (CommitObj) s.next();
 
         // Ignore commits on internal references
         if (commit.commitType() == CommitType.INTERNAL) {
           continue;
         }
 
-        if (identify.handleCommit(commit)) {
-          commitHandler.accept(commit);
-          // no need to bother with secondary parents, we are scanning everything anyway
-        }
+        handler.accept(commit);
       }
     }
-
-    return identify.finish();
   }
 }
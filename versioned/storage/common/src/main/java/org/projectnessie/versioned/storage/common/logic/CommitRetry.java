@@ -17,6 +17,7 @@ package org.projectnessie.versioned.storage.common.logic;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.projectnessie.versioned.storage.common.logic.CommitContention.commitContention;
 import static org.projectnessie.versioned.storage.common.logic.CommitRetry.TryLoopState.newTryLoopState;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -24,12 +25,14 @@ import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.trace.Span;
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import java.util.Optional;
 import java.util.concurrent.ThreadLocalRandom;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
 import org.projectnessie.versioned.storage.common.exceptions.CommitConflictException;
 import org.projectnessie.versioned.storage.common.exceptions.CommitWrappedException;
 import org.projectnessie.versioned.storage.common.exceptions.RetryTimeoutException;
+import org.projectnessie.versioned.storage.common.logic.CommitContention.ReferenceContention;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 
 public class CommitRetry {
@@ -42,7 +45,17 @@ public class CommitRetry {
 
   public static <T> T commitRetry(Persist persist, CommitAttempt<T> attempt)
       throws CommitWrappedException, CommitConflictException, RetryTimeoutException {
-    return commitRetry(persist, attempt, newTryLoopState(persist));
+    return commitRetry(persist, attempt, newTryLoopState(persist, null));
+  }
+
+  /**
+   * Performs a retryable operation that updates the reference named {@code refName}. Retries of the
+   * operation are tracked per reference and reported to the {@link
+   * StoreConfig#commitRetryListener() commit retry listener} of {@code persist}.
+   */
+  public static <T> T commitRetry(Persist persist, String refName, CommitAttempt<T> attempt)
+      throws CommitWrappedException, CommitConflictException, RetryTimeoutException {
+    return commitRetry(persist, attempt, newTryLoopState(persist, refName));
   }
 
   @VisibleForTesting
@@ -54,10 +67,14 @@ public class CommitRetry {
     long t1 = t0;
     for (int i = 0; true; i++, t1 = tls.currentNanos()) {
       try {
-        return attempt.attempt(persist, retryState);
+        T result = attempt.attempt(persist, retryState);
+        tls.success(t0, t1);
+        return result;
       } catch (RetryException e) {
         if (!tls.retry(t1)) {
-          throw new RetryTimeoutException(i, tls.currentNanos() - t0);
+          long duration = tls.currentNanos() - t0;
+          tls.timeout(duration);
+          throw new RetryTimeoutException(i, duration);
         }
         retryState = e.retryState();
       }
@@ -101,12 +118,24 @@ public class CommitRetry {
     private final long maxTime;
     private final int maxRetries;
     private final long maxSleep;
+    private final String refName;
+    private final ReferenceContention contention;
+    private final CommitRetryListener listener;
     private long lowerBound;
     private long upperBound;
     private int retries;
     private boolean unsuccessful;
 
     TryLoopState(StoreConfig config, MonotonicClock monotonicClock) {
+      this(config, monotonicClock, null, null, CommitRetryListener.NOOP);
+    }
+
+    TryLoopState(
+        StoreConfig config,
+        MonotonicClock monotonicClock,
+        @Nullable String refName,
+        @Nullable ReferenceContention contention,
+        @Nonnull CommitRetryListener listener) {
       this.maxTime = MILLISECONDS.toNanos(config.commitTimeoutMillis());
       this.maxRetries = config.commitRetries();
       this.monotonicClock = monotonicClock;
@@ -114,11 +143,33 @@ public class CommitRetry {
       this.lowerBound = config.retryInitialSleepMillisLower();
       this.upperBound = config.retryInitialSleepMillisUpper();
       this.maxSleep = config.retryMaxSleepMillis();
+      this.refName = refName;
+      this.contention = contention;
+      this.listener = listener;
+
+      if (contention != null && config.retryAdaptiveBackoff()) {
+        // Start with a bigger sleep time window for contended references, but never exceed the
+        // configured maximum sleep time.
+        long contended = contention.initialSleepMillis();
+        if (contended > lowerBound) {
+          long lower = Math.min(contended, maxSleep);
+          long upper = Math.min(Math.max(upperBound, contended * 2), maxSleep);
+          this.lowerBound = Math.min(lower, upper);
+          this.upperBound = upper;
+        }
+      }
     }
 
-    public static TryLoopState newTryLoopState(Persist persist) {
+    public static TryLoopState newTryLoopState(Persist persist, @Nullable String refName) {
+      StoreConfig config = persist.config();
+      ReferenceContention contention = null;
+      CommitRetryListener listener = CommitRetryListener.NOOP;
+      if (refName != null) {
+        contention = commitContention().forReference(persist, refName);
+        listener = config.commitRetryListener();
+      }
       return new TryLoopState(
-          persist.config(),
+          config,
           new MonotonicClock() {
             @Override
             public long currentNanos() {
@@ -133,7 +184,10 @@ public class CommitRetry {
                 Thread.currentThread().interrupt();
               }
             }
-          });
+          },
+          refName,
+          contention,
+          listener);
     }
 
     long currentNanos() {
@@ -151,6 +205,10 @@ public class CommitRetry {
       long totalElapsed = current - t0;
       long attemptElapsed = timeAttemptStarted - current;
 
+      if (contention != null) {
+        contention.recordAttempt(true, current - timeAttemptStarted);
+      }
+
       if (maxTime < totalElapsed || maxRetries < retries) {
         unsuccessful = true;
         return false;
@@ -161,6 +219,20 @@ public class CommitRetry {
       return true;
     }
 
+    void success(long timeStarted, long timeAttemptStarted) {
+      if (refName != null) {
+        long current = currentNanos();
+        contention.recordAttempt(false, current - timeAttemptStarted);
+        listener.onSuccess(refName, retries, current - timeStarted);
+      }
+    }
+
+    void timeout(long durationNanos) {
+      if (refName != null) {
+        listener.onTimeout(refName, retries, durationNanos);
+      }
+    }
+
     private void sleepAndBackoff(long totalElapsed, long attemptElapsed) {
       long lower = lowerBound;
       long upper = upperBound;
@@ -175,6 +247,9 @@ public class CommitRetry {
 
       Span.current()
           .addEvent(OTEL_SLEEP_EVENT_NAME, Attributes.of(OTEL_SLEEP_EVENT_TIME_KEY, sleepMillis));
+      if (refName != null) {
+        listener.onRetry(refName, sleepMillis);
+      }
 
       monotonicClock.sleepMillis(sleepMillis);
 
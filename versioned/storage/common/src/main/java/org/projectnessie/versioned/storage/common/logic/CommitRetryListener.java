@@ -0,0 +1,38 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.logic;
+
+import jakarta.annotation.Nonnull;
+
+/**
+ * Receives events from the {@link CommitRetry commit retry loop} for a reference, for example to
+ * publish metrics.
+ *
+ * @see org.projectnessie.versioned.storage.common.config.StoreConfig#commitRetryListener()
+ */
+public interface CommitRetryListener {
+
+  CommitRetryListener NOOP = new CommitRetryListener() {};
+
+  /** Called before the commit retry loop sleeps before the next attempt. */
+  default void onRetry(@Nonnull String refName, long sleepMillis) {}
+
+  /** Called when an operation succeeded after {@code retries} retries. */
+  default void onSuccess(@Nonnull String refName, int retries, long durationNanos) {}
+
+  /** Called when an operation could not be performed within the configured retry limits. */
+  default void onTimeout(@Nonnull String refName, int retries, long durationNanos) {}
+}
@@ -15,11 +15,13 @@
  */
 package org.projectnessie.versioned.storage.common.logic;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Arrays.asList;
 import static java.util.Collections.unmodifiableList;
 import static org.projectnessie.versioned.storage.common.indexes.StoreKey.key;
 import static org.projectnessie.versioned.storage.common.persist.Reference.INTERNAL_PREFIX;
 
+import java.util.ArrayList;
 import java.util.List;
 import org.immutables.value.Value;
 import org.projectnessie.versioned.storage.common.indexes.StoreKey;
@@ -50,6 +52,10 @@ public interface InternalRef {
    * <p>Old commits in this reference might be pruned, because the history is technically not
    * required. On the other hand, the history might serve the legit use case to track who
    * created/deleted a reference and when that happened.
+   *
+   * <p>If the reference name index is {@linkplain
+   * org.projectnessie.versioned.storage.common.config.StoreConfig#referenceIndexShards() sharded},
+   * this reference is the first shard, see {@link #refRefsShard(int)}.
    */
   InternalRef REF_REFS = internalReference("refs");
 
@@ -64,5 +70,35 @@ public interface InternalRef {
     return unmodifiableList(asList(REF_REPO, REF_REFS));
   }
 
+  /**
+   * Returns the internal reference for the given shard of the reference name index. Shard {@code
+   * 0} is always {@link #REF_REFS}, which keeps repositories that do not use a sharded reference
+   * name index compatible.
+   */
+  static InternalRef refRefsShard(int shard) {
+    checkArgument(shard >= 0, "Illegal shard %s", shard);
+    return shard == 0 ? REF_REFS : internalReference("refs-" + shard);
+  }
+
+  /** Returns the internal references for all shards of the reference name index. */
+  static List<InternalRef> refRefsShards(int shards) {
+    checkArgument(shards >= 1, "Illegal number of shards %s", shards);
+    List<InternalRef> refs = new ArrayList<>(shards);
+    for (int shard = 0; shard < shards; shard++) {
+      refs.add(refRefsShard(shard));
+    }
+    return unmodifiableList(refs);
+  }
+
+  /**
+   * Returns the shard of the reference name index that maintains the given reference name.
+   *
+   * <p>The shard is derived from the hash of the whole reference name, because reference names
+   * usually share the same few prefixes like {@code refs/heads/}.
+   */
+  static int refRefsShardForName(String referenceName, int shards) {
+    return shards <= 1 ? 0 : Math.floorMod(referenceName.hashCode(), shards);
+  }
+
   StoreKey KEY_REPO_DESCRIPTION = key("repo", "description");
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.logic;
+
+import java.util.function.Consumer;
+import org.immutables.value.Value;
+
+/** Parameters for {@link ReferenceLogic#compactReferenceIndex(ReferenceIndexCompactionParams)}. */
+@Value.Immutable
+public interface ReferenceIndexCompactionParams {
+
+  int DEFAULT_BATCH_SIZE = 100;
+  long DEFAULT_BATCH_DELAY_MILLIS = 0L;
+
+  /** Number of reference names to check for recovery or purge at once. */
+  @Value.Default
+  default int batchSize() {
+    return DEFAULT_BATCH_SIZE;
+  }
+
+  /**
+   * Time to wait after each batch of reference names, to throttle the load the compaction puts on
+   * the database.
+   */
+  @Value.Default
+  default long batchDelayMillis() {
+    return DEFAULT_BATCH_DELAY_MILLIS;
+  }
+
+  /** Receives the intermediate statistics after each batch and after each processed shard. */
+  @Value.Default
+  @Value.Auxiliary
+  default Consumer<ReferenceIndexCompactionResult> progressListener() {
+    return result -> {};
+  }
+
+  @Value.Check
+  default void check() {
+    if (batchSize() <= 0) {
+      throw new IllegalArgumentException("batchSize must be positive");
+    }
+    if (batchDelayMillis() < 0L) {
+      throw new IllegalArgumentException("batchDelayMillis must not be negative");
+    }
+  }
+
+  static ImmutableReferenceIndexCompactionParams.Builder builder() {
+    return ImmutableReferenceIndexCompactionParams.builder();
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.logic;
+
+import org.immutables.value.Value;
+
+/**
+ * Statistics of {@link ReferenceLogic#compactReferenceIndex(ReferenceIndexCompactionParams)},
+ * also reported as the progress of a running compaction.
+ */
+@Value.Immutable
+public interface ReferenceIndexCompactionResult {
+
+  /** Number of shards of the reference name index that have been processed. */
+  @Value.Parameter(order = 1)
+  int processedShards();
+
+  /** Number of shards of the reference name index that have been rewritten. */
+  @Value.Parameter(order = 2)
+  int compactedShards();
+
+  /** Number of reference names that have been checked for recovery or purge. */
+  @Value.Parameter(order = 3)
+  long checkedReferences();
+
+  /** Number of references marked as deleted, that have been purged. */
+  @Value.Parameter(order = 4)
+  long purgedReferences();
+
+  /** Number of entries of deleted references that have been dropped from the index. */
+  @Value.Parameter(order = 5)
+  long droppedIndexEntries();
+
+  static ReferenceIndexCompactionResult referenceIndexCompactionResult(
+      int processedShards,
+      int compactedShards,
+      long checkedReferences,
+      long purgedReferences,
+      long droppedIndexEntries) {
+    return ImmutableReferenceIndexCompactionResult.of(
+        processedShards, compactedShards, checkedReferences, purgedReferences, droppedIndexEntries);
+  }
+}
@@ -78,6 +78,39 @@ public interface ReferenceLogic {
   void deleteReference(@Nonnull String name, @Nonnull ObjId expectedPointer)
       throws RefNotFoundException, RefConditionFailedException, RetryTimeoutException;
 
+  /**
+   * Creates multiple references, the additions of all reference names that do not exist yet are
+   * recorded using a single commit to {@link InternalRef#REF_REFS}, or to each affected shard of
+   * the reference name index, see {@link InternalRef#refRefsShard(int)}.
+   *
+   * <p>The {@link Reference#name() name}, {@link Reference#pointer() pointer} and {@link
+   * Reference#extendedInfoObj() extended info object} of the given references are used, all other
+   * attributes are ignored. Reference names must be unique.
+   *
+   * @param references the references to create
+   * @return the result for each reference, in the same order as {@code references}, failures are
+   *     reported as {@link RefAlreadyExistsException}
+   */
+  @Nonnull
+  List<BulkReferenceResult> createReferences(@Nonnull List<Reference> references)
+      throws RetryTimeoutException;
+
+  /**
+   * Deletes multiple references, the removals of all reference names are recorded using a single
+   * commit to {@link InternalRef#REF_REFS}, or to each affected shard of the reference name index,
+   * see {@link InternalRef#refRefsShard(int)}.
+   *
+   * <p>The {@link Reference#name() name} and {@link Reference#pointer() expected pointer} of the
+   * given references are used, all other attributes are ignored. Reference names must be unique.
+   *
+   * @param references the references to delete
+   * @return the result for each reference, in the same order as {@code references}, failures are
+   *     reported as {@link RefNotFoundException} or {@link RefConditionFailedException}
+   */
+  @Nonnull
+  List<BulkReferenceResult> deleteReferences(@Nonnull List<Reference> references)
+      throws RetryTimeoutException;
+
   /**
    * Atomically updates the given reference's {@link Reference#pointer()} to the new value, if and
    * only if the current persisted reference is not marked as {@link Reference#deleted()} and {@link
@@ -90,4 +123,21 @@ public interface ReferenceLogic {
   @Nonnull
   Reference assignReference(@Nonnull Reference current, @Nonnull ObjId newPointer)
       throws RefNotFoundException, RefConditionFailedException;
+
+  /**
+   * Compacts the reference name index, which otherwise retains the whole history of all reference
+   * creations and deletions.
+   *
+   * <p>First, all reference names in each shard of the reference name index are checked in batches
+   * of {@link ReferenceIndexCompactionParams#batchSize()}, interrupted reference creations and
+   * deletions are recovered and references marked as {@link Reference#deleted() deleted} are
+   * purged. Then each shard is rewritten into a single commit without a parent, which only contains
+   * the existing references.
+   *
+   * <p>It is safe to run the compaction while references are being created or deleted: a shard is
+   * only rewritten via a CAS operation on its HEAD, concurrent changes let the rewrite retry.
+   */
+  @Nonnull
+  ReferenceIndexCompactionResult compactReferenceIndex(
+      @Nonnull ReferenceIndexCompactionParams params) throws RetryTimeoutException;
 }
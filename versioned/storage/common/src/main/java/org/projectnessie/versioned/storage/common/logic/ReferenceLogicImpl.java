@@ -19,17 +19,25 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 import static java.lang.String.format;
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyIterator;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_REFERENCE_INDEX_SHARDS;
 import static org.projectnessie.nessie.relocated.protobuf.ByteString.copyFromUtf8;
 import static org.projectnessie.versioned.storage.common.indexes.StoreKey.key;
+import static org.projectnessie.versioned.storage.common.logic.BulkReferenceResult.bulkReferenceFailure;
+import static org.projectnessie.versioned.storage.common.logic.BulkReferenceResult.bulkReferenceSuccess;
 import static org.projectnessie.versioned.storage.common.logic.CommitConflict.ConflictType.KEY_EXISTS;
 import static org.projectnessie.versioned.storage.common.logic.CommitRetry.commitRetry;
 import static org.projectnessie.versioned.storage.common.logic.CreateCommit.Add.commitAdd;
 import static org.projectnessie.versioned.storage.common.logic.CreateCommit.Remove.commitRemove;
 import static org.projectnessie.versioned.storage.common.logic.CreateCommit.newCommitBuilder;
 import static org.projectnessie.versioned.storage.common.logic.InternalRef.REF_REFS;
+import static org.projectnessie.versioned.storage.common.logic.InternalRef.refRefsShard;
+import static org.projectnessie.versioned.storage.common.logic.InternalRef.refRefsShardForName;
+import static org.projectnessie.versioned.storage.common.logic.InternalRef.refRefsShards;
 import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
 import static org.projectnessie.versioned.storage.common.logic.Logics.indexesLogic;
 import static org.projectnessie.versioned.storage.common.logic.PagingToken.emptyPagingToken;
@@ -48,14 +56,21 @@ import static org.projectnessie.versioned.storage.common.persist.Reference.refer
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Iterators;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
 import org.projectnessie.nessie.relocated.protobuf.ByteString;
 import org.projectnessie.versioned.storage.common.exceptions.CommitConflictException;
@@ -70,11 +85,13 @@ import org.projectnessie.versioned.storage.common.indexes.StoreIndex;
 import org.projectnessie.versioned.storage.common.indexes.StoreIndexElement;
 import org.projectnessie.versioned.storage.common.indexes.StoreKey;
 import org.projectnessie.versioned.storage.common.logic.CommitRetry.RetryException;
+import org.projectnessie.versioned.storage.common.objtypes.CommitHeaders;
 import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
 import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
 import org.projectnessie.versioned.storage.common.objtypes.CommitOp.Action;
 import org.projectnessie.versioned.storage.common.objtypes.CommitType;
 import org.projectnessie.versioned.storage.common.objtypes.RefObj;
+import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.common.persist.Reference;
@@ -148,6 +165,29 @@ import org.slf4j.LoggerFactory;
  * Listing/querying references is performed via the tip of {@link InternalRef#REF_REFS} and then
  * {@link Persist#fetchReferences(String[])} chunks of references to inquire their tips/HEADs.
  *
+ * <p>If the {@link Persist#supportsReferenceScans() database supports it}, listing references with
+ * a name prefix uses {@link Persist#scanReferences(String, String, int)} instead, and only checks
+ * the returned references against {@link InternalRef#REF_REFS}. References whose creation has been
+ * interrupted are not recovered by such a listing, but by the next access via their name.
+ *
+ * <h3>Sharded reference name index</h3>
+ *
+ * All creations and deletions of references contend on the single internal reference {@link
+ * InternalRef#REF_REFS}. The reference name index can optionally be partitioned across {@link
+ * org.projectnessie.versioned.storage.common.config.StoreConfig#referenceIndexShards() multiple}
+ * internal references, see {@link InternalRef#refRefsShard(int)}. Each reference name is then
+ * maintained in exactly one shard, chosen via {@link InternalRef#refRefsShardForName(String, int)},
+ * and the above approaches as well as the resume/recovery process operate on that shard. Listing
+ * references merges the sorted indexes of all shards.
+ *
+ * <h3>Reference name index compaction</h3>
+ *
+ * Each shard of the reference name index retains the history of all reference creations and
+ * deletions, including the index entries of deleted references. {@link
+ * #compactReferenceIndex(ReferenceIndexCompactionParams)} rewrites each shard into a single commit
+ * without a parent. A reference that is marked as deleted, but whose name is no longer present in
+ * the index, is purged by the resume/recovery process.
+ *
  * <h3>Non-transactional resume/recovery</h3>
  *
  * Transactional databases can safely use the native consistent update mechanisms provided by the
@@ -176,35 +216,94 @@ final class ReferenceLogicImpl implements ReferenceLogic {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ReferenceLogicImpl.class);
   private static final String REF_REFS_ADVANCED = "ref-refs advanced";
+  private static final int REFERENCES_BATCH_SIZE = 50;
 
   private final Persist persist;
+  private final int shards;
 
   ReferenceLogicImpl(Persist persist) {
     this.persist = persist;
+    this.shards = Math.max(persist.config().referenceIndexShards(), 1);
+  }
+
+  private int shardForName(String name) {
+    return refRefsShardForName(name, shards);
+  }
+
+  /** Name of the internal reference that maintains the given reference name. */
+  private String refRefsName(String name) {
+    return refRefsShard(shardForName(name)).name();
+  }
+
+  /** Fetches the internal reference of a shard of the reference name index, which must exist. */
+  private static Reference fetchRefRefs(Persist p, String refRefsName) {
+    Reference refRefs = p.fetchReference(refRefsName);
+    if (refRefs == null) {
+      throw missingReferenceIndexShard(refRefsName);
+    }
+    return refRefs;
+  }
+
+  /**
+   * Checks that a shard of the reference name index exists. A missing first shard means that the
+   * repository has not been initialized yet, which yields an empty reference name index.
+   */
+  @Nullable
+  private static Reference checkRefRefs(@Nullable Reference refRefs, String refRefsName) {
+    if (refRefs == null && !REF_REFS.name().equals(refRefsName)) {
+      throw missingReferenceIndexShard(refRefsName);
+    }
+    return refRefs;
+  }
+
+  private static IllegalStateException missingReferenceIndexShard(String refRefsName) {
+    return new IllegalStateException(
+        format(
+            "The internal reference '%s' of the reference name index does not exist. The number of "
+                + "shards configured via '%s' must not be changed without migrating the reference "
+                + "name index using the 'migrate-reference-index' command of the Nessie server "
+                + "admin tool.",
+            refRefsName, CONFIG_REFERENCE_INDEX_SHARDS));
   }
 
   @Override
   @Nonnull
   public List<Reference> getReferences(@Nonnull List<String> references) {
     int refCount = references.size();
-    String[] refsArray;
-    int refRefsIndex = references.indexOf(REF_REFS.name());
-    if (refRefsIndex != -1) {
-      refsArray = references.toArray(new String[refCount]);
-    } else {
-      refsArray = references.toArray(new String[refCount + 1]);
-      refRefsIndex = references.size();
-      refsArray[refRefsIndex] = REF_REFS.name();
+    List<String> names = new ArrayList<>(refCount + 1);
+    names.addAll(references);
+    // Only fetch the shards of the reference name index that maintain the requested names.
+    int[] refRefsIndexes = new int[shards];
+    Arrays.fill(refRefsIndexes, -1);
+    for (String name : references) {
+      int shard = shardForName(name);
+      if (refRefsIndexes[shard] == -1) {
+        String refRefsName = refRefsShard(shard).name();
+        int refRefsIndex = references.indexOf(refRefsName);
+        if (refRefsIndex == -1) {
+          refRefsIndex = names.size();
+          names.add(refRefsName);
+        }
+        refRefsIndexes[shard] = refRefsIndex;
+      }
+    }
+    Reference[] refs = persist.fetchReferences(names.toArray(new String[0]));
+
+    List<Supplier<SuppliedCommitIndex>> refsIndexSuppliers = new ArrayList<>(shards);
+    for (int shard = 0; shard < shards; shard++) {
+      int refRefsIndex = refRefsIndexes[shard];
+      refsIndexSuppliers.add(
+          refRefsIndex != -1
+              ? createRefsIndexSupplier(checkRefRefs(refs[refRefsIndex], names.get(refRefsIndex)))
+              : null);
     }
-    Reference[] refs = persist.fetchReferences(refsArray);
-
-    Supplier<SuppliedCommitIndex> refsIndexSupplier = createRefsIndexSupplier(refs[refRefsIndex]);
 
     List<Reference> r = new ArrayList<>(refCount);
     for (int i = 0; i < refCount; i++) {
       Reference ref = refs[i];
+      String name = references.get(i);
 
-      ref = maybeRecover(references.get(i), ref, refsIndexSupplier);
+      ref = maybeRecover(name, ref, refsIndexSuppliers.get(shardForName(name)));
 
       if (ref != null && ref.name().startsWith(INTERNAL_PREFIX)) {
         // do not expose internal references
@@ -229,26 +328,121 @@ final class ReferenceLogicImpl implements ReferenceLogic {
             .map(StoreKey::key)
             .orElse(prefix);
 
-    SuppliedCommitIndex index = createRefsIndexSupplier().get();
+    String[] refRefsNames =
+        refRefsShards(shards).stream().map(InternalRef::name).toArray(String[]::new);
+    Reference[] refRefs = persist.fetchReferences(refRefsNames);
+    List<SuppliedCommitIndex> indexes = new ArrayList<>(shards);
+    for (int shard = 0; shard < shards; shard++) {
+      indexes.add(createRefsIndexSupplier(checkRefRefs(refRefs[shard], refRefsNames[shard])).get());
+    }
+
+    String scanPrefix = referencesQuery.referencePrefix().orElse("");
+    if (!scanPrefix.isEmpty() && persist.supportsReferenceScans()) {
+      String scanBegin =
+          pagingToken.map(PagingToken::token).map(ByteString::toStringUtf8).orElse(null);
+      return new ScanQueryIter(indexes, scanPrefix, scanBegin);
+    }
+
+    return new QueryIter(indexes, prefix, begin, referencesQuery.prefetch());
+  }
+
+  /**
+   * Lists the references having a name prefix via {@link Persist#scanReferences(String, String,
+   * int)}, so that references outside the prefix are not touched. Only references present in the
+   * reference name index are returned, references marked as deleted are subject to recovery.
+   */
+  private final class ScanQueryIter extends AbstractIterator<Reference>
+      implements PagedResult<Reference, String> {
+    private final List<SuppliedCommitIndex> indexes;
+    private final String prefix;
+    private String startAfter;
+    private boolean exhausted;
+    private Iterator<Reference> referenceIterator;
+
+    private ScanQueryIter(List<SuppliedCommitIndex> indexes, String prefix, String begin) {
+      this.indexes = indexes;
+      this.prefix = prefix;
+      this.startAfter = begin;
+      // A paging token is the name of the first reference to return, the scans however continue
+      // after a name, so fetch that reference separately.
+      Reference first =
+          begin != null && begin.startsWith(prefix) ? persist.fetchReference(begin) : null;
+      this.referenceIterator = first != null ? singletonList(first).iterator() : emptyIterator();
+    }
+
+    @Override
+    protected Reference computeNext() {
+      while (true) {
+        if (referenceIterator.hasNext()) {
+          Reference ref = referenceIterator.next();
+          if (ref.isInternal()) {
+            continue;
+          }
+
+          String name = ref.name();
+          SuppliedCommitIndex index = indexes.get(shardForName(name));
+          if (ref.deleted()) {
+            ref = maybeRecover(name, ref, () -> index);
+          } else {
+            StoreIndexElement<CommitOp> el = index.index().get(key(name));
+            if (el == null || !el.content().action().exists()) {
+              // Not (yet) present in the reference name index.
+              ref = null;
+            }
+          }
+          if (ref != null) {
+            return ref;
+          }
+          continue;
+        }
+
+        if (exhausted) {
+          return endOfData();
+        }
+
+        List<Reference> refs = persist.scanReferences(prefix, startAfter, REFERENCES_BATCH_SIZE);
+        // Decided on the scanned references, before any of those are skipped below.
+        exhausted = refs.size() < REFERENCES_BATCH_SIZE;
+        if (!refs.isEmpty()) {
+          startAfter = refs.get(refs.size() - 1).name();
+        }
+        referenceIterator = refs.iterator();
+      }
+    }
 
-    return new QueryIter(index, prefix, begin, referencesQuery.prefetch());
+    @Nonnull
+    @Override
+    public PagingToken tokenForKey(String key) {
+      return key != null ? pagingToken(copyFromUtf8(key)) : emptyPagingToken();
+    }
   }
 
   private final class QueryIter extends AbstractIterator<Reference>
       implements PagedResult<Reference, String> {
-    private final SuppliedCommitIndex index;
+    private final List<SuppliedCommitIndex> indexes;
     private final Iterator<StoreIndexElement<CommitOp>> base;
     private final StoreKey prefix;
+    private StoreKey previousKey;
 
-    private static final int REFERENCES_BATCH_SIZE = 50;
     private final List<String> referencesBatch;
     private Iterator<Reference> referenceIterator = emptyIterator();
 
     private QueryIter(
-        SuppliedCommitIndex index, StoreKey prefix, StoreKey begin, boolean prefetch) {
-      this.index = index;
+        List<SuppliedCommitIndex> indexes, StoreKey prefix, StoreKey begin, boolean prefetch) {
+      this.indexes = indexes;
       this.prefix = prefix;
-      this.base = index.index().iterator(begin, null, prefetch);
+      if (indexes.size() == 1) {
+        this.base = indexes.get(0).index().iterator(begin, null, prefetch);
+      } else {
+        List<Iterator<StoreIndexElement<CommitOp>>> shardIterators =
+            new ArrayList<>(indexes.size());
+        for (SuppliedCommitIndex index : indexes) {
+          shardIterators.add(index.index().iterator(begin, null, prefetch));
+        }
+        this.base =
+            Iterators.mergeSorted(
+                shardIterators, Comparator.comparing((StoreIndexElement<CommitOp> el) -> el.key()));
+      }
       this.referencesBatch = new ArrayList<>(REFERENCES_BATCH_SIZE);
     }
 
@@ -268,6 +462,11 @@ final class ReferenceLogicImpl implements ReferenceLogic {
 
         StoreIndexElement<CommitOp> el = base.next();
         StoreKey k = el.key();
+        if (k.equals(previousKey)) {
+          // A name can be present in two shards while the reference name index is being migrated.
+          continue;
+        }
+        previousKey = k;
         if (prefix == null || k.startsWith(prefix)) {
           String name = k.rawString();
           referencesBatch.add(name);
@@ -286,7 +485,9 @@ final class ReferenceLogicImpl implements ReferenceLogic {
       List<Reference> refsList = new ArrayList<>(refs.length);
       for (int i = 0; i < refs.length; i++) {
         Reference ref = refs[i];
-        ref = maybeRecover(referencesBatch.get(i), ref, () -> index);
+        String name = referencesBatch.get(i);
+        SuppliedCommitIndex index = indexes.get(shardForName(name));
+        ref = maybeRecover(name, ref, () -> index);
         if (ref != null) {
           refsList.add(ref);
         }
@@ -356,7 +557,7 @@ final class ReferenceLogicImpl implements ReferenceLogic {
           if (!existing.deleted()) {
             throw new RefAlreadyExistsException(existing);
           }
-          maybeRecover(name, existing, createRefsIndexSupplier());
+          maybeRecover(name, existing, createRefsIndexSupplierForName(name));
           // try again
           break;
         default:
@@ -374,7 +575,7 @@ final class ReferenceLogicImpl implements ReferenceLogic {
     Supplier<SuppliedCommitIndex> indexSupplier = null;
     if (reference == null) {
       StoreKey nameKey = key(name);
-      indexSupplier = createRefsIndexSupplier();
+      indexSupplier = createRefsIndexSupplierForName(name);
       StoreIndexElement<CommitOp> index = indexSupplier.get().index().get(nameKey);
       if (index == null) {
         // not there --> okay
@@ -395,7 +596,7 @@ final class ReferenceLogicImpl implements ReferenceLogic {
       // one must throw a ReferenceNotFoundException instead of a ReferenceConditionFailedException
       if (!actAsAlreadyDeleted) {
         if (indexSupplier == null) {
-          indexSupplier = createRefsIndexSupplier();
+          indexSupplier = createRefsIndexSupplierForName(name);
         }
         Reference recovered = maybeRecover(name, reference, indexSupplier);
         throw new RefConditionFailedException(recovered != null ? recovered : reference);
@@ -432,6 +633,231 @@ final class ReferenceLogicImpl implements ReferenceLogic {
     }
   }
 
+  @Override
+  @Nonnull
+  public List<BulkReferenceResult> createReferences(@Nonnull List<Reference> references)
+      throws RetryTimeoutException {
+    checkUniqueNonInternalNames(references);
+
+    long refCreatedTimestamp = persist.config().currentTimeMicros();
+    List<Reference> toCreate = new ArrayList<>(references.size());
+    for (Reference reference : references) {
+      toCreate.add(
+          reference(
+              reference.name(),
+              reference.pointer(),
+              false,
+              refCreatedTimestamp,
+              reference.extendedInfoObj()));
+    }
+
+    Set<String> added = commitCreateReferences(toCreate);
+
+    LOGGER.debug("Committed create references {}, added to index {}", toCreate, added);
+
+    List<BulkReferenceResult> results = new ArrayList<>(toCreate.size());
+    for (Reference created : toCreate) {
+      try {
+        Reference result;
+        if (added.contains(created.name())) {
+          try {
+            result = persist.addReference(created);
+          } catch (RefAlreadyExistsException e) {
+            // Reference recovery logic might have kicked in and added the reference. It that's the
+            // case, just return it.
+            if (!created.equals(e.reference())) {
+              // Might happen in a rare race
+              throw e;
+            }
+            result = e.reference();
+          }
+        } else {
+          // The name is already present in REF_REFS, let the single-reference code path handle
+          // the existing reference and the potentially necessary recovery.
+          result = createReference(created.name(), created.pointer(), created.extendedInfoObj());
+        }
+        results.add(bulkReferenceSuccess(result));
+      } catch (RefAlreadyExistsException e) {
+        results.add(bulkReferenceFailure(created.name(), e));
+      }
+    }
+    return results;
+  }
+
+  @Override
+  @Nonnull
+  public List<BulkReferenceResult> deleteReferences(@Nonnull List<Reference> references)
+      throws RetryTimeoutException {
+    checkUniqueNonInternalNames(references);
+
+    String[] names = references.stream().map(Reference::name).toArray(String[]::new);
+    Reference[] existing = persist.fetchReferences(names);
+
+    BulkReferenceResult[] results = new BulkReferenceResult[references.size()];
+    List<Reference> marked = new ArrayList<>(references.size());
+    List<Integer> markedIndexes = new ArrayList<>(references.size());
+    for (int i = 0; i < results.length; i++) {
+      Reference expected = references.get(i);
+      Reference current = existing[i];
+      if (current != null && !current.deleted() && current.pointer().equals(expected.pointer())) {
+        try {
+          marked.add(persist.markReferenceAsDeleted(current));
+          markedIndexes.add(i);
+          LOGGER.debug("Reference {} marked as deleted", current);
+          continue;
+        } catch (RefNotFoundException | RefConditionFailedException e) {
+          // concurrently updated or deleted, handled below
+        }
+      }
+
+      // Not found, already marked as deleted, different pointer or concurrently modified, let the
+      // single-reference code path handle the reference and the potentially necessary recovery.
+      try {
+        deleteReference(expected.name(), expected.pointer());
+        results[i] = bulkReferenceSuccess(expected);
+      } catch (RefNotFoundException | RefConditionFailedException e) {
+        results[i] = bulkReferenceFailure(expected.name(), e);
+      }
+    }
+
+    if (!marked.isEmpty()) {
+      LOGGER.debug("Commit deleted references {}", marked);
+      try {
+        commitDeleteReferences(marked, null);
+      } catch (CommitConflictException e) {
+        throw new RuntimeException(
+            format(
+                "An unexpected internal error happened while committing the deletion of the references %s",
+                marked),
+            e);
+      } catch (CommitWrappedException e) {
+        throw new RuntimeException(
+            format(
+                "An unexpected internal error happened while committing the deletion of the references %s",
+                marked),
+            e.getCause());
+      }
+      LOGGER.debug("Committed deleted references {}", marked);
+
+      for (int i = 0; i < marked.size(); i++) {
+        Reference reference = marked.get(i);
+        try {
+          persist.purgeReference(reference);
+          LOGGER.debug("Reference {} purged", reference);
+        } catch (RefNotFoundException | RefConditionFailedException ignore) {
+          // deleted via "deletion recovery" - from another thread/process
+        }
+        results[markedIndexes.get(i)] = bulkReferenceSuccess(reference);
+      }
+    }
+
+    return asList(results);
+  }
+
+  private static void checkUniqueNonInternalNames(List<Reference> references) {
+    Set<String> names = new HashSet<>();
+    for (Reference reference : references) {
+      checkArgument(!isInternalReferenceName(reference.name()));
+      checkArgument(names.add(reference.name()), "Duplicate reference name %s", reference.name());
+    }
+  }
+
+  /**
+   * Records the additions of all given references that do not exist in {@link InternalRef#REF_REFS}
+   * using a single commit per shard of the reference name index.
+   *
+   * @return the names of the references that have been added to {@link InternalRef#REF_REFS}
+   */
+  @VisibleForTesting
+  Set<String> commitCreateReferences(List<Reference> references) throws RetryTimeoutException {
+    Set<String> added = new HashSet<>();
+    for (Map.Entry<String, List<Reference>> shard : referencesByShard(references).entrySet()) {
+      added.addAll(commitCreateReferences(shard.getKey(), shard.getValue()));
+    }
+    return added;
+  }
+
+  private Set<String> commitCreateReferences(String refRefsName, List<Reference> references)
+      throws RetryTimeoutException {
+    try {
+      return commitRetry(
+          persist,
+          refRefsName,
+          (p, retryState) -> {
+            Reference refRefs = fetchRefRefs(p, refRefsName);
+
+            CommitObj commit;
+            try {
+              commit = p.fetchTypedObj(refRefs.pointer(), COMMIT, CommitObj.class);
+            } catch (ObjNotFoundException e) {
+              throw new RuntimeException("Internal error getting reference creation log commit", e);
+            }
+            StoreIndex<CommitOp> index = indexesLogic(persist).buildCompleteIndexOrEmpty(commit);
+
+            Instant now = persist.config().clock().instant();
+            CreateCommit.Builder c =
+                newCommitBuilder()
+                    .parentCommitId(refRefs.pointer())
+                    .commitType(CommitType.INTERNAL);
+            CommitHeaders.Builder headers = newCommitHeaders().add("operation", "create");
+
+            Set<String> added = new HashSet<>();
+            List<Obj> refObjs = new ArrayList<>(references.size());
+            for (Reference reference : references) {
+              StoreKey k = key(reference.name());
+              StoreIndexElement<CommitOp> el = index.get(k);
+              if (el != null && el.content().action().exists()) {
+                continue;
+              }
+
+              RefObj ref =
+                  ref(
+                      reference.name(),
+                      reference.pointer(),
+                      reference.createdAtMicros(),
+                      reference.extendedInfoObj());
+              refObjs.add(ref);
+              c.addAdds(commitAdd(k, 0, requireNonNull(ref.id()), null, null));
+              headers.add("name", reference.name()).add("head", reference.pointer().toString());
+              added.add(reference.name());
+            }
+
+            if (added.isEmpty()) {
+              return added;
+            }
+
+            try {
+              p.storeObjs(refObjs.toArray(new Obj[0]));
+            } catch (ObjTooLargeException e) {
+              throw new RuntimeException(e);
+            }
+
+            c.message("Create " + added.size() + " references")
+                .headers(
+                    headers
+                        .add("timestamp", now.toString())
+                        .add("timestamp.millis", Long.toString(now.toEpochMilli()))
+                        .build());
+
+            commitReferenceChange(p, refRefs, c.build());
+
+            return added;
+          });
+    } catch (CommitConflictException e) {
+      throw new RuntimeException(
+          format(
+              "An unexpected internal error happened while committing the creation of the references %s",
+              references),
+          e);
+    } catch (CommitWrappedException e) {
+      throw new RuntimeException(
+          format(
+              "An unexpected internal error happened while committing the creation of the references %s",
+              references),
+          e.getCause());
+    }
+  }
+
   static final class CommitReferenceResult {
     final Reference created;
     final Reference existing;
@@ -467,11 +893,13 @@ final class ReferenceLogicImpl implements ReferenceLogic {
       String name, ObjId pointer, ObjId extendedInfoObj, long refCreatedTimestamp)
       throws RetryTimeoutException {
     Reference reference = reference(name, pointer, false, refCreatedTimestamp, extendedInfoObj);
+    String refRefsName = refRefsName(name);
     try {
       return commitRetry(
           persist,
+          refRefsName,
           (p, retryState) -> {
-            Reference refRefs = requireNonNull(p.fetchReference(REF_REFS.name()));
+            Reference refRefs = fetchRefRefs(p, refRefsName);
             RefObj ref = ref(name, pointer, refCreatedTimestamp, extendedInfoObj);
             try {
               p.storeObj(ref);
@@ -508,7 +936,7 @@ final class ReferenceLogicImpl implements ReferenceLogic {
       CommitConflict conflict = e.conflicts().get(0);
       checkState(conflict.conflictType() == KEY_EXISTS, "Unexpected conflict type %s", conflict);
 
-      Supplier<SuppliedCommitIndex> indexSupplier = createRefsIndexSupplier();
+      Supplier<SuppliedCommitIndex> indexSupplier = createRefsIndexSupplierForName(name);
       StoreIndexElement<CommitOp> el = indexSupplier.get().index().get(key(name));
       checkNotNull(el, "Key %s missing in index", name);
 
@@ -547,60 +975,7 @@ final class ReferenceLogicImpl implements ReferenceLogic {
   void commitDeleteReference(Reference reference, ObjId expectedRefRefsHead)
       throws RetryTimeoutException {
     try {
-      commitRetry(
-          persist,
-          (p, retryState) -> {
-            Reference refRefs = requireNonNull(p.fetchReference(REF_REFS.name()));
-            if (expectedRefRefsHead != null && !refRefs.pointer().equals(expectedRefRefsHead)) {
-              throw new RuntimeException(REF_REFS_ADVANCED);
-            }
-
-            CommitObj commit;
-            try {
-              commit = p.fetchTypedObj(refRefs.pointer(), COMMIT, CommitObj.class);
-            } catch (ObjNotFoundException e) {
-              throw new RuntimeException("Internal error getting reference creation log commit", e);
-            }
-            StoreIndex<CommitOp> index = indexesLogic(persist).buildCompleteIndexOrEmpty(commit);
-
-            StoreKey key = key(reference.name());
-
-            StoreIndexElement<CommitOp> indexElement = index.get(key);
-            if (indexElement != null) {
-              CommitOp indexElementContent = indexElement.content();
-              if (indexElementContent.action().exists()) {
-                Instant now = persist.config().clock().instant();
-                CreateCommit c =
-                    newCommitBuilder()
-                        .message(
-                            "Drop reference "
-                                + reference.name()
-                                + " pointing to "
-                                + reference.pointer())
-                        .parentCommitId(refRefs.pointer())
-                        .addRemoves(
-                            commitRemove(
-                                key,
-                                0,
-                                requireNonNull(indexElementContent.value()),
-                                indexElementContent.contentId()))
-                        .headers(
-                            newCommitHeaders()
-                                .add("operation", "delete")
-                                .add("name", reference.name())
-                                .add("head", reference.pointer().toString())
-                                .add("timestamp", now.toString())
-                                .add("timestamp.millis", Long.toString(now.toEpochMilli()))
-                                .build())
-                        .commitType(CommitType.INTERNAL)
-                        .build();
-
-                commitReferenceChange(p, refRefs, c);
-              }
-            }
-
-            return null;
-          });
+      commitDeleteReferences(singletonList(reference), expectedRefRefsHead);
     } catch (CommitConflictException e) {
       throw new RuntimeException(
           format(
@@ -616,7 +991,98 @@ final class ReferenceLogicImpl implements ReferenceLogic {
     }
   }
 
-  private static void commitReferenceChange(Persist p, Reference refRefs, CreateCommit c)
+  /**
+   * Records the removal of all given references that exist in {@link InternalRef#REF_REFS} using a
+   * single commit per shard of the reference name index.
+   *
+   * @param expectedRefRefsHead if not {@code null}, the expected HEAD of the shard of the reference
+   *     name index, only used when recovering the deletion of a single reference
+   */
+  private void commitDeleteReferences(List<Reference> references, ObjId expectedRefRefsHead)
+      throws RetryTimeoutException, CommitConflictException, CommitWrappedException {
+    for (Map.Entry<String, List<Reference>> shard : referencesByShard(references).entrySet()) {
+      commitDeleteReferences(shard.getKey(), shard.getValue(), expectedRefRefsHead);
+    }
+  }
+
+  private void commitDeleteReferences(
+      String refRefsName, List<Reference> references, ObjId expectedRefRefsHead)
+      throws RetryTimeoutException, CommitConflictException, CommitWrappedException {
+    commitRetry(
+        persist,
+        refRefsName,
+        (p, retryState) -> {
+          Reference refRefs = fetchRefRefs(p, refRefsName);
+          if (expectedRefRefsHead != null && !refRefs.pointer().equals(expectedRefRefsHead)) {
+            throw new RuntimeException(REF_REFS_ADVANCED);
+          }
+
+          CommitObj commit;
+          try {
+            commit = p.fetchTypedObj(refRefs.pointer(), COMMIT, CommitObj.class);
+          } catch (ObjNotFoundException e) {
+            throw new RuntimeException("Internal error getting reference creation log commit", e);
+          }
+          StoreIndex<CommitOp> index = indexesLogic(persist).buildCompleteIndexOrEmpty(commit);
+
+          Instant now = persist.config().clock().instant();
+          CreateCommit.Builder c =
+              newCommitBuilder().parentCommitId(refRefs.pointer()).commitType(CommitType.INTERNAL);
+          CommitHeaders.Builder headers = newCommitHeaders().add("operation", "delete");
+
+          List<Reference> removed = new ArrayList<>(references.size());
+          for (Reference reference : references) {
+            StoreKey key = key(reference.name());
+
+            StoreIndexElement<CommitOp> indexElement = index.get(key);
+            if (indexElement != null) {
+              CommitOp indexElementContent = indexElement.content();
+              if (indexElementContent.action().exists()) {
+                c.addRemoves(
+                    commitRemove(
+                        key,
+                        0,
+                        requireNonNull(indexElementContent.value()),
+                        indexElementContent.contentId()));
+                headers
+                    .add("name", reference.name())
+                    .add("head", reference.pointer().toString());
+                removed.add(reference);
+              }
+            }
+          }
+
+          if (!removed.isEmpty()) {
+            Reference single = removed.get(0);
+            c.message(
+                removed.size() == 1
+                    ? "Drop reference " + single.name() + " pointing to " + single.pointer()
+                    : "Drop " + removed.size() + " references");
+            c.headers(
+                headers
+                    .add("timestamp", now.toString())
+                    .add("timestamp.millis", Long.toString(now.toEpochMilli()))
+                    .build());
+
+            commitReferenceChange(p, refRefs, c.build());
+          }
+
+          return null;
+        });
+  }
+
+  /** Groups the given references by the name of the shard of the reference name index. */
+  private Map<String, List<Reference>> referencesByShard(List<Reference> references) {
+    Map<String, List<Reference>> byShard = new LinkedHashMap<>();
+    for (Reference reference : references) {
+      byShard
+          .computeIfAbsent(refRefsName(reference.name()), x -> new ArrayList<>())
+          .add(reference);
+    }
+    return byShard;
+  }
+
+  static void commitReferenceChange(Persist p, Reference refRefs, CreateCommit c)
       throws CommitConflictException, RetryException {
     CommitObj commit;
     try {
@@ -646,6 +1112,154 @@ final class ReferenceLogicImpl implements ReferenceLogic {
     return persist.updateReferencePointer(current, newPointer);
   }
 
+  @Override
+  @Nonnull
+  public ReferenceIndexCompactionResult compactReferenceIndex(
+      @Nonnull ReferenceIndexCompactionParams params) throws RetryTimeoutException {
+    CompactionProgress progress = new CompactionProgress();
+    for (InternalRef refRefs : refRefsShards(shards)) {
+      purgeDeletedReferences(refRefs.name(), params, progress);
+
+      long dropped = compactReferenceIndexShard(refRefs.name());
+      if (dropped >= 0L) {
+        progress.compactedShards++;
+        progress.droppedIndexEntries += dropped;
+      }
+      progress.processedShards++;
+      params.progressListener().accept(progress.result());
+    }
+    return progress.result();
+  }
+
+  private static final class CompactionProgress {
+    int processedShards;
+    int compactedShards;
+    long checkedReferences;
+    long purgedReferences;
+    long droppedIndexEntries;
+
+    ReferenceIndexCompactionResult result() {
+      return ReferenceIndexCompactionResult.referenceIndexCompactionResult(
+          processedShards,
+          compactedShards,
+          checkedReferences,
+          purgedReferences,
+          droppedIndexEntries);
+    }
+  }
+
+  /**
+   * Runs the resume/recovery process for all reference names in the given shard of the reference
+   * name index, which purges all references that are marked as deleted.
+   */
+  private void purgeDeletedReferences(
+      String refRefsName, ReferenceIndexCompactionParams params, CompactionProgress progress) {
+    Reference refRefs = persist.fetchReference(refRefsName);
+    if (refRefs == null) {
+      return;
+    }
+    StoreIndex<CommitOp> index = createRefsIndexSupplier(refRefs).get().index();
+
+    List<String> batch = new ArrayList<>(params.batchSize());
+    for (Iterator<StoreIndexElement<CommitOp>> iter = index.iterator(null, null, false);
+        iter.hasNext(); ) {
+      batch.add(iter.next().key().rawString());
+      if (batch.size() == params.batchSize() || !iter.hasNext()) {
+        purgeDeletedReferencesBatch(refRefsName, batch, progress);
+        batch.clear();
+        params.progressListener().accept(progress.result());
+        if (iter.hasNext() && params.batchDelayMillis() > 0L) {
+          try {
+            Thread.sleep(params.batchDelayMillis());
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+          }
+        }
+      }
+    }
+  }
+
+  private void purgeDeletedReferencesBatch(
+      String refRefsName, List<String> names, CompactionProgress progress) {
+    Reference[] refs = persist.fetchReferences(names.toArray(new String[0]));
+    // Recovery requires an up-to-date index, use a fresh one for each batch.
+    Supplier<SuppliedCommitIndex> indexSupplier = createRefsIndexSupplierForShard(refRefsName);
+    for (int i = 0; i < refs.length; i++) {
+      Reference ref = refs[i];
+      progress.checkedReferences++;
+      if (ref == null || ref.deleted()) {
+        Reference recovered = maybeRecover(names.get(i), ref, indexSupplier);
+        if (ref != null && recovered == null) {
+          progress.purgedReferences++;
+        }
+      }
+    }
+  }
+
+  /**
+   * Rewrites the given shard of the reference name index into a single commit without a parent,
+   * which only contains the existing references.
+   *
+   * @return the number of dropped index entries or {@code -1}, if the shard did not need to be
+   *     rewritten
+   */
+  private long compactReferenceIndexShard(String refRefsName) throws RetryTimeoutException {
+    try {
+      return commitRetry(
+          persist,
+          refRefsName,
+          (p, retryState) -> {
+            Reference refRefs = p.fetchReference(refRefsName);
+            if (refRefs == null) {
+              return -1L;
+            }
+
+            CommitObj head;
+            try {
+              head = p.fetchTypedObj(refRefs.pointer(), COMMIT, CommitObj.class);
+            } catch (ObjNotFoundException e) {
+              throw new RuntimeException("Internal error getting reference creation log commit", e);
+            }
+            StoreIndex<CommitOp> index = indexesLogic(p).buildCompleteIndexOrEmpty(head);
+
+            CreateCommit.Builder c =
+                newCommitBuilder().parentCommitId(EMPTY_OBJ_ID).commitType(CommitType.INTERNAL);
+            long live = 0L;
+            long dropped = 0L;
+            for (StoreIndexElement<CommitOp> el : index) {
+              CommitOp op = el.content();
+              if (op.action().exists()) {
+                c.addAdds(commitAdd(el.key(), 0, requireNonNull(op.value()), null, op.contentId()));
+                live++;
+              } else {
+                dropped++;
+              }
+            }
+
+            if (dropped == 0L && EMPTY_OBJ_ID.equals(head.directParent())) {
+              // Already compact.
+              return -1L;
+            }
+
+            Instant now = persist.config().clock().instant();
+            c.message("Compact reference index with " + live + " references")
+                .headers(
+                    newCommitHeaders()
+                        .add("operation", "compact")
+                        .add("timestamp", now.toString())
+                        .add("timestamp.millis", Long.toString(now.toEpochMilli()))
+                        .build());
+
+            commitReferenceChange(p, refRefs, c.build());
+
+            return dropped;
+          });
+    } catch (CommitConflictException | CommitWrappedException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   private Reference maybeRecover(
       @Nonnull String name,
       Reference ref,
@@ -683,7 +1297,7 @@ final class ReferenceLogicImpl implements ReferenceLogic {
                 initialRef.createdAtMicros(),
                 initialRef.extendedInfoObj());
         try {
-          if (refRefsOutOfDate(suppliedIndex)) {
+          if (refRefsOutOfDate(name, suppliedIndex)) {
             return null;
           }
 
@@ -711,13 +1325,24 @@ final class ReferenceLogicImpl implements ReferenceLogic {
       StoreIndexElement<CommitOp> commitOp = suppliedIndex.index().get(key(name));
 
       if (commitOp == null) {
-        throw new RuntimeException("Loaded Reference is marked as deleted, but not found in index");
+        // The reference deletion has been committed, but the entry has been dropped from the
+        // compacted reference name index, purge it.
+        if (refRefsOutOfDate(name, suppliedIndex)) {
+          return ref;
+        }
+        try {
+          LOGGER.debug("Recovering reference purge for {} not in the reference index", ref);
+          persist.purgeReference(ref);
+        } catch (RefNotFoundException | RefConditionFailedException e) {
+          // ignore
+        }
+        return null;
       }
 
       CommitOp commitOpContent = commitOp.content();
       if (commitOpContent.action().exists()) {
         try {
-          if (refRefsOutOfDate(suppliedIndex)) {
+          if (refRefsOutOfDate(name, suppliedIndex)) {
             return ref;
           }
 
@@ -773,17 +1398,22 @@ final class ReferenceLogicImpl implements ReferenceLogic {
     return ref;
   }
 
-  private boolean refRefsOutOfDate(SuppliedCommitIndex index) {
-    Reference refRefs = persist.fetchReference(REF_REFS.name());
+  private boolean refRefsOutOfDate(String name, SuppliedCommitIndex index) {
+    Reference refRefs = persist.fetchReference(refRefsName(name));
     return !index.pointer().equals(requireNonNull(refRefs).pointer());
   }
 
+  /** Creates the index supplier for the reference name index shard containing {@code name}. */
   @VisibleForTesting
-  Supplier<SuppliedCommitIndex> createRefsIndexSupplier() {
+  Supplier<SuppliedCommitIndex> createRefsIndexSupplierForName(String name) {
+    return createRefsIndexSupplierForShard(refRefsName(name));
+  }
+
+  private Supplier<SuppliedCommitIndex> createRefsIndexSupplierForShard(String refRefsName) {
     return indexesLogic(persist)
         .createIndexSupplier(
             () -> {
-              Reference ref = persist.fetchReference(REF_REFS.name());
+              Reference ref = checkRefRefs(persist.fetchReference(refRefsName), refRefsName);
               return ref != null ? ref.pointer() : EMPTY_OBJ_ID;
             });
   }
@@ -53,6 +53,8 @@ public interface RepositoryDescription {
 
     Builder repositoryImportedTime(Instant repositoryImportedTime);
 
+    Builder referenceIndexShards(Integer referenceIndexShards);
+
     RepositoryDescription build();
   }
 
@@ -84,6 +86,15 @@ public interface RepositoryDescription {
   @Nullable
   Instant repositoryImportedTime();
 
+  /**
+   * The number of shards of the reference name index, see {@link
+   * org.projectnessie.versioned.storage.common.config.StoreConfig#referenceIndexShards()}. This
+   * information is only present if the repository was created or its reference name index was
+   * migrated using a recent version of Nessie.
+   */
+  @Nullable
+  Integer referenceIndexShards();
+
   /**
    * Used to serialize an instant to ISO-8601 format. Required because not all platforms we work
    * with support jackson's jdk8 modules.
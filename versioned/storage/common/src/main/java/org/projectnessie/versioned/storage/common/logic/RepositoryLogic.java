@@ -46,4 +46,22 @@ public interface RepositoryLogic {
       throws RetryTimeoutException;
 
   boolean repositoryExists();
+
+  /**
+   * Migrates the reference name index to the given number of shards, see {@link
+   * org.projectnessie.versioned.storage.common.config.StoreConfig#referenceIndexShards()}.
+   *
+   * <p>Creates the internal references for all shards, if necessary, and moves each reference name
+   * to the shard that maintains it for the given number of shards. A reference name is first added
+   * to its new shard and then removed from its previous shard, so it is always present in at least
+   * one shard.
+   *
+   * <p>Must only be run while no references are being created or deleted. Afterwards, all Nessie
+   * instances must be configured with the given number of shards.
+   *
+   * @param shards the new number of shards of the reference name index
+   * @return the number of moved reference names
+   * @throws RetryTimeoutException if a commit to a shard failed after all retries.
+   */
+  int migrateReferenceIndexShards(int shards) throws RetryTimeoutException;
 }
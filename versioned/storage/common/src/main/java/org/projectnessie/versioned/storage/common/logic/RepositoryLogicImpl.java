@@ -15,19 +15,27 @@
  */
 package org.projectnessie.versioned.storage.common.logic;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.String.format;
 import static java.util.Collections.emptyList;
 import static java.util.Objects.requireNonNull;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_REFERENCE_INDEX_SHARDS;
 import static org.projectnessie.versioned.storage.common.logic.CommitRetry.commitRetry;
 import static org.projectnessie.versioned.storage.common.logic.CreateCommit.Add.commitAdd;
+import static org.projectnessie.versioned.storage.common.logic.CreateCommit.Remove.commitRemove;
 import static org.projectnessie.versioned.storage.common.logic.CreateCommit.newCommitBuilder;
 import static org.projectnessie.versioned.storage.common.logic.InternalRef.KEY_REPO_DESCRIPTION;
-import static org.projectnessie.versioned.storage.common.logic.InternalRef.REF_REFS;
 import static org.projectnessie.versioned.storage.common.logic.InternalRef.REF_REPO;
+import static org.projectnessie.versioned.storage.common.logic.InternalRef.refRefsShard;
+import static org.projectnessie.versioned.storage.common.logic.InternalRef.refRefsShardForName;
+import static org.projectnessie.versioned.storage.common.logic.InternalRef.refRefsShards;
 import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
 import static org.projectnessie.versioned.storage.common.logic.Logics.indexesLogic;
 import static org.projectnessie.versioned.storage.common.logic.Logics.referenceLogic;
 import static org.projectnessie.versioned.storage.common.logic.Logics.stringLogic;
+import static org.projectnessie.versioned.storage.common.logic.ReferenceLogicImpl.commitReferenceChange;
 import static org.projectnessie.versioned.storage.common.objtypes.CommitHeaders.EMPTY_COMMIT_HEADERS;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitHeaders.newCommitHeaders;
 import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
 import static org.projectnessie.versioned.storage.common.persist.Reference.reference;
 import static org.projectnessie.versioned.storage.common.util.Ser.SHARED_OBJECT_MAPPER;
@@ -36,7 +44,12 @@ import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import java.io.IOException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.function.Consumer;
 import org.projectnessie.versioned.storage.common.exceptions.CommitConflictException;
 import org.projectnessie.versioned.storage.common.exceptions.CommitWrappedException;
@@ -77,7 +90,15 @@ final class RepositoryLogicImpl implements RepositoryLogic {
       @Nonnull String defaultBranchName,
       boolean createDefaultBranch,
       Consumer<RepositoryDescription.Builder> repositoryDescription) {
-    initializeInternalRef(REF_REFS, b -> {});
+    if (repositoryExists()) {
+      // Must not create the shards of a changed number of shards before the reference name index
+      // has been migrated.
+      verifyReferenceIndexShards();
+    }
+
+    for (InternalRef refRefs : refRefsShards(referenceIndexShards())) {
+      initializeInternalRef(refRefs, b -> {});
+    }
 
     if (createDefaultBranch) {
       try {
@@ -171,7 +192,8 @@ final class RepositoryLogicImpl implements RepositoryLogic {
           RepositoryDescription.builder()
               .oldestPossibleCommitTime(now)
               .repositoryCreatedTime(now)
-              .defaultBranchName(defaultBranchName);
+              .defaultBranchName(defaultBranchName)
+              .referenceIndexShards(referenceIndexShards());
 
       repositoryDescription.accept(repoDesc);
 
@@ -199,12 +221,20 @@ final class RepositoryLogicImpl implements RepositoryLogic {
             .from(newDescription)
             .oldestPossibleCommitTime(existingDescription.oldestPossibleCommitTime())
             .repositoryCreatedTime(existingDescription.repositoryCreatedTime())
+            .referenceIndexShards(existingDescription.referenceIndexShards())
             .build();
-    byte[] serialized = serialize(sanitizedDescription);
+    return commitRepositoryDescription(sanitizedDescription);
+  }
+
+  @Nullable
+  private RepositoryDescription commitRepositoryDescription(RepositoryDescription description)
+      throws RetryTimeoutException {
+    byte[] serialized = serialize(description);
     try {
       StringValue existing =
           commitRetry(
               persist,
+              REF_REPO.name(),
               (p, retryState) -> {
                 try {
                   Reference reference = requireNonNull(persist.fetchReference(REF_REPO.name()));
@@ -234,6 +264,172 @@ final class RepositoryLogicImpl implements RepositoryLogic {
     }
   }
 
+  private int referenceIndexShards() {
+    return Math.max(persist.config().referenceIndexShards(), 1);
+  }
+
+  /**
+   * Verifies that the configured number of shards of the reference name index matches the number
+   * of shards of the repository. Reference names would be looked up in the wrong shards otherwise.
+   */
+  private void verifyReferenceIndexShards() {
+    RepositoryDescription description = fetchRepositoryDescription();
+    Integer recorded = description != null ? description.referenceIndexShards() : null;
+    // Repositories created by older versions do not record the number of shards.
+    int existing = recorded != null ? recorded : existingReferenceIndexShards(1);
+    int configured = referenceIndexShards();
+    if (existing != configured) {
+      throw new IllegalStateException(
+          format(
+              "The reference name index of the repository has %d shard(s), but %d shard(s) are "
+                  + "configured via '%s'. Migrate the reference name index using the "
+                  + "'migrate-reference-index' command of the Nessie server admin tool first.",
+              existing, configured, CONFIG_REFERENCE_INDEX_SHARDS));
+    }
+  }
+
+  /**
+   * Returns the number of consecutively numbered, existing shards of the reference name index,
+   * starting the search at shard {@code from}.
+   */
+  private int existingReferenceIndexShards(int from) {
+    int shards = from;
+    while (persist.fetchReference(refRefsShard(shards).name()) != null) {
+      shards++;
+    }
+    return shards;
+  }
+
+  @Override
+  public int migrateReferenceIndexShards(int shards) throws RetryTimeoutException {
+    checkArgument(shards >= 1, "Illegal number of shards %s", shards);
+
+    for (InternalRef refRefs : refRefsShards(shards)) {
+      initializeInternalRef(refRefs, b -> {});
+    }
+
+    // Shards are numbered consecutively, the previous number of shards might be higher.
+    int existingShards = existingReferenceIndexShards(shards);
+
+    int moved = 0;
+    for (int source = 0; source < existingShards; source++) {
+      InternalRef sourceRefRefs = refRefsShard(source);
+
+      Map<Integer, List<StoreIndexElement<CommitOp>>> moves = new TreeMap<>();
+      Reference sourceRef = requireNonNull(persist.fetchReference(sourceRefRefs.name()));
+      for (StoreIndexElement<CommitOp> el : referenceIndex(persist, sourceRef)) {
+        if (!el.content().action().exists()) {
+          continue;
+        }
+        int target = refRefsShardForName(el.key().rawString(), shards);
+        if (target != source) {
+          moves.computeIfAbsent(target, x -> new ArrayList<>()).add(el);
+        }
+      }
+
+      List<StoreIndexElement<CommitOp>> removes = new ArrayList<>();
+      for (Map.Entry<Integer, List<StoreIndexElement<CommitOp>>> move : moves.entrySet()) {
+        commitReferenceIndexMigration(refRefsShard(move.getKey()), move.getValue(), true);
+        removes.addAll(move.getValue());
+      }
+      if (!removes.isEmpty()) {
+        commitReferenceIndexMigration(sourceRefRefs, removes, false);
+        moved += removes.size();
+      }
+    }
+
+    // Record the new number of shards, verified when a Nessie instance initializes the repository.
+    RepositoryDescription description = fetchRepositoryDescription();
+    if (description != null && !Objects.equals(description.referenceIndexShards(), shards)) {
+      commitRepositoryDescription(
+          ImmutableRepositoryDescription.builder()
+              .from(description)
+              .referenceIndexShards(shards)
+              .build());
+    }
+
+    return moved;
+  }
+
+  private static StoreIndex<CommitOp> referenceIndex(Persist p, Reference refRefs) {
+    try {
+      CommitObj commit = commitLogic(p).fetchCommit(refRefs.pointer());
+      return indexesLogic(p).buildCompleteIndexOrEmpty(commit);
+    } catch (ObjNotFoundException e) {
+      throw new RuntimeException("Internal error getting reference name index commit", e);
+    }
+  }
+
+  /**
+   * Adds the given reference name index elements to or removes them from the given shard of the
+   * reference name index using a single commit.
+   */
+  private void commitReferenceIndexMigration(
+      InternalRef refRefs, List<StoreIndexElement<CommitOp>> elements, boolean add)
+      throws RetryTimeoutException {
+    try {
+      commitRetry(
+          persist,
+          refRefs.name(),
+          (p, retryState) -> {
+            Reference reference = requireNonNull(p.fetchReference(refRefs.name()));
+            StoreIndex<CommitOp> index = referenceIndex(p, reference);
+
+            CreateCommit.Builder c =
+                newCommitBuilder()
+                    .parentCommitId(reference.pointer())
+                    .commitType(CommitType.INTERNAL);
+            int count = 0;
+            for (StoreIndexElement<CommitOp> el : elements) {
+              StoreIndexElement<CommitOp> existing = index.get(el.key());
+              boolean exists = existing != null && existing.content().action().exists();
+              if (add && !exists) {
+                c.addAdds(
+                    commitAdd(
+                        el.key(),
+                        0,
+                        requireNonNull(el.content().value()),
+                        null,
+                        el.content().contentId()));
+                count++;
+              } else if (!add && exists) {
+                c.addRemoves(
+                    commitRemove(
+                        el.key(),
+                        0,
+                        requireNonNull(existing.content().value()),
+                        existing.content().contentId()));
+                count++;
+              }
+            }
+
+            if (count > 0) {
+              Instant now = persist.config().clock().instant();
+              c.message(
+                      format(
+                          add ? "Migrate %d references to %s" : "Migrate %d references from %s",
+                          count,
+                          refRefs.name()))
+                  .headers(
+                      newCommitHeaders()
+                          .add("operation", add ? "migrate-add" : "migrate-remove")
+                          .add("timestamp", now.toString())
+                          .add("timestamp.millis", Long.toString(now.toEpochMilli()))
+                          .build());
+              commitReferenceChange(p, reference, c.build());
+            }
+            return null;
+          });
+    } catch (CommitConflictException e) {
+      throw new RuntimeException(
+          "An unexpected internal error happened while migrating the reference name index", e);
+    } catch (CommitWrappedException e) {
+      throw new RuntimeException(
+          "An unexpected internal error happened while migrating the reference name index",
+          e.getCause());
+    }
+  }
+
   @SuppressWarnings({"JavaTimeDefaultTimeZone"})
   private void initializeInternalRef(
       InternalRef internalRef, Consumer<CreateCommit.Builder> commitEnhancer) {
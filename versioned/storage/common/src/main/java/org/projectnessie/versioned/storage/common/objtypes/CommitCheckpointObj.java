@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.objtypes;
+
+import static org.projectnessie.versioned.storage.common.persist.ObjIdHasher.objIdHasher;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.util.List;
+import org.immutables.value.Value;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.ObjType;
+
+/**
+ * Sparse checkpoint of a commit chain, used to resolve timestamp-relative and n-th-predecessor
+ * lookups without walking the whole commit log.
+ *
+ * <p>Checkpoints are immutable and exist only for commits whose {@link CommitObj#seq() sequence
+ * number} is a multiple of the checkpoint interval. The ID of a checkpoint is derived from the ID
+ * of the checkpointed commit, see {@link #commitCheckpointObjId(ObjId)}.
+ *
+ * <p>The {@link #skips()} form a skip list: the {@code i}-th entry refers to the checkpointed
+ * commit {@code 2^i} checkpoint intervals before this checkpoint's commit.
+ */
+@Value.Immutable
+@JsonSerialize(as = ImmutableCommitCheckpointObj.class)
+@JsonDeserialize(as = ImmutableCommitCheckpointObj.class)
+public interface CommitCheckpointObj extends Obj {
+
+  ObjType TYPE =
+      CustomObjType.customObjType("commit-checkpoint", "ccp", CommitCheckpointObj.class);
+
+  @Override
+  @JsonIgnore
+  default ObjType type() {
+    return TYPE;
+  }
+
+  /** ID of the checkpointed commit. */
+  @JsonProperty("c")
+  ObjId commitId();
+
+  /** The {@link CommitObj#seq() sequence number} of the checkpointed commit. */
+  @JsonProperty("s")
+  long seq();
+
+  /** Timestamp of the checkpointed commit in microseconds since epoch. */
+  @JsonProperty("t")
+  long created();
+
+  /** Skip list entries, the nearest entry first. */
+  @JsonProperty("k")
+  List<Skip> skips();
+
+  static ImmutableCommitCheckpointObj.Builder builder() {
+    return ImmutableCommitCheckpointObj.builder();
+  }
+
+  static ObjId commitCheckpointObjId(ObjId commitId) {
+    return objIdHasher(TYPE.name()).hash(commitId).generate();
+  }
+
+  @Value.Immutable
+  @JsonSerialize(as = ImmutableSkip.class)
+  @JsonDeserialize(as = ImmutableSkip.class)
+  interface Skip {
+    /** ID of the referenced checkpointed commit. */
+    @JsonProperty("c")
+    ObjId commitId();
+
+    /** The {@link CommitObj#seq() sequence number} of the referenced checkpointed commit. */
+    @JsonProperty("s")
+    long seq();
+
+    /** Timestamp of the referenced checkpointed commit in microseconds since epoch. */
+    @JsonProperty("t")
+    long created();
+
+    /**
+     * The smallest timestamp of all commits between this checkpoint's commit (inclusive) and the
+     * referenced commit (exclusive), in microseconds since epoch.
+     */
+    @JsonProperty("m")
+    long minCreated();
+
+    static Skip skip(ObjId commitId, long seq, long created, long minCreated) {
+      return ImmutableSkip.builder()
+          .commitId(commitId)
+          .seq(seq)
+          .created(created)
+          .minCreated(minCreated)
+          .build();
+    }
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.objtypes;
+
+import static org.projectnessie.versioned.storage.common.persist.ObjIdHasher.objIdHasher;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.util.List;
+import org.immutables.value.Value;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.ObjType;
+import org.projectnessie.versioned.storage.common.persist.Reference;
+import org.projectnessie.versioned.storage.common.persist.UpdateableObj;
+
+/**
+ * Segment of the append-only history log of the {@link Reference#pointer() pointer} changes of a
+ * named reference.
+ *
+ * <p>The entries of a reference's history log are numbered by {@link Entry#seq()}, starting at 1,
+ * and partitioned into segments of a fixed number of entries. The most recent, not yet full segment
+ * is the <em>head</em> segment, which is updated via {@link
+ * org.projectnessie.versioned.storage.common.persist.Persist#updateConditional(UpdateableObj,
+ * UpdateableObj)}, see {@link #referenceHistoryHeadId(String)}. Full segments are immutable, the ID
+ * of a full segment is derived from the reference name and the segment number, see {@link
+ * #referenceHistorySegmentId(String, long)}.
+ */
+@Value.Immutable
+@JsonSerialize(as = ImmutableReferenceHistoryObj.class)
+@JsonDeserialize(as = ImmutableReferenceHistoryObj.class)
+public interface ReferenceHistoryObj extends UpdateableObj {
+
+  ObjType TYPE =
+      CustomObjType.customObjType("reference-history", "rhist", ReferenceHistoryObj.class);
+
+  @Override
+  @JsonIgnore
+  default ObjType type() {
+    return TYPE;
+  }
+
+  /** Name of the reference. */
+  @JsonProperty("r")
+  String reference();
+
+  /** The entries of this segment, ordered by {@link Entry#seq()}, the oldest entry first. */
+  @JsonProperty("e")
+  List<Entry> entries();
+
+  static ImmutableReferenceHistoryObj.Builder builder() {
+    return ImmutableReferenceHistoryObj.builder();
+  }
+
+  static ObjId referenceHistoryHeadId(String reference) {
+    return objIdHasher(TYPE.name()).hash(reference).generate();
+  }
+
+  static ObjId referenceHistorySegmentId(String reference, long segment) {
+    return objIdHasher(TYPE.name()).hash(reference).hash('\0').hash(segment).generate();
+  }
+
+  @Value.Immutable
+  @JsonSerialize(as = ImmutableEntry.class)
+  @JsonDeserialize(as = ImmutableEntry.class)
+  interface Entry {
+    /** Sequence number of this entry in the reference's history log, starting at 1. */
+    @JsonProperty("s")
+    long seq();
+
+    /** The reference pointer before the change. */
+    @JsonProperty("f")
+    ObjId from();
+
+    /** The reference pointer after the change. */
+    @JsonProperty("t")
+    ObjId to();
+
+    /** Timestamp of the change in microseconds since epoch. */
+    @JsonProperty("c")
+    long created();
+
+    /**
+     * Whether pointer changes preceding this entry are missing from the log, because appending
+     * those failed or happened out of order. {@link #from()} is then not equal to the {@link #to()}
+     * of the previous entry.
+     */
+    @JsonProperty("g")
+    @Value.Default
+    default boolean gap() {
+      return false;
+    }
+
+    static Entry entry(long seq, ObjId from, ObjId to, long created) {
+      return entry(seq, from, to, created, false);
+    }
+
+    static Entry entry(long seq, ObjId from, ObjId to, long created, boolean gap) {
+      return ImmutableEntry.builder().seq(seq).from(from).to(to).created(created).gap(gap).build();
+    }
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.objtypes;
+
+import static org.projectnessie.versioned.storage.common.persist.ObjIdHasher.objIdHasher;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import jakarta.annotation.Nullable;
+import org.immutables.value.Value;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.ObjType;
+import org.projectnessie.versioned.storage.common.persist.UpdateableObj;
+
+/**
+ * Materialized summary of a named reference relative to a base reference, used to serve reference
+ * listings with common-ancestor and ahead/behind information without walking the commit logs of
+ * every listed reference.
+ *
+ * <p>There is at most one summary per pair of reference and base reference, the ID is derived from
+ * both names, see {@link #referenceSummaryObjId(String, String)}. A summary is current, if its
+ * {@link #head()} and {@link #baseHead()} are equal to the current HEADs of both references.
+ * Summaries are written when the summarized reference is updated, via {@link
+ * org.projectnessie.versioned.storage.common.persist.Persist#updateConditional(UpdateableObj,
+ * UpdateableObj)}.
+ */
+@Value.Immutable
+@JsonSerialize(as = ImmutableReferenceSummaryObj.class)
+@JsonDeserialize(as = ImmutableReferenceSummaryObj.class)
+public interface ReferenceSummaryObj extends UpdateableObj {
+
+  ObjType TYPE =
+      CustomObjType.customObjType("reference-summary", "rsum", ReferenceSummaryObj.class);
+
+  @Override
+  @JsonIgnore
+  default ObjType type() {
+    return TYPE;
+  }
+
+  /** Name of the summarized reference. */
+  @JsonProperty("r")
+  String reference();
+
+  /** Name of the reference the summary is relative to. */
+  @JsonProperty("b")
+  String baseReference();
+
+  /** HEAD of the summarized reference. */
+  @JsonProperty("h")
+  ObjId head();
+
+  /** The {@link CommitObj#seq() sequence number} of {@link #head()}. */
+  @JsonProperty("s")
+  long seq();
+
+  /** HEAD of the base reference. */
+  @JsonProperty("bh")
+  ObjId baseHead();
+
+  /** The {@link CommitObj#seq() sequence number} of {@link #baseHead()}. */
+  @JsonProperty("bs")
+  long baseSeq();
+
+  /** Common ancestor of {@link #head()} and {@link #baseHead()}, {@code null} if there is none. */
+  @JsonProperty("a")
+  @Nullable
+  ObjId commonAncestor();
+
+  /** Number of commits of the summarized reference since the common ancestor. */
+  @JsonProperty("ca")
+  int commitsAhead();
+
+  /** Number of commits of the base reference since the common ancestor. */
+  @JsonProperty("cb")
+  int commitsBehind();
+
+  /** Whether this summary is current for the given HEADs. */
+  default boolean isCurrent(ObjId head, ObjId baseHead) {
+    return head().equals(head) && baseHead().equals(baseHead);
+  }
+
+  static ImmutableReferenceSummaryObj.Builder builder() {
+    return ImmutableReferenceSummaryObj.builder();
+  }
+
+  static ObjId referenceSummaryObjId(String reference, String baseReference) {
+    return objIdHasher(TYPE.name()).hash(reference).hash('\0').hash(baseReference).generate();
+  }
+}
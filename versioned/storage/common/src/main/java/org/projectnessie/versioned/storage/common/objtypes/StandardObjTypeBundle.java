@@ -24,6 +24,9 @@ public class StandardObjTypeBundle implements ObjTypeBundle {
   @Override
   public void register(Consumer<ObjType> registrar) {
     registrar.accept(JsonObj.TYPE);
+    registrar.accept(CommitCheckpointObj.TYPE);
+    registrar.accept(ReferenceSummaryObj.TYPE);
+    registrar.accept(ReferenceHistoryObj.TYPE);
     for (StandardObjType objType : StandardObjType.values()) {
       registrar.accept(objType);
     }
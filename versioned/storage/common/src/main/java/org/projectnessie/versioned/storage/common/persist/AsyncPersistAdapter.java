@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.persist;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adapter used by the default implementations of the asynchronous {@link Persist} functions, which
+ * runs the synchronous variants on a shared and bounded executor.
+ *
+ * <p>{@link Persist} implementations that can leverage a database's native asynchronous API should
+ * override the asynchronous functions instead.
+ */
+public final class AsyncPersistAdapter {
+
+  /** Maximum number of threads used to run synchronous {@link Persist} functions. */
+  public static final int MAX_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+  /**
+   * Maximum number of queued synchronous {@link Persist} invocations. If the queue is full, further
+   * invocations are rejected.
+   */
+  public static final int MAX_QUEUED = 1024;
+
+  private AsyncPersistAdapter() {}
+
+  private static final class Holder {
+    static final Executor EXECUTOR = newExecutor("nessie-persist-async-", MAX_THREADS, MAX_QUEUED);
+  }
+
+  /**
+   * Creates a bounded executor with daemon threads, which rejects tasks when all threads are busy
+   * and the queue is full. Used for the shared executor of this class and by functionality that
+   * must not compete with it, for example long-running repository scans.
+   */
+  public static ExecutorService newExecutor(
+      String threadNamePrefix, int maxThreads, int maxQueued) {
+    AtomicInteger threadNum = new AtomicInteger();
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            maxThreads,
+            maxThreads,
+            60L,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(maxQueued),
+            r -> {
+              Thread t = new Thread(r, threadNamePrefix + threadNum.incrementAndGet());
+              t.setDaemon(true);
+              return t;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /**
+   * Runs the given synchronous {@code call} on the shared executor. Exceptions thrown by {@code
+   * call} complete the returned stage exceptionally.
+   *
+   * <p>The calling thread never runs {@code call}. If the shared executor is saturated, the
+   * returned stage completes exceptionally with a {@link RejectedExecutionException}.
+   */
+  public static <T> CompletionStage<T> supplyAsync(Callable<T> call) {
+    return supplyAsync(Holder.EXECUTOR, call);
+  }
+
+  /**
+   * Runs the given synchronous {@code call} on the given {@code executor}, like {@link
+   * #supplyAsync(Callable)}.
+   */
+  public static <T> CompletionStage<T> supplyAsync(Executor executor, Callable<T> call) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    try {
+      executor.execute(
+          () -> {
+            try {
+              future.complete(call.call());
+            } catch (Throwable t) {
+              future.completeExceptionally(t);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+}
@@ -20,7 +20,9 @@ import io.micrometer.core.annotation.Timed;
 import io.opentelemetry.instrumentation.annotations.WithSpan;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
 import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
 import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
@@ -120,6 +122,21 @@ public class ObservingPersist implements Persist {
     return delegate.fetchReferences(names);
   }
 
+  @Override
+  public boolean supportsReferenceScans() {
+    return delegate.supportsReferenceScans();
+  }
+
+  @WithSpan
+  @Override
+  @Counted(PREFIX)
+  @Timed(value = PREFIX, histogram = true)
+  @Nonnull
+  public List<Reference> scanReferences(
+      @Nonnull String prefix, @Nullable String startAfter, int limit) {
+    return delegate.scanReferences(prefix, startAfter, limit);
+  }
+
   @WithSpan
   @Override
   @Counted(PREFIX)
@@ -240,6 +257,47 @@ public class ObservingPersist implements Persist {
     return delegate.updateConditional(expected, newValue);
   }
 
+  @Override
+  public boolean supportsNativeAsync() {
+    return delegate.supportsNativeAsync();
+  }
+
+  @WithSpan
+  @Override
+  @Counted(PREFIX)
+  @Timed(value = PREFIX, histogram = true)
+  @Nonnull
+  public CompletionStage<Reference> fetchReferenceAsync(@Nonnull String name) {
+    return delegate.fetchReferenceAsync(name);
+  }
+
+  @WithSpan
+  @Override
+  @Counted(PREFIX)
+  @Timed(value = PREFIX, histogram = true)
+  @Nonnull
+  public CompletionStage<Obj> fetchObjAsync(@Nonnull ObjId id) {
+    return delegate.fetchObjAsync(id);
+  }
+
+  @WithSpan
+  @Override
+  @Counted(PREFIX)
+  @Timed(value = PREFIX, histogram = true)
+  @Nonnull
+  public CompletionStage<Obj[]> fetchObjsAsync(@Nonnull ObjId[] ids) {
+    return delegate.fetchObjsAsync(ids);
+  }
+
+  @WithSpan
+  @Override
+  @Counted(PREFIX)
+  @Timed(value = PREFIX, histogram = true)
+  @Nonnull
+  public CompletionStage<boolean[]> storeObjsAsync(@Nonnull Obj[] objs) {
+    return delegate.storeObjsAsync(objs);
+  }
+
   @WithSpan
   @Override
   @Counted(PREFIX)
@@ -249,6 +307,16 @@ public class ObservingPersist implements Persist {
     return delegate.scanAllObjects(returnedObjTypes);
   }
 
+  @WithSpan
+  @Override
+  @Counted(PREFIX)
+  @Timed(value = PREFIX, histogram = true)
+  @Nonnull
+  public List<CloseableIterator<Obj>> scanAllObjects(
+      @Nonnull Set<ObjType> returnedObjTypes, int partitions) {
+    return delegate.scanAllObjects(returnedObjTypes, partitions);
+  }
+
   @WithSpan
   @Override
   @Counted(PREFIX)
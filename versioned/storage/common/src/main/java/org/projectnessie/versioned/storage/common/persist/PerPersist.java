@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.persist;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import jakarta.annotation.Nonnull;
+import java.util.function.Function;
+
+/**
+ * Holds one lazily created value per {@link Persist} instance, for example process-local state
+ * that is derived from a repository.
+ *
+ * <p>The {@link Persist} instances are only weakly referenced, the value for a {@link Persist}
+ * instance can be garbage collected once the {@link Persist} instance is no longer used.
+ */
+public final class PerPersist<V> {
+  private final LoadingCache<Persist, V> values;
+
+  private PerPersist(Function<Persist, V> factory) {
+    this.values = Caffeine.newBuilder().weakKeys().build(factory::apply);
+  }
+
+  /** Creates the value for each {@link Persist} instance on first access via {@code factory}. */
+  public static <V> PerPersist<V> perPersist(@Nonnull Function<Persist, V> factory) {
+    return new PerPersist<>(factory);
+  }
+
+  /**
+   * Holds a cache per {@link Persist} instance, the least recently used entries of a cache are
+   * evicted when it contains more than {@code maximumSize} entries.
+   */
+  public static <K, V> PerPersist<Cache<K, V>> perPersistCache(long maximumSize) {
+    return perPersist(persist -> Caffeine.newBuilder().maximumSize(maximumSize).build());
+  }
+
+  @Nonnull
+  public V get(@Nonnull Persist persist) {
+    return values.get(persist);
+  }
+}
@@ -15,9 +15,14 @@
  */
 package org.projectnessie.versioned.storage.common.persist;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Collections.singletonList;
+
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
 import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
 import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
@@ -137,6 +142,35 @@ public interface Persist {
   @Nonnull
   Reference[] fetchReferences(@Nonnull String[] names);
 
+  /**
+   * Whether this implementation supports {@link #scanReferences(String, String, int)}, which
+   * requires that the database can perform range scans over the reference names.
+   */
+  default boolean supportsReferenceScans() {
+    return false;
+  }
+
+  /**
+   * Returns up to {@code limit} references whose names start with {@code prefix}, ordered by name.
+   * References that are {@link Reference#deleted() marked as deleted} are returned as well. Fewer
+   * than {@code limit} references are only returned, if there are no more matching references.
+   *
+   * <p>Only supported, if {@link #supportsReferenceScans()} returns {@code true}.
+   *
+   * <p><em>Do not use this function from service implementations, use {@link ReferenceLogic}
+   * instead!</em>
+   *
+   * @param prefix the prefix of the returned reference names, must not be empty
+   * @param startAfter if not {@code null}, only references with a name greater than this value are
+   *     returned, callers continue a scan with the name of the last returned reference
+   * @param limit the maximum number of returned references
+   */
+  @Nonnull
+  default List<Reference> scanReferences(
+      @Nonnull String prefix, @Nullable String startAfter, int limit) {
+    throw new UnsupportedOperationException("Reference scans are not supported by " + name());
+  }
+
   // Objects
 
   /**
@@ -315,6 +349,77 @@ public interface Persist {
    */
   void upsertObjs(@Nonnull Obj[] objs) throws ObjTooLargeException;
 
+  // Asynchronous variants
+
+  /**
+   * Whether this implementation overrides the asynchronous functions using a native asynchronous
+   * API of the database. If not, the asynchronous functions occupy a thread of {@link
+   * AsyncPersistAdapter} and, for connection based databases, a database connection until the
+   * result is available.
+   */
+  default boolean supportsNativeAsync() {
+    return false;
+  }
+
+  /**
+   * Asynchronous variant of {@link #fetchReference(String)}.
+   *
+   * <p>The default implementation runs {@link #fetchReference(String)} via {@link
+   * AsyncPersistAdapter}, implementations should override this function if the database provides a
+   * native asynchronous API.
+   *
+   * @return stage that completes with the reference or {@code null}, if it does not exist
+   */
+  @Nonnull
+  default CompletionStage<Reference> fetchReferenceAsync(@Nonnull String name) {
+    return AsyncPersistAdapter.supplyAsync(() -> fetchReference(name));
+  }
+
+  /**
+   * Asynchronous variant of {@link #fetchObj(ObjId)}.
+   *
+   * <p>The default implementation runs {@link #fetchObj(ObjId)} via {@link AsyncPersistAdapter},
+   * implementations should override this function if the database provides a native asynchronous
+   * API.
+   *
+   * @return stage that completes with the object or completes exceptionally with an {@link
+   *     ObjNotFoundException}
+   */
+  @Nonnull
+  default CompletionStage<Obj> fetchObjAsync(@Nonnull ObjId id) {
+    return AsyncPersistAdapter.supplyAsync(() -> fetchObj(id));
+  }
+
+  /**
+   * Asynchronous variant of {@link #fetchObjs(ObjId[])}.
+   *
+   * <p>The default implementation runs {@link #fetchObjs(ObjId[])} via {@link
+   * AsyncPersistAdapter}, implementations should override this function if the database provides a
+   * native asynchronous API.
+   *
+   * @return stage that completes with the objects or completes exceptionally with an {@link
+   *     ObjNotFoundException}
+   */
+  @Nonnull
+  default CompletionStage<Obj[]> fetchObjsAsync(@Nonnull ObjId[] ids) {
+    return AsyncPersistAdapter.supplyAsync(() -> fetchObjs(ids));
+  }
+
+  /**
+   * Asynchronous variant of {@link #storeObjs(Obj[])}.
+   *
+   * <p>The default implementation runs {@link #storeObjs(Obj[])} via {@link AsyncPersistAdapter},
+   * implementations should override this function if the database provides a native asynchronous
+   * API.
+   *
+   * @return stage that completes with the result of {@link #storeObjs(Obj[])} or completes
+   *     exceptionally with an {@link ObjTooLargeException}
+   */
+  @Nonnull
+  default CompletionStage<boolean[]> storeObjsAsync(@Nonnull Obj[] objs) {
+    return AsyncPersistAdapter.supplyAsync(() -> storeObjs(objs));
+  }
+
   /**
    * Returns an iterator over all objects that match the given predicate.
    *
@@ -330,6 +435,25 @@ public interface Persist {
   @Nonnull
   CloseableIterator<Obj> scanAllObjects(@Nonnull Set<ObjType> returnedObjTypes);
 
+  /**
+   * Returns up to {@code partitions} iterators over disjoint subsets of all objects that match the
+   * given predicate, the union of all returned iterators yields the same objects as {@link
+   * #scanAllObjects(Set)}. The returned iterators can be consumed concurrently.
+   *
+   * <p>Implementations that cannot partition a scan return a single iterator, which is the default
+   * behavior. All returned iterators must be closed, the same rules as for {@link
+   * #scanAllObjects(Set)} apply.
+   *
+   * @param partitions maximum number of returned iterators, must be positive
+   * @return non-empty list of iterators, all must be closed
+   */
+  @Nonnull
+  default List<CloseableIterator<Obj>> scanAllObjects(
+      @Nonnull Set<ObjType> returnedObjTypes, int partitions) {
+    checkArgument(partitions > 0, "partitions must be positive");
+    return singletonList(scanAllObjects(returnedObjTypes));
+  }
+
   /**
    * Erases the whole repository.
    *
@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.util;
+
+/** Helpers to express "starts with" conditions as range scans against databases. */
+public final class PrefixRanges {
+
+  private PrefixRanges() {}
+
+  /**
+   * Returns the smallest string that is greater than all strings starting with {@code prefix}, or
+   * {@code null} if no such string exists.
+   */
+  public static String prefixUpperBound(String prefix) {
+    StringBuilder sb = new StringBuilder(prefix);
+    for (int i = sb.length() - 1; i >= 0; i--) {
+      char c = sb.charAt(i);
+      if (c != Character.MAX_VALUE) {
+        sb.setCharAt(i, (char) (c + 1));
+        sb.setLength(i + 1);
+        return sb.toString();
+      }
+    }
+    return null;
+  }
+}
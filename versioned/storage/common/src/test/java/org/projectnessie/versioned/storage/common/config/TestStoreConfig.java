@@ -21,12 +21,17 @@ import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_ASSUMED_WALL_CLOCK_DRIFT_MICROS;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_COMMIT_RETRIES;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_COMMIT_TIMEOUT_MILLIS;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_DIFF_CONTENT_BATCH_SIZE;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_MAX_INCREMENTAL_INDEX_SIZE;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_MAX_REFERENCE_STRIPES_PER_COMMIT;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_MAX_SERIALIZED_INDEX_SIZE;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_NAMESPACE_VALIDATION;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_PARENTS_PER_COMMIT;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_REFERENCE_HISTORY_LOG;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_REFERENCE_INDEX_SHARDS;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_REFERENCE_SUMMARIES;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_REPOSITORY_ID;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_RETRY_ADAPTIVE_BACKOFF;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_RETRY_INITIAL_SLEEP_MILLIS_LOWER;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_RETRY_INITIAL_SLEEP_MILLIS_UPPER;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_RETRY_MAX_SLEEP_MILLIS;
@@ -86,6 +91,11 @@ public class TestStoreConfig {
             "99999",
             (Function<Adjustable, StoreConfig>) e -> e.withRetryMaxSleepMillis(99999),
             (Predicate<StoreConfig>) c -> c.retryMaxSleepMillis() == 99999),
+        arguments(
+            CONFIG_RETRY_ADAPTIVE_BACKOFF,
+            "true",
+            (Function<Adjustable, StoreConfig>) e -> e.withRetryAdaptiveBackoff(true),
+            (Predicate<StoreConfig>) StoreConfig::retryAdaptiveBackoff),
         arguments(
             CONFIG_PARENTS_PER_COMMIT,
             "123",
@@ -116,6 +126,26 @@ public class TestStoreConfig {
             "false",
             (Function<Adjustable, StoreConfig>) e -> e.withValidateNamespaces(false),
             (Predicate<StoreConfig>) c -> !c.validateNamespaces()),
+        arguments(
+            CONFIG_DIFF_CONTENT_BATCH_SIZE,
+            "123",
+            (Function<Adjustable, StoreConfig>) e -> e.withDiffContentBatchSize(123),
+            (Predicate<StoreConfig>) c -> c.diffContentBatchSize() == 123),
+        arguments(
+            CONFIG_REFERENCE_INDEX_SHARDS,
+            "7",
+            (Function<Adjustable, StoreConfig>) e -> e.withReferenceIndexShards(7),
+            (Predicate<StoreConfig>) c -> c.referenceIndexShards() == 7),
+        arguments(
+            CONFIG_REFERENCE_SUMMARIES,
+            "true",
+            (Function<Adjustable, StoreConfig>) e -> e.withReferenceSummaries(true),
+            (Predicate<StoreConfig>) StoreConfig::referenceSummaries),
+        arguments(
+            CONFIG_REFERENCE_HISTORY_LOG,
+            "true",
+            (Function<Adjustable, StoreConfig>) e -> e.withReferenceHistoryLog(true),
+            (Predicate<StoreConfig>) StoreConfig::referenceHistoryLog),
         // default methods (current time in micros + hasher)
         arguments(
             "x",
@@ -18,7 +18,10 @@ package org.projectnessie.versioned.storage.common.logic;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.assertj.core.api.InstanceOfAssertFactories.type;
 import static org.junit.jupiter.api.AssertionFailureBuilder.assertionFailure;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.longThat;
 import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.doNothing;
@@ -54,6 +57,7 @@ import org.mockito.ArgumentMatcher;
 import org.mockito.InOrder;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
 import org.projectnessie.versioned.storage.common.exceptions.RetryTimeoutException;
+import org.projectnessie.versioned.storage.common.logic.CommitContention.ReferenceContention;
 import org.projectnessie.versioned.storage.common.logic.CommitRetry.RetryException;
 import org.projectnessie.versioned.storage.common.logic.CommitRetry.TryLoopState.MonotonicClock;
 import org.projectnessie.versioned.storage.common.persist.Persist;
@@ -201,6 +205,114 @@ public class TestCommitRetry {
     verify(clock, times(1)).sleepMillis(170L);
   }
 
+  @Test
+  public void adaptiveBackoffForContendedReference() {
+    StoreConfig config = mockedConfig(Integer.MAX_VALUE, Long.MAX_VALUE, 5, 25, 250);
+    when(config.retryAdaptiveBackoff()).thenReturn(true);
+
+    CommitContention commitContention = new CommitContention();
+    Persist persist = mock(Persist.class);
+
+    // no contention observed yet, use the configured initial bounds
+    ReferenceContention cold = commitContention.forReference(persist, "cold");
+    MonotonicClock clock = mockedClock(3);
+    new CommitRetry.TryLoopState(config, clock, "cold", cold, CommitRetryListener.NOOP).retry(0L);
+    verify(clock, times(1)).sleepMillis(longThat(v -> v >= 5L && v <= 25L));
+
+    // failure rate ~0.89, which means ~8.3 concurrent committers, 10ms per attempt
+    ReferenceContention contention = commitContention.forReference(persist, "main");
+    for (int i = 0; i < 10; i++) {
+      contention.recordAttempt(true, MILLISECONDS.toNanos(10));
+    }
+    soft.assertThat(contention.initialSleepMillis()).isEqualTo(83L);
+
+    clock = mockedClock(3);
+    new CommitRetry.TryLoopState(config, clock, "main", contention, CommitRetryListener.NOOP)
+        .retry(0L);
+    verify(clock, times(1)).sleepMillis(longThat(v -> v >= 83L && v <= 166L));
+
+    // never exceed the maximum sleep time
+    for (int i = 0; i < 50; i++) {
+      contention.recordAttempt(true, MILLISECONDS.toNanos(100));
+    }
+    clock = mockedClock(3);
+    new CommitRetry.TryLoopState(config, clock, "main", contention, CommitRetryListener.NOOP)
+        .retry(0L);
+    verify(clock, times(1)).sleepMillis(250L);
+
+    // contention on another reference does not influence the sleep time
+    clock = mockedClock(3);
+    ReferenceContention other = commitContention.forReference(persist, "other");
+    new CommitRetry.TryLoopState(config, clock, "other", other, CommitRetryListener.NOOP)
+        .retry(0L);
+    verify(clock, times(1)).sleepMillis(longThat(v -> v >= 5L && v <= 25L));
+    soft.assertThat(commitContention.forReference(persist, "main")).isSameAs(contention);
+    // statistics are tracked per Persist instance
+    soft.assertThat(commitContention.forReference(mock(Persist.class), "main"))
+        .isNotSameAs(contention);
+  }
+
+  @Test
+  public void commitRetryListener() {
+    int retries = 3;
+    StoreConfig mockedConfig = mockedConfig(retries, Long.MAX_VALUE);
+    Persist persist = mock(Persist.class);
+
+    CommitRetryListener listener = mock(CommitRetryListener.class);
+    ReferenceContention contention = new CommitContention().forReference(persist, "main");
+
+    AtomicInteger retryCounter = new AtomicInteger();
+    soft.assertThatCode(
+            () ->
+                commitRetry(
+                    persist,
+                    (p, retryState) -> {
+                      if (retryCounter.incrementAndGet() <= 2) {
+                        throw new RetryException();
+                      }
+                      return "foo";
+                    },
+                    new CommitRetry.TryLoopState(
+                        mockedConfig, mockedClock(retries), "main", contention, listener)))
+        .doesNotThrowAnyException();
+
+    verify(listener, times(2)).onRetry(eq("main"), anyLong());
+    verify(listener, times(1)).onSuccess(eq("main"), eq(2), anyLong());
+    soft.assertThat(contention.failureRate()).isGreaterThan(0d);
+
+    clearInvocations(listener);
+    soft.assertThatThrownBy(
+            () ->
+                commitRetry(
+                    persist,
+                    (p, retryState) -> {
+                      throw new RetryException();
+                    },
+                    new CommitRetry.TryLoopState(
+                        mockedConfig, mockedClock(retries), "main", contention, listener)))
+        .isInstanceOf(RetryTimeoutException.class);
+
+    verify(listener, times(retries)).onRetry(eq("main"), anyLong());
+    verify(listener, times(1)).onTimeout(eq("main"), eq(retries + 1), anyLong());
+    verify(listener, times(0)).onSuccess(eq("main"), anyInt(), anyLong());
+  }
+
+  @Test
+  public void commitRetryListenerFromConfig() throws Exception {
+    CommitRetryListener listener = mock(CommitRetryListener.class);
+    Persist persist = mock(Persist.class);
+    when(persist.config())
+        .thenReturn(StoreConfig.Adjustable.empty().withCommitRetryListener(listener));
+
+    soft.assertThat(commitRetry(persist, "main", (p, retryState) -> "foo")).isEqualTo("foo");
+    verify(listener, times(1)).onSuccess(eq("main"), eq(0), anyLong());
+
+    // Operations without a reference name are not reported
+    clearInvocations(listener);
+    soft.assertThat(commitRetry(persist, (p, retryState) -> "bar")).isEqualTo("bar");
+    verify(listener, times(0)).onSuccess(anyString(), anyInt(), anyLong());
+  }
+
   @ParameterizedTest
   @ValueSource(longs = {1, 5, 50, 100, 200})
   public void doesNotSleepLongerThanMax(long maxSleep) {
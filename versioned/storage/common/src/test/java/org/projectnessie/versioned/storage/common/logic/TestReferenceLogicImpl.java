@@ -331,7 +331,8 @@ public class TestReferenceLogicImpl extends AbstractReferenceLogicTests {
 
   private static boolean indexActionExists(ReferenceLogicImpl refLogic, String name) {
     StoreKey key = key(name);
-    StoreIndexElement<CommitOp> el = refLogic.createRefsIndexSupplier().get().index().get(key);
+    StoreIndexElement<CommitOp> el =
+        refLogic.createRefsIndexSupplierForName(name).get().index().get(key);
     return el != null && el.content().action().exists();
   }
 
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.persist;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestAsyncPersistAdapter {
+
+  @InjectSoftAssertions SoftAssertions soft;
+
+  @Test
+  public void supplyAsync() throws Exception {
+    soft.assertThat(AsyncPersistAdapter.supplyAsync(() -> "foo").toCompletableFuture().get())
+        .isEqualTo("foo");
+    soft.assertThat(
+            AsyncPersistAdapter.supplyAsync(
+                    () -> {
+                      throw new IllegalStateException("boom");
+                    })
+                .toCompletableFuture())
+        .failsWithin(30, TimeUnit.SECONDS)
+        .withThrowableOfType(ExecutionException.class)
+        .withCauseInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  public void saturatedExecutorRejects() throws Exception {
+    ExecutorService executor = AsyncPersistAdapter.newExecutor("test-async-", 1, 1);
+    CountDownLatch block = new CountDownLatch(1);
+    try {
+      Thread caller = Thread.currentThread();
+      CompletionStage<Thread> running =
+          AsyncPersistAdapter.supplyAsync(
+              executor,
+              () -> {
+                block.await();
+                return Thread.currentThread();
+              });
+      CompletionStage<Thread> queued =
+          AsyncPersistAdapter.supplyAsync(executor, Thread::currentThread);
+      CompletionStage<Thread> rejected =
+          AsyncPersistAdapter.supplyAsync(executor, Thread::currentThread);
+
+      // Never run on the calling thread
+      soft.assertThat(rejected.toCompletableFuture())
+          .isCompletedExceptionally()
+          .failsWithin(0, TimeUnit.SECONDS)
+          .withThrowableOfType(ExecutionException.class)
+          .withCauseInstanceOf(RejectedExecutionException.class);
+
+      block.countDown();
+      soft.assertThat(running.toCompletableFuture().get()).isNotSameAs(caller);
+      soft.assertThat(queued.toCompletableFuture().get()).isNotSameAs(caller);
+    } finally {
+      block.countDown();
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.persist;
+
+import static org.mockito.Mockito.mock;
+import static org.projectnessie.versioned.storage.common.persist.PerPersist.perPersist;
+import static org.projectnessie.versioned.storage.common.persist.PerPersist.perPersistCache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestPerPersist {
+
+  @InjectSoftAssertions SoftAssertions soft;
+
+  @Test
+  public void valuePerPersist() {
+    AtomicInteger created = new AtomicInteger();
+    PerPersist<Integer> perPersist = perPersist(p -> created.incrementAndGet());
+
+    Persist persist1 = mock(Persist.class);
+    Persist persist2 = mock(Persist.class);
+
+    soft.assertThat(perPersist.get(persist1)).isEqualTo(1);
+    soft.assertThat(perPersist.get(persist2)).isEqualTo(2);
+    soft.assertThat(perPersist.get(persist1)).isEqualTo(1);
+    soft.assertThat(created).hasValue(2);
+  }
+
+  @Test
+  public void cachePerPersist() {
+    PerPersist<Cache<String, String>> perPersist = perPersistCache(10);
+
+    Persist persist1 = mock(Persist.class);
+    Persist persist2 = mock(Persist.class);
+
+    perPersist.get(persist1).put("key", "value");
+
+    soft.assertThat(perPersist.get(persist1).getIfPresent("key")).isEqualTo("value");
+    soft.assertThat(perPersist.get(persist2).getIfPresent("key")).isNull();
+  }
+}
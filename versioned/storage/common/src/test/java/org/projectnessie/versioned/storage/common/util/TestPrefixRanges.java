@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+import static org.projectnessie.versioned.storage.common.util.PrefixRanges.prefixUpperBound;
+
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public class TestPrefixRanges {
+
+  @ParameterizedTest
+  @MethodSource("prefixUpperBounds")
+  void upperBound(String prefix, String expected) {
+    assertThat(prefixUpperBound(prefix)).isEqualTo(expected);
+    if (expected != null) {
+      assertThat(prefix).isLessThan(expected);
+      assertThat(prefix + "\uffff\uffff").isLessThan(expected);
+    }
+  }
+
+  static Stream<Arguments> prefixUpperBounds() {
+    return Stream.of(
+        arguments("", null),
+        arguments("\uffff", null),
+        arguments("a", "b"),
+        arguments("refs/heads/", "refs/heads0"),
+        arguments("refs/heads/team-a/", "refs/heads/team-a0"),
+        arguments("a\uffff", "b"),
+        arguments("ab\uffff\uffff", "ac"));
+  }
+}
@@ -18,12 +18,14 @@ package org.projectnessie.versioned.storage.jdbctests;
 import static org.testcontainers.shaded.com.google.common.base.Preconditions.checkState;
 
 import java.sql.SQLException;
+import java.util.Optional;
 import javax.sql.DataSource;
 import org.projectnessie.versioned.storage.common.persist.Backend;
 import org.projectnessie.versioned.storage.jdbc.DatabaseSpecific;
 import org.projectnessie.versioned.storage.jdbc.DatabaseSpecifics;
 import org.projectnessie.versioned.storage.jdbc.JdbcBackend;
 import org.projectnessie.versioned.storage.jdbc.JdbcBackendConfig;
+import org.projectnessie.versioned.storage.jdbc.ObjsTableLayout;
 import org.projectnessie.versioned.storage.testextension.BackendTestFactory;
 
 public abstract class AbstractJdbcBackendTestFactory implements BackendTestFactory {
@@ -34,6 +36,11 @@ public abstract class AbstractJdbcBackendTestFactory implements BackendTestFacto
 
   public abstract String jdbcPass();
 
+  /** Layout of the objects table, the default layout is used if empty. */
+  public Optional<ObjsTableLayout> objsTableLayout() {
+    return Optional.empty();
+  }
+
   @Override
   public Backend createNewBackend() throws SQLException {
     checkState(jdbcUrl() != null, "Must set JDBC URL first");
@@ -46,7 +53,11 @@ public abstract class AbstractJdbcBackendTestFactory implements BackendTestFacto
             .build()
             .createNewDataSource();
 
-    JdbcBackendConfig config = JdbcBackendConfig.builder().dataSource(dataSource).build();
+    JdbcBackendConfig config =
+        JdbcBackendConfig.builder()
+            .dataSource(dataSource)
+            .objsTableLayout(objsTableLayout())
+            .build();
 
     DatabaseSpecific databaseSpecific = DatabaseSpecifics.detect(dataSource);
     return new JdbcBackend(config, databaseSpecific, true);
@@ -16,31 +16,44 @@
 package org.projectnessie.versioned.storage.jdbc;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.util.concurrent.Uninterruptibles.awaitUninterruptibly;
 import static java.util.Arrays.stream;
+import static java.util.Collections.emptyIterator;
+import static java.util.Collections.nCopies;
 import static java.util.stream.Collectors.joining;
-import static org.projectnessie.versioned.storage.common.util.Closing.closeMultiple;
+import static org.projectnessie.versioned.storage.common.util.PrefixRanges.prefixUpperBound;
 import static org.projectnessie.versioned.storage.jdbc.JdbcBackend.unhandledSQLException;
 import static org.projectnessie.versioned.storage.jdbc.JdbcSerde.deserializeObjId;
 import static org.projectnessie.versioned.storage.jdbc.JdbcSerde.serializeObjId;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.ADD_REFERENCE;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COLS_OBJS_ALL;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COLS_OBJS_COMPACT;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_OBJ_ID;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_OBJ_TYPE;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_OBJ_VERS;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_REPO_ID;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.DELETE_OBJ;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.DELETE_OBJ_COMPACT;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.DELETE_OBJ_CONDITIONAL;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.DELETE_OBJ_CONDITIONAL_COMPACT;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.FETCH_OBJ_TYPE;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.FETCH_OBJ_TYPE_COMPACT;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.FIND_OBJS;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.FIND_OBJS_COMPACT;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.FIND_OBJS_TYPED;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.FIND_OBJS_TYPED_COMPACT;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.FIND_REFERENCES;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.MARK_REFERENCE_AS_DELETED;
-import static org.projectnessie.versioned.storage.jdbc.SqlConstants.MAX_BATCH_SIZE;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.MAX_BIND_PARAMETERS;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.PURGE_REFERENCE;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.REFS_CREATED_AT_COND;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.REFS_EXTENDED_INFO_COND;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.SCAN_OBJS;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.SCAN_OBJS_COMPACT;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.SCAN_REFERENCES;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.SCAN_REFERENCES_AFTER;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.TABLE_OBJS;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.TABLE_OBJS_COMPACT;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.UPDATE_REFERENCE_POINTER;
 import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.serializePreviousPointers;
 
@@ -56,10 +69,18 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 import org.agrona.collections.Hashing;
 import org.agrona.collections.Int2IntHashMap;
 import org.agrona.collections.Object2IntHashMap;
@@ -69,6 +90,7 @@ import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeExceptio
 import org.projectnessie.versioned.storage.common.exceptions.RefAlreadyExistsException;
 import org.projectnessie.versioned.storage.common.exceptions.RefConditionFailedException;
 import org.projectnessie.versioned.storage.common.exceptions.RefNotFoundException;
+import org.projectnessie.versioned.storage.common.persist.AsyncPersistAdapter;
 import org.projectnessie.versioned.storage.common.persist.CloseableIterator;
 import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
@@ -77,29 +99,111 @@ import org.projectnessie.versioned.storage.common.persist.ObjTypes;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.common.persist.Reference;
 import org.projectnessie.versioned.storage.common.persist.UpdateableObj;
+import org.projectnessie.versioned.storage.jdbc.serializers.CompactObjSerializer;
 import org.projectnessie.versioned.storage.jdbc.serializers.ObjSerializer;
 import org.projectnessie.versioned.storage.jdbc.serializers.ObjSerializers;
 
 @SuppressWarnings({"SqlDialectInspection", "SqlNoDataSourceInspection"})
 abstract class AbstractJdbcPersist implements Persist {
 
+  private static final int[] STANDARD_FETCH_SHAPES = {1, 8, 32, 128};
+
   private final StoreConfig config;
   private final DatabaseSpecific databaseSpecific;
+  private final int batchSize;
+  private final int scanPageSize;
+  private final int fetchChunkSize;
+  private final int fetchParallelism;
+  private final Executor fetchExecutor;
+  private final ObjsTableLayout objsTableLayout;
+  private final String objsTable;
+  private final Set<ObjSerializer<?>> objsSerializers;
+  private final String fetchObjTypeSql;
+  private final int[] fetchShapes;
+  private final String[] findObjsSqls;
+  private final String[] findObjsTypedSqls;
+  private final String scanObjsSql;
+  private final String deleteObjSql;
+  private final String deleteObjConditionalSql;
   private final String storeObjSql;
   private final Map<String, Integer> storeObjSqlParams;
 
-  AbstractJdbcPersist(DatabaseSpecific databaseSpecific, StoreConfig config) {
+  AbstractJdbcPersist(
+      DatabaseSpecific databaseSpecific,
+      int batchSize,
+      int scanPageSize,
+      int fetchChunkSize,
+      int fetchParallelism,
+      Executor fetchExecutor,
+      ObjsTableLayout objsTableLayout,
+      StoreConfig config) {
     this.config = config;
     this.databaseSpecific = databaseSpecific;
-    this.storeObjSqlParams = buildStoreObjSqlParams();
+    this.batchSize = batchSize;
+    this.scanPageSize = scanPageSize;
+    this.fetchChunkSize = fetchChunkSize;
+    this.fetchParallelism = fetchParallelism;
+    this.fetchExecutor = fetchExecutor;
+    this.objsTableLayout = objsTableLayout;
+    Map<String, JdbcColumnType> objsColumns;
+    String findObjsSql;
+    String findObjsTypedSql;
+    switch (objsTableLayout) {
+      case COLUMNS:
+        this.objsTable = TABLE_OBJS;
+        this.objsSerializers = ObjSerializers.ALL_SERIALIZERS;
+        this.fetchObjTypeSql = FETCH_OBJ_TYPE;
+        findObjsSql = FIND_OBJS;
+        findObjsTypedSql = FIND_OBJS_TYPED;
+        this.scanObjsSql = SCAN_OBJS;
+        this.deleteObjSql = DELETE_OBJ;
+        this.deleteObjConditionalSql = DELETE_OBJ_CONDITIONAL;
+        objsColumns = COLS_OBJS_ALL;
+        break;
+      case COMPACT:
+        this.objsTable = TABLE_OBJS_COMPACT;
+        this.objsSerializers = Set.of(CompactObjSerializer.INSTANCE);
+        this.fetchObjTypeSql = FETCH_OBJ_TYPE_COMPACT;
+        findObjsSql = FIND_OBJS_COMPACT;
+        findObjsTypedSql = FIND_OBJS_TYPED_COMPACT;
+        this.scanObjsSql = SCAN_OBJS_COMPACT;
+        this.deleteObjSql = DELETE_OBJ_COMPACT;
+        this.deleteObjConditionalSql = DELETE_OBJ_CONDITIONAL_COMPACT;
+        objsColumns = COLS_OBJS_COMPACT;
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown objects table layout " + objsTableLayout);
+    }
+    this.storeObjSqlParams = buildStoreObjSqlParams(objsColumns);
     this.storeObjSql = buildStoreObjSql();
+    this.fetchShapes = fetchShapes(fetchChunkSize);
+    this.findObjsSqls = sqlSelectShapes(findObjsSql, fetchShapes);
+    this.findObjsTypedSqls = sqlSelectShapes(findObjsTypedSql, fetchShapes);
+  }
+
+  /**
+   * The numbers of object IDs of the statements used to fetch objects: the standard sizes below the
+   * chunk size and the chunk size itself. Using only a few distinct statements lets JDBC drivers
+   * and databases reuse prepared statements and query plans.
+   */
+  @VisibleForTesting
+  static int[] fetchShapes(int fetchChunkSize) {
+    return IntStream.concat(
+            stream(STANDARD_FETCH_SHAPES).filter(s -> s < fetchChunkSize),
+            IntStream.of(fetchChunkSize))
+        .toArray();
   }
 
-  private Map<String, Integer> buildStoreObjSqlParams() {
+  private static String[] sqlSelectShapes(String sql, int[] shapes) {
+    return stream(shapes).mapToObj(n -> sqlSelectMultiple(sql, n)).toArray(String[]::new);
+  }
+
+  private static Map<String, Integer> buildStoreObjSqlParams(
+      Map<String, JdbcColumnType> objsColumns) {
     Builder<String, Integer> params = ImmutableMap.builder();
     int i = 1;
     params.put(COL_REPO_ID, i++);
-    for (String col : COLS_OBJS_ALL.keySet()) {
+    for (String col : objsColumns.keySet()) {
       params.put(col, i++);
     }
     return params.build();
@@ -107,7 +211,7 @@ abstract class AbstractJdbcPersist implements Persist {
 
   private String buildStoreObjSql() {
     return "INSERT INTO "
-        + TABLE_OBJS
+        + objsTable
         + " ("
         + String.join(", ", storeObjSqlParams.keySet())
         + ") VALUES ("
@@ -171,6 +275,47 @@ abstract class AbstractJdbcPersist implements Persist {
     }
   }
 
+  @Nonnull
+  protected final List<Reference> scanReferences(
+      @Nonnull Connection conn, @Nonnull String prefix, @Nullable String startAfter, int limit) {
+    checkArgument(!prefix.isEmpty(), "Reference name prefix must not be empty");
+    String upperBound = prefixUpperBound(prefix);
+    checkArgument(upperBound != null, "Unsupported reference name prefix");
+
+    String after = startAfter != null && startAfter.compareTo(prefix) >= 0 ? startAfter : null;
+    List<Reference> r = new ArrayList<>();
+    while (true) {
+      int maxRows = limit - r.size();
+      int rows = 0;
+      try (PreparedStatement ps =
+          conn.prepareStatement(after != null ? SCAN_REFERENCES_AFTER : SCAN_REFERENCES)) {
+        ps.setMaxRows(maxRows);
+        ps.setString(1, config.repositoryId());
+        ps.setString(2, after != null ? after : prefix);
+        ps.setString(3, upperBound);
+        try (ResultSet rs = ps.executeQuery()) {
+          while (rs.next()) {
+            rows++;
+            Reference ref = JdbcSerde.deserializeReference(rs);
+            after = ref.name();
+            if (ref.name().startsWith(prefix)) {
+              r.add(ref);
+            }
+          }
+        }
+      } catch (SQLException e) {
+        throw unhandledSQLException(e);
+      }
+
+      // The database's collation may sort names not starting with the prefix into the scanned
+      // range. Those rows are skipped, so continue after the last row until 'limit' references are
+      // collected or the range is exhausted.
+      if (rows < maxRows || r.size() >= limit) {
+        return r;
+      }
+    }
+  }
+
   @Nonnull
   protected final Reference addReference(@Nonnull Connection conn, @Nonnull Reference reference)
       throws RefAlreadyExistsException {
@@ -339,7 +484,7 @@ abstract class AbstractJdbcPersist implements Persist {
 
   protected ObjType fetchObjType(@Nonnull Connection conn, @Nonnull ObjId id)
       throws ObjNotFoundException {
-    try (PreparedStatement ps = conn.prepareStatement(sqlSelectMultiple(FETCH_OBJ_TYPE, 1))) {
+    try (PreparedStatement ps = conn.prepareStatement(sqlSelectMultiple(fetchObjTypeSql, 1))) {
       ps.setString(1, config.repositoryId());
       serializeObjId(ps, 2, id, databaseSpecific);
       try (ResultSet rs = ps.executeQuery()) {
@@ -364,62 +509,190 @@ abstract class AbstractJdbcPersist implements Persist {
   protected final Obj[] fetchObjs(
       @Nonnull Connection conn, @Nonnull ObjId[] ids, @Nullable ObjType type)
       throws ObjNotFoundException {
-    Object2IntHashMap<ObjId> idToIndex =
-        new Object2IntHashMap<>(200, Hashing.DEFAULT_LOAD_FACTOR, -1);
-    Obj[] r = new Obj[ids.length];
-    List<ObjId> keys = new ArrayList<>();
+    return checkObjsFound(ids, fetchObjsIfExist(conn, ids, type));
+  }
+
+  /**
+   * Like {@link #fetchObjs(Connection, ObjId[], ObjType)}, but fetches the chunks of large requests
+   * concurrently, see {@link #fetchObjsIfExist(ConnectionSupplier, ObjId[], ObjType)}.
+   */
+  @Nonnull
+  protected final Obj[] fetchObjs(
+      @Nonnull ConnectionSupplier connections, @Nonnull ObjId[] ids, @Nullable ObjType type)
+      throws ObjNotFoundException {
+    return checkObjsFound(ids, fetchObjsIfExist(connections, ids, type));
+  }
+
+  private static Obj[] checkObjsFound(ObjId[] ids, Obj[] r) throws ObjNotFoundException {
+    List<ObjId> notFound = null;
     for (int i = 0; i < ids.length; i++) {
       ObjId id = ids[i];
-      if (id != null) {
-        keys.add(id);
-        idToIndex.put(id, i);
+      if (r[i] == null && id != null) {
+        if (notFound == null) {
+          notFound = new ArrayList<>();
+        }
+        notFound.add(id);
       }
     }
-
-    if (keys.isEmpty()) {
-      return r;
+    if (notFound != null) {
+      throw new ObjNotFoundException(notFound);
     }
 
-    String sql = type == null ? FIND_OBJS : FIND_OBJS_TYPED;
-    sql = sqlSelectMultiple(sql, keys.size());
+    return r;
+  }
 
-    try (PreparedStatement ps = conn.prepareStatement(sql)) {
-      int idx = 1;
-      ps.setString(idx++, config.repositoryId());
-      for (ObjId key : keys) {
-        serializeObjId(ps, idx++, key, databaseSpecific);
-      }
-      if (type != null) {
-        ps.setString(idx, type.name());
+  /** Like {@link #fetchObjs(Connection, ObjId[], ObjType)}, but returns non-existing as nulls. */
+  @Nonnull
+  protected final Obj[] fetchObjsIfExist(
+      @Nonnull Connection conn, @Nonnull ObjId[] ids, @Nullable ObjType type) {
+    ObjsFetch fetch = new ObjsFetch(ids, type);
+    try {
+      for (int chunk = 0; chunk < fetch.chunks; chunk++) {
+        fetch.fetchChunk(conn, chunk);
       }
+    } catch (SQLException e) {
+      throw unhandledSQLException(e);
+    }
+    return fetch.result;
+  }
 
-      try (ResultSet rs = ps.executeQuery()) {
-        while (rs.next()) {
-          Obj obj = deserializeObj(rs);
-          int i = idToIndex.getValue(obj.id());
-          if (i != -1) {
-            r[i] = obj;
+  /**
+   * Like {@link #fetchObjsIfExist(Connection, ObjId[], ObjType)}, but fetches the chunks of large
+   * requests concurrently on up to {@code fetchParallelism} connections borrowed from {@code
+   * connections}.
+   *
+   * <p>The calling thread fetches chunks as well, the other workers run on the dedicated fetch
+   * executor of the backend. Chunks are claimed by the threads that are actually running, so a
+   * saturated executor only reduces the parallelism.
+   */
+  @Nonnull
+  protected final Obj[] fetchObjsIfExist(
+      @Nonnull ConnectionSupplier connections, @Nonnull ObjId[] ids, @Nullable ObjType type) {
+    ObjsFetch fetch = new ObjsFetch(ids, type);
+    int workers = Math.min(fetchParallelism, fetch.chunks);
+    if (workers <= 1) {
+      if (fetch.chunks > 0) {
+        try (Connection conn = connections.get()) {
+          for (int chunk = 0; chunk < fetch.chunks; chunk++) {
+            fetch.fetchChunk(conn, chunk);
           }
+        } catch (SQLException e) {
+          throw unhandledSQLException(e);
+        }
+      }
+      return fetch.result;
+    }
+
+    for (int i = 1; i < workers; i++) {
+      AsyncPersistAdapter.supplyAsync(
+          fetchExecutor,
+          () -> {
+            fetch.fetchChunks(connections);
+            return null;
+          });
+    }
+    fetch.fetchChunks(connections);
+    awaitUninterruptibly(fetch.done);
+
+    Exception failure = fetch.failure.get();
+    if (failure instanceof SQLException) {
+      throw unhandledSQLException((SQLException) failure);
+    }
+    if (failure != null) {
+      throw (RuntimeException) failure;
+    }
+    return fetch.result;
+  }
+
+  /** State of a single bulk fetch, which is split into chunks of up to {@code fetchChunkSize}. */
+  private final class ObjsFetch {
+    final Obj[] result;
+    final ObjType type;
+    final List<ObjId> keys = new ArrayList<>();
+    final Object2IntHashMap<ObjId> idToIndex =
+        new Object2IntHashMap<>(200, Hashing.DEFAULT_LOAD_FACTOR, -1);
+    final int chunks;
+    final AtomicInteger nextChunk = new AtomicInteger();
+    final CountDownLatch done;
+    final AtomicReference<Exception> failure = new AtomicReference<>();
+
+    ObjsFetch(ObjId[] ids, ObjType type) {
+      this.result = new Obj[ids.length];
+      this.type = type;
+      for (int i = 0; i < ids.length; i++) {
+        ObjId id = ids[i];
+        if (id != null) {
+          keys.add(id);
+          idToIndex.put(id, i);
         }
+      }
+      this.chunks = (keys.size() + fetchChunkSize - 1) / fetchChunkSize;
+      this.done = new CountDownLatch(chunks);
+    }
 
-        List<ObjId> notFound = null;
-        for (int i = 0; i < ids.length; i++) {
-          ObjId id = ids[i];
-          if (r[i] == null && id != null) {
-            if (notFound == null) {
-              notFound = new ArrayList<>();
+    /** Fetches unclaimed chunks on a single borrowed connection, until all chunks are claimed. */
+    void fetchChunks(ConnectionSupplier connections) {
+      Connection conn = null;
+      try {
+        for (int chunk = nextChunk.getAndIncrement();
+            chunk < chunks;
+            chunk = nextChunk.getAndIncrement()) {
+          try {
+            if (failure.get() == null) {
+              if (conn == null) {
+                conn = connections.get();
+              }
+              fetchChunk(conn, chunk);
             }
-            notFound.add(id);
+          } catch (SQLException | RuntimeException e) {
+            if (!failure.compareAndSet(null, e)) {
+              failure.get().addSuppressed(e);
+            }
+          } finally {
+            done.countDown();
           }
         }
-        if (notFound != null) {
-          throw new ObjNotFoundException(notFound);
+      } finally {
+        if (conn != null) {
+          try {
+            conn.close();
+          } catch (SQLException e) {
+            // all chunks of this worker have been fetched
+          }
         }
+      }
+    }
 
-        return r;
+    void fetchChunk(Connection conn, int chunk) throws SQLException {
+      int from = chunk * fetchChunkSize;
+      int to = Math.min(from + fetchChunkSize, keys.size());
+      int shape = 0;
+      while (fetchShapes[shape] < to - from) {
+        shape++;
+      }
+      String sql = type == null ? findObjsSqls[shape] : findObjsTypedSqls[shape];
+
+      try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        int idx = 1;
+        ps.setString(idx++, config.repositoryId());
+        for (int i = from; i < from + fetchShapes[shape]; i++) {
+          // Surplus parameters of the statement repeat the last object ID of the chunk
+          serializeObjId(ps, idx++, keys.get(Math.min(i, to - 1)), databaseSpecific);
+        }
+        if (type != null) {
+          ps.setString(idx, type.name());
+        }
+
+        try (ResultSet rs = ps.executeQuery()) {
+          while (rs.next()) {
+            Obj obj = deserializeObj(rs);
+            int i = idToIndex.getValue(obj.id());
+            if (i != -1) {
+              result[i] = obj;
+            }
+          }
+        }
       }
-    } catch (SQLException e) {
-      throw unhandledSQLException(e);
     }
   }
 
@@ -428,10 +701,16 @@ abstract class AbstractJdbcPersist implements Persist {
     String objType = rs.getString(COL_OBJ_TYPE);
     String versionToken = rs.getString(COL_OBJ_VERS);
     ObjType type = ObjTypes.forName(objType);
-    ObjSerializer<Obj> serializer = ObjSerializers.forType(type);
+    ObjSerializer<Obj> serializer = serializerForType(type);
     return serializer.deserialize(rs, type, id, versionToken);
   }
 
+  private ObjSerializer<Obj> serializerForType(ObjType type) {
+    return objsTableLayout == ObjsTableLayout.COMPACT
+        ? CompactObjSerializer.INSTANCE
+        : ObjSerializers.forType(type);
+  }
+
   protected final boolean storeObj(
       @Nonnull Connection conn, @Nonnull Obj obj, boolean ignoreSoftSizeRestrictions)
       throws ObjTooLargeException {
@@ -441,7 +720,14 @@ abstract class AbstractJdbcPersist implements Persist {
   @Nonnull
   protected final boolean[] storeObjs(@Nonnull Connection conn, @Nonnull Obj[] objs)
       throws ObjTooLargeException {
-    return upsertObjs(conn, objs, false, true);
+    return storeObjs(conn, objs, false);
+  }
+
+  @Nonnull
+  protected final boolean[] storeObjs(
+      @Nonnull Connection conn, @Nonnull Obj[] objs, boolean ignoreSoftSizeRestrictions)
+      throws ObjTooLargeException {
+    return upsertObjs(conn, objs, ignoreSoftSizeRestrictions, true);
   }
 
   protected final Void updateObj(@Nonnull Connection conn, @Nonnull Obj obj)
@@ -457,7 +743,7 @@ abstract class AbstractJdbcPersist implements Persist {
   }
 
   protected final boolean deleteConditional(@Nonnull Connection conn, @Nonnull UpdateableObj obj) {
-    try (PreparedStatement ps = conn.prepareStatement(DELETE_OBJ_CONDITIONAL)) {
+    try (PreparedStatement ps = conn.prepareStatement(deleteObjConditionalSql)) {
       ps.setString(1, config.repositoryId());
       serializeObjId(ps, 2, obj.id(), databaseSpecific);
       ps.setString(3, obj.type().name());
@@ -496,9 +782,128 @@ abstract class AbstractJdbcPersist implements Persist {
           conn, stream(objs).map(obj -> obj == null ? null : obj.id()).toArray(ObjId[]::new));
     }
 
-    try (PreparedStatement ps = conn.prepareStatement(databaseSpecific.wrapInsert(storeObjSql))) {
+    int incrementalIndexSizeLimit =
+        ignoreSoftSizeRestrictions ? Integer.MAX_VALUE : effectiveIncrementalIndexSizeLimit();
+    int indexSizeLimit =
+        ignoreSoftSizeRestrictions ? Integer.MAX_VALUE : effectiveIndexSegmentSizeLimit();
+
+    try {
       boolean[] r = new boolean[objs.length];
+      if (databaseSpecific.supportsInsertReturning()) {
+        insertObjsReturning(conn, objs, r, incrementalIndexSizeLimit, indexSizeLimit);
+      } else {
+        insertObjsBatched(conn, objs, r, incrementalIndexSizeLimit, indexSizeLimit);
+      }
+      return r;
+    } catch (SQLException e) {
+      if (databaseSpecific.isConstraintViolation(e)) {
+        throw new UnsupportedOperationException(
+            "The database should support a functionality like PostgreSQL's "
+                + "'ON CONFLICT DO NOTHING' for INSERT statements. For H2, enable the "
+                + "PostgreSQL Compatibility Mode.");
+      }
+      throw unhandledSQLException(e);
+    }
+  }
+
+  /**
+   * Inserts the objects using multi-row {@code INSERT ... RETURNING} statements, one statement per
+   * object serializer and up to {@link #batchSize} objects. Each statement only binds the columns
+   * of its serializer, the returned object IDs tell which objects have been inserted.
+   */
+  private void insertObjsReturning(
+      Connection conn,
+      Obj[] objs,
+      boolean[] inserted,
+      int incrementalIndexSizeLimit,
+      int indexSizeLimit)
+      throws SQLException, ObjTooLargeException {
+    Map<ObjSerializer<Obj>, List<Integer>> objsBySerializer = new LinkedHashMap<>();
+    for (int i = 0; i < objs.length; i++) {
+      Obj obj = objs[i];
+      if (obj == null) {
+        continue;
+      }
+      checkArgument(obj.id() != null, "Obj to store must have a non-null ID");
+      objsBySerializer
+          .computeIfAbsent(serializerForType(obj.type()), s -> new ArrayList<>())
+          .add(i);
+    }
+
+    for (Map.Entry<ObjSerializer<Obj>, List<Integer>> group : objsBySerializer.entrySet()) {
+      ObjSerializer<Obj> serializer = group.getKey();
+      List<Integer> objIndexes = group.getValue();
+
+      List<String> columns = new ArrayList<>();
+      columns.add(COL_REPO_ID);
+      columns.add(COL_OBJ_ID);
+      columns.add(COL_OBJ_TYPE);
+      columns.add(COL_OBJ_VERS);
+      columns.addAll(serializer.columns().keySet());
+      Object2IntHashMap<String> columnParams =
+          new Object2IntHashMap<>(columns.size() * 2, Hashing.DEFAULT_LOAD_FACTOR, -1);
+      for (int c = 0; c < columns.size(); c++) {
+        columnParams.put(columns.get(c), c + 1);
+      }
 
+      int rowsPerStatement = Math.min(batchSize, MAX_BIND_PARAMETERS / columns.size());
+      for (int start = 0; start < objIndexes.size(); start += rowsPerStatement) {
+        List<Integer> rows =
+            objIndexes.subList(start, Math.min(start + rowsPerStatement, objIndexes.size()));
+
+        String sql =
+            databaseSpecific.wrapInsertReturning(
+                multiRowInsertSql(columns, rows.size()), COL_OBJ_ID);
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+          Object2IntHashMap<ObjId> idToIndex =
+              new Object2IntHashMap<>(rows.size() * 2, Hashing.DEFAULT_LOAD_FACTOR, -1);
+          for (int row = 0; row < rows.size(); row++) {
+            int i = rows.get(row);
+            Obj obj = objs[i];
+            int offset = row * columns.size();
+            serializeObj(
+                ps,
+                obj,
+                serializer,
+                col -> columnParams.getValue(col) + offset,
+                incrementalIndexSizeLimit,
+                indexSizeLimit);
+            // Only the first of multiple objects with the same ID can be inserted.
+            idToIndex.putIfAbsent(obj.id(), i);
+          }
+
+          try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+              int i = idToIndex.getValue(deserializeObjId(rs, COL_OBJ_ID));
+              if (i != -1) {
+                inserted[i] = true;
+              }
+            }
+          }
+        }
+      }
+    }
+  }
+
+  private String multiRowInsertSql(List<String> columns, int rows) {
+    String values = columns.stream().map(c -> "?").collect(joining(", ", "(", ")"));
+    return "INSERT INTO "
+        + objsTable
+        + " ("
+        + String.join(", ", columns)
+        + ") VALUES "
+        + String.join(", ", nCopies(rows, values));
+  }
+
+  /** Inserts the objects using JDBC batches of up to {@link #batchSize} objects. */
+  private void insertObjsBatched(
+      Connection conn,
+      Obj[] objs,
+      boolean[] inserted,
+      int incrementalIndexSizeLimit,
+      int indexSizeLimit)
+      throws SQLException, ObjTooLargeException {
+    try (PreparedStatement ps = conn.prepareStatement(databaseSpecific.wrapInsert(storeObjSql))) {
       Int2IntHashMap batchIndexToObjIndex =
           new Int2IntHashMap(objs.length * 2, Hashing.DEFAULT_LOAD_FACTOR, -1);
 
@@ -506,7 +911,7 @@ abstract class AbstractJdbcPersist implements Persist {
           updated -> {
             for (int i = 0; i < updated.length; i++) {
               if (updated[i] == 1) {
-                r[batchIndexToObjIndex.get(i)] = true;
+                inserted[batchIndexToObjIndex.get(i)] = true;
               }
             }
           };
@@ -518,35 +923,18 @@ abstract class AbstractJdbcPersist implements Persist {
           continue;
         }
 
-        ObjId id = obj.id();
-        ObjType type = obj.type();
-
-        int incrementalIndexSizeLimit =
-            ignoreSoftSizeRestrictions ? Integer.MAX_VALUE : effectiveIncrementalIndexSizeLimit();
-        int indexSizeLimit =
-            ignoreSoftSizeRestrictions ? Integer.MAX_VALUE : effectiveIndexSegmentSizeLimit();
+        checkArgument(obj.id() != null, "Obj to store must have a non-null ID");
 
-        checkArgument(id != null, "Obj to store must have a non-null ID");
-
-        ps.setString(storeObjSqlParams.get(COL_REPO_ID), config.repositoryId());
-        serializeObjId(ps, storeObjSqlParams.get(COL_OBJ_ID), id, databaseSpecific);
-        ps.setString(storeObjSqlParams.get(COL_OBJ_TYPE), type.name());
-        if (obj instanceof UpdateableObj) {
-          ps.setString(storeObjSqlParams.get(COL_OBJ_VERS), ((UpdateableObj) obj).versionToken());
-        } else {
-          ps.setNull(storeObjSqlParams.get(COL_OBJ_VERS), Types.VARCHAR);
-        }
-
-        ObjSerializer<Obj> serializer = ObjSerializers.forType(type);
-        serializer.serialize(
+        ObjSerializer<Obj> serializer = serializerForType(obj.type());
+        serializeObj(
             ps,
             obj,
-            incrementalIndexSizeLimit,
-            indexSizeLimit,
+            serializer,
             storeObjSqlParams::get,
-            databaseSpecific);
+            incrementalIndexSizeLimit,
+            indexSizeLimit);
 
-        for (ObjSerializer<?> other : ObjSerializers.ALL_SERIALIZERS) {
+        for (ObjSerializer<?> other : objsSerializers) {
           if (serializer != other) {
             other.setNull(ps, storeObjSqlParams::get, databaseSpecific);
           }
@@ -555,7 +943,7 @@ abstract class AbstractJdbcPersist implements Persist {
         batchIndexToObjIndex.put(batchIndex++, i);
         ps.addBatch();
 
-        if (batchIndex == MAX_BATCH_SIZE) {
+        if (batchIndex == batchSize) {
           batchIndex = 0;
           batchResultHandler.accept(ps.executeBatch());
         }
@@ -564,21 +952,32 @@ abstract class AbstractJdbcPersist implements Persist {
       if (batchIndex > 0) {
         batchResultHandler.accept(ps.executeBatch());
       }
+    }
+  }
 
-      return r;
-    } catch (SQLException e) {
-      if (databaseSpecific.isConstraintViolation(e)) {
-        throw new UnsupportedOperationException(
-            "The database should support a functionality like PostgreSQL's "
-                + "'ON CONFLICT DO NOTHING' for INSERT statements. For H2, enable the "
-                + "PostgreSQL Compatibility Mode.");
-      }
-      throw unhandledSQLException(e);
+  private void serializeObj(
+      PreparedStatement ps,
+      Obj obj,
+      ObjSerializer<Obj> serializer,
+      Function<String, Integer> nameToIdx,
+      int incrementalIndexSizeLimit,
+      int indexSizeLimit)
+      throws SQLException, ObjTooLargeException {
+    ps.setString(nameToIdx.apply(COL_REPO_ID), config.repositoryId());
+    serializeObjId(ps, nameToIdx.apply(COL_OBJ_ID), obj.id(), databaseSpecific);
+    ps.setString(nameToIdx.apply(COL_OBJ_TYPE), obj.type().name());
+    if (obj instanceof UpdateableObj) {
+      ps.setString(nameToIdx.apply(COL_OBJ_VERS), ((UpdateableObj) obj).versionToken());
+    } else {
+      ps.setNull(nameToIdx.apply(COL_OBJ_VERS), Types.VARCHAR);
     }
+
+    serializer.serialize(
+        ps, obj, incrementalIndexSizeLimit, indexSizeLimit, nameToIdx, databaseSpecific);
   }
 
   protected final void deleteObj(@Nonnull Connection conn, @Nonnull ObjId id) {
-    try (PreparedStatement ps = conn.prepareStatement(DELETE_OBJ)) {
+    try (PreparedStatement ps = conn.prepareStatement(deleteObjSql)) {
       ps.setString(1, config.repositoryId());
       serializeObjId(ps, 2, id, databaseSpecific);
 
@@ -593,7 +992,7 @@ abstract class AbstractJdbcPersist implements Persist {
       return;
     }
 
-    try (PreparedStatement ps = conn.prepareStatement(DELETE_OBJ)) {
+    try (PreparedStatement ps = conn.prepareStatement(deleteObjSql)) {
       int batchSize = 0;
 
       for (ObjId id : ids) {
@@ -604,7 +1003,7 @@ abstract class AbstractJdbcPersist implements Persist {
         serializeObjId(ps, 2, id, databaseSpecific);
         ps.addBatch();
 
-        if (++batchSize == MAX_BATCH_SIZE) {
+        if (++batchSize == this.batchSize) {
           batchSize = 0;
           ps.executeBatch();
         }
@@ -619,8 +1018,53 @@ abstract class AbstractJdbcPersist implements Persist {
     }
   }
 
-  protected CloseableIterator<Obj> scanAllObjects(Connection conn, Set<ObjType> returnedObjTypes) {
-    return new ScanAllObjectsIterator(conn, returnedObjTypes);
+  /**
+   * Scans all objects of the given types, see {@link #scanAllObjects(ConnectionSupplier, Set,
+   * String, String)}.
+   */
+  protected final CloseableIterator<Obj> scanAllObjects(
+      @Nonnull ConnectionSupplier connections, @Nonnull Set<ObjType> returnedObjTypes) {
+    return scanAllObjects(connections, returnedObjTypes, null, null);
+  }
+
+  /**
+   * Scans the objects of the given types in up to {@code partitions} disjoint ranges of object IDs,
+   * see {@link #scanAllObjects(ConnectionSupplier, Set, String, String)}.
+   */
+  protected final List<CloseableIterator<Obj>> scanAllObjects(
+      @Nonnull ConnectionSupplier connections,
+      @Nonnull Set<ObjType> returnedObjTypes,
+      int partitions) {
+    checkArgument(partitions > 0, "partitions must be positive");
+    // Object IDs are stored as lower-case hex strings, partitions are ranges of the first byte.
+    int num = Math.min(partitions, 256);
+    List<CloseableIterator<Obj>> r = new ArrayList<>(num);
+    for (int p = 0; p < num; p++) {
+      String lowerBound = p == 0 ? null : partitionBound(p, num);
+      String upperBound = p == num - 1 ? null : partitionBound(p + 1, num);
+      r.add(scanAllObjects(connections, returnedObjTypes, lowerBound, upperBound));
+    }
+    return r;
+  }
+
+  private static String partitionBound(int partition, int partitions) {
+    return String.format("%02x", partition * 256 / partitions);
+  }
+
+  /**
+   * Scans the objects of the given types with object IDs from {@code lowerBound} (inclusive) to
+   * {@code upperBound} (exclusive), ordered by object ID.
+   *
+   * <p>Objects are read in pages of a configurable size using keyset pagination on the object ID.
+   * Each page borrows a connection from {@code connections} only while the page is read, so
+   * long-running scans neither hold a connection nor buffer the whole result set.
+   */
+  protected final CloseableIterator<Obj> scanAllObjects(
+      @Nonnull ConnectionSupplier connections,
+      @Nonnull Set<ObjType> returnedObjTypes,
+      @Nullable String lowerBound,
+      @Nullable String upperBound) {
+    return new ScanAllObjectsIterator(connections, returnedObjTypes, lowerBound, upperBound);
   }
 
   @VisibleForTesting
@@ -640,81 +1084,94 @@ abstract class AbstractJdbcPersist implements Persist {
   }
 
   @FunctionalInterface
-  interface ThrowingConsumer<T> {
-    void accept(T t) throws SQLException;
-  }
-
-  private class ScanAllObjectsIterator extends ResultSetIterator<Obj> {
-    ScanAllObjectsIterator(Connection conn, Set<ObjType> returnedObjTypes) {
-      super(
-          conn,
-          sqlSelectMultiple(SCAN_OBJS, returnedObjTypes.size()),
-          ps -> {
-            int idx = 1;
-            ps.setString(idx++, config.repositoryId());
-            for (ObjType returnedObjType : returnedObjTypes) {
-              ps.setString(idx++, returnedObjType.name());
-            }
-          });
-    }
-
-    @Override
-    protected Obj mapToObj(ResultSet rs) throws SQLException {
-      return deserializeObj(rs);
-    }
+  interface ConnectionSupplier {
+    Connection get() throws SQLException;
   }
 
-  private abstract static class ResultSetIterator<R> extends AbstractIterator<R>
-      implements CloseableIterator<R> {
-
-    private final Connection conn;
-    private final PreparedStatement ps;
-    private final ResultSet rs;
-
-    ResultSetIterator(Connection conn, String sql, ThrowingConsumer<PreparedStatement> preparer) {
-      this.conn = conn;
-
-      try {
-        ps = conn.prepareStatement(sql);
-        preparer.accept(ps);
-        rs = ps.executeQuery();
-      } catch (SQLException e) {
-        try {
-          close();
-        } catch (Exception ex) {
-          e.addSuppressed(ex);
-        }
-        throw new RuntimeException(e);
-      }
+  private class ScanAllObjectsIterator extends AbstractIterator<Obj>
+      implements CloseableIterator<Obj> {
+
+    private final ConnectionSupplier connections;
+    private final List<ObjType> returnedObjTypes;
+    private final String lowerBound;
+    private final String upperBound;
+
+    private Iterator<Obj> page = emptyIterator();
+    private boolean lastPage;
+    private String lastObjId;
+
+    ScanAllObjectsIterator(
+        ConnectionSupplier connections,
+        Set<ObjType> returnedObjTypes,
+        String lowerBound,
+        String upperBound) {
+      this.connections = connections;
+      this.returnedObjTypes = new ArrayList<>(returnedObjTypes);
+      this.lowerBound = lowerBound;
+      this.upperBound = upperBound;
+      this.lastPage = returnedObjTypes.isEmpty();
     }
 
     @Override
     public void close() {
-      List<AutoCloseable> c = new ArrayList<>();
-      c.add(rs);
-      c.add(ps);
-      c.add(conn);
-      try {
-        closeMultiple(c);
-      } catch (Exception e) {
-        throw new RuntimeException(e);
-      }
+      lastPage = true;
+      page = emptyIterator();
     }
 
     @Nullable
     @Override
-    protected R computeNext() {
-      try {
-        if (!rs.next()) {
+    protected Obj computeNext() {
+      while (true) {
+        if (page.hasNext()) {
+          return page.next();
+        }
+        if (lastPage) {
           return endOfData();
         }
+        page = fetchPage().iterator();
+      }
+    }
+
+    private List<Obj> fetchPage() {
+      StringBuilder sql =
+          new StringBuilder(sqlSelectMultiple(scanObjsSql, returnedObjTypes.size()));
+      String from = lastObjId != null ? lastObjId : lowerBound;
+      if (from != null) {
+        sql.append(" AND ").append(COL_OBJ_ID).append(lastObjId != null ? ">?" : ">=?");
+      }
+      if (upperBound != null) {
+        sql.append(" AND ").append(COL_OBJ_ID).append("<?");
+      }
+      sql.append(" ORDER BY ").append(COL_OBJ_ID);
+
+      try (Connection conn = connections.get();
+          PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+        ps.setMaxRows(scanPageSize);
+        ps.setFetchSize(scanPageSize);
+        int idx = 1;
+        ps.setString(idx++, config.repositoryId());
+        for (ObjType returnedObjType : returnedObjTypes) {
+          ps.setString(idx++, returnedObjType.name());
+        }
+        if (from != null) {
+          ps.setString(idx++, from);
+        }
+        if (upperBound != null) {
+          ps.setString(idx, upperBound);
+        }
 
-        return mapToObj(rs);
+        List<Obj> objs = new ArrayList<>();
+        try (ResultSet rs = ps.executeQuery()) {
+          while (rs.next()) {
+            objs.add(deserializeObj(rs));
+            lastObjId = rs.getString(COL_OBJ_ID);
+          }
+        }
+        lastPage = objs.size() < scanPageSize;
+        return objs;
       } catch (SQLException e) {
-        throw new RuntimeException(e);
+        throw unhandledSQLException(e);
       }
     }
-
-    protected abstract R mapToObj(ResultSet rs) throws SQLException;
   }
 }
@@ -44,4 +44,17 @@ public interface DatabaseSpecific {
   boolean isRetryTransaction(SQLException e);
 
   String wrapInsert(String sql);
+
+  /**
+   * Whether the database supports multi-row {@code INSERT} statements that ignore conflicting rows
+   * and return a column of the actually inserted rows, see {@link #wrapInsertReturning(String,
+   * String)}.
+   */
+  boolean supportsInsertReturning();
+
+  /**
+   * Like {@link #wrapInsert(String)}, but the statement also returns the {@code returnedColumn} of
+   * the actually inserted rows.
+   */
+  String wrapInsertReturning(String sql, String returnedColumn);
 }
@@ -15,15 +15,22 @@
  */
 package org.projectnessie.versioned.storage.jdbc;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static java.lang.String.format;
 import static org.projectnessie.versioned.storage.jdbc.AbstractJdbcPersist.sqlSelectMultiple;
+import static org.projectnessie.versioned.storage.jdbc.JdbcBackendBaseConfig.DEFAULT_BATCH_SIZE;
+import static org.projectnessie.versioned.storage.jdbc.JdbcBackendBaseConfig.DEFAULT_FETCH_CHUNK_SIZE;
+import static org.projectnessie.versioned.storage.jdbc.JdbcBackendBaseConfig.DEFAULT_FETCH_PARALLELISM;
+import static org.projectnessie.versioned.storage.jdbc.JdbcBackendBaseConfig.DEFAULT_OBJS_TABLE_LAYOUT;
+import static org.projectnessie.versioned.storage.jdbc.JdbcBackendBaseConfig.DEFAULT_SCAN_PAGE_SIZE;
 import static org.projectnessie.versioned.storage.jdbc.JdbcColumnType.BIGINT;
 import static org.projectnessie.versioned.storage.jdbc.JdbcColumnType.BOOL;
 import static org.projectnessie.versioned.storage.jdbc.JdbcColumnType.NAME;
 import static org.projectnessie.versioned.storage.jdbc.JdbcColumnType.OBJ_ID;
 import static org.projectnessie.versioned.storage.jdbc.JdbcColumnType.VARBINARY;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COLS_OBJS_ALL;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COLS_OBJS_COMPACT;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_OBJ_ID;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_REFS_CREATED_AT;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_REFS_DELETED;
@@ -33,8 +40,10 @@ import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_REFS_POI
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_REFS_PREVIOUS;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_REPO_ID;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.ERASE_OBJS;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.ERASE_OBJS_COMPACT;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.ERASE_REFS;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.TABLE_OBJS;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.TABLE_OBJS_COMPACT;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.TABLE_REFS;
 
 import com.google.common.collect.ImmutableMap;
@@ -44,24 +53,50 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.function.LongConsumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.sql.DataSource;
+import org.projectnessie.versioned.storage.common.config.StoreConfig;
+import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
+import org.projectnessie.versioned.storage.common.persist.AsyncPersistAdapter;
 import org.projectnessie.versioned.storage.common.persist.Backend;
+import org.projectnessie.versioned.storage.common.persist.CloseableIterator;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjTypes;
 import org.projectnessie.versioned.storage.common.persist.PersistFactory;
 
 public final class JdbcBackend implements Backend {
 
+  /**
+   * Maximum number of threads that fetch chunks of bulk fetches concurrently to the requesting
+   * threads, shared by all requests. Each thread holds one database connection while fetching.
+   */
+  static final int MAX_FETCH_THREADS = AsyncPersistAdapter.MAX_THREADS;
+
   private final DatabaseSpecific databaseSpecific;
   private final DataSource dataSource;
+  private final DataSource readReplicaDataSource;
   private final boolean closeDataSource;
+  private final int batchSize;
+  private final int scanPageSize;
+  private final int fetchChunkSize;
+  private final int fetchParallelism;
+  private final ExecutorService fetchExecutor;
+  private final ObjsTableLayout objsTableLayout;
+  private final String objsTable;
+  private final Map<String, JdbcColumnType> objsColumns;
+  private final String eraseObjsSql;
   private final String createTableRefsSql;
   private final String createTableObjsSql;
   private String catalog;
@@ -72,10 +107,44 @@ public final class JdbcBackend implements Backend {
       @Nonnull DatabaseSpecific databaseSpecific,
       boolean closeDataSource) {
     this.dataSource = config.dataSource();
+    this.readReplicaDataSource = config.readReplicaDataSource().orElse(null);
     this.catalog = config.catalog().orElse(null);
     this.schema = config.schema().orElse(null);
     this.databaseSpecific = databaseSpecific;
     this.closeDataSource = closeDataSource;
+    this.batchSize = config.batchSize().orElse(DEFAULT_BATCH_SIZE);
+    checkArgument(batchSize > 0, "JDBC batch size must be positive, but is %s", batchSize);
+    this.scanPageSize = config.scanPageSize().orElse(DEFAULT_SCAN_PAGE_SIZE);
+    checkArgument(
+        scanPageSize > 0, "JDBC scan page size must be positive, but is %s", scanPageSize);
+    this.fetchChunkSize = config.fetchChunkSize().orElse(DEFAULT_FETCH_CHUNK_SIZE);
+    checkArgument(
+        fetchChunkSize > 0, "JDBC fetch chunk size must be positive, but is %s", fetchChunkSize);
+    this.fetchParallelism = config.fetchParallelism().orElse(DEFAULT_FETCH_PARALLELISM);
+    checkArgument(
+        fetchParallelism > 0,
+        "JDBC fetch parallelism must be positive, but is %s",
+        fetchParallelism);
+    this.fetchExecutor =
+        fetchParallelism > 1
+            ? AsyncPersistAdapter.newExecutor(
+                "nessie-jdbc-fetch-", MAX_FETCH_THREADS, AsyncPersistAdapter.MAX_QUEUED)
+            : null;
+    this.objsTableLayout = config.objsTableLayout().orElse(DEFAULT_OBJS_TABLE_LAYOUT);
+    switch (objsTableLayout) {
+      case COLUMNS:
+        this.objsTable = TABLE_OBJS;
+        this.objsColumns = COLS_OBJS_ALL;
+        this.eraseObjsSql = ERASE_OBJS;
+        break;
+      case COMPACT:
+        this.objsTable = TABLE_OBJS_COMPACT;
+        this.objsColumns = COLS_OBJS_COMPACT;
+        this.eraseObjsSql = ERASE_OBJS_COMPACT;
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown objects table layout " + objsTableLayout);
+    }
     createTableRefsSql = buildCreateTableRefsSql(databaseSpecific);
     createTableObjsSql = buildCreateTableObjsSql(databaseSpecific);
   }
@@ -124,12 +193,12 @@ public final class JdbcBackend implements Backend {
     StringBuilder sb =
         new StringBuilder()
             .append("CREATE TABLE ")
-            .append(TABLE_OBJS)
+            .append(objsTable)
             .append(" (\n    ")
             .append(COL_REPO_ID)
             .append(" ")
             .append(columnTypes.get(NAME));
-    for (Entry<String, JdbcColumnType> entry : COLS_OBJS_ALL.entrySet()) {
+    for (Entry<String, JdbcColumnType> entry : objsColumns.entrySet()) {
       String colName = entry.getKey();
       String colType = columnTypes.get(entry.getValue());
       sb.append(",\n    ").append(colName).append(" ").append(colType);
@@ -150,13 +219,48 @@ public final class JdbcBackend implements Backend {
     return databaseSpecific;
   }
 
+  int batchSize() {
+    return batchSize;
+  }
+
+  int scanPageSize() {
+    return scanPageSize;
+  }
+
+  int fetchChunkSize() {
+    return fetchChunkSize;
+  }
+
+  int fetchParallelism() {
+    return fetchParallelism;
+  }
+
+  ObjsTableLayout objsTableLayout() {
+    return objsTableLayout;
+  }
+
+  /**
+   * Executor for the fetch workers of bulk fetches, {@code null} if the fetch parallelism is 1. Not
+   * shared with other functionality, so that connections are not held by threads that wait for
+   * unrelated tasks.
+   */
+  ExecutorService fetchExecutor() {
+    return fetchExecutor;
+  }
+
   @Override
   public void close() {
+    if (fetchExecutor != null) {
+      fetchExecutor.shutdown();
+    }
     if (closeDataSource) {
       try {
         if (dataSource instanceof AutoCloseable) {
           ((AutoCloseable) dataSource).close();
         }
+        if (readReplicaDataSource instanceof AutoCloseable) {
+          ((AutoCloseable) readReplicaDataSource).close();
+        }
       } catch (Exception e) {
         throw new RuntimeException(e);
       }
@@ -175,6 +279,17 @@ public final class JdbcBackend implements Backend {
     return c;
   }
 
+  boolean hasReadReplica() {
+    return readReplicaDataSource != null;
+  }
+
+  /** Borrows a connection to the read replica, only valid if {@link #hasReadReplica()}. */
+  Connection borrowReadReplicaConnection() throws SQLException {
+    Connection c = readReplicaDataSource.getConnection();
+    c.setAutoCommit(false);
+    return c;
+  }
+
   @Override
   public void setupSchema() {
     try (Connection conn = borrowConnection()) {
@@ -202,9 +317,9 @@ public final class JdbcBackend implements Backend {
           ImmutableMap.of(COL_REPO_ID, nameTypeId, COL_REFS_NAME, nameTypeId));
       createTableIfNotExists(
           conn,
-          TABLE_OBJS,
+          objsTable,
           createTableObjsSql,
-          Stream.concat(Stream.of(COL_REPO_ID), COLS_OBJS_ALL.keySet().stream())
+          Stream.concat(Stream.of(COL_REPO_ID), objsColumns.keySet().stream())
               .collect(Collectors.toSet()),
           ImmutableMap.of(COL_REPO_ID, nameTypeId, COL_OBJ_ID, objIdTypeId));
     } catch (SQLException e) {
@@ -294,6 +409,18 @@ public final class JdbcBackend implements Backend {
       }
       info.append("schema: ").append(s);
     }
+    if (objsTableLayout != DEFAULT_OBJS_TABLE_LAYOUT) {
+      if (info.length() > 0) {
+        info.append(", ");
+      }
+      info.append("objects table layout: ").append(objsTableLayout);
+    }
+    if (readReplicaDataSource != null) {
+      if (info.length() > 0) {
+        info.append(", ");
+      }
+      info.append("with read replica");
+    }
     return info.toString();
   }
 
@@ -314,7 +441,7 @@ public final class JdbcBackend implements Backend {
         ps.executeUpdate();
       }
       try (PreparedStatement ps =
-          conn.prepareStatement(sqlSelectMultiple(ERASE_OBJS, repositoryIds.size()))) {
+          conn.prepareStatement(sqlSelectMultiple(eraseObjsSql, repositoryIds.size()))) {
         int i = 1;
         for (String repositoryId : repositoryIds) {
           ps.setString(i++, repositoryId);
@@ -326,4 +453,52 @@ public final class JdbcBackend implements Backend {
       throw unhandledSQLException(e);
     }
   }
+
+  /**
+   * Copies all objects of the repository of the given store config from the objects table of the
+   * {@code source} layout to the objects table of the configured {@link
+   * JdbcBackendBaseConfig#objsTableLayout() layout}. Objects that already exist in the configured
+   * objects table are not modified, so an interrupted migration can be repeated. The source table
+   * is not modified.
+   *
+   * <p>Must only be run while no Nessie server writes to the repository.
+   *
+   * @param progress receives the number of scanned objects after each batch
+   * @return the number of objects that have been copied
+   */
+  public long migrateObjects(
+      @Nonnull StoreConfig config,
+      @Nonnull ObjsTableLayout source,
+      @Nonnull LongConsumer progress) {
+    checkArgument(
+        source != objsTableLayout,
+        "Objects table layout to migrate from must not be the configured layout %s",
+        objsTableLayout);
+
+    JdbcPersist from = new JdbcPersist(this, source, config);
+    JdbcPersist to = new JdbcPersist(this, objsTableLayout, config);
+
+    long scanned = 0L;
+    long copied = 0L;
+    List<Obj> batch = new ArrayList<>(batchSize);
+    try (CloseableIterator<Obj> objs = from.scanAllObjects(ObjTypes.allObjTypes())) {
+      while (objs.hasNext()) {
+        batch.add(objs.next());
+        if (batch.size() == batchSize || !objs.hasNext()) {
+          // Soft size restrictions have been checked when the objects were stored initially
+          for (boolean inserted : to.storeObjs(batch.toArray(new Obj[0]), true)) {
+            if (inserted) {
+              copied++;
+            }
+          }
+          scanned += batch.size();
+          batch.clear();
+          progress.accept(scanned);
+        }
+      }
+    } catch (ObjTooLargeException e) {
+      throw new RuntimeException(e);
+    }
+    return copied;
+  }
 }
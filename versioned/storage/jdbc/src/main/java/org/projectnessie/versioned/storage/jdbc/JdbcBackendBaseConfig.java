@@ -16,12 +16,55 @@
 package org.projectnessie.versioned.storage.jdbc;
 
 import java.util.Optional;
+import java.util.OptionalInt;
 
 public interface JdbcBackendBaseConfig {
+  int DEFAULT_BATCH_SIZE = 50;
+  int DEFAULT_SCAN_PAGE_SIZE = 1000;
+  int DEFAULT_FETCH_CHUNK_SIZE = 128;
+  int DEFAULT_FETCH_PARALLELISM = 4;
+  ObjsTableLayout DEFAULT_OBJS_TABLE_LAYOUT = ObjsTableLayout.COLUMNS;
 
   /** The JDBC catalog name. If not provided, will be inferred from the datasource. */
   Optional<String> catalog();
 
   /** The JDBC schema name. If not provided, will be inferred from the datasource. */
   Optional<String> schema();
+
+  /**
+   * Maximum number of objects written with a single statement or JDBC batch. Defaults to {@value
+   * #DEFAULT_BATCH_SIZE}.
+   */
+  OptionalInt batchSize();
+
+  /**
+   * Maximum number of objects read per query by scans over all objects, also used as the JDBC
+   * fetch size. Defaults to {@value #DEFAULT_SCAN_PAGE_SIZE}.
+   */
+  OptionalInt scanPageSize();
+
+  /**
+   * Maximum number of objects fetched with a single query, larger bulk fetches are split into
+   * chunks. Defaults to {@value #DEFAULT_FETCH_CHUNK_SIZE}.
+   */
+  OptionalInt fetchChunkSize();
+
+  /**
+   * Maximum number of chunks of a single bulk fetch that are fetched concurrently, each using its
+   * own database connection. Defaults to {@value #DEFAULT_FETCH_PARALLELISM}.
+   *
+   * <p>The requesting thread fetches chunks itself, the other chunks are fetched by a pool of
+   * threads shared by all requests, which is bounded to {@code max(4, 2 * available processors)}
+   * threads. The maximum size of the connection pool should therefore exceed the number of
+   * concurrently served requests by that number of connections, and must be larger than the fetch
+   * parallelism.
+   */
+  OptionalInt fetchParallelism();
+
+  /**
+   * Layout of the database table that holds the objects, defaults to {@link
+   * ObjsTableLayout#COLUMNS}. The table for the configured layout is created by {@link
+   * JdbcBackend#setupSchema()}, existing objects are not moved to that table automatically.
+   */
+  Optional<ObjsTableLayout> objsTableLayout();
 }
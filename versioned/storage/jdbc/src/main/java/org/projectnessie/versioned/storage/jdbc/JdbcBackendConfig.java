@@ -15,6 +15,7 @@
  */
 package org.projectnessie.versioned.storage.jdbc;
 
+import java.util.Optional;
 import javax.sql.DataSource;
 import org.immutables.value.Value;
 
@@ -23,6 +24,13 @@ public interface JdbcBackendConfig extends JdbcBackendBaseConfig {
 
   DataSource dataSource();
 
+  /**
+   * Optional data source of a read replica of {@link #dataSource()}. If present, reads of objects
+   * that cannot change are served from the read replica. Objects that are not (yet) present on the
+   * read replica, updateable objects and references are read from {@link #dataSource()}.
+   */
+  Optional<DataSource> readReplicaDataSource();
+
   static ImmutableJdbcBackendConfig.Builder builder() {
     return ImmutableJdbcBackendConfig.builder();
   }
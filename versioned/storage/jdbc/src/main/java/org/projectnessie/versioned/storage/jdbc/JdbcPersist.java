@@ -19,8 +19,10 @@ import static java.util.Collections.singleton;
 import static org.projectnessie.versioned.storage.jdbc.JdbcBackend.unhandledSQLException;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Set;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
 import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
@@ -34,13 +36,29 @@ import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.persist.ObjType;
 import org.projectnessie.versioned.storage.common.persist.Reference;
 import org.projectnessie.versioned.storage.common.persist.UpdateableObj;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 class JdbcPersist extends AbstractJdbcPersist {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(JdbcPersist.class);
+
   private final JdbcBackend backend;
 
   JdbcPersist(JdbcBackend backend, StoreConfig config) {
-    super(backend.databaseSpecific(), config);
+    this(backend, backend.objsTableLayout(), config);
+  }
+
+  JdbcPersist(JdbcBackend backend, ObjsTableLayout objsTableLayout, StoreConfig config) {
+    super(
+        backend.databaseSpecific(),
+        backend.batchSize(),
+        backend.scanPageSize(),
+        backend.fetchChunkSize(),
+        backend.fetchParallelism(),
+        backend.fetchExecutor(),
+        objsTableLayout,
+        config);
     this.backend = backend;
   }
 
@@ -118,6 +136,15 @@ class JdbcPersist extends AbstractJdbcPersist {
     }
   }
 
+  private <R, E extends Exception> R withReadReplicaConnection(
+      SQLRunnableException<R, E> runnable) throws E {
+    try (Connection conn = backend.borrowReadReplicaConnection()) {
+      return runnable.run(conn);
+    } catch (SQLException e) {
+      throw unhandledSQLException(e);
+    }
+  }
+
   private <R, E1 extends Exception, E2 extends Exception> R withConnectionExceptions(
       SQLRunnableExceptions<R, E1, E2> runnable) throws E1, E2 {
     try (Connection conn = backend.borrowConnection()) {
@@ -150,6 +177,18 @@ class JdbcPersist extends AbstractJdbcPersist {
     return withConnection(true, conn -> super.findReferences(conn, names));
   }
 
+  @Override
+  public boolean supportsReferenceScans() {
+    return true;
+  }
+
+  @Override
+  @Nonnull
+  public List<Reference> scanReferences(
+      @Nonnull String prefix, @Nullable String startAfter, int limit) {
+    return withConnection(true, conn -> super.scanReferences(conn, prefix, startAfter, limit));
+  }
+
   @Override
   @Nonnull
   public Reference addReference(@Nonnull Reference reference) throws RefAlreadyExistsException {
@@ -188,26 +227,101 @@ class JdbcPersist extends AbstractJdbcPersist {
   @Override
   @Nonnull
   public Obj fetchObj(@Nonnull ObjId id) throws ObjNotFoundException {
-    return withConnectionException(true, conn -> super.fetchObj(conn, id));
+    if (!backend.hasReadReplica()) {
+      return withConnectionException(true, conn -> super.fetchObj(conn, id));
+    }
+    return fetchObjsRouted(new ObjId[] {id}, null)[0];
   }
 
   @Override
   @Nonnull
   public <T extends Obj> T fetchTypedObj(@Nonnull ObjId id, ObjType type, Class<T> typeClass)
       throws ObjNotFoundException {
-    return withConnectionException(true, conn -> super.fetchTypedObj(conn, id, type, typeClass));
+    if (!backend.hasReadReplica()
+        || (type != null && UpdateableObj.class.isAssignableFrom(type.targetClass()))) {
+      return withConnectionException(true, conn -> super.fetchTypedObj(conn, id, type, typeClass));
+    }
+    @SuppressWarnings("unchecked")
+    T obj = (T) fetchObjsRouted(new ObjId[] {id}, type)[0];
+    return obj;
   }
 
   @Override
   @Nonnull
   public ObjType fetchObjType(@Nonnull ObjId id) throws ObjNotFoundException {
+    if (backend.hasReadReplica()) {
+      try {
+        // The type of an object never changes
+        return withReadReplicaConnection(conn -> super.fetchObjType(conn, id));
+      } catch (ObjNotFoundException e) {
+        // not yet replicated, fall back to the primary
+      } catch (RuntimeException e) {
+        readReplicaFailed(e);
+      }
+    }
     return withConnectionException(true, conn -> super.fetchObjType(conn, id));
   }
 
   @Override
   @Nonnull
   public Obj[] fetchObjs(@Nonnull ObjId[] ids) throws ObjNotFoundException {
-    return withConnectionException(true, conn -> super.fetchObjs(conn, ids));
+    if (!backend.hasReadReplica()) {
+      return super.fetchObjs(backend::borrowConnection, ids, null);
+    }
+    return fetchObjsRouted(ids, null);
+  }
+
+  /**
+   * Fetches objects from the read replica. Objects cannot change, except {@link UpdateableObj}s,
+   * which are therefore fetched from the primary, like objects that are not yet present on the read
+   * replica due to replication lag. If the read replica fails, all objects are fetched from the
+   * primary.
+   */
+  private Obj[] fetchObjsRouted(ObjId[] ids, @Nullable ObjType type) throws ObjNotFoundException {
+    Obj[] r;
+    try {
+      r = super.fetchObjsIfExist(backend::borrowReadReplicaConnection, ids, type);
+    } catch (RuntimeException e) {
+      readReplicaFailed(e);
+      return super.fetchObjs(backend::borrowConnection, ids, type);
+    }
+
+    ObjId[] fromPrimary = null;
+    for (int i = 0; i < ids.length; i++) {
+      if (ids[i] != null && (r[i] == null || r[i] instanceof UpdateableObj)) {
+        if (fromPrimary == null) {
+          fromPrimary = new ObjId[ids.length];
+        }
+        fromPrimary[i] = ids[i];
+      }
+    }
+
+    if (fromPrimary != null) {
+      ObjId[] primaryIds = fromPrimary;
+      Obj[] primary = super.fetchObjs(backend::borrowConnection, primaryIds, type);
+      for (int i = 0; i < primary.length; i++) {
+        if (primaryIds[i] != null) {
+          r[i] = primary[i];
+        }
+      }
+    }
+
+    return r;
+  }
+
+  /**
+   * Logs a failure of the read replica, for example an SQL error or an unavailable connection,
+   * after which the caller falls back to the primary. Rethrows {@code e}, if it is not caused by an
+   * {@link SQLException}.
+   */
+  private static void readReplicaFailed(RuntimeException e) {
+    for (Throwable t = e; t != null; t = t.getCause()) {
+      if (t instanceof SQLException) {
+        LOGGER.warn("Read replica failed, reading from the primary database", e);
+        return;
+      }
+    }
+    throw e;
   }
 
   @Override
@@ -223,6 +337,14 @@ class JdbcPersist extends AbstractJdbcPersist {
     return withConnectionException(false, conn -> super.storeObjs(conn, objs));
   }
 
+  /** Stores objects like {@link #storeObjs(Obj[])}, optionally ignoring soft size limits. */
+  @Nonnull
+  boolean[] storeObjs(@Nonnull Obj[] objs, boolean ignoreSoftSizeRestrictions)
+      throws ObjTooLargeException {
+    return withConnectionException(
+        false, conn -> super.storeObjs(conn, objs, ignoreSoftSizeRestrictions));
+  }
+
   @Override
   public void deleteObj(@Nonnull ObjId id) {
     withConnectionVoid(conn -> super.deleteObj(conn, id));
@@ -263,10 +385,13 @@ class JdbcPersist extends AbstractJdbcPersist {
   @Nonnull
   @Override
   public CloseableIterator<Obj> scanAllObjects(@Nonnull Set<ObjType> returnedObjTypes) {
-    try {
-      return super.scanAllObjects(backend.borrowConnection(), returnedObjTypes);
-    } catch (SQLException e) {
-      throw unhandledSQLException(e);
-    }
+    return super.scanAllObjects(backend::borrowConnection, returnedObjTypes);
+  }
+
+  @Nonnull
+  @Override
+  public List<CloseableIterator<Obj>> scanAllObjects(
+      @Nonnull Set<ObjType> returnedObjTypes, int partitions) {
+    return super.scanAllObjects(backend::borrowConnection, returnedObjTypes, partitions);
   }
 }
@@ -0,0 +1,30 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.jdbc;
+
+/** Layout of the database table that holds the objects. */
+public enum ObjsTableLayout {
+  /**
+   * Objects are stored in the {@code objs} table, which has dedicated columns for the attributes of
+   * every object type.
+   */
+  COLUMNS,
+  /**
+   * Objects are stored in the {@code objs_compact} table, which holds the whole serialized object
+   * in a single binary column. Rows are smaller and inserts bind fewer parameters.
+   */
+  COMPACT
+}
@@ -20,38 +20,31 @@ import static java.util.Map.entry;
 import com.google.common.collect.ImmutableMap;
 import java.util.Map;
 import java.util.stream.Stream;
+import org.projectnessie.versioned.storage.jdbc.serializers.CompactObjSerializer;
 import org.projectnessie.versioned.storage.jdbc.serializers.ObjSerializers;
 
 final class SqlConstants {
 
-  static final int MAX_BATCH_SIZE = 50;
+  /** Maximum number of bind parameters of a single statement supported by PostgreSQL. */
+  static final int MAX_BIND_PARAMETERS = 32767;
 
   static final String TABLE_REFS = "refs";
   static final String TABLE_OBJS = "objs";
+  static final String TABLE_OBJS_COMPACT = "objs_compact";
 
   static final String COL_REPO_ID = "repo";
   static final String COL_OBJ_TYPE = "obj_type";
   static final String COL_OBJ_ID = "obj_id";
   static final String COL_OBJ_VERS = "obj_vers";
 
-  static final String ERASE_OBJS =
-      "DELETE FROM " + TABLE_OBJS + " WHERE " + COL_REPO_ID + " IN (?)";
+  static final String ERASE_OBJS = eraseObjs(TABLE_OBJS);
+  static final String ERASE_OBJS_COMPACT = eraseObjs(TABLE_OBJS_COMPACT);
   static final String ERASE_REFS =
       "DELETE FROM " + TABLE_REFS + " WHERE " + COL_REPO_ID + " IN (?)";
-  static final String DELETE_OBJ =
-      "DELETE FROM " + TABLE_OBJS + " WHERE " + COL_REPO_ID + "=? AND " + COL_OBJ_ID + "=?";
-  static final String DELETE_OBJ_CONDITIONAL =
-      "DELETE FROM "
-          + TABLE_OBJS
-          + " WHERE "
-          + COL_REPO_ID
-          + "=? AND "
-          + COL_OBJ_ID
-          + "=? AND "
-          + COL_OBJ_TYPE
-          + "=? AND "
-          + COL_OBJ_VERS
-          + "=?";
+  static final String DELETE_OBJ = deleteObj(TABLE_OBJS);
+  static final String DELETE_OBJ_COMPACT = deleteObj(TABLE_OBJS_COMPACT);
+  static final String DELETE_OBJ_CONDITIONAL = deleteObjConditional(TABLE_OBJS);
+  static final String DELETE_OBJ_CONDITIONAL_COMPACT = deleteObjConditional(TABLE_OBJS_COMPACT);
 
   static final String COL_REFS_NAME = "ref_name";
   static final String COL_REFS_POINTER = "pointer";
@@ -156,6 +149,37 @@ final class SqlConstants {
           + "=? AND "
           + COL_REFS_NAME
           + " IN (?)";
+  private static final String SCAN_REFERENCES_SELECT =
+      "SELECT "
+          + COL_REFS_NAME
+          + ", "
+          + COL_REFS_POINTER
+          + ", "
+          + COL_REFS_DELETED
+          + ", "
+          + COL_REFS_CREATED_AT
+          + ", "
+          + COL_REFS_EXTENDED_INFO
+          + ", "
+          + COL_REFS_PREVIOUS
+          + " FROM "
+          + TABLE_REFS
+          + " WHERE "
+          + COL_REPO_ID
+          + "=? AND "
+          + COL_REFS_NAME;
+  static final String SCAN_REFERENCES =
+      SCAN_REFERENCES_SELECT
+          + ">=? AND "
+          + COL_REFS_NAME
+          + "<? ORDER BY "
+          + COL_REFS_NAME;
+  static final String SCAN_REFERENCES_AFTER =
+      SCAN_REFERENCES_SELECT
+          + ">? AND "
+          + COL_REFS_NAME
+          + "<? ORDER BY "
+          + COL_REFS_NAME;
 
   static final Map<String, JdbcColumnType> COLS_OBJS_ALL =
       Stream.concat(
@@ -168,40 +192,84 @@ final class SqlConstants {
                   .sorted(Map.Entry.comparingByKey()))
           .collect(ImmutableMap.toImmutableMap(Map.Entry::getKey, Map.Entry::getValue));
 
-  static final String FETCH_OBJ_TYPE =
-      "SELECT "
-          + COL_OBJ_TYPE
-          + " FROM "
-          + TABLE_OBJS
-          + " WHERE "
-          + COL_REPO_ID
-          + "=? AND "
-          + COL_OBJ_ID
-          + " IN (?)";
+  static final Map<String, JdbcColumnType> COLS_OBJS_COMPACT =
+      Stream.concat(
+              Stream.of(
+                  entry(COL_OBJ_ID, JdbcColumnType.OBJ_ID),
+                  entry(COL_OBJ_TYPE, JdbcColumnType.NAME),
+                  entry(COL_OBJ_VERS, JdbcColumnType.VARCHAR)),
+              CompactObjSerializer.INSTANCE.columns().entrySet().stream())
+          .collect(ImmutableMap.toImmutableMap(Map.Entry::getKey, Map.Entry::getValue));
 
-  static final String FIND_OBJS =
-      "SELECT "
-          + String.join(", ", COLS_OBJS_ALL.keySet())
-          + " FROM "
-          + TABLE_OBJS
-          + " WHERE "
-          + COL_REPO_ID
-          + "=? AND "
-          + COL_OBJ_ID
-          + " IN (?)";
+  static final String FETCH_OBJ_TYPE = fetchObjType(TABLE_OBJS);
+  static final String FETCH_OBJ_TYPE_COMPACT = fetchObjType(TABLE_OBJS_COMPACT);
+
+  static final String FIND_OBJS = findObjs(TABLE_OBJS, COLS_OBJS_ALL);
+  static final String FIND_OBJS_COMPACT = findObjs(TABLE_OBJS_COMPACT, COLS_OBJS_COMPACT);
 
   static final String FIND_OBJS_TYPED = FIND_OBJS + " AND " + COL_OBJ_TYPE + "=?";
+  static final String FIND_OBJS_TYPED_COMPACT = FIND_OBJS_COMPACT + " AND " + COL_OBJ_TYPE + "=?";
 
-  static final String SCAN_OBJS =
-      "SELECT "
-          + String.join(", ", COLS_OBJS_ALL.keySet())
-          + " FROM "
-          + TABLE_OBJS
-          + " WHERE "
-          + COL_REPO_ID
-          + "=? AND "
-          + COL_OBJ_TYPE
-          + " IN (?)";
+  static final String SCAN_OBJS = scanObjs(TABLE_OBJS, COLS_OBJS_ALL);
+  static final String SCAN_OBJS_COMPACT = scanObjs(TABLE_OBJS_COMPACT, COLS_OBJS_COMPACT);
+
+  private static String eraseObjs(String table) {
+    return "DELETE FROM " + table + " WHERE " + COL_REPO_ID + " IN (?)";
+  }
+
+  private static String deleteObj(String table) {
+    return "DELETE FROM " + table + " WHERE " + COL_REPO_ID + "=? AND " + COL_OBJ_ID + "=?";
+  }
+
+  private static String deleteObjConditional(String table) {
+    return "DELETE FROM "
+        + table
+        + " WHERE "
+        + COL_REPO_ID
+        + "=? AND "
+        + COL_OBJ_ID
+        + "=? AND "
+        + COL_OBJ_TYPE
+        + "=? AND "
+        + COL_OBJ_VERS
+        + "=?";
+  }
+
+  private static String fetchObjType(String table) {
+    return "SELECT "
+        + COL_OBJ_TYPE
+        + " FROM "
+        + table
+        + " WHERE "
+        + COL_REPO_ID
+        + "=? AND "
+        + COL_OBJ_ID
+        + " IN (?)";
+  }
+
+  private static String findObjs(String table, Map<String, JdbcColumnType> columns) {
+    return "SELECT "
+        + String.join(", ", columns.keySet())
+        + " FROM "
+        + table
+        + " WHERE "
+        + COL_REPO_ID
+        + "=? AND "
+        + COL_OBJ_ID
+        + " IN (?)";
+  }
+
+  private static String scanObjs(String table, Map<String, JdbcColumnType> columns) {
+    return "SELECT "
+        + String.join(", ", columns.keySet())
+        + " FROM "
+        + table
+        + " WHERE "
+        + COL_REPO_ID
+        + "=? AND "
+        + COL_OBJ_TYPE
+        + " IN (?)";
+  }
 
   private SqlConstants() {}
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.jdbc.serializers;
+
+import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.deserializeObj;
+import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.serializeObj;
+
+import com.google.common.collect.ImmutableMap;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.function.Function;
+import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.ObjType;
+import org.projectnessie.versioned.storage.jdbc.DatabaseSpecific;
+import org.projectnessie.versioned.storage.jdbc.JdbcColumnType;
+
+/**
+ * Serializes objects of all types into a single binary column, using the same protobuf
+ * representation as the objects cache, for the {@code COMPACT} objects table layout.
+ *
+ * <p>Not part of {@link ObjSerializers#ALL_SERIALIZERS}, which define the columns of the {@code
+ * COLUMNS} objects table layout.
+ */
+public class CompactObjSerializer implements ObjSerializer<Obj> {
+
+  public static final ObjSerializer<Obj> INSTANCE = new CompactObjSerializer();
+
+  public static final String COL_OBJ_DATA = "data";
+
+  private static final Map<String, JdbcColumnType> COLS =
+      ImmutableMap.of(COL_OBJ_DATA, JdbcColumnType.VARBINARY);
+
+  private CompactObjSerializer() {}
+
+  @Override
+  public Map<String, JdbcColumnType> columns() {
+    return COLS;
+  }
+
+  @Override
+  public void serialize(
+      PreparedStatement ps,
+      Obj obj,
+      int incrementalIndexLimit,
+      int maxSerializedIndexSize,
+      Function<String, Integer> nameToIdx,
+      DatabaseSpecific databaseSpecific)
+      throws SQLException, ObjTooLargeException {
+    // The version token of updateable objects is stored in its own column
+    ps.setBytes(
+        nameToIdx.apply(COL_OBJ_DATA),
+        serializeObj(obj, incrementalIndexLimit, maxSerializedIndexSize, false));
+  }
+
+  @Override
+  public Obj deserialize(ResultSet rs, ObjType type, ObjId id, String versionToken)
+      throws SQLException {
+    return deserializeObj(id, rs.getBytes(COL_OBJ_DATA), versionToken);
+  }
+}
@@ -15,7 +15,24 @@
  */
 package org.projectnessie.versioned.storage.jdbc;
 
+import static java.util.Collections.emptyList;
+import static org.projectnessie.nessie.relocated.protobuf.ByteString.copyFromUtf8;
+import static org.projectnessie.versioned.storage.common.objtypes.ContentValueObj.contentValue;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+import static org.projectnessie.versioned.storage.common.persist.Reference.reference;
+
+import java.sql.Connection;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.projectnessie.versioned.storage.common.config.StoreConfig;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
+import org.projectnessie.versioned.storage.common.objtypes.ContentValueObj;
+import org.projectnessie.versioned.storage.common.objtypes.ReferenceHistoryObj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.jdbctests.AbstractJdbcBackendTestFactory;
+import org.projectnessie.versioned.storage.jdbctests.DataSourceProducer;
 import org.projectnessie.versioned.storage.jdbctests.H2BackendTestFactory;
 
 public class TestH2BackendFactory extends AbstractTestJdbcBackendFactory {
@@ -24,4 +41,130 @@ public class TestH2BackendFactory extends AbstractTestJdbcBackendFactory {
   protected AbstractJdbcBackendTestFactory testFactory() {
     return new H2BackendTestFactory();
   }
+
+  @Test
+  public void readReplica() throws Exception {
+    DataSource primaryDataSource = h2DataSource("nessie-primary");
+    DataSource replicaDataSource = h2DataSource("nessie-replica");
+    // Keep one connection per in-memory database alive, so H2 does not drop the data
+    try (Connection keepAlivePrimary = primaryDataSource.getConnection();
+        Connection keepAliveReplica = replicaDataSource.getConnection();
+        JdbcBackend replicaBackend =
+            new JdbcBackendFactory()
+                .buildBackend(JdbcBackendConfig.builder().dataSource(replicaDataSource).build());
+        JdbcBackend backend =
+            new JdbcBackendFactory()
+                .buildBackend(
+                    JdbcBackendConfig.builder()
+                        .dataSource(primaryDataSource)
+                        .readReplicaDataSource(replicaDataSource)
+                        .build())) {
+      replicaBackend.setupSchema();
+      backend.setupSchema();
+      soft.assertThat(backend.configInfo()).contains("with read replica");
+
+      Persist replica = replicaBackend.createFactory().newPersist(StoreConfig.Adjustable.empty());
+      Persist persist = backend.createFactory().newPersist(StoreConfig.Adjustable.empty());
+
+      // Only on the replica: served from the replica
+      ContentValueObj onReplica = contentValue("cid-replica", 1, copyFromUtf8("replica"));
+      replica.storeObj(onReplica);
+      soft.assertThat(persist.fetchObj(onReplica.id())).isEqualTo(onReplica);
+      soft.assertThat(persist.fetchObjType(onReplica.id())).isEqualTo(onReplica.type());
+
+      // Not yet replicated: served from the primary
+      ContentValueObj onPrimary = contentValue("cid-primary", 1, copyFromUtf8("primary"));
+      persist.storeObj(onPrimary);
+      soft.assertThat(persist.fetchObjs(new ObjId[] {onReplica.id(), null, onPrimary.id()}))
+          .containsExactly(onReplica, null, onPrimary);
+      soft.assertThat(
+              persist.fetchTypedObj(onPrimary.id(), onPrimary.type(), ContentValueObj.class))
+          .isEqualTo(onPrimary);
+      soft.assertThat(persist.fetchObjType(onPrimary.id())).isEqualTo(onPrimary.type());
+
+      // Updateable objects are always served from the primary
+      ObjId historyId = randomObjId();
+      ReferenceHistoryObj stale = historyObj(historyId, "stale");
+      ReferenceHistoryObj current = historyObj(historyId, "current");
+      replica.storeObj(stale);
+      persist.storeObj(current);
+      soft.assertThat(persist.fetchObj(historyId)).isEqualTo(current);
+      soft.assertThat(
+              persist.fetchTypedObj(historyId, ReferenceHistoryObj.TYPE, ReferenceHistoryObj.class))
+          .isEqualTo(current);
+
+      // Neither on the replica nor on the primary
+      ObjId missing = randomObjId();
+      soft.assertThatThrownBy(() -> persist.fetchObjs(new ObjId[] {onReplica.id(), missing}))
+          .isInstanceOf(ObjNotFoundException.class)
+          .extracting(e -> ((ObjNotFoundException) e).objIds())
+          .asList()
+          .containsExactly(missing);
+      soft.assertThatThrownBy(() -> persist.fetchObjType(missing))
+          .isInstanceOf(ObjNotFoundException.class);
+
+      // References are always read from the primary
+      replica.addReference(reference("refs/heads/replica", EMPTY_OBJ_ID, false, 0L, null));
+      soft.assertThat(persist.fetchReference("refs/heads/replica")).isNull();
+    } finally {
+      ((AutoCloseable) primaryDataSource).close();
+      ((AutoCloseable) replicaDataSource).close();
+    }
+  }
+
+  @Test
+  public void readReplicaFailure() throws Exception {
+    DataSource primaryDataSource = h2DataSource("nessie-primary-only");
+    // The schema is not set up on the replica, so all queries against it fail
+    DataSource replicaDataSource = h2DataSource("nessie-broken-replica");
+    try (Connection keepAlivePrimary = primaryDataSource.getConnection();
+        Connection keepAliveReplica = replicaDataSource.getConnection();
+        JdbcBackend backend =
+            new JdbcBackendFactory()
+                .buildBackend(
+                    JdbcBackendConfig.builder()
+                        .dataSource(primaryDataSource)
+                        .readReplicaDataSource(replicaDataSource)
+                        .build())) {
+      backend.setupSchema();
+
+      Persist persist = backend.createFactory().newPersist(StoreConfig.Adjustable.empty());
+
+      ContentValueObj obj = contentValue("cid-primary", 1, copyFromUtf8("primary"));
+      persist.storeObj(obj);
+      soft.assertThat(persist.fetchObj(obj.id())).isEqualTo(obj);
+      soft.assertThat(persist.fetchObjs(new ObjId[] {obj.id(), null})).containsExactly(obj, null);
+      soft.assertThat(persist.fetchTypedObj(obj.id(), obj.type(), ContentValueObj.class))
+          .isEqualTo(obj);
+      soft.assertThat(persist.fetchObjType(obj.id())).isEqualTo(obj.type());
+
+      ObjId missing = randomObjId();
+      soft.assertThatThrownBy(() -> persist.fetchObjs(new ObjId[] {obj.id(), missing}))
+          .isInstanceOf(ObjNotFoundException.class);
+      soft.assertThatThrownBy(() -> persist.fetchObjType(missing))
+          .isInstanceOf(ObjNotFoundException.class);
+    } finally {
+      ((AutoCloseable) primaryDataSource).close();
+      ((AutoCloseable) replicaDataSource).close();
+    }
+  }
+
+  private static ReferenceHistoryObj historyObj(ObjId id, String versionToken) {
+    return ReferenceHistoryObj.builder()
+        .id(id)
+        .versionToken(versionToken)
+        .reference("refs/heads/main")
+        .entries(emptyList())
+        .build();
+  }
+
+  private static DataSource h2DataSource(String name) throws Exception {
+    return DataSourceProducer.builder()
+        .jdbcUrl(
+            "jdbc:h2:mem:"
+                + name
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH")
+        .build()
+        .createNewDataSource();
+  }
 }
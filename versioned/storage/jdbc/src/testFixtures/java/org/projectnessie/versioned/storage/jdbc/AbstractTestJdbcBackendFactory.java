@@ -15,7 +15,15 @@
  */
 package org.projectnessie.versioned.storage.jdbc;
 
+import static java.util.Collections.emptyList;
+import static org.projectnessie.nessie.relocated.protobuf.ByteString.EMPTY;
+import static org.projectnessie.nessie.relocated.protobuf.ByteString.copyFromUtf8;
 import static org.projectnessie.versioned.storage.common.logic.Logics.repositoryLogic;
+import static org.projectnessie.versioned.storage.common.objtypes.Compression.NONE;
+import static org.projectnessie.versioned.storage.common.objtypes.ContentValueObj.contentValue;
+import static org.projectnessie.versioned.storage.common.objtypes.StringObj.stringData;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+import static org.projectnessie.versioned.storage.common.persist.ObjTypes.allObjTypes;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_REFS_NAME;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_REPO_ID;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.TABLE_OBJS;
@@ -24,6 +32,10 @@ import static org.projectnessie.versioned.storage.jdbc.SqlConstants.TABLE_REFS;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
 import javax.sql.DataSource;
 import org.assertj.core.api.SoftAssertions;
 import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
@@ -31,10 +43,15 @@ import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
 import org.projectnessie.versioned.storage.common.logic.RepositoryDescription;
 import org.projectnessie.versioned.storage.common.logic.RepositoryLogic;
+import org.projectnessie.versioned.storage.common.objtypes.ReferenceHistoryObj;
 import org.projectnessie.versioned.storage.common.persist.Backend;
 import org.projectnessie.versioned.storage.common.persist.BackendFactory;
+import org.projectnessie.versioned.storage.common.persist.CloseableIterator;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.common.persist.PersistFactory;
 import org.projectnessie.versioned.storage.common.persist.PersistLoader;
@@ -156,6 +173,281 @@ public abstract class AbstractTestJdbcBackendFactory {
     }
   }
 
+  @Test
+  public void batchSize() throws Exception {
+    AbstractJdbcBackendTestFactory testFactory = testFactory();
+    testFactory.start();
+    try {
+      DataSource dataSource =
+          DataSourceProducer.builder()
+              .jdbcUrl(testFactory.jdbcUrl())
+              .jdbcUser(testFactory.jdbcUser())
+              .jdbcPass(testFactory.jdbcPass())
+              .build()
+              .createNewDataSource();
+      try {
+        BackendFactory<JdbcBackendConfig> factory =
+            PersistLoader.findFactoryByName(JdbcBackendFactory.NAME);
+        try (Backend backend =
+            factory.buildBackend(
+                JdbcBackendConfig.builder().dataSource(dataSource).batchSize(3).build())) {
+          backend.setupSchema();
+          Persist persist = backend.createFactory().newPersist(StoreConfig.Adjustable.empty());
+
+          // Mix of object types, more objects than the batch size, a duplicate and a null
+          Obj[] objs =
+              IntStream.range(0, 10)
+                  .mapToObj(
+                      i ->
+                          i % 2 == 0
+                              ? contentValue("cid-" + i, i, copyFromUtf8("value-" + i))
+                              : stringData("text/plain", NONE, "file-" + i, emptyList(), EMPTY))
+                  .toArray(Obj[]::new);
+          Obj[] withDuplicate = Arrays.copyOf(objs, objs.length + 2);
+          withDuplicate[objs.length] = objs[4];
+
+          boolean[] expected = new boolean[withDuplicate.length];
+          Arrays.fill(expected, 0, objs.length, true);
+          soft.assertThat(persist.storeObjs(withDuplicate)).containsExactly(expected);
+          soft.assertThat(persist.storeObjs(objs)).doesNotContain(true);
+
+          soft.assertThat(persist.fetchObjs(Arrays.stream(objs).map(Obj::id).toArray(ObjId[]::new)))
+              .containsExactly(objs);
+        }
+      } finally {
+        ((AutoCloseable) dataSource).close();
+      }
+    } finally {
+      testFactory.stop();
+    }
+  }
+
+  @Test
+  public void compactObjsTableMigration() throws Exception {
+    AbstractJdbcBackendTestFactory testFactory = testFactory();
+    testFactory.start();
+    try {
+      DataSource dataSource =
+          DataSourceProducer.builder()
+              .jdbcUrl(testFactory.jdbcUrl())
+              .jdbcUser(testFactory.jdbcUser())
+              .jdbcPass(testFactory.jdbcPass())
+              .build()
+              .createNewDataSource();
+      try {
+        BackendFactory<JdbcBackendConfig> factory =
+            PersistLoader.findFactoryByName(JdbcBackendFactory.NAME);
+        StoreConfig storeConfig =
+            StoreConfig.Adjustable.empty().withRepositoryId("compact-migration");
+        try (Backend columnsBackend =
+                factory.buildBackend(JdbcBackendConfig.builder().dataSource(dataSource).build());
+            Backend compactBackend =
+                factory.buildBackend(
+                    JdbcBackendConfig.builder()
+                        .dataSource(dataSource)
+                        .objsTableLayout(ObjsTableLayout.COMPACT)
+                        .build())) {
+          columnsBackend.setupSchema();
+          compactBackend.setupSchema();
+          soft.assertThat(compactBackend.configInfo()).contains("objects table layout: COMPACT");
+
+          Persist columns = columnsBackend.createFactory().newPersist(storeConfig);
+          Persist compact = compactBackend.createFactory().newPersist(storeConfig);
+          columns.erase();
+          compact.erase();
+
+          ObjId historyId = randomObjId();
+          Obj[] objs = {
+            contentValue("cid-1", 1, copyFromUtf8("value-1")),
+            stringData("text/plain", NONE, "file-1", emptyList(), copyFromUtf8("text")),
+            ReferenceHistoryObj.builder()
+                .id(historyId)
+                .versionToken("token-1")
+                .reference("refs/heads/main")
+                .entries(emptyList())
+                .build()
+          };
+          ObjId[] ids = Arrays.stream(objs).map(Obj::id).toArray(ObjId[]::new);
+          columns.storeObjs(objs);
+
+          List<Long> progress = new ArrayList<>();
+          soft.assertThat(
+                  ((JdbcBackend) compactBackend)
+                      .migrateObjects(storeConfig, ObjsTableLayout.COLUMNS, progress::add))
+              .isEqualTo(objs.length);
+          soft.assertThat(progress).last().isEqualTo((long) objs.length);
+          soft.assertThat(compact.fetchObjs(ids)).containsExactly(objs);
+
+          // Repeated migrations do not copy existing objects again
+          soft.assertThat(
+                  ((JdbcBackend) compactBackend)
+                      .migrateObjects(storeConfig, ObjsTableLayout.COLUMNS, p -> {}))
+              .isEqualTo(0L);
+          soft.assertThatIllegalArgumentException()
+              .isThrownBy(
+                  () ->
+                      ((JdbcBackend) compactBackend)
+                          .migrateObjects(storeConfig, ObjsTableLayout.COMPACT, p -> {}));
+
+          // Updateable objects keep their version token in the compact layout
+          ReferenceHistoryObj history =
+              compact.fetchTypedObj(historyId, ReferenceHistoryObj.TYPE, ReferenceHistoryObj.class);
+          soft.assertThat(history.versionToken()).isEqualTo("token-1");
+          ReferenceHistoryObj updated =
+              ReferenceHistoryObj.builder().from(history).versionToken("token-2").build();
+          soft.assertThat(compact.updateConditional(history, updated)).isTrue();
+          soft.assertThat(compact.updateConditional(history, updated)).isFalse();
+          soft.assertThat(compact.fetchObj(historyId)).isEqualTo(updated);
+
+          // The objects table of the source layout is not modified
+          soft.assertThat(columns.fetchObj(historyId)).isEqualTo(objs[2]);
+
+          columns.erase();
+          compact.erase();
+          soft.assertThatThrownBy(() -> compact.fetchObjs(ids))
+              .isInstanceOf(ObjNotFoundException.class);
+        }
+      } finally {
+        ((AutoCloseable) dataSource).close();
+      }
+    } finally {
+      testFactory.stop();
+    }
+  }
+
+  @Test
+  public void pagedScans() throws Exception {
+    AbstractJdbcBackendTestFactory testFactory = testFactory();
+    testFactory.start();
+    try {
+      DataSource dataSource =
+          DataSourceProducer.builder()
+              .jdbcUrl(testFactory.jdbcUrl())
+              .jdbcUser(testFactory.jdbcUser())
+              .jdbcPass(testFactory.jdbcPass())
+              .build()
+              .createNewDataSource();
+      try {
+        BackendFactory<JdbcBackendConfig> factory =
+            PersistLoader.findFactoryByName(JdbcBackendFactory.NAME);
+        try (Backend backend =
+            factory.buildBackend(
+                JdbcBackendConfig.builder().dataSource(dataSource).scanPageSize(3).build())) {
+          backend.setupSchema();
+          Persist persist =
+              backend
+                  .createFactory()
+                  .newPersist(StoreConfig.Adjustable.empty().withRepositoryId("paged-scans"));
+          persist.erase();
+
+          Obj[] objs =
+              IntStream.range(0, 20)
+                  .mapToObj(i -> contentValue("cid-" + i, i, copyFromUtf8("value-" + i)))
+                  .toArray(Obj[]::new);
+          persist.storeObjs(objs);
+
+          List<Obj> scanned = new ArrayList<>();
+          try (CloseableIterator<Obj> iter = persist.scanAllObjects(allObjTypes())) {
+            iter.forEachRemaining(scanned::add);
+          }
+          soft.assertThat(scanned).containsExactlyInAnyOrder(objs);
+
+          for (int partitions : new int[] {1, 3, 300}) {
+            List<CloseableIterator<Obj>> iters = persist.scanAllObjects(allObjTypes(), partitions);
+            soft.assertThat(iters).hasSize(Math.min(partitions, 256));
+            List<Obj> all = new ArrayList<>();
+            for (CloseableIterator<Obj> iter : iters) {
+              List<String> ids = new ArrayList<>();
+              try (iter) {
+                iter.forEachRemaining(
+                    o -> {
+                      ids.add(o.id().toString());
+                      all.add(o);
+                    });
+              }
+              soft.assertThat(ids).isSorted();
+            }
+            soft.assertThat(all).containsExactlyInAnyOrder(objs);
+          }
+
+          persist.erase();
+        }
+      } finally {
+        ((AutoCloseable) dataSource).close();
+      }
+    } finally {
+      testFactory.stop();
+    }
+  }
+
+  @Test
+  public void chunkedFetches() throws Exception {
+    soft.assertThat(AbstractJdbcPersist.fetchShapes(1)).containsExactly(1);
+    soft.assertThat(AbstractJdbcPersist.fetchShapes(10)).containsExactly(1, 8, 10);
+    soft.assertThat(AbstractJdbcPersist.fetchShapes(128)).containsExactly(1, 8, 32, 128);
+    soft.assertThat(AbstractJdbcPersist.fetchShapes(500)).containsExactly(1, 8, 32, 128, 500);
+
+    AbstractJdbcBackendTestFactory testFactory = testFactory();
+    testFactory.start();
+    try {
+      DataSource dataSource =
+          DataSourceProducer.builder()
+              .jdbcUrl(testFactory.jdbcUrl())
+              .jdbcUser(testFactory.jdbcUser())
+              .jdbcPass(testFactory.jdbcPass())
+              .build()
+              .createNewDataSource();
+      try {
+        BackendFactory<JdbcBackendConfig> factory =
+            PersistLoader.findFactoryByName(JdbcBackendFactory.NAME);
+        try (Backend backend =
+            factory.buildBackend(
+                JdbcBackendConfig.builder()
+                    .dataSource(dataSource)
+                    .fetchChunkSize(10)
+                    .fetchParallelism(3)
+                    .build())) {
+          backend.setupSchema();
+          Persist persist =
+              backend
+                  .createFactory()
+                  .newPersist(StoreConfig.Adjustable.empty().withRepositoryId("chunked-fetches"));
+          persist.erase();
+
+          Obj[] objs =
+              IntStream.range(0, 45)
+                  .mapToObj(i -> contentValue("cid-" + i, i, copyFromUtf8("value-" + i)))
+                  .toArray(Obj[]::new);
+          persist.storeObjs(objs);
+
+          // 45 objects and some nulls: 4 full chunks and a padded chunk of 5 objects
+          Obj[] expected = new Obj[objs.length + 3];
+          System.arraycopy(objs, 0, expected, 2, objs.length);
+          ObjId[] ids =
+              Arrays.stream(expected).map(o -> o != null ? o.id() : null).toArray(ObjId[]::new);
+          soft.assertThat(persist.fetchObjs(ids)).containsExactly(expected);
+          soft.assertThat(persist.fetchObjs(Arrays.copyOf(ids, 3)))
+              .containsExactly(Arrays.copyOf(expected, 3));
+          soft.assertThat(persist.fetchObjs(new ObjId[] {null, null})).containsExactly(null, null);
+
+          ObjId missing = randomObjId();
+          ids[0] = missing;
+          soft.assertThatThrownBy(() -> persist.fetchObjs(ids))
+              .isInstanceOf(ObjNotFoundException.class)
+              .extracting(e -> ((ObjNotFoundException) e).objIds())
+              .asList()
+              .containsExactly(missing);
+
+          persist.erase();
+        }
+      } finally {
+        ((AutoCloseable) dataSource).close();
+      }
+    } finally {
+      testFactory.stop();
+    }
+  }
+
   @Test
   public void incompatibleTableSchema() throws Exception {
     AbstractJdbcBackendTestFactory testFactory = testFactory();
@@ -20,13 +20,18 @@ import static com.mongodb.ErrorCategory.DUPLICATE_KEY;
 import static com.mongodb.client.model.Filters.and;
 import static com.mongodb.client.model.Filters.eq;
 import static com.mongodb.client.model.Filters.exists;
+import static com.mongodb.client.model.Filters.gt;
+import static com.mongodb.client.model.Filters.gte;
 import static com.mongodb.client.model.Filters.in;
+import static com.mongodb.client.model.Filters.lt;
 import static com.mongodb.client.model.Filters.not;
+import static com.mongodb.client.model.Sorts.ascending;
 import static com.mongodb.client.model.Updates.set;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singleton;
 import static java.util.stream.Collectors.toList;
 import static org.projectnessie.versioned.storage.common.persist.Reference.reference;
+import static org.projectnessie.versioned.storage.common.util.PrefixRanges.prefixUpperBound;
 import static org.projectnessie.versioned.storage.mongodb.MongoDBConstants.COL_OBJ_ID;
 import static org.projectnessie.versioned.storage.mongodb.MongoDBConstants.COL_OBJ_TYPE;
 import static org.projectnessie.versioned.storage.mongodb.MongoDBConstants.COL_OBJ_VERS;
@@ -60,6 +65,7 @@ import com.mongodb.client.model.WriteModel;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.UpdateResult;
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -278,20 +284,9 @@ public class MongoDBPersist implements Persist {
     Reference[] r = new Reference[names.length];
 
     for (Document doc : result) {
-      String name = doc.get(ID_PROPERTY_NAME, Document.class).getString(COL_REFERENCES_NAME);
-      Binary prev = doc.get(COL_REFERENCES_PREVIOUS, Binary.class);
-      List<Reference.PreviousPointer> previous =
-          prev != null ? deserializePreviousPointers(prev.getData()) : emptyList();
-      Reference reference =
-          reference(
-              name,
-              binaryToObjId(doc.get(COL_REFERENCES_POINTER, Binary.class)),
-              doc.getBoolean(COL_REFERENCES_DELETED),
-              refCreatedAt(doc),
-              binaryToObjId(doc.get(COL_REFERENCES_EXTENDED_INFO, Binary.class)),
-              previous);
+      Reference reference = docToReference(doc);
       for (int i = 0; i < names.length; i++) {
-        if (name.equals(names[i])) {
+        if (reference.name().equals(names[i])) {
           r[i] = reference;
         }
       }
@@ -300,6 +295,69 @@ public class MongoDBPersist implements Persist {
     return r;
   }
 
+  @Override
+  public boolean supportsReferenceScans() {
+    return true;
+  }
+
+  @Override
+  @Nonnull
+  public List<Reference> scanReferences(
+      @Nonnull String prefix, @Nullable String startAfter, int limit) {
+    checkArgument(!prefix.isEmpty(), "Reference name prefix must not be empty");
+    String upperBound = prefixUpperBound(prefix);
+    checkArgument(upperBound != null, "Unsupported reference name prefix");
+
+    String after = startAfter != null && startAfter.compareTo(prefix) >= 0 ? startAfter : null;
+    List<Reference> r = new ArrayList<>();
+    while (true) {
+      // The compound '_id' documents are compared field by field, the repository ID first, so
+      // that this range condition can be answered by the '_id' index.
+      int maxRows = limit - r.size();
+      FindIterable<Document> result =
+          backend
+              .refs()
+              .find(
+                  and(
+                      after != null
+                          ? gt(ID_PROPERTY_NAME, idRefDoc(after))
+                          : gte(ID_PROPERTY_NAME, idRefDoc(prefix)),
+                      lt(ID_PROPERTY_NAME, idRefDoc(upperBound))))
+              .sort(ascending(ID_PROPERTY_NAME))
+              .limit(maxRows);
+
+      int rows = 0;
+      for (Document doc : result) {
+        rows++;
+        Reference reference = docToReference(doc);
+        after = reference.name();
+        if (reference.name().startsWith(prefix)) {
+          r.add(reference);
+        }
+      }
+
+      // Names not starting with the prefix can sort into the scanned range, continue after the
+      // last document until 'limit' references are collected or the range is exhausted.
+      if (rows < maxRows || r.size() >= limit) {
+        return r;
+      }
+    }
+  }
+
+  private static Reference docToReference(Document doc) {
+    String name = doc.get(ID_PROPERTY_NAME, Document.class).getString(COL_REFERENCES_NAME);
+    Binary prev = doc.get(COL_REFERENCES_PREVIOUS, Binary.class);
+    List<Reference.PreviousPointer> previous =
+        prev != null ? deserializePreviousPointers(prev.getData()) : emptyList();
+    return reference(
+        name,
+        binaryToObjId(doc.get(COL_REFERENCES_POINTER, Binary.class)),
+        doc.getBoolean(COL_REFERENCES_DELETED),
+        refCreatedAt(doc),
+        binaryToObjId(doc.get(COL_REFERENCES_EXTENDED_INFO, Binary.class)),
+        previous);
+  }
+
   @Override
   @Nonnull
   public Obj fetchObj(@Nonnull ObjId id) throws ObjNotFoundException {
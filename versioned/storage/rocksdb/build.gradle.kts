@@ -34,6 +34,7 @@ dependencies {
   implementation(libs.guava)
 
   implementation(libs.rocksdb.jni)
+  implementation(libs.micrometer.core)
 
   compileOnly(libs.immutables.builder)
   compileOnly(libs.immutables.value.annotations)
@@ -45,5 +46,6 @@ dependencies {
   testImplementation(project(":nessie-versioned-tests"))
   testImplementation(platform(libs.junit.bom))
   testImplementation(libs.bundles.junit.testing)
+  testImplementation(libs.micrometer.core)
   testRuntimeOnly(libs.logback.classic)
 }
@@ -18,6 +18,14 @@ package org.projectnessie.versioned.storage.rocksdb;
 import static com.google.common.base.Preconditions.checkState;
 import static java.util.Arrays.asList;
 import static org.projectnessie.versioned.storage.common.util.Closing.closeMultiple;
+import static org.projectnessie.versioned.storage.rocksdb.RocksDBBackendBaseConfig.DEFAULT_BLOCK_CACHE_SIZE;
+import static org.projectnessie.versioned.storage.rocksdb.RocksDBBackendBaseConfig.DEFAULT_BLOOM_FILTER_BITS_PER_KEY;
+import static org.projectnessie.versioned.storage.rocksdb.RocksDBBackendBaseConfig.DEFAULT_BOTTOMMOST_COMPRESSION;
+import static org.projectnessie.versioned.storage.rocksdb.RocksDBBackendBaseConfig.DEFAULT_COMPRESSION;
+import static org.projectnessie.versioned.storage.rocksdb.RocksDBBackendBaseConfig.DEFAULT_LOCK_TIMEOUT_MILLIS;
+import static org.projectnessie.versioned.storage.rocksdb.RocksDBBackendBaseConfig.DEFAULT_MAX_BACKGROUND_JOBS;
+import static org.projectnessie.versioned.storage.rocksdb.RocksDBBackendBaseConfig.DEFAULT_MAX_TOTAL_WAL_SIZE;
+import static org.projectnessie.versioned.storage.rocksdb.RocksDBBackendBaseConfig.DEFAULT_WRITE_BUFFER_SIZE;
 import static org.rocksdb.RocksDB.DEFAULT_COLUMN_FAMILY;
 
 import jakarta.annotation.Nonnull;
@@ -29,35 +37,51 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
 import java.util.stream.Collectors;
 import org.projectnessie.nessie.relocated.protobuf.ByteString;
-import org.projectnessie.versioned.storage.common.config.StoreConfig;
 import org.projectnessie.versioned.storage.common.persist.Backend;
 import org.projectnessie.versioned.storage.common.persist.PersistFactory;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
+import org.rocksdb.Cache;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.ColumnFamilyOptions;
 import org.rocksdb.DBOptions;
+import org.rocksdb.HistogramData;
+import org.rocksdb.HistogramType;
+import org.rocksdb.LRUCache;
+import org.rocksdb.RateLimiter;
+import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
+import org.rocksdb.Statistics;
+import org.rocksdb.TickerType;
+import org.rocksdb.Transaction;
 import org.rocksdb.TransactionDB;
 import org.rocksdb.TransactionDBOptions;
+import org.rocksdb.WriteOptions;
 
 public final class RocksDBBackend implements Backend {
   public static final String CF_REFERENCES = "nessie_refs";
   public static final String CF_OBJECTS = "nessie_objects";
 
-  private static final List<String> CF_ALL = asList(CF_REFERENCES, CF_OBJECTS);
+  static final List<String> CF_ALL = asList(CF_REFERENCES, CF_OBJECTS);
 
   private final RocksDBBackendConfig config;
 
   private TransactionDB db;
   private ColumnFamilyHandle cfReferences;
   private ColumnFamilyHandle cfObjects;
+  private Statistics statistics;
+  private ReadOptions readOptions;
+  private WriteOptions writeOptions;
+  private RocksDBMetrics metrics;
 
-  private final Map<String, RocksDBRepo> repositories = new ConcurrentHashMap<>();
+  /** Options, caches and filters, which must be closed after closing the database. */
+  private final List<AutoCloseable> resources = new ArrayList<>();
 
   public RocksDBBackend(RocksDBBackendConfig config) {
     RocksDB.loadLibrary();
@@ -80,9 +104,26 @@ public final class RocksDBBackend implements Backend {
     return cfObjects;
   }
 
+  ReadOptions readOptions() {
+    return readOptions;
+  }
+
+  /**
+   * Starts a pessimistic transaction. Row locks acquired via {@link Transaction#getForUpdate} or by
+   * writes are held until the transaction is committed or closed. Closing an uncommitted
+   * transaction rolls it back.
+   */
+  Transaction beginTransaction() {
+    return db.beginTransaction(writeOptions);
+  }
+
   @Override
   public synchronized void close() {
     if (db != null) {
+      if (metrics != null) {
+        metrics.unregister();
+        metrics = null;
+      }
       try {
         closeMultiple(cfObjects, cfReferences, db);
       } catch (Exception e) {
@@ -91,6 +132,10 @@ public final class RocksDBBackend implements Backend {
         db = null;
         cfReferences = null;
         cfObjects = null;
+        statistics = null;
+        readOptions = null;
+        writeOptions = null;
+        closeResources();
       }
     }
   }
@@ -105,26 +150,49 @@ public final class RocksDBBackend implements Backend {
           "RocksDB cannot use databasePath %s.",
           dbPath);
 
-      List<byte[]> columnFamilies = new ArrayList<>();
-      columnFamilies.add(DEFAULT_COLUMN_FAMILY);
-      CF_ALL.stream().map(s -> s.getBytes(StandardCharsets.UTF_8)).forEach(columnFamilies::add);
-
-      List<ColumnFamilyDescriptor> columnFamilyDescriptors =
-          columnFamilies.stream()
-              .map(
-                  c ->
-                      new ColumnFamilyDescriptor(
-                          c, new ColumnFamilyOptions().optimizeUniversalStyleCompaction()))
-              .collect(Collectors.toList());
-
-      try (final DBOptions dbOptions =
-          new DBOptions().setCreateIfMissing(true).setCreateMissingColumnFamilies(true)) {
-        // TODO: Consider setting WAL limits.
+      Cache blockCache =
+          resource(new LRUCache(config.blockCacheSize().orElse(DEFAULT_BLOCK_CACHE_SIZE)));
+
+      List<ColumnFamilyDescriptor> columnFamilyDescriptors = new ArrayList<>();
+      columnFamilyDescriptors.add(
+          new ColumnFamilyDescriptor(
+              DEFAULT_COLUMN_FAMILY,
+              resource(new ColumnFamilyOptions().optimizeUniversalStyleCompaction())));
+      columnFamilyDescriptors.add(
+          new ColumnFamilyDescriptor(
+              CF_REFERENCES.getBytes(StandardCharsets.UTF_8),
+              columnFamilyOptions(config.references(), blockCache)));
+      columnFamilyDescriptors.add(
+          new ColumnFamilyDescriptor(
+              CF_OBJECTS.getBytes(StandardCharsets.UTF_8),
+              columnFamilyOptions(config.objects(), blockCache)));
+
+      statistics = resource(new Statistics());
+      readOptions = resource(new ReadOptions());
+      writeOptions = resource(new WriteOptions());
+
+      DBOptions dbOptions =
+          resource(
+              new DBOptions()
+                  .setStatistics(statistics)
+                  .setCreateIfMissing(true)
+                  .setCreateMissingColumnFamilies(true)
+                  .setMaxBackgroundJobs(
+                      config.maxBackgroundJobs().orElse(DEFAULT_MAX_BACKGROUND_JOBS))
+                  .setMaxTotalWalSize(config.maxTotalWalSize().orElse(DEFAULT_MAX_TOTAL_WAL_SIZE)));
+      config
+          .rateLimitBytesPerSecond()
+          .ifPresent(rate -> dbOptions.setRateLimiter(resource(new RateLimiter(rate))));
+
+      try {
         List<ColumnFamilyHandle> columnFamilyHandles = new ArrayList<>();
         db =
             TransactionDB.open(
                 dbOptions,
-                new TransactionDBOptions(),
+                resource(
+                    new TransactionDBOptions()
+                        .setTransactionLockTimeout(
+                            config.lockTimeoutMillis().orElse(DEFAULT_LOCK_TIMEOUT_MILLIS))),
                 dbPath.toString(),
                 columnFamilyDescriptors,
                 columnFamilyHandles);
@@ -137,12 +205,104 @@ public final class RocksDBBackend implements Backend {
 
         cfReferences = columnFamilyHandleMap.get(CF_REFERENCES);
         cfObjects = columnFamilyHandleMap.get(CF_OBJECTS);
+
+        config
+            .meterRegistry()
+            .ifPresent(
+                meterRegistry -> {
+                  metrics = new RocksDBMetrics(this, meterRegistry);
+                  metrics.register();
+                });
       } catch (RocksDBException e) {
+        statistics = null;
+        readOptions = null;
+        writeOptions = null;
+        closeResources();
         throw new RuntimeException("RocksDB failed to start", e);
       }
     }
   }
 
+  private ColumnFamilyOptions columnFamilyOptions(
+      RocksDBColumnFamilyConfig cfConfig, Cache blockCache) {
+    BlockBasedTableConfig tableConfig =
+        new BlockBasedTableConfig()
+            .setBlockCache(blockCache)
+            .setCacheIndexAndFilterBlocks(true)
+            .setPinL0FilterAndIndexBlocksInCache(true);
+    double bloomFilterBitsPerKey =
+        cfConfig.bloomFilterBitsPerKey().orElse(DEFAULT_BLOOM_FILTER_BITS_PER_KEY);
+    if (bloomFilterBitsPerKey > 0d) {
+      tableConfig
+          .setFilterPolicy(resource(new BloomFilter(bloomFilterBitsPerKey)))
+          .setWholeKeyFiltering(true);
+    }
+
+    ColumnFamilyOptions options =
+        resource(new ColumnFamilyOptions())
+            .optimizeUniversalStyleCompaction()
+            .setTableFormatConfig(tableConfig)
+            .setWriteBufferSize(cfConfig.writeBufferSize().orElse(DEFAULT_WRITE_BUFFER_SIZE))
+            .setCompressionType(
+                cfConfig.compression().orElse(DEFAULT_COMPRESSION).compressionType())
+            .setBottommostCompressionType(
+                cfConfig
+                    .bottommostCompression()
+                    .orElse(DEFAULT_BOTTOMMOST_COMPRESSION)
+                    .compressionType());
+    if (bloomFilterBitsPerKey > 0d) {
+      // Also check the memtables via Bloom filters, as most lookups are point lookups.
+      options.setMemtableWholeKeyFiltering(true).setMemtablePrefixBloomSizeRatio(0.1d);
+    }
+    return options;
+  }
+
+  /** Returns the value of the given statistics ticker or {@code NaN}, if the database is closed. */
+  synchronized double tickerCount(TickerType ticker) {
+    return statistics != null ? statistics.getTickerCount(ticker) : Double.NaN;
+  }
+
+  /**
+   * Returns a value of the given statistics histogram or {@code NaN}, if the database is closed.
+   */
+  synchronized double histogramValue(
+      HistogramType histogram, ToDoubleFunction<HistogramData> value) {
+    return statistics != null
+        ? value.applyAsDouble(statistics.getHistogramData(histogram))
+        : Double.NaN;
+  }
+
+  /**
+   * Returns the value of the given integer property of a column family or {@code NaN}, if the
+   * database is closed.
+   */
+  synchronized double longProperty(String columnFamily, String property) {
+    if (db == null) {
+      return Double.NaN;
+    }
+    ColumnFamilyHandle cf = CF_REFERENCES.equals(columnFamily) ? cfReferences : cfObjects;
+    try {
+      return db.getLongProperty(cf, property);
+    } catch (RocksDBException e) {
+      return Double.NaN;
+    }
+  }
+
+  private <T extends AutoCloseable> T resource(T resource) {
+    resources.add(resource);
+    return resource;
+  }
+
+  private void closeResources() {
+    try {
+      closeMultiple(resources);
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    } finally {
+      resources.clear();
+    }
+  }
+
   @Override
   public void setupSchema() {
     initialize();
@@ -160,10 +320,6 @@ public final class RocksDBBackend implements Backend {
     return "database path: " + config.databasePath();
   }
 
-  RocksDBRepo repo(StoreConfig config) {
-    return repositories.computeIfAbsent(config.repositoryId(), r -> new RocksDBRepo());
-  }
-
   @Override
   public void eraseRepositories(Set<String> repositoryIds) {
     if (repositoryIds == null || repositoryIds.isEmpty()) {
@@ -16,7 +16,57 @@
 package org.projectnessie.versioned.storage.rocksdb;
 
 import java.nio.file.Path;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
 
+/**
+ * RocksDB backend settings. The defaults of the optional settings are tuned for the point lookups
+ * by object ID and reference name, which are the predominant access pattern of Nessie.
+ */
 public interface RocksDBBackendBaseConfig {
+  long DEFAULT_BLOCK_CACHE_SIZE = 128L * 1024L * 1024L;
+  int DEFAULT_MAX_BACKGROUND_JOBS = 4;
+  long DEFAULT_MAX_TOTAL_WAL_SIZE = 512L * 1024L * 1024L;
+  long DEFAULT_LOCK_TIMEOUT_MILLIS = 10_000L;
+  long DEFAULT_WRITE_BUFFER_SIZE = 64L * 1024L * 1024L;
+  double DEFAULT_BLOOM_FILTER_BITS_PER_KEY = 10d;
+  RocksDBCompression DEFAULT_COMPRESSION = RocksDBCompression.LZ4;
+  RocksDBCompression DEFAULT_BOTTOMMOST_COMPRESSION = RocksDBCompression.ZSTD;
+
   Path databasePath();
+
+  /**
+   * Size of the LRU block cache in bytes, shared by all column families. Defaults to {@value
+   * #DEFAULT_BLOCK_CACHE_SIZE}.
+   */
+  OptionalLong blockCacheSize();
+
+  /**
+   * Maximum number of concurrent background flush and compaction jobs. Defaults to {@value
+   * #DEFAULT_MAX_BACKGROUND_JOBS}.
+   */
+  OptionalInt maxBackgroundJobs();
+
+  /** Limits the write rate of flushes and compactions in bytes per second, unlimited if not set. */
+  OptionalLong rateLimitBytesPerSecond();
+
+  /**
+   * Maximum total size of the write-ahead log files in bytes. Column families whose memtables are
+   * backed by the oldest log file are flushed when this limit is exceeded. Defaults to {@value
+   * #DEFAULT_MAX_TOTAL_WAL_SIZE}.
+   */
+  OptionalLong maxTotalWalSize();
+
+  /**
+   * Maximum time in milliseconds a write transaction waits for a row lock held by another
+   * transaction. Transactions that time out are retried a few times, before the failure is
+   * reported. Defaults to {@value #DEFAULT_LOCK_TIMEOUT_MILLIS}.
+   */
+  OptionalLong lockTimeoutMillis();
+
+  /** Settings of the column family holding the references. */
+  RocksDBColumnFamilyConfig references();
+
+  /** Settings of the column family holding the objects. */
+  RocksDBColumnFamilyConfig objects();
 }
@@ -15,11 +15,28 @@
  */
 package org.projectnessie.versioned.storage.rocksdb;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Optional;
 import org.immutables.value.Value;
 
 @Value.Immutable
 public interface RocksDBBackendConfig extends RocksDBBackendBaseConfig {
 
+  /** If present, RocksDB statistics and column family properties are published as meters. */
+  Optional<MeterRegistry> meterRegistry();
+
+  @Override
+  @Value.Default
+  default RocksDBColumnFamilyConfig references() {
+    return RocksDBColumnFamilyConfig.builder().build();
+  }
+
+  @Override
+  @Value.Default
+  default RocksDBColumnFamilyConfig objects() {
+    return RocksDBColumnFamilyConfig.builder().build();
+  }
+
   static ImmutableRocksDBBackendConfig.Builder builder() {
     return ImmutableRocksDBBackendConfig.builder();
   }
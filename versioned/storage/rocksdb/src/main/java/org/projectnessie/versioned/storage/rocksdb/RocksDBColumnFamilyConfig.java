@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.rocksdb;
+
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+import org.immutables.value.Value;
+
+/**
+ * Settings of a RocksDB column family, unset settings use the defaults defined in {@link
+ * RocksDBBackendBaseConfig}.
+ */
+@Value.Immutable
+public interface RocksDBColumnFamilyConfig {
+
+  /** Size of a single memtable in bytes. */
+  OptionalLong writeBufferSize();
+
+  /**
+   * Bits per key of the whole-key Bloom filters of the column family, {@code 0} disables Bloom
+   * filters.
+   */
+  OptionalDouble bloomFilterBitsPerKey();
+
+  /** Compression of all but the bottommost level. */
+  Optional<RocksDBCompression> compression();
+
+  /** Compression of the bottommost level, which holds most of the data. */
+  Optional<RocksDBCompression> bottommostCompression();
+
+  static ImmutableRocksDBColumnFamilyConfig.Builder builder() {
+    return ImmutableRocksDBColumnFamilyConfig.builder();
+  }
+}
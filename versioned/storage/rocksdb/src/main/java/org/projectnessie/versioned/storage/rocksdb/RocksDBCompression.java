@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.rocksdb;
+
+import org.rocksdb.CompressionType;
+
+/** Compression algorithms for RocksDB SST files. */
+public enum RocksDBCompression {
+  NONE(CompressionType.NO_COMPRESSION),
+  SNAPPY(CompressionType.SNAPPY_COMPRESSION),
+  LZ4(CompressionType.LZ4_COMPRESSION),
+  ZSTD(CompressionType.ZSTD_COMPRESSION);
+
+  private final CompressionType compressionType;
+
+  RocksDBCompression(CompressionType compressionType) {
+    this.compressionType = compressionType;
+  }
+
+  CompressionType compressionType() {
+    return compressionType;
+  }
+}
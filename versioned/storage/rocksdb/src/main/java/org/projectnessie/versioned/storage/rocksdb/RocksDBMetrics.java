@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.rocksdb;
+
+import static java.util.Arrays.asList;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.ToDoubleFunction;
+import org.rocksdb.HistogramData;
+import org.rocksdb.HistogramType;
+import org.rocksdb.TickerType;
+
+/**
+ * Publishes RocksDB {@link org.rocksdb.Statistics statistics} and column family properties as
+ * Micrometer meters. The values are read from RocksDB when the meters are collected.
+ */
+final class RocksDBMetrics {
+  static final String PREFIX = "nessie.storage.rocksdb";
+  static final String TAG_TICKER = "ticker";
+  static final String TAG_HISTOGRAM = "histogram";
+  static final String TAG_STATISTIC = "statistic";
+  static final String TAG_PROPERTY = "property";
+  static final String TAG_COLUMN_FAMILY = "column_family";
+
+  static final List<TickerType> TICKERS =
+      asList(
+          TickerType.BLOCK_CACHE_HIT,
+          TickerType.BLOCK_CACHE_MISS,
+          TickerType.BLOOM_FILTER_USEFUL,
+          TickerType.BLOOM_FILTER_FULL_POSITIVE,
+          TickerType.MEMTABLE_HIT,
+          TickerType.MEMTABLE_MISS,
+          TickerType.NUMBER_KEYS_READ,
+          TickerType.NUMBER_KEYS_WRITTEN,
+          TickerType.BYTES_READ,
+          TickerType.BYTES_WRITTEN,
+          TickerType.FLUSH_WRITE_BYTES,
+          TickerType.COMPACT_READ_BYTES,
+          TickerType.COMPACT_WRITE_BYTES,
+          TickerType.STALL_MICROS,
+          TickerType.WAL_FILE_SYNCED);
+
+  static final List<HistogramType> HISTOGRAMS =
+      asList(HistogramType.DB_GET, HistogramType.DB_WRITE, HistogramType.COMPACTION_TIME);
+
+  static final List<String> PROPERTIES =
+      asList(
+          "rocksdb.estimate-pending-compaction-bytes",
+          "rocksdb.num-running-compactions",
+          "rocksdb.num-running-flushes",
+          "rocksdb.actual-delayed-write-rate",
+          "rocksdb.is-write-stopped",
+          "rocksdb.block-cache-usage",
+          "rocksdb.block-cache-pinned-usage",
+          "rocksdb.cur-size-all-mem-tables",
+          "rocksdb.num-immutable-mem-table",
+          "rocksdb.estimate-num-keys",
+          "rocksdb.total-sst-files-size");
+
+  private final RocksDBBackend backend;
+  private final MeterRegistry meterRegistry;
+  private final List<Meter> meters = new ArrayList<>();
+
+  RocksDBMetrics(RocksDBBackend backend, MeterRegistry meterRegistry) {
+    this.backend = backend;
+    this.meterRegistry = meterRegistry;
+  }
+
+  void register() {
+    for (TickerType ticker : TICKERS) {
+      meters.add(
+          FunctionCounter.builder(PREFIX + ".ticker", backend, b -> b.tickerCount(ticker))
+              .description("RocksDB statistics ticker.")
+              .tag(TAG_TICKER, tagValue(ticker.name()))
+              .register(meterRegistry));
+    }
+
+    for (HistogramType histogram : HISTOGRAMS) {
+      histogramGauge(histogram, "p50", HistogramData::getMedian);
+      histogramGauge(histogram, "p95", HistogramData::getPercentile95);
+      histogramGauge(histogram, "p99", HistogramData::getPercentile99);
+      histogramGauge(histogram, "max", HistogramData::getMax);
+      histogramGauge(histogram, "average", HistogramData::getAverage);
+    }
+
+    for (String columnFamily : RocksDBBackend.CF_ALL) {
+      for (String property : PROPERTIES) {
+        meters.add(
+            Gauge.builder(
+                    PREFIX + ".property", backend, b -> b.longProperty(columnFamily, property))
+                .description("RocksDB column family property.")
+                .tag(TAG_PROPERTY, tagValue(property.substring("rocksdb.".length())))
+                .tag(TAG_COLUMN_FAMILY, columnFamily)
+                .register(meterRegistry));
+      }
+    }
+  }
+
+  void unregister() {
+    meters.forEach(meterRegistry::remove);
+    meters.clear();
+  }
+
+  private void histogramGauge(
+      HistogramType histogram, String statistic, ToDoubleFunction<HistogramData> value) {
+    meters.add(
+        Gauge.builder(PREFIX + ".histogram", backend, b -> b.histogramValue(histogram, value))
+            .description("RocksDB statistics histogram, in microseconds.")
+            .tag(TAG_HISTOGRAM, tagValue(histogram.name()))
+            .tag(TAG_STATISTIC, statistic)
+            .register(meterRegistry));
+  }
+
+  private static String tagValue(String name) {
+    return name.toLowerCase(Locale.ROOT).replace('-', '_');
+  }
+}
@@ -16,6 +16,7 @@
 package org.projectnessie.versioned.storage.rocksdb;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Collections.nCopies;
 import static java.util.Collections.singleton;
 import static org.projectnessie.versioned.storage.rocksdb.RocksDBBackend.keyPrefix;
 import static org.projectnessie.versioned.storage.rocksdb.RocksDBBackend.rocksDbException;
@@ -27,12 +28,14 @@ import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.s
 
 import com.google.common.collect.AbstractIterator;
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.locks.Lock;
 import java.util.function.Predicate;
+import java.util.stream.IntStream;
 import org.projectnessie.nessie.relocated.protobuf.ByteString;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
 import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
@@ -48,21 +51,30 @@ import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.common.persist.Reference;
 import org.projectnessie.versioned.storage.common.persist.UpdateableObj;
 import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
+import org.rocksdb.Slice;
+import org.rocksdb.Snapshot;
+import org.rocksdb.Status;
+import org.rocksdb.Transaction;
 import org.rocksdb.TransactionDB;
 
 class RocksDBPersist implements Persist {
 
+  /**
+   * Maximum number of attempts of a write transaction that failed, because a row lock could not be
+   * acquired within the lock timeout or because of a conflict with a concurrent transaction.
+   */
+  static final int MAX_TRANSACTION_ATTEMPTS = 5;
+
   private final RocksDBBackend backend;
-  private final RocksDBRepo repo;
   private final StoreConfig config;
 
   private final ByteString keyPrefix;
 
-  RocksDBPersist(RocksDBBackend backend, RocksDBRepo repo, StoreConfig config) {
+  RocksDBPersist(RocksDBBackend backend, StoreConfig config) {
     this.backend = backend;
-    this.repo = repo;
     this.config = config;
     this.keyPrefix = keyPrefix(config.repositoryId());
   }
@@ -143,30 +155,60 @@ class RocksDBPersist implements Persist {
     }
   }
 
+  @Override
+  public boolean supportsReferenceScans() {
+    return true;
+  }
+
+  @Override
+  @Nonnull
+  public List<Reference> scanReferences(
+      @Nonnull String prefix, @Nullable String startAfter, int limit) {
+    checkArgument(!prefix.isEmpty(), "Reference name prefix must not be empty");
+    RocksDBBackend b = backend;
+    ByteString prefixKey = keyPrefix.concat(ByteString.copyFromUtf8(prefix));
+    byte[] afterKey =
+        startAfter != null && startAfter.compareTo(prefix) >= 0 ? dbKey(startAfter) : null;
+
+    List<Reference> r = new ArrayList<>();
+    try (RocksIterator iter = b.db().newIterator(b.refs())) {
+      iter.seek(afterKey != null ? afterKey : prefixKey.toByteArray());
+      if (afterKey != null && iter.isValid() && Arrays.equals(iter.key(), afterKey)) {
+        iter.next();
+      }
+      for (; iter.isValid() && r.size() < limit; iter.next()) {
+        if (!ByteString.copyFrom(iter.key()).startsWith(prefixKey)) {
+          break;
+        }
+        r.add(deserializeReference(iter.value()));
+      }
+    }
+    return r;
+  }
+
   @Override
   @Nonnull
   public Reference addReference(@Nonnull Reference reference) throws RefAlreadyExistsException {
     checkArgument(!reference.deleted(), "Deleted references must not be added");
 
-    Lock l = repo.referencesLock(reference.name());
-    try {
-      RocksDBBackend b = backend;
-      TransactionDB db = b.db();
-      ColumnFamilyHandle cf = b.refs();
-      byte[] key = dbKey(reference.name());
+    RocksDBBackend b = backend;
+    for (int attempt = 1; ; attempt++) {
+      try (Transaction txn = b.beginTransaction()) {
+        ColumnFamilyHandle cf = b.refs();
+        byte[] key = dbKey(reference.name());
 
-      byte[] existing = db.get(cf, key);
-      if (existing != null) {
-        throw new RefAlreadyExistsException(deserializeReference(existing));
-      }
+        byte[] existing = txn.getForUpdate(b.readOptions(), cf, key, true);
+        if (existing != null) {
+          throw new RefAlreadyExistsException(deserializeReference(existing));
+        }
 
-      db.put(cf, key, serializeReference(reference));
+        txn.put(cf, key, serializeReference(reference));
+        txn.commit();
 
-      return reference;
-    } catch (RocksDBException e) {
-      throw rocksDbException(e);
-    } finally {
-      l.unlock();
+        return reference;
+      } catch (RocksDBException e) {
+        retryOrThrow(e, attempt);
+      }
     }
   }
 
@@ -174,33 +216,37 @@ class RocksDBPersist implements Persist {
   @Nonnull
   public Reference markReferenceAsDeleted(@Nonnull Reference reference)
       throws RefNotFoundException, RefConditionFailedException {
-    Lock l = repo.referencesLock(reference.name());
-    try {
-      RocksDBBackend b = backend;
-      TransactionDB db = b.db();
-      ColumnFamilyHandle cf = b.refs();
-      byte[] key = dbKey(reference.name());
-
-      checkReference(reference, db, cf, key, false);
-
-      Reference asDeleted = reference.withDeleted(true);
-      db.put(cf, key, serializeReference(asDeleted));
-      return asDeleted;
-    } catch (RocksDBException e) {
-      throw rocksDbException(e);
-    } finally {
-      l.unlock();
+    RocksDBBackend b = backend;
+    for (int attempt = 1; ; attempt++) {
+      try (Transaction txn = b.beginTransaction()) {
+        ColumnFamilyHandle cf = b.refs();
+        byte[] key = dbKey(reference.name());
+
+        checkReference(reference, txn, b.readOptions(), cf, key, false);
+
+        Reference asDeleted = reference.withDeleted(true);
+        txn.put(cf, key, serializeReference(asDeleted));
+        txn.commit();
+        return asDeleted;
+      } catch (RocksDBException e) {
+        retryOrThrow(e, attempt);
+      }
     }
   }
 
+  /**
+   * Verifies that the current state of the reference equals {@code expected}. The row lock for the
+   * reference is held by {@code txn} until the transaction is committed or closed.
+   */
   private static void checkReference(
       Reference expected,
-      TransactionDB db,
+      Transaction txn,
+      ReadOptions readOptions,
       ColumnFamilyHandle cf,
       byte[] key,
       boolean expectDeleted)
       throws RocksDBException, RefNotFoundException, RefConditionFailedException {
-    byte[] existing = db.get(cf, key);
+    byte[] existing = txn.getForUpdate(readOptions, cf, key, true);
     if (existing == null) {
       throw new RefNotFoundException(expected);
     }
@@ -214,20 +260,20 @@ class RocksDBPersist implements Persist {
   @Override
   public void purgeReference(@Nonnull Reference reference)
       throws RefNotFoundException, RefConditionFailedException {
-    Lock l = repo.referencesLock(reference.name());
-    try {
-      RocksDBBackend b = backend;
-      TransactionDB db = b.db();
-      ColumnFamilyHandle cf = b.refs();
-      byte[] key = dbKey(reference.name());
-
-      checkReference(reference.withDeleted(true), db, cf, key, true);
-
-      db.delete(cf, key);
-    } catch (RocksDBException e) {
-      throw rocksDbException(e);
-    } finally {
-      l.unlock();
+    RocksDBBackend b = backend;
+    for (int attempt = 1; ; attempt++) {
+      try (Transaction txn = b.beginTransaction()) {
+        ColumnFamilyHandle cf = b.refs();
+        byte[] key = dbKey(reference.name());
+
+        checkReference(reference.withDeleted(true), txn, b.readOptions(), cf, key, true);
+
+        txn.delete(cf, key);
+        txn.commit();
+        return;
+      } catch (RocksDBException e) {
+        retryOrThrow(e, attempt);
+      }
     }
   }
 
@@ -235,23 +281,22 @@ class RocksDBPersist implements Persist {
   @Nonnull
   public Reference updateReferencePointer(@Nonnull Reference reference, @Nonnull ObjId newPointer)
       throws RefNotFoundException, RefConditionFailedException {
-    Lock l = repo.referencesLock(reference.name());
-    try {
-      RocksDBBackend b = backend;
-      TransactionDB db = b.db();
-      ColumnFamilyHandle cf = b.refs();
-      byte[] key = dbKey(reference.name());
+    RocksDBBackend b = backend;
+    for (int attempt = 1; ; attempt++) {
+      try (Transaction txn = b.beginTransaction()) {
+        ColumnFamilyHandle cf = b.refs();
+        byte[] key = dbKey(reference.name());
 
-      checkReference(reference, db, cf, key, false);
+        checkReference(reference, txn, b.readOptions(), cf, key, false);
 
-      Reference updated = reference.forNewPointer(newPointer, config);
+        Reference updated = reference.forNewPointer(newPointer, config);
 
-      db.put(cf, key, serializeReference(updated));
-      return updated;
-    } catch (RocksDBException e) {
-      throw rocksDbException(e);
-    } finally {
-      l.unlock();
+        txn.put(cf, key, serializeReference(updated));
+        txn.commit();
+        return updated;
+      } catch (RocksDBException e) {
+        retryOrThrow(e, attempt);
+      }
     }
   }
 
@@ -343,103 +388,150 @@ class RocksDBPersist implements Persist {
   @Override
   public boolean storeObj(@Nonnull Obj obj, boolean ignoreSoftSizeRestrictions)
       throws ObjTooLargeException {
-    checkArgument(obj.id() != null, "Obj to store must have a non-null ID");
+    return storeObjs(new Obj[] {obj}, ignoreSoftSizeRestrictions)[0];
+  }
 
-    Lock l = repo.objLock(obj.id());
-    try {
-      RocksDBBackend b = backend;
-      TransactionDB db = b.db();
-      ColumnFamilyHandle cf = b.objs();
-      byte[] key = dbKey(obj.id());
+  @Override
+  @Nonnull
+  public boolean[] storeObjs(@Nonnull Obj[] objs) throws ObjTooLargeException {
+    return storeObjs(objs, false);
+  }
 
-      byte[] existing = db.get(cf, key);
-      if (existing != null) {
-        return false;
+  @Nonnull
+  private boolean[] storeObjs(@Nonnull Obj[] objs, boolean ignoreSoftSizeRestrictions)
+      throws ObjTooLargeException {
+    int num = objs.length;
+    boolean[] r = new boolean[num];
+    List<Integer> indexes = new ArrayList<>(num);
+    List<byte[]> keys = new ArrayList<>(num);
+    for (int i = 0; i < num; i++) {
+      Obj obj = objs[i];
+      if (obj != null) {
+        checkArgument(obj.id() != null, "Obj to store must have a non-null ID");
+        indexes.add(i);
+        keys.add(dbKey(obj.id()));
       }
+    }
+    if (keys.isEmpty()) {
+      return r;
+    }
 
-      int incrementalIndexSizeLimit =
-          ignoreSoftSizeRestrictions ? Integer.MAX_VALUE : effectiveIncrementalIndexSizeLimit();
-      int indexSizeLimit =
-          ignoreSoftSizeRestrictions ? Integer.MAX_VALUE : effectiveIndexSegmentSizeLimit();
-      byte[] serialized = serializeObj(obj, incrementalIndexSizeLimit, indexSizeLimit, true);
+    int incrementalIndexSizeLimit =
+        ignoreSoftSizeRestrictions ? Integer.MAX_VALUE : effectiveIncrementalIndexSizeLimit();
+    int indexSizeLimit =
+        ignoreSoftSizeRestrictions ? Integer.MAX_VALUE : effectiveIndexSegmentSizeLimit();
 
-      db.put(cf, key, serialized);
-      return true;
-    } catch (RocksDBException e) {
-      throw rocksDbException(e);
-    } finally {
-      l.unlock();
+    int[] order = lockOrder(keys);
+    List<byte[]> orderedKeys = new ArrayList<>(order.length);
+    for (int k : order) {
+      orderedKeys.add(keys.get(k));
     }
-  }
 
-  @Override
-  @Nonnull
-  public boolean[] storeObjs(@Nonnull Obj[] objs) throws ObjTooLargeException {
-    boolean[] r = new boolean[objs.length];
-    for (int i = 0; i < objs.length; i++) {
-      Obj o = objs[i];
-      if (o != null) {
-        r[i] = storeObj(o, false);
+    RocksDBBackend b = backend;
+    for (int attempt = 1; ; attempt++) {
+      // Results of a failed attempt must not leak into the next one.
+      Arrays.fill(r, false);
+      try (Transaction txn = b.beginTransaction()) {
+        ColumnFamilyHandle cf = b.objs();
+
+        List<byte[]> existing =
+            txn.multiGetForUpdateAsList(b.readOptions(), nCopies(order.length, cf), orderedKeys);
+
+        Set<ObjId> added = new HashSet<>();
+        for (int o = 0; o < order.length; o++) {
+          int i = indexes.get(order[o]);
+          Obj obj = objs[i];
+          if (existing.get(o) != null || !added.add(obj.id())) {
+            continue;
+          }
+          txn.put(
+              cf,
+              orderedKeys.get(o),
+              serializeObj(obj, incrementalIndexSizeLimit, indexSizeLimit, true));
+          r[i] = true;
+        }
+
+        txn.commit();
+        return r;
+      } catch (RocksDBException e) {
+        retryOrThrow(e, attempt);
       }
     }
-    return r;
   }
 
   @Override
   public void deleteObj(@Nonnull ObjId id) {
-    Lock l = repo.objLock(id);
-    try {
-      RocksDBBackend b = backend;
-      TransactionDB db = b.db();
-      ColumnFamilyHandle cf = b.objs();
-      byte[] key = dbKey(id);
-
-      db.delete(cf, key);
-    } catch (RocksDBException e) {
-      throw rocksDbException(e);
-    } finally {
-      l.unlock();
-    }
+    deleteObjs(new ObjId[] {id});
   }
 
   @Override
   public void deleteObjs(@Nonnull ObjId[] ids) {
+    List<byte[]> keys = new ArrayList<>(ids.length);
     for (ObjId id : ids) {
       if (id != null) {
-        deleteObj(id);
+        keys.add(dbKey(id));
       }
     }
-  }
+    if (keys.isEmpty()) {
+      return;
+    }
 
-  @Override
-  public void upsertObj(@Nonnull Obj obj) throws ObjTooLargeException {
-    ObjId id = obj.id();
-    checkArgument(id != null, "Obj to store must have a non-null ID");
+    RocksDBBackend b = backend;
+    for (int attempt = 1; ; attempt++) {
+      try (Transaction txn = b.beginTransaction()) {
+        ColumnFamilyHandle cf = b.objs();
 
-    Lock l = repo.objLock(obj.id());
-    try {
-      RocksDBBackend b = backend;
-      TransactionDB db = b.db();
-      ColumnFamilyHandle cf = b.objs();
-      byte[] key = dbKey(id);
-
-      byte[] serialized =
-          serializeObj(
-              obj, effectiveIncrementalIndexSizeLimit(), effectiveIndexSegmentSizeLimit(), true);
+        for (int k : lockOrder(keys)) {
+          txn.delete(cf, keys.get(k));
+        }
 
-      db.put(cf, key, serialized);
-    } catch (RocksDBException e) {
-      throw rocksDbException(e);
-    } finally {
-      l.unlock();
+        txn.commit();
+        return;
+      } catch (RocksDBException e) {
+        retryOrThrow(e, attempt);
+      }
     }
   }
 
+  @Override
+  public void upsertObj(@Nonnull Obj obj) throws ObjTooLargeException {
+    upsertObjs(new Obj[] {obj});
+  }
+
   @Override
   public void upsertObjs(@Nonnull Obj[] objs) throws ObjTooLargeException {
+    List<Obj> nonNullObjs = new ArrayList<>(objs.length);
+    List<byte[]> keys = new ArrayList<>(objs.length);
     for (Obj obj : objs) {
       if (obj != null) {
-        upsertObj(obj);
+        checkArgument(obj.id() != null, "Obj to store must have a non-null ID");
+        nonNullObjs.add(obj);
+        keys.add(dbKey(obj.id()));
+      }
+    }
+    if (keys.isEmpty()) {
+      return;
+    }
+
+    int incrementalIndexSizeLimit = effectiveIncrementalIndexSizeLimit();
+    int indexSizeLimit = effectiveIndexSegmentSizeLimit();
+
+    RocksDBBackend b = backend;
+    for (int attempt = 1; ; attempt++) {
+      try (Transaction txn = b.beginTransaction()) {
+        ColumnFamilyHandle cf = b.objs();
+
+        for (int k : lockOrder(keys)) {
+          txn.put(
+              cf,
+              keys.get(k),
+              serializeObj(nonNullObjs.get(k), incrementalIndexSizeLimit, indexSizeLimit, true));
+        }
+
+        txn.commit();
+        return;
+      } catch (RocksDBException e) {
+        retryOrThrow(e, attempt);
       }
     }
   }
@@ -447,32 +539,22 @@ class RocksDBPersist implements Persist {
   @Override
   public boolean deleteConditional(@Nonnull UpdateableObj obj) {
     ObjId id = obj.id();
-    Lock l = repo.objLock(id);
-    try {
-      RocksDBBackend b = backend;
-      TransactionDB db = b.db();
-      ColumnFamilyHandle cf = b.objs();
-      byte[] key = dbKey(id);
+    RocksDBBackend b = backend;
+    for (int attempt = 1; ; attempt++) {
+      try (Transaction txn = b.beginTransaction()) {
+        ColumnFamilyHandle cf = b.objs();
+        byte[] key = dbKey(id);
+
+        if (!checkConditional(txn, b.readOptions(), cf, key, obj)) {
+          return false;
+        }
 
-      byte[] bytes = db.get(cf, key);
-      if (bytes == null) {
-        return false;
-      }
-      Obj existing = deserializeObj(id, bytes, null);
-      if (!existing.type().equals(obj.type())) {
-        return false;
-      }
-      UpdateableObj ex = (UpdateableObj) existing;
-      if (!ex.versionToken().equals(obj.versionToken())) {
-        return false;
+        txn.delete(cf, key);
+        txn.commit();
+        return true;
+      } catch (RocksDBException e) {
+        retryOrThrow(e, attempt);
       }
-
-      db.delete(cf, key);
-      return true;
-    } catch (RocksDBException e) {
-      throw rocksDbException(e);
-    } finally {
-      l.unlock();
     }
   }
 
@@ -484,43 +566,83 @@ class RocksDBPersist implements Persist {
     checkArgument(expected.type().equals(newValue.type()));
     checkArgument(!expected.versionToken().equals(newValue.versionToken()));
 
-    Lock l = repo.objLock(id);
-    try {
-      RocksDBBackend b = backend;
-      TransactionDB db = b.db();
-      ColumnFamilyHandle cf = b.objs();
-      byte[] key = dbKey(id);
+    RocksDBBackend b = backend;
+    for (int attempt = 1; ; attempt++) {
+      try (Transaction txn = b.beginTransaction()) {
+        ColumnFamilyHandle cf = b.objs();
+        byte[] key = dbKey(id);
 
-      byte[] obj = db.get(cf, key);
-      if (obj == null) {
-        return false;
-      }
-      Obj existing = deserializeObj(id, obj, null);
-      if (!existing.type().equals(expected.type())) {
-        return false;
-      }
-      UpdateableObj ex = (UpdateableObj) existing;
-      if (!ex.versionToken().equals(expected.versionToken())) {
-        return false;
-      }
+        if (!checkConditional(txn, b.readOptions(), cf, key, expected)) {
+          return false;
+        }
 
-      byte[] serialized =
-          serializeObj(
-              newValue,
-              effectiveIncrementalIndexSizeLimit(),
-              effectiveIndexSegmentSizeLimit(),
-              true);
+        byte[] serialized =
+            serializeObj(
+                newValue,
+                effectiveIncrementalIndexSizeLimit(),
+                effectiveIndexSegmentSizeLimit(),
+                true);
 
-      db.put(cf, key, serialized);
+        txn.put(cf, key, serialized);
+        txn.commit();
 
-      return true;
-    } catch (RocksDBException e) {
+        return true;
+      } catch (RocksDBException e) {
+        retryOrThrow(e, attempt);
+      }
+    }
+  }
+
+  /**
+   * Checks whether the current object has the same type and version token as {@code expected}. The
+   * row lock for the object is held by {@code txn} until the transaction is committed or closed.
+   */
+  private static boolean checkConditional(
+      Transaction txn,
+      ReadOptions readOptions,
+      ColumnFamilyHandle cf,
+      byte[] key,
+      UpdateableObj expected)
+      throws RocksDBException {
+    byte[] bytes = txn.getForUpdate(readOptions, cf, key, true);
+    if (bytes == null) {
+      return false;
+    }
+    Obj existing = deserializeObj(expected.id(), bytes, null);
+    if (!existing.type().equals(expected.type())) {
+      return false;
+    }
+    UpdateableObj ex = (UpdateableObj) existing;
+    return ex.versionToken().equals(expected.versionToken());
+  }
+
+  /**
+   * Rethrows {@code e}, unless it indicates that a row lock could not be acquired within the lock
+   * timeout or that the transaction conflicted with a concurrent one, and {@code attempt} is lower
+   * than {@link #MAX_TRANSACTION_ATTEMPTS}. The caller retries the whole transaction in that case.
+   */
+  private static void retryOrThrow(RocksDBException e, int attempt) {
+    Status status = e.getStatus();
+    Status.Code code = status != null ? status.getCode() : null;
+    boolean retryable = code == Status.Code.TimedOut || code == Status.Code.Busy;
+    if (!retryable || attempt >= MAX_TRANSACTION_ATTEMPTS) {
       throw rocksDbException(e);
-    } finally {
-      l.unlock();
     }
   }
 
+  /**
+   * Returns the indexes of the given keys in the order of the keys. Transactions that write
+   * multiple keys acquire the row locks in this order, so that concurrent transactions cannot
+   * deadlock.
+   */
+  private static int[] lockOrder(List<byte[]> keys) {
+    return IntStream.range(0, keys.size())
+        .boxed()
+        .sorted((a, b) -> Arrays.compareUnsigned(keys.get(a), keys.get(b)))
+        .mapToInt(Integer::intValue)
+        .toArray();
+  }
+
   @Override
   public void erase() {
     backend.eraseRepositories(singleton(config().repositoryId()));
@@ -529,7 +651,73 @@ class RocksDBPersist implements Persist {
   @Nonnull
   @Override
   public CloseableIterator<Obj> scanAllObjects(@Nonnull Set<ObjType> returnedObjTypes) {
-    return new ScanAllObjectsIterator(returnedObjTypes::contains);
+    return scanAllObjects(returnedObjTypes, 1).get(0);
+  }
+
+  /**
+   * Partitions the scan by the first byte of the object IDs. All partitions read from the same
+   * RocksDB snapshot, so the union of all partitions is a consistent view of the repository's
+   * objects, even if objects are written concurrently.
+   */
+  @Override
+  @Nonnull
+  public List<CloseableIterator<Obj>> scanAllObjects(
+      @Nonnull Set<ObjType> returnedObjTypes, int partitions) {
+    checkArgument(partitions > 0, "partitions must be positive");
+    int num = Math.min(partitions, 256);
+
+    ScanSnapshot snapshot = new ScanSnapshot(backend.db());
+    List<CloseableIterator<Obj>> iterators = new ArrayList<>(num);
+    try {
+      for (int p = 0; p < num; p++) {
+        byte[] lower = p == 0 ? keyPrefix.toByteArray() : partitionKey(p * 256 / num);
+        byte[] upper = p == num - 1 ? keyPrefixUpperBound() : partitionKey((p + 1) * 256 / num);
+        iterators.add(
+            new ScanAllObjectsIterator(returnedObjTypes::contains, snapshot, lower, upper));
+      }
+    } catch (RuntimeException e) {
+      iterators.forEach(CloseableIterator::close);
+      throw e;
+    } finally {
+      snapshot.release();
+    }
+    return iterators;
+  }
+
+  private byte[] partitionKey(int firstObjIdByte) {
+    return dbKey(ByteString.copyFrom(new byte[] {(byte) firstObjIdByte}));
+  }
+
+  private byte[] keyPrefixUpperBound() {
+    // The key prefix ends with ':', so incrementing the last byte cannot overflow.
+    byte[] upper = keyPrefix.toByteArray();
+    upper[upper.length - 1]++;
+    return upper;
+  }
+
+  /**
+   * RocksDB snapshot shared by the iterators of a (partitioned) scan, released when the last
+   * iterator has been closed.
+   */
+  private static final class ScanSnapshot {
+    private final TransactionDB db;
+    private final Snapshot snapshot;
+    private int references = 1;
+
+    ScanSnapshot(TransactionDB db) {
+      this.db = db;
+      this.snapshot = db.getSnapshot();
+    }
+
+    synchronized void acquire() {
+      references++;
+    }
+
+    synchronized void release() {
+      if (--references == 0) {
+        db.releaseSnapshot(snapshot);
+      }
+    }
   }
 
   private class ScanAllObjectsIterator extends AbstractIterator<Obj>
@@ -537,59 +725,57 @@ class RocksDBPersist implements Persist {
 
     private final Predicate<ObjType> filter;
 
-    private final TransactionDB db;
-    private final ColumnFamilyHandle cf;
+    private final ScanSnapshot snapshot;
+    private final Slice lowerBound;
+    private final Slice upperBound;
+    private final ReadOptions readOptions;
     private final RocksIterator iter;
     private boolean first = true;
-    private byte[] lastKey;
+    private boolean closed;
 
-    ScanAllObjectsIterator(Predicate<ObjType> filter) {
+    ScanAllObjectsIterator(
+        Predicate<ObjType> filter, ScanSnapshot snapshot, byte[] lower, byte[] upper) {
       this.filter = filter;
-
-      RocksDBBackend b = backend;
-      db = b.db();
-      cf = b.objs();
-      iter = db.newIterator(b.objs());
-      iter.seekToFirst();
+      this.snapshot = snapshot;
+
+      lowerBound = new Slice(lower);
+      upperBound = new Slice(upper);
+      readOptions =
+          new ReadOptions()
+              .setSnapshot(snapshot.snapshot)
+              .setIterateLowerBound(lowerBound)
+              .setIterateUpperBound(upperBound)
+              // Do not evict the hot blocks of the serving path from the block cache.
+              .setFillCache(false);
+      snapshot.acquire();
+
+      iter = backend.db().newIterator(backend.objs(), readOptions);
+      iter.seek(lower);
     }
 
     @Override
     protected Obj computeNext() {
       while (true) {
-        if (!iter.isValid()) {
-          return endOfData();
-        }
-
         if (first) {
           first = false;
         } else {
           iter.next();
         }
 
-        byte[] k = iter.key();
-        if (lastKey != null && Arrays.equals(lastKey, k)) {
-          // RocksDB sometimes tends to return the same key twice
-          continue;
-        }
-        lastKey = k;
-
-        ByteString key = ByteString.copyFrom(k);
-        if (!key.startsWith(keyPrefix)) {
-          continue;
-        }
-
-        byte[] obj;
-        try {
-          obj = db.get(cf, k);
-        } catch (RocksDBException e) {
-          throw rocksDbException(e);
-        }
-        if (obj == null) {
-          continue;
+        if (!iter.isValid()) {
+          try {
+            iter.status();
+          } catch (RocksDBException e) {
+            throw rocksDbException(e);
+          }
+          return endOfData();
         }
 
-        ObjId id = deserializeObjId(key.substring(keyPrefix.size()));
-        Obj o = deserializeObj(id, obj, null);
+        byte[] k = iter.key();
+        ObjId id =
+            deserializeObjId(
+                ByteString.copyFrom(k, keyPrefix.size(), k.length - keyPrefix.size()));
+        Obj o = deserializeObj(id, iter.value(), null);
 
         if (filter.test(o.type())) {
           return o;
@@ -599,7 +785,15 @@ class RocksDBPersist implements Persist {
 
     @Override
     public void close() {
+      if (closed) {
+        return;
+      }
+      closed = true;
       iter.close();
+      readOptions.close();
+      lowerBound.close();
+      upperBound.close();
+      snapshot.release();
     }
   }
 }
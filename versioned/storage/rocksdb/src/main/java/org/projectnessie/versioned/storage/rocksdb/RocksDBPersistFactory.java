@@ -31,6 +31,6 @@ final class RocksDBPersistFactory implements PersistFactory {
   @Override
   @Nonnull
   public Persist newPersist(@Nonnull StoreConfig config) {
-    return new RocksDBPersist(backend, backend.repo(config), config);
+    return new RocksDBPersist(backend, config);
   }
 }
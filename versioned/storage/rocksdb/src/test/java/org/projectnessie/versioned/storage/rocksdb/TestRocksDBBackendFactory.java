@@ -17,6 +17,8 @@ package org.projectnessie.versioned.storage.rocksdb;
 
 import static org.projectnessie.versioned.storage.common.logic.Logics.repositoryLogic;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.nio.file.Path;
 import org.assertj.core.api.SoftAssertions;
 import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
@@ -78,6 +80,99 @@ public class TestRocksDBBackendFactory {
     }
   }
 
+  @Test
+  public void tunedOptions() throws Exception {
+    BackendFactory<RocksDBBackendConfig> factory =
+        PersistLoader.findFactoryByName(RocksDBBackendFactory.NAME);
+
+    RocksDBBackendConfig tuned =
+        RocksDBBackendConfig.builder()
+            .databasePath(rocksDir)
+            .blockCacheSize(8L * 1024L * 1024L)
+            .maxBackgroundJobs(2)
+            .rateLimitBytesPerSecond(64L * 1024L * 1024L)
+            .maxTotalWalSize(16L * 1024L * 1024L)
+            .lockTimeoutMillis(2_000L)
+            .references(
+                RocksDBColumnFamilyConfig.builder()
+                    .writeBufferSize(4L * 1024L * 1024L)
+                    .compression(RocksDBCompression.NONE)
+                    .bottommostCompression(RocksDBCompression.NONE)
+                    .build())
+            .objects(
+                RocksDBColumnFamilyConfig.builder()
+                    .bloomFilterBitsPerKey(0d)
+                    .compression(RocksDBCompression.SNAPPY)
+                    .build())
+            .build();
+
+    RepositoryDescription repoDesc;
+
+    try (Backend backend = factory.buildBackend(tuned)) {
+      backend.setupSchema();
+      Persist persist = backend.createFactory().newPersist(StoreConfig.Adjustable.empty());
+
+      RepositoryLogic repositoryLogic = repositoryLogic(persist);
+      repositoryLogic.initialize("tuned");
+      repoDesc = repositoryLogic.fetchRepositoryDescription();
+      soft.assertThat(repoDesc).isNotNull();
+    }
+
+    // Re-open the database with the default options
+    try (Backend backend =
+        factory.buildBackend(RocksDBBackendConfig.builder().databasePath(rocksDir).build())) {
+      backend.setupSchema();
+      Persist persist = backend.createFactory().newPersist(StoreConfig.Adjustable.empty());
+
+      soft.assertThat(repositoryLogic(persist).fetchRepositoryDescription()).isEqualTo(repoDesc);
+    }
+  }
+
+  @Test
+  public void metrics() throws Exception {
+    BackendFactory<RocksDBBackendConfig> factory =
+        PersistLoader.findFactoryByName(RocksDBBackendFactory.NAME);
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    try (Backend backend =
+        factory.buildBackend(
+            RocksDBBackendConfig.builder()
+                .databasePath(rocksDir)
+                .meterRegistry(meterRegistry)
+                .build())) {
+      backend.setupSchema();
+      Persist persist = backend.createFactory().newPersist(StoreConfig.Adjustable.empty());
+      repositoryLogic(persist).initialize("metrics");
+      soft.assertThat(repositoryLogic(persist).fetchRepositoryDescription()).isNotNull();
+
+      soft.assertThat(
+              meterRegistry
+                  .get(RocksDBMetrics.PREFIX + ".ticker")
+                  .tag(RocksDBMetrics.TAG_TICKER, "number_keys_written")
+                  .functionCounter()
+                  .count())
+          .isGreaterThan(0d);
+      soft.assertThat(
+              meterRegistry
+                  .get(RocksDBMetrics.PREFIX + ".histogram")
+                  .tag(RocksDBMetrics.TAG_HISTOGRAM, "db_get")
+                  .tag(RocksDBMetrics.TAG_STATISTIC, "p99")
+                  .gauge()
+                  .value())
+          .isNotNaN();
+      soft.assertThat(
+              meterRegistry
+                  .get(RocksDBMetrics.PREFIX + ".property")
+                  .tag(RocksDBMetrics.TAG_PROPERTY, "cur_size_all_mem_tables")
+                  .tag(RocksDBMetrics.TAG_COLUMN_FAMILY, RocksDBBackend.CF_OBJECTS)
+                  .gauge()
+                  .value())
+          .isGreaterThan(0d);
+    }
+
+    soft.assertThat(meterRegistry.find(RocksDBMetrics.PREFIX + ".ticker").meters()).isEmpty();
+  }
+
   @Test
   public void testFactory() throws Exception {
     RocksDBBackendTestFactory testFactory = new RocksDBBackendTestFactory();
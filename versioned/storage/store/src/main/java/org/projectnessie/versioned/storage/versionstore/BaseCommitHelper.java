@@ -19,6 +19,7 @@ import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.collect.Maps.newHashMapWithExpectedSize;
 import static java.lang.String.format;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
 import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.projectnessie.model.Conflict.conflict;
@@ -46,8 +47,10 @@ import static org.projectnessie.versioned.store.DefaultStoreWorker.payloadForCon
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
@@ -146,6 +149,10 @@ class BaseCommitHelper {
     return head != null ? head.id() : EMPTY_OBJ_ID;
   }
 
+  long headSeq() {
+    return head != null ? head.seq() : 0L;
+  }
+
   @FunctionalInterface
   interface CommitterSupplier<I> {
     I newCommitter(
@@ -204,6 +211,7 @@ class BaseCommitHelper {
     try {
       return commitRetry(
           persist,
+          branch.getName(),
           (p, retryState) -> {
             RefMapping refMapping = new RefMapping(p);
             Reference reference;
@@ -339,20 +347,31 @@ class BaseCommitHelper {
       return;
     }
 
+    // Namespaces for new-content-keys that have been added via the currently validated commit need
+    // no further checks.
     Set<ContentKey> namespaceKeys =
         newContent.keySet().stream()
             .filter(k -> k.getElementCount() > 1)
             .map(ContentKey::getParent)
+            .filter(k -> !(newContent.get(k) instanceof Namespace))
             .collect(Collectors.toSet());
+    if (namespaceKeys.isEmpty()) {
+      return;
+    }
 
+    // Load the index stripes for all namespace keys including their parents at once, instead of
+    // potentially loading one stripe per checked key.
+    Set<StoreKey> namespaceStoreKeys = new HashSet<>();
     for (ContentKey key : namespaceKeys) {
-      Content namespaceAddedInThisCommit = newContent.get(key);
-      if (namespaceAddedInThisCommit instanceof Namespace) {
-        // Namespace for the current new-content-key has been added via the currently validated
-        // commit. Nothing to do for `Namespace`s here.
-        continue;
+      for (ContentKey k = key; ; k = k.getParent()) {
+        if (!namespaceStoreKeys.add(keyToStoreKey(k)) || k.getElementCount() == 1) {
+          break;
+        }
       }
+    }
+    headIndex.loadIfNecessary(namespaceStoreKeys);
 
+    for (ContentKey key : namespaceKeys) {
       StoreIndexElement<CommitOp> ns = headIndex.get(keyToStoreKey(key));
       for (;
           ns == null || !ns.content().action().exists();
@@ -382,14 +401,31 @@ class BaseCommitHelper {
     }
   }
 
+  /**
+   * Verifies namespace policies for the operations in {@code inspectedCommit}.
+   *
+   * @param knownContents already loaded content values, content values not present in this map are
+   *     fetched using a single bulk request
+   */
   void verifyMergeTransplantCommitPolicies(
-      StoreIndex<CommitOp> headIndex, CommitObj inspectedCommit) throws ReferenceConflictException {
+      StoreIndex<CommitOp> headIndex,
+      CommitObj inspectedCommit,
+      Map<ObjId, Content> knownContents)
+      throws ReferenceConflictException {
 
-    Map<ContentKey, Content> checkContents = new HashMap<>();
+    Map<ContentKey, ObjId> checkContentIds = new HashMap<>();
     Object2IntHashMap<ContentKey> deletedKeysAndPayload = new Object2IntHashMap<>(-1);
 
     IndexesLogic indexesLogic = indexesLogic(persist);
-    for (StoreIndexElement<CommitOp> el : indexesLogic.commitOperations(inspectedCommit)) {
+    Iterable<StoreIndexElement<CommitOp>> commitOperations =
+        indexesLogic.commitOperations(inspectedCommit);
+
+    // Eagerly bulk-(pre)fetch the keys of the inspected commit
+    Set<StoreKey> opKeys = new HashSet<>();
+    commitOperations.forEach(el -> opKeys.add(el.key()));
+    headIndex.loadIfNecessary(opKeys);
+
+    for (StoreIndexElement<CommitOp> el : commitOperations) {
       StoreIndexElement<CommitOp> expected = headIndex.get(el.key());
       ObjId expectedId = null;
       if (expected != null) {
@@ -411,12 +447,7 @@ class BaseCommitHelper {
               contentKey != null,
               "Merge/transplant with non-content-object store-keys is not implemented.");
 
-          try {
-            Content content = new ContentMapping(persist).fetchContent(value);
-            checkContents.put(contentKey, content);
-          } catch (ObjNotFoundException e) {
-            throw new RuntimeException(e);
-          }
+          checkContentIds.put(contentKey, value);
         }
       } else {
         ContentKey contentKey = storeKeyToKey(el.key());
@@ -429,6 +460,30 @@ class BaseCommitHelper {
       }
     }
 
+    Map<ContentKey, Content> checkContents =
+        newHashMapWithExpectedSize(checkContentIds.size());
+    if (!checkContentIds.isEmpty()) {
+      List<ObjId> toFetch =
+          checkContentIds.values().stream()
+              .filter(id -> !knownContents.containsKey(id))
+              .collect(Collectors.toList());
+      Map<ObjId, Content> fetched;
+      try {
+        fetched =
+            toFetch.isEmpty() ? emptyMap() : new ContentMapping(persist).fetchContents(toFetch);
+      } catch (ObjNotFoundException e) {
+        throw new RuntimeException(e);
+      }
+      checkContentIds.forEach(
+          (contentKey, id) -> {
+            Content content = knownContents.get(id);
+            if (content == null) {
+              content = fetched.get(id);
+            }
+            checkContents.put(contentKey, content);
+          });
+    }
+
     validateNamespaces(checkContents, deletedKeysAndPayload, headIndex);
   }
 
@@ -611,7 +666,8 @@ class BaseCommitHelper {
     }
   }
 
-  void bumpReferencePointer(ObjId newHead, Optional<?> retryState) throws RetryException {
+  void bumpReferencePointer(ObjId newHead, long newHeadSeq, Optional<?> retryState)
+      throws RetryException {
     try {
       persist.updateReferencePointer(reference, newHead);
     } catch (RefConditionFailedException e) {
@@ -619,6 +675,18 @@ class BaseCommitHelper {
     } catch (RefNotFoundException e) {
       throw new RuntimeException("Internal reference not found", e);
     }
+
+    // Only commits with certain sequence numbers get a checkpoint, avoid any I/O for all others
+    long previousSeq = headSeq();
+    if (CommitCheckpoints.needsCheckpoints(previousSeq, newHeadSeq)) {
+      new CommitCheckpoints(persist).updateCheckpoints(previousSeq, newHead);
+    }
+    if (persist.config().referenceSummaries()) {
+      ReferenceSummaries.referenceUpdatedAsync(
+          persist, reference.name(), headId(), previousSeq, newHead, newHeadSeq);
+    }
+    new ReferenceHistoryLog(persist).appendAsync(reference.name(), reference.pointer(), newHead);
+    RefMapping.rememberHead(persist, reference.name(), newHead);
   }
 
   boolean recordKeyDetailsAndCheckConflicts(
@@ -636,6 +704,7 @@ class BaseCommitHelper {
       boolean isEmpty,
       ImmutableMergeResult.Builder<Commit> mergeResult,
       ObjId newHead,
+      long newHeadSeq,
       boolean dryRun,
       boolean hasConflicts)
       throws RetryException {
@@ -651,7 +720,7 @@ class BaseCommitHelper {
     mergeResult.resultantTargetHash(objIdToHash(newHead));
 
     if (!isEmpty) {
-      bumpReferencePointer(newHead, Optional.empty());
+      bumpReferencePointer(newHead, newHeadSeq, Optional.empty());
       mergeResult.wasApplied(true);
     }
 
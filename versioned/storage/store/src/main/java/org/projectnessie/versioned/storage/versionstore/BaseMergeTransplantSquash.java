@@ -15,6 +15,7 @@
  */
 package org.projectnessie.versioned.storage.versionstore;
 
+import static java.util.Collections.emptyMap;
 import static org.projectnessie.versioned.storage.common.logic.CreateCommit.newCommitBuilder;
 import static org.projectnessie.versioned.storage.common.logic.DiffQuery.diffQuery;
 import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
@@ -100,7 +101,7 @@ class BaseMergeTransplantSquash extends BaseCommitHelper {
 
     validateMergeTransplantCommit(createCommit, mergeTransplantOpBase.validator(), headIndex);
 
-    verifyMergeTransplantCommitPolicies(headIndex, mergeCommit);
+    verifyMergeTransplantCommitPolicies(headIndex, mergeCommit, emptyMap());
 
     mergeBehaviors.postValidate();
 
@@ -110,15 +111,18 @@ class BaseMergeTransplantSquash extends BaseCommitHelper {
     if (!indexesLogic.commitOperations(mergeCommit).iterator().hasNext()) {
       // The squashed commit is empty, i.e. it doesn't contain any operations: don't persist it.
       return finishMergeTransplant(
-          true, mergeResult, headId(), mergeTransplantOpBase.dryRun(), hasConflicts);
+          true, mergeResult, headId(), headSeq(), mergeTransplantOpBase.dryRun(), hasConflicts);
     }
 
     ObjId newHead;
+    long newHeadSeq;
     if (mergeTransplantOpBase.dryRun() || hasConflicts) {
       newHead = headId();
+      newHeadSeq = headSeq();
     } else {
       CommitLogic commitLogic = commitLogic(persist);
       newHead = mergeCommit.id();
+      newHeadSeq = mergeCommit.seq();
       boolean committed = commitLogic.storeCommit(mergeCommit, objsToStore);
       if (committed) {
         mergeResult.addCreatedCommits(commitObjToCommit(mergeCommit));
@@ -126,7 +130,7 @@ class BaseMergeTransplantSquash extends BaseCommitHelper {
     }
 
     return finishMergeTransplant(
-        false, mergeResult, newHead, mergeTransplantOpBase.dryRun(), hasConflicts);
+        false, mergeResult, newHead, newHeadSeq, mergeTransplantOpBase.dryRun(), hasConflicts);
   }
 
   private CreateCommit createSquashCommit(
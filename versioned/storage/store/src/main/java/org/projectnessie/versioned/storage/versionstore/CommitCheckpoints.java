@@ -0,0 +1,380 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.projectnessie.versioned.storage.common.logic.CommitLogQuery.commitLogQuery;
+import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitCheckpointObj.Skip.skip;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitCheckpointObj.commitCheckpointObjId;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
+import static org.projectnessie.versioned.storage.common.persist.PerPersist.perPersistCache;
+import static org.projectnessie.versioned.storage.versionstore.RefMapping.commitCreatedTimestamp;
+import static org.projectnessie.versioned.storage.versionstore.RefMapping.createdTimestampMatches;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Predicate;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
+import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
+import org.projectnessie.versioned.storage.common.logic.CommitLogic;
+import org.projectnessie.versioned.storage.common.logic.PagedResult;
+import org.projectnessie.versioned.storage.common.objtypes.CommitCheckpointObj;
+import org.projectnessie.versioned.storage.common.objtypes.CommitCheckpointObj.Skip;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.PerPersist;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Maintains and uses the sparse {@link CommitCheckpointObj checkpoints} of commit chains to resolve
+ * timestamp-relative and n-th-predecessor lookups with a bounded number of fetches.
+ *
+ * <p>Every commit whose {@link CommitObj#seq() sequence number} is a multiple of {@link
+ * #CHECKPOINT_INTERVAL} gets a checkpoint. Lookups fall back to walking the commit log for commit
+ * chains without checkpoints, for example for commits created before checkpoints were introduced,
+ * see {@link #backfill(ObjId)}.
+ */
+public final class CommitCheckpoints {
+  private static final Logger LOGGER = LoggerFactory.getLogger(CommitCheckpoints.class);
+
+  /** Commits whose sequence number is a multiple of this value get a checkpoint. */
+  public static final int CHECKPOINT_INTERVAL = 64;
+
+  /**
+   * Maximum number of remembered ancestor relations per {@link Persist}, the least recently used
+   * relations are forgotten when this number is exceeded.
+   */
+  static final int MAX_KNOWN_ANCESTORS = 10_000;
+
+  /**
+   * Known {@code (head, ancestor)} relations per {@link Persist}. Commit IDs are derived from the
+   * commit contents including the parents, so a relation, once observed, never changes.
+   */
+  private static final PerPersist<Cache<String, Boolean>> KNOWN_ANCESTORS =
+      perPersistCache(MAX_KNOWN_ANCESTORS);
+
+  private final Persist persist;
+  private final CommitLogic commitLogic;
+
+  public CommitCheckpoints(@Nonnull Persist persist) {
+    this.persist = persist;
+    this.commitLogic = commitLogic(persist);
+  }
+
+  /**
+   * Creates the missing checkpoints for the commits added to a reference that previously pointed to
+   * {@code previousHead} and now points to {@code newHead}.
+   *
+   * @see #updateCheckpoints(long, ObjId)
+   */
+  public void updateCheckpoints(@Nonnull ObjId previousHead, @Nonnull ObjId newHead) {
+    long previousSeq = 0L;
+    if (!EMPTY_OBJ_ID.equals(previousHead)) {
+      try {
+        CommitObj previous = commitLogic.fetchCommit(previousHead);
+        previousSeq = previous != null ? previous.seq() : 0L;
+      } catch (Exception e) {
+        LOGGER.warn("Failed to update commit checkpoints for commit {}", newHead, e);
+        return;
+      }
+    }
+    updateCheckpoints(previousSeq, newHead);
+  }
+
+  /**
+   * Creates the missing checkpoints for the commits added to a reference whose previous head had
+   * the sequence number {@code previousSeq} and that now points to {@code newHead}.
+   *
+   * <p>Callers on the commit path should check {@link #needsCheckpoints(long, long)} first, which
+   * does not require any I/O.
+   *
+   * <p>Failures are logged and do not fail the calling operation, because the checkpoints are only
+   * used to accelerate lookups.
+   */
+  public void updateCheckpoints(long previousSeq, @Nonnull ObjId newHead) {
+    try {
+      CommitObj head = commitLogic.fetchCommit(newHead);
+      if (head == null || !needsCheckpoints(previousSeq, head.seq())) {
+        return;
+      }
+
+      long firstSeq = firstCheckpointAfter(previousSeq);
+
+      // Oldest commit first, because each checkpoint is built from the previous one.
+      Deque<CommitObj> checkpointed = new ArrayDeque<>();
+      PagedResult<CommitObj, ObjId> log = commitLogic.commitLog(commitLogQuery(newHead));
+      while (log.hasNext()) {
+        CommitObj commit = log.next();
+        if (commit.seq() < firstSeq) {
+          break;
+        }
+        if (isCheckpointed(commit.seq())) {
+          checkpointed.addFirst(commit);
+        }
+      }
+
+      for (CommitObj commit : checkpointed) {
+        persist.storeObj(buildCheckpoint(commit));
+      }
+    } catch (Exception e) {
+      LOGGER.warn("Failed to update commit checkpoints for commit {}", newHead, e);
+    }
+  }
+
+  /**
+   * Creates or completes the checkpoints for all commits reachable via the direct parents of {@code
+   * head}.
+   *
+   * @return the number of created or updated checkpoints
+   */
+  public int backfill(@Nonnull ObjId head) throws ObjNotFoundException, ObjTooLargeException {
+    Deque<CommitObj> checkpointed = new ArrayDeque<>();
+    PagedResult<CommitObj, ObjId> log = commitLogic.commitLog(commitLogQuery(head));
+    while (log.hasNext()) {
+      CommitObj commit = log.next();
+      if (isCheckpointed(commit.seq())) {
+        checkpointed.addFirst(commit);
+      }
+    }
+
+    int updated = 0;
+    for (CommitObj commit : checkpointed) {
+      CommitCheckpointObj existing = fetchCheckpoint(commit.id(), commit.seq());
+      if (existing != null && existing.skips().size() == maxSkips(commit.seq())) {
+        continue;
+      }
+      persist.upsertObj(buildCheckpoint(commit));
+      updated++;
+    }
+    return updated;
+  }
+
+  /**
+   * Returns the first commit starting at and including {@code startCommit}, following the direct
+   * parents, whose timestamp is not after {@code timestamp}, or {@code null} if no such commit
+   * exists.
+   */
+  @Nullable
+  public CommitObj findWithSmallerTimestamp(
+      @Nonnull CommitObj startCommit, @Nonnull Instant timestamp) {
+    if (createdTimestampMatches(startCommit, timestamp)) {
+      return startCommit;
+    }
+
+    // A range of commits can be skipped, if all commits in that range are after 'timestamp'.
+    Predicate<Skip> canSkip = s -> microsToInstant(s.minCreated()).isAfter(timestamp);
+
+    ObjId next = startCommit.directParent();
+    while (!EMPTY_OBJ_ID.equals(next)) {
+      PagedResult<CommitObj, ObjId> log = commitLogic.commitLog(commitLogQuery(next));
+      next = EMPTY_OBJ_ID;
+      while (log.hasNext()) {
+        CommitObj commit = log.next();
+        if (createdTimestampMatches(commit, timestamp)) {
+          return commit;
+        }
+        if (isCheckpointed(commit.seq())) {
+          Skip skip = farthestSkip(commit.id(), commit.seq(), canSkip);
+          if (skip != null) {
+            next = skip.commitId();
+            break;
+          }
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the ID of the {@code nthPredecessor}-th commit following the direct parents of {@code
+   * startCommit}, or {@code null} if no such commit exists.
+   */
+  @Nullable
+  public ObjId findNthPredecessor(@Nonnull CommitObj startCommit, long nthPredecessor) {
+    if (nthPredecessor <= 0) {
+      return null;
+    }
+
+    long targetSeq = startCommit.seq() - nthPredecessor;
+    Predicate<Skip> canSkip = s -> s.seq() >= targetSeq;
+
+    ObjId next = startCommit.directParent();
+    long nextSeq = startCommit.seq() - 1;
+    while (!EMPTY_OBJ_ID.equals(next)) {
+      PagedResult<ObjId, ObjId> log = commitLogic.commitIdLog(commitLogQuery(next));
+      next = EMPTY_OBJ_ID;
+      for (long seq = nextSeq; log.hasNext(); seq--) {
+        ObjId id = log.next();
+        if (seq == targetSeq) {
+          return id;
+        }
+        if (isCheckpointed(seq)) {
+          Skip skip = farthestSkip(id, seq, canSkip);
+          if (skip != null) {
+            next = skip.commitId();
+            nextSeq = skip.seq();
+            break;
+          }
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns whether {@code ancestorId} has recently been found to be reachable from {@code
+   * headId}.
+   */
+  public boolean isKnownAncestor(@Nonnull ObjId headId, @Nonnull ObjId ancestorId) {
+    return KNOWN_ANCESTORS.get(persist).getIfPresent(ancestorKey(headId, ancestorId)) != null;
+  }
+
+  public void rememberAncestor(@Nonnull ObjId headId, @Nonnull ObjId ancestorId) {
+    KNOWN_ANCESTORS.get(persist).put(ancestorKey(headId, ancestorId), Boolean.TRUE);
+  }
+
+  private static String ancestorKey(ObjId headId, ObjId ancestorId) {
+    return headId + "/" + ancestorId;
+  }
+
+  @Nullable
+  private Skip farthestSkip(ObjId commitId, long seq, Predicate<Skip> canSkip) {
+    CommitCheckpointObj checkpoint = fetchCheckpoint(commitId, seq);
+    if (checkpoint == null) {
+      return null;
+    }
+    // The skips are ordered by distance, the covered ranges are nested.
+    Skip farthest = null;
+    for (Skip skip : checkpoint.skips()) {
+      if (!canSkip.test(skip)) {
+        break;
+      }
+      farthest = skip;
+    }
+    return farthest;
+  }
+
+  CommitCheckpointObj buildCheckpoint(CommitObj commit) throws ObjNotFoundException {
+    long seq = commit.seq();
+    long created = timestampMicros(commit);
+
+    CommitCheckpointObj.Builder checkpoint =
+        CommitCheckpointObj.builder()
+            .id(commitCheckpointObjId(commit.id()))
+            .commitId(commit.id())
+            .seq(seq)
+            .created(created);
+
+    // Collect the smallest timestamp of the commits down to the previous checkpointed commit.
+    long minCreated = created;
+    CommitObj previous = null;
+    PagedResult<CommitObj, ObjId> log =
+        commitLogic.commitLog(commitLogQuery(commit.directParent()));
+    while (log.hasNext()) {
+      CommitObj c = log.next();
+      if (c.seq() <= seq - CHECKPOINT_INTERVAL) {
+        previous = c.seq() == seq - CHECKPOINT_INTERVAL ? c : null;
+        break;
+      }
+      minCreated = Math.min(minCreated, timestampMicros(c));
+    }
+    if (previous == null) {
+      return checkpoint.build();
+    }
+
+    List<Skip> skips = new ArrayList<>();
+    skips.add(skip(previous.id(), previous.seq(), timestampMicros(previous), minCreated));
+
+    // The skip 2^i intervals back is the skip 2^(i-1) intervals back of the checkpoint 2^(i-1)
+    // intervals back.
+    for (int i = 1; ; i++) {
+      Skip last = skips.get(i - 1);
+      CommitCheckpointObj via = fetchCheckpoint(last.commitId(), last.seq());
+      if (via == null || via.skips().size() < i) {
+        break;
+      }
+      Skip next = via.skips().get(i - 1);
+      skips.add(
+          skip(
+              next.commitId(),
+              next.seq(),
+              next.created(),
+              Math.min(last.minCreated(), next.minCreated())));
+    }
+
+    return checkpoint.skips(skips).build();
+  }
+
+  @Nullable
+  CommitCheckpointObj fetchCheckpoint(ObjId commitId, long seq) {
+    try {
+      CommitCheckpointObj checkpoint =
+          persist.fetchTypedObj(
+              commitCheckpointObjId(commitId), CommitCheckpointObj.TYPE, CommitCheckpointObj.class);
+      return checkpoint.seq() == seq ? checkpoint : null;
+    } catch (ObjNotFoundException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Returns whether any commit with a sequence number in the range {@code (previousSeq, newSeq]}
+   * gets a checkpoint.
+   */
+  public static boolean needsCheckpoints(long previousSeq, long newSeq) {
+    return firstCheckpointAfter(previousSeq) <= newSeq;
+  }
+
+  private static long firstCheckpointAfter(long seq) {
+    return (seq / CHECKPOINT_INTERVAL + 1) * CHECKPOINT_INTERVAL;
+  }
+
+  static boolean isCheckpointed(long seq) {
+    return seq > 0L && seq % CHECKPOINT_INTERVAL == 0L;
+  }
+
+  /** The number of skips of a complete checkpoint for the given sequence number. */
+  static int maxSkips(long seq) {
+    int skips = 0;
+    for (long distance = CHECKPOINT_INTERVAL;
+        seq - distance >= CHECKPOINT_INTERVAL;
+        distance <<= 1) {
+      skips++;
+    }
+    return skips;
+  }
+
+  private static long timestampMicros(CommitObj commit) {
+    Instant instant = commitCreatedTimestamp(commit);
+    return SECONDS.toMicros(instant.getEpochSecond()) + NANOSECONDS.toMicros(instant.getNano());
+  }
+
+  private static Instant microsToInstant(long micros) {
+    return Instant.ofEpochSecond(
+        MICROSECONDS.toSeconds(micros), MICROSECONDS.toNanos(micros % SECONDS.toMicros(1)));
+  }
+}
@@ -194,7 +194,7 @@ class CommitImpl extends BaseCommitHelper {
           "Hash collision detected, a commit with the same parent commit, commit message, "
               + "headers/commit-metadata and operations already exists");
 
-      bumpReferencePointer(newHead.id(), Optional.of(commitRetryState));
+      bumpReferencePointer(newHead.id(), newHead.seq(), Optional.of(commitRetryState));
 
       commitRetryState.generatedContentIds.forEach(addedContents);
 
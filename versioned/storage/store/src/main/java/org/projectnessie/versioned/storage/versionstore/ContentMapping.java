@@ -29,6 +29,7 @@ import static org.projectnessie.versioned.storage.versionstore.TypeMapping.toCom
 import jakarta.annotation.Nonnull;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -69,6 +70,26 @@ public final class ContentMapping {
     return valueToContent(contentValue);
   }
 
+  /**
+   * Fetches the contents for the given content object IDs using a single bulk request. Duplicate
+   * IDs are fetched only once.
+   */
+  @Nonnull
+  public Map<ObjId, Content> fetchContents(@Nonnull Collection<ObjId> objIds)
+      throws ObjNotFoundException {
+    ObjId[] ids = new HashSet<>(objIds).toArray(new ObjId[0]);
+    Obj[] objs = persist.fetchObjs(ids);
+    Map<ObjId, Content> r = newHashMapWithExpectedSize(ids.length);
+    for (int i = 0; i < ids.length; i++) {
+      Obj obj = objs[i];
+      if (!(obj instanceof ContentValueObj)) {
+        throw new ObjNotFoundException(ids[i]);
+      }
+      r.put(ids[i], valueToContent((ContentValueObj) obj));
+    }
+    return r;
+  }
+
   @Nonnull
   public Map<ContentKey, Content> fetchContents(
       @Nonnull StoreIndex<CommitOp> index, @Nonnull Collection<ContentKey> keys)
@@ -15,13 +15,38 @@
  */
 package org.projectnessie.versioned.storage.versionstore;
 
+import static com.google.common.collect.Maps.newHashMapWithExpectedSize;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
+import static java.util.Objects.requireNonNull;
+import static org.projectnessie.versioned.storage.common.logic.Logics.indexesLogic;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.projectnessie.model.CommitMeta;
+import org.projectnessie.model.Content;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
+import org.projectnessie.versioned.storage.common.indexes.StoreIndexElement;
+import org.projectnessie.versioned.storage.common.logic.IndexesLogic;
 import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
 
 /** Source commits for merge and transplant operations. */
 final class MergeTransplantContext {
 
+  /**
+   * Maximum number of content objects held by {@link #sourceContents(Persist, CommitObj)}, unless a
+   * single source commit adds more content objects.
+   */
+  static final int PREFETCH_CONTENTS_LIMIT = 500;
+
   /** Source commits in chronological order, most recent commit last. */
   private final List<CommitObj> sourceCommits;
 
@@ -32,13 +57,30 @@ final class MergeTransplantContext {
   private final CommitMeta metadata;
   private final int numCommits;
 
+  private final int prefetchContentsLimit;
+
+  /** Content values added by the source commits in {@link #prefetchedCommits}. */
+  private Map<ObjId, Content> prefetchedContents = emptyMap();
+
+  private Set<ObjId> prefetchedCommits = emptySet();
+
   MergeTransplantContext(List<CommitObj> sourceCommits, CommitObj baseCommit, CommitMeta metadata) {
+    this(sourceCommits, baseCommit, metadata, PREFETCH_CONTENTS_LIMIT);
+  }
+
+  @VisibleForTesting
+  MergeTransplantContext(
+      List<CommitObj> sourceCommits,
+      CommitObj baseCommit,
+      CommitMeta metadata,
+      int prefetchContentsLimit) {
     this.sourceCommits = sourceCommits;
     this.baseCommit = baseCommit;
     int sourceCommitCount = sourceCommits.size();
     this.headCommit = sourceCommitCount > 0 ? sourceCommits.get(sourceCommitCount - 1) : null;
     this.metadata = metadata;
     this.numCommits = sourceCommits.size();
+    this.prefetchContentsLimit = prefetchContentsLimit;
   }
 
   MergeTransplantContext(CommitObj headCommit, CommitObj baseCommit, CommitMeta metadata) {
@@ -47,6 +89,7 @@ final class MergeTransplantContext {
     this.headCommit = headCommit;
     this.metadata = metadata;
     this.numCommits = 0;
+    this.prefetchContentsLimit = PREFETCH_CONTENTS_LIMIT;
   }
 
   List<CommitObj> sourceCommits() {
@@ -68,4 +111,66 @@ final class MergeTransplantContext {
   int numCommits() {
     return numCommits;
   }
+
+  /**
+   * Returns the content values added by {@code sourceCommit} and possibly by other source commits.
+   *
+   * <p>Content values are bulk-loaded for a window of consecutive {@link #sourceCommits() source
+   * commits}, starting at {@code sourceCommit}, that add up to {@link #PREFETCH_CONTENTS_LIMIT}
+   * content values. The content values of the previous window are released, so the memory needed
+   * by large transplants is bounded.
+   */
+  Map<ObjId, Content> sourceContents(Persist persist, CommitObj sourceCommit)
+      throws ObjNotFoundException {
+    if (!prefetchedCommits.contains(sourceCommit.id())) {
+      int index = sourceCommits != null ? sourceCommits.indexOf(sourceCommit) : -1;
+      if (index == -1) {
+        return emptyMap();
+      }
+      prefetchContents(persist, index);
+    }
+    return prefetchedContents;
+  }
+
+  private void prefetchContents(Persist persist, int fromIndex) throws ObjNotFoundException {
+    // Release the previous window before loading the next one
+    prefetchedContents = emptyMap();
+    prefetchedCommits = emptySet();
+
+    IndexesLogic indexesLogic = indexesLogic(persist);
+    Set<ObjId> commits = new HashSet<>();
+    Set<ObjId> ids = new LinkedHashSet<>();
+    for (int i = fromIndex; i < sourceCommits.size(); i++) {
+      CommitObj sourceCommit = sourceCommits.get(i);
+      List<ObjId> commitIds = new ArrayList<>();
+      for (StoreIndexElement<CommitOp> el : indexesLogic.commitOperations(sourceCommit)) {
+        CommitOp op = el.content();
+        if (op.action().exists()) {
+          commitIds.add(requireNonNull(op.value(), "Required value pointer is null"));
+        }
+      }
+      if (!commits.isEmpty() && ids.size() + commitIds.size() > prefetchContentsLimit) {
+        break;
+      }
+      commits.add(sourceCommit.id());
+      ids.addAll(commitIds);
+    }
+
+    ContentMapping contentMapping = new ContentMapping(persist);
+    Map<ObjId, Content> contents = newHashMapWithExpectedSize(ids.size());
+    List<ObjId> batch = new ArrayList<>(prefetchContentsLimit);
+    for (ObjId id : ids) {
+      batch.add(id);
+      if (batch.size() == prefetchContentsLimit) {
+        contents.putAll(contentMapping.fetchContents(batch));
+        batch.clear();
+      }
+    }
+    if (!batch.isEmpty()) {
+      contents.putAll(contentMapping.fetchContents(batch));
+    }
+
+    prefetchedContents = contents;
+    prefetchedCommits = commits;
+  }
 }
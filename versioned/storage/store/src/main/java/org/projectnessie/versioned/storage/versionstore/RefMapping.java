@@ -21,22 +21,25 @@ import static java.util.Arrays.asList;
 import static java.util.concurrent.TimeUnit.MICROSECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.projectnessie.model.Conflict.conflict;
-import static org.projectnessie.versioned.storage.common.logic.CommitLogQuery.commitLogQuery;
 import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
 import static org.projectnessie.versioned.storage.common.logic.Logics.referenceLogic;
 import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
+import static org.projectnessie.versioned.storage.common.persist.PerPersist.perPersistCache;
 import static org.projectnessie.versioned.storage.versionstore.TypeMapping.COMMIT_TIME;
 import static org.projectnessie.versioned.storage.versionstore.TypeMapping.hashToObjId;
 import static org.projectnessie.versioned.storage.versionstore.TypeMapping.headerValueToInstant;
 import static org.projectnessie.versioned.storage.versionstore.TypeMapping.objIdToHash;
 import static org.projectnessie.versioned.storage.versionstore.TypeMapping.storeKeyToKey;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import com.google.common.annotations.VisibleForTesting;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 import org.projectnessie.model.Conflict;
 import org.projectnessie.model.Conflict.ConflictType;
@@ -55,10 +58,11 @@ import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundExceptio
 import org.projectnessie.versioned.storage.common.exceptions.RefNotFoundException;
 import org.projectnessie.versioned.storage.common.logic.CommitConflict;
 import org.projectnessie.versioned.storage.common.logic.CommitLogic;
-import org.projectnessie.versioned.storage.common.logic.PagedResult;
 import org.projectnessie.versioned.storage.common.logic.ReferenceLogic;
 import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.PerPersist;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.common.persist.Reference;
 
@@ -73,6 +77,19 @@ public class RefMapping {
   public static final String REFS_HEADS = REFS + "heads/";
   public static final Hash NO_ANCESTOR = objIdToHash(EMPTY_OBJ_ID);
 
+  /**
+   * Maximum number of remembered reference HEADs per {@link Persist}, the least recently used HEADs
+   * are forgotten when this number is exceeded.
+   */
+  static final int MAX_KNOWN_HEADS = 10_000;
+
+  /**
+   * Recently observed HEADs of named references per {@link Persist}, used to speculatively fetch
+   * the HEAD commit while the reference is being resolved.
+   */
+  private static final PerPersist<Cache<String, ObjId>> KNOWN_HEADS =
+      perPersistCache(MAX_KNOWN_HEADS);
+
   private final Persist persist;
 
   public RefMapping(Persist persist) {
@@ -246,8 +263,61 @@ public class RefMapping {
     throw new IllegalArgumentException("Unsupported ref type, got " + ref);
   }
 
+  /**
+   * Resolves the HEAD commit of the given named reference.
+   *
+   * <p>If the HEAD of the reference has been observed before and its commit object is cached, or
+   * the database {@link Persist#supportsNativeAsync() supports asynchronous fetches natively}, the
+   * commit object is fetched concurrently to resolving the reference. If the reference still points
+   * to that commit, which is the common case for read operations, the reference and its HEAD commit
+   * are resolved within a single round trip. Otherwise the HEAD commit is fetched after resolving
+   * the reference.
+   *
+   * <p>Without native asynchronous support, a speculative fetch would occupy another thread and
+   * database connection for every read of a named reference, so no speculative fetch is issued.
+   */
   CommitObj resolveNamedRefHead(@Nonnull NamedRef namedRef) throws ReferenceNotFoundException {
-    return resolveNamedRefHead(resolveNamedRef(namedRef));
+    Cache<String, ObjId> knownHeads = KNOWN_HEADS.get(persist);
+    String refName = namedRefToRefName(namedRef);
+    ObjId knownHead = knownHeads.getIfPresent(refName);
+    CompletableFuture<Obj> speculativeHead = null;
+    if (knownHead != null) {
+      Obj cached = persist.getImmediate(knownHead);
+      if (cached != null) {
+        speculativeHead = CompletableFuture.completedFuture(cached);
+      } else if (persist.supportsNativeAsync()) {
+        speculativeHead = persist.fetchObjAsync(knownHead).toCompletableFuture();
+      }
+    }
+
+    Reference reference = resolveNamedRef(namedRef);
+
+    if (speculativeHead != null && reference.pointer().equals(knownHead)) {
+      try {
+        Obj head = speculativeHead.join();
+        if (head instanceof CommitObj) {
+          return (CommitObj) head;
+        }
+      } catch (CompletionException e) {
+        // Fall through and fetch the HEAD commit the regular way, which reports the failure.
+      }
+    }
+
+    CommitObj head = resolveNamedRefHead(reference);
+    if (head != null) {
+      knownHeads.put(refName, head.id());
+    }
+    return head;
+  }
+
+  /**
+   * Remembers {@code head} as the current HEAD of the reference {@code refName}, used after
+   * updating a reference's pointer.
+   */
+  static void rememberHead(@Nonnull Persist persist, @Nonnull String refName, @Nonnull ObjId head) {
+    if (!EMPTY_OBJ_ID.equals(head)) {
+      KNOWN_HEADS.get(persist).put(refName, head);
+    }
   }
 
   CommitObj resolveNamedRefHead(@Nonnull Reference reference) throws ReferenceNotFoundException {
@@ -317,6 +387,7 @@ public class RefMapping {
   CommitObj relativeSpec(CommitObj startCommit, List<RelativeCommitSpec> relativespecs)
       throws ReferenceNotFoundException {
     CommitLogic commitLogic = commitLogic(persist);
+    CommitCheckpoints checkpoints = new CommitCheckpoints(persist);
     for (RelativeCommitSpec spec : relativespecs) {
       if (startCommit == null) {
         break;
@@ -324,10 +395,11 @@ public class RefMapping {
 
       switch (spec.type()) {
         case TIMESTAMP_MILLIS_EPOCH:
-          startCommit = findWithSmallerTimestamp(startCommit, commitLogic, spec.instantValue());
+          startCommit = checkpoints.findWithSmallerTimestamp(startCommit, spec.instantValue());
           break;
         case N_TH_PREDECESSOR:
-          startCommit = findNthPredecessor(startCommit, commitLogic, (int) spec.longValue());
+          startCommit =
+              findNthPredecessor(startCommit, commitLogic, checkpoints, (int) spec.longValue());
           break;
         case N_TH_PARENT:
           startCommit = findNthParent(startCommit, commitLogic, (int) spec.longValue());
@@ -339,23 +411,6 @@ public class RefMapping {
     return startCommit;
   }
 
-  @Nullable
-  private static CommitObj findWithSmallerTimestamp(
-      CommitObj startCommit, CommitLogic commitLogic, Instant timestampMillisEpoch) {
-    if (createdTimestampMatches(startCommit, timestampMillisEpoch)) {
-      return startCommit;
-    }
-    PagedResult<CommitObj, ObjId> log =
-        commitLogic.commitLog(commitLogQuery(startCommit.directParent()));
-    while (log.hasNext()) {
-      CommitObj commit = log.next();
-      if (createdTimestampMatches(commit, timestampMillisEpoch)) {
-        return commit;
-      }
-    }
-    return null;
-  }
-
   @VisibleForTesting
   static boolean createdTimestampMatches(CommitObj commit, Instant timestampMillisEpoch) {
     Instant commitCreated = commitCreatedTimestamp(commit);
@@ -406,36 +461,65 @@ public class RefMapping {
 
   @Nullable
   private static CommitObj findNthPredecessor(
-      CommitObj startCommit, CommitLogic commitLogic, int nthPredecessor)
+      CommitObj startCommit,
+      CommitLogic commitLogic,
+      CommitCheckpoints checkpoints,
+      int nthPredecessor)
       throws ReferenceNotFoundException {
-    PagedResult<ObjId, ObjId> log =
-        commitLogic.commitIdLog(commitLogQuery(startCommit.directParent()));
-    while (log.hasNext()) {
-      ObjId id = log.next();
-      if (--nthPredecessor == 0) {
-        try {
-          return commitLogic.fetchCommit(id);
-        } catch (ObjNotFoundException e) {
-          throw referenceNotFound(e);
-        }
-      }
+    ObjId id = checkpoints.findNthPredecessor(startCommit, nthPredecessor);
+    if (id == null) {
+      return null;
+    }
+    try {
+      return commitLogic.fetchCommit(id);
+    } catch (ObjNotFoundException e) {
+      throw referenceNotFound(e);
     }
-    return null;
   }
 
+  /**
+   * Returns the commit {@code verifyId}, if it is reachable from {@code commitId} via direct
+   * parents, otherwise {@code null}.
+   *
+   * <p>Uses the {@link CommitObj#seq() sequence numbers} to determine the distance between both
+   * commits, so only the commit that many predecessors before {@code commitId} needs to be
+   * compared, which is resolved via {@link CommitCheckpoints}. Positive results are cached.
+   */
   public CommitObj commitInChain(ObjId commitId, ObjId verifyId) throws ReferenceNotFoundException {
     CommitLogic commitLogic = commitLogic(persist);
-    PagedResult<ObjId, ObjId> log = commitLogic.commitIdLog(commitLogQuery(commitId));
-    while (log.hasNext()) {
-      ObjId current = log.next();
-      if (verifyId.equals(current)) {
-        try {
-          return commitLogic.fetchCommit(current);
-        } catch (ObjNotFoundException e) {
-          throw referenceNotFound(e);
-        }
+    try {
+      if (commitId.equals(verifyId)) {
+        return commitLogic.fetchCommit(verifyId);
+      }
+      if (EMPTY_OBJ_ID.equals(commitId) || EMPTY_OBJ_ID.equals(verifyId)) {
+        return null;
+      }
+
+      CommitObj verify;
+      try {
+        verify = commitLogic.fetchCommit(verifyId);
+      } catch (ObjNotFoundException e) {
+        // Not an existing commit, so not in any commit chain
+        return null;
+      }
+
+      CommitCheckpoints checkpoints = new CommitCheckpoints(persist);
+      if (checkpoints.isKnownAncestor(commitId, verifyId)) {
+        return verify;
+      }
+
+      CommitObj head = commitLogic.fetchCommit(commitId);
+      if (head == null || verify == null || verify.seq() >= head.seq()) {
+        return null;
+      }
+      ObjId id = checkpoints.findNthPredecessor(head, head.seq() - verify.seq());
+      if (!verifyId.equals(id)) {
+        return null;
       }
+      checkpoints.rememberAncestor(commitId, verifyId);
+      return verify;
+    } catch (ObjNotFoundException e) {
+      throw referenceNotFound(e);
     }
-    return null;
   }
 }
@@ -0,0 +1,323 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.projectnessie.versioned.storage.common.logic.PagingToken.emptyPagingToken;
+import static org.projectnessie.versioned.storage.common.logic.PagingToken.pagingToken;
+import static org.projectnessie.versioned.storage.common.objtypes.ReferenceHistoryObj.Entry.entry;
+import static org.projectnessie.versioned.storage.common.objtypes.ReferenceHistoryObj.referenceHistoryHeadId;
+import static org.projectnessie.versioned.storage.common.objtypes.ReferenceHistoryObj.referenceHistorySegmentId;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+import static org.projectnessie.versioned.storage.common.persist.PerPersist.perPersist;
+
+import com.google.common.collect.AbstractIterator;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
+import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
+import org.projectnessie.versioned.storage.common.logic.PagedResult;
+import org.projectnessie.versioned.storage.common.logic.PagingToken;
+import org.projectnessie.versioned.storage.common.objtypes.ReferenceHistoryObj;
+import org.projectnessie.versioned.storage.common.objtypes.ReferenceHistoryObj.Entry;
+import org.projectnessie.versioned.storage.common.persist.AsyncPersistAdapter;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.PerPersist;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Maintains and reads the append-only {@link ReferenceHistoryObj history log} of the pointer
+ * changes of named references, see {@link
+ * org.projectnessie.versioned.storage.common.config.StoreConfig#referenceHistoryLog()}.
+ *
+ * <p>Appending an entry updates the head segment of the reference's log. When the head segment is
+ * full, its entries are first stored as an immutable segment. Reading a page of the log therefore
+ * needs at most two fetches, regardless of the position of the page in the log.
+ *
+ * <p>Asynchronous appends to the log of a reference are performed one after the other, in the order
+ * they were requested within this process. An entry whose {@link Entry#from()} does not match the
+ * {@link Entry#to()} of the previous entry is marked as a {@link Entry#gap() gap}, for example
+ * after an append failed or when concurrent pointer changes were appended out of order.
+ */
+public final class ReferenceHistoryLog {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ReferenceHistoryLog.class);
+
+  /** Number of entries per history log segment. */
+  public static final int SEGMENT_SIZE = 100;
+
+  /** Maximum number of attempts to append an entry to the head segment. */
+  static final int MAX_APPEND_ATTEMPTS = 10;
+
+  /** Maximum number of threads that perform asynchronous appends. */
+  static final int MAX_APPEND_THREADS = 4;
+
+  /**
+   * Maximum number of queued asynchronous appends. If the queue is full, entries are appended by
+   * the calling thread.
+   */
+  static final int MAX_QUEUED_APPENDS = 1024;
+
+  /**
+   * The most recent asynchronous append per {@link Persist} and reference. An entry is removed when
+   * its append has finished, unless a later append for the same reference replaced it.
+   */
+  private static final PerPersist<ConcurrentMap<String, CompletionStage<Entry>>> PENDING_APPENDS =
+      perPersist(persist -> new ConcurrentHashMap<>());
+
+  private static final class Holder {
+    static final Executor EXECUTOR =
+        AsyncPersistAdapter.newExecutor(
+            "nessie-reference-history-", MAX_APPEND_THREADS, MAX_QUEUED_APPENDS);
+  }
+
+  private final Persist persist;
+
+  public ReferenceHistoryLog(@Nonnull Persist persist) {
+    this.persist = persist;
+  }
+
+  /**
+   * Asynchronously appends an entry for the pointer change of {@code reference} from {@code from}
+   * to {@code to}, if {@link
+   * org.projectnessie.versioned.storage.common.config.StoreConfig#referenceHistoryLog() enabled}.
+   * The append starts after the previous asynchronous append for the same reference has finished.
+   * Failures are logged and never fail the reference update, the next entry is then marked as a
+   * {@link Entry#gap() gap}.
+   */
+  CompletionStage<Entry> appendAsync(
+      @Nonnull String reference, @Nonnull ObjId from, @Nonnull ObjId to) {
+    if (!persist.config().referenceHistoryLog()) {
+      return CompletableFuture.completedFuture(null);
+    }
+    long created = persist.config().currentTimeMicros();
+    ConcurrentMap<String, CompletionStage<Entry>> pending = PENDING_APPENDS.get(persist);
+    CompletableFuture<Entry> appended = new CompletableFuture<>();
+    CompletionStage<Entry> previous = pending.put(reference, appended);
+    CompletionStage<?> previousDone =
+        previous != null
+            ? previous.handle((entry, e) -> null)
+            : CompletableFuture.completedStage(null);
+    previousDone.thenRun(() -> submitAppend(appended, () -> append(reference, from, to, created)));
+    appended.whenComplete(
+        (entry, e) -> {
+          pending.remove(reference, appended);
+          if (e != null) {
+            LOGGER.warn(
+                "Failed to append to the history log of reference {}, "
+                    + "the next entry will be marked as a gap",
+                reference,
+                e);
+          }
+        });
+    return appended;
+  }
+
+  private static void submitAppend(CompletableFuture<Entry> appended, Callable<Entry> append) {
+    Runnable task =
+        () -> {
+          try {
+            appended.complete(append.call());
+          } catch (Throwable t) {
+            appended.completeExceptionally(t);
+          }
+        };
+    try {
+      Holder.EXECUTOR.execute(task);
+    } catch (RejectedExecutionException e) {
+      // All append threads are busy and the queue is full, append in the calling thread instead of
+      // losing the entry.
+      task.run();
+    }
+  }
+
+  /**
+   * Synchronously appends an entry for the pointer change of {@code reference} from {@code from} to
+   * {@code to}.
+   */
+  @Nonnull
+  Entry append(@Nonnull String reference, @Nonnull ObjId from, @Nonnull ObjId to, long created)
+      throws ObjTooLargeException {
+    ObjId headId = referenceHistoryHeadId(reference);
+    for (int attempt = 0; attempt < MAX_APPEND_ATTEMPTS; attempt++) {
+      ReferenceHistoryObj head = fetchSegment(headId);
+
+      if (head == null) {
+        Entry entry = entry(1L, from, to, created);
+        if (persist.storeObj(newSegment(headId, reference, singletonList(entry)))) {
+          return entry;
+        }
+        continue;
+      }
+
+      List<Entry> entries = head.entries();
+      Entry last = entries.get(entries.size() - 1);
+      long lastSeq = last.seq();
+      boolean gap = !last.to().equals(from);
+      if (gap) {
+        LOGGER.warn(
+            "History log of reference {} is missing the pointer changes from {} to {}",
+            reference,
+            last.to(),
+            from);
+      }
+      Entry entry = entry(lastSeq + 1, from, to, created, gap);
+
+      ReferenceHistoryObj updated;
+      if (lastSeq % SEGMENT_SIZE == 0) {
+        // The head segment is full, persist its entries as an immutable segment. Concurrent
+        // appends store the same segment.
+        persist.storeObj(
+            newSegment(
+                referenceHistorySegmentId(reference, segment(lastSeq)), reference, entries));
+        updated = newSegment(headId, reference, singletonList(entry));
+      } else {
+        updated =
+            ReferenceHistoryObj.builder()
+                .from(head)
+                .versionToken(newToken())
+                .addEntries(entry)
+                .build();
+      }
+
+      if (persist.updateConditional(head, updated)) {
+        return entry;
+      }
+    }
+    throw new IllegalStateException(
+        "Could not append to the history log of reference "
+            + reference
+            + " after "
+            + MAX_APPEND_ATTEMPTS
+            + " attempts");
+  }
+
+  /**
+   * Returns the entries of the history log of {@code reference}, the most recent entry first.
+   *
+   * @param pagingToken if not {@code null}, the returned entries start at the entry the token was
+   *     generated for via {@link PagedResult#tokenForKey(Object)} with the entry's {@link
+   *     Entry#seq()}.
+   */
+  @Nonnull
+  public PagedResult<Entry, Long> entries(
+      @Nonnull String reference, @Nullable PagingToken pagingToken) {
+    long start = Long.MAX_VALUE;
+    if (pagingToken != null && !pagingToken.isEmpty()) {
+      start = pagingToken.token().asReadOnlyByteBuffer().getLong();
+    }
+    return new EntriesIter(reference, start);
+  }
+
+  private final class EntriesIter extends AbstractIterator<Entry>
+      implements PagedResult<Entry, Long> {
+    private final String reference;
+    private long next;
+    private List<Entry> segment = emptyList();
+    private int position = -1;
+    private boolean headFetched;
+
+    EntriesIter(String reference, long next) {
+      this.reference = reference;
+      this.next = next;
+    }
+
+    @Override
+    protected Entry computeNext() {
+      while (true) {
+        if (position >= 0) {
+          Entry entry = segment.get(position--);
+          if (entry.seq() <= next) {
+            next = entry.seq() - 1;
+            return entry;
+          }
+          continue;
+        }
+
+        if (next <= 0L) {
+          return endOfData();
+        }
+
+        ReferenceHistoryObj obj;
+        if (!headFetched) {
+          headFetched = true;
+          obj = fetchSegment(referenceHistoryHeadId(reference));
+          if (obj != null && obj.entries().get(0).seq() > next) {
+            // Paging token refers to an older segment.
+            obj = fetchSegment(referenceHistorySegmentId(reference, segment(next)));
+          }
+        } else {
+          obj = fetchSegment(referenceHistorySegmentId(reference, segment(next)));
+        }
+        if (obj == null) {
+          return endOfData();
+        }
+
+        segment = obj.entries();
+        position = segment.size() - 1;
+      }
+    }
+
+    @Nonnull
+    @Override
+    public PagingToken tokenForKey(Long key) {
+      if (key == null) {
+        return emptyPagingToken();
+      }
+      ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+      buffer.putLong(0, key);
+      return pagingToken(ByteString.copyFrom(buffer));
+    }
+  }
+
+  private static long segment(long seq) {
+    return (seq - 1) / SEGMENT_SIZE;
+  }
+
+  private static String newToken() {
+    return randomObjId().toString();
+  }
+
+  private static ReferenceHistoryObj newSegment(ObjId id, String reference, List<Entry> entries) {
+    return ReferenceHistoryObj.builder()
+        .id(id)
+        .versionToken(newToken())
+        .reference(reference)
+        .entries(entries)
+        .build();
+  }
+
+  @Nullable
+  private ReferenceHistoryObj fetchSegment(ObjId id) {
+    try {
+      return persist.fetchTypedObj(id, ReferenceHistoryObj.TYPE, ReferenceHistoryObj.class);
+    } catch (ObjNotFoundException e) {
+      return null;
+    }
+  }
+}
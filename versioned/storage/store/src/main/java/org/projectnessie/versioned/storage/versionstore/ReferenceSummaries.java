@@ -0,0 +1,351 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
+import static org.projectnessie.versioned.storage.common.logic.Logics.repositoryLogic;
+import static org.projectnessie.versioned.storage.common.objtypes.ReferenceSummaryObj.referenceSummaryObjId;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+import static org.projectnessie.versioned.storage.common.persist.PerPersist.perPersist;
+import static org.projectnessie.versioned.storage.versionstore.RefMapping.REFS_HEADS;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
+import org.projectnessie.versioned.storage.common.logic.CommitLogic;
+import org.projectnessie.versioned.storage.common.logic.RepositoryDescription;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.objtypes.ImmutableReferenceSummaryObj;
+import org.projectnessie.versioned.storage.common.objtypes.ReferenceSummaryObj;
+import org.projectnessie.versioned.storage.common.persist.AsyncPersistAdapter;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.PerPersist;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.common.persist.Reference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Maintains and uses the materialized {@link ReferenceSummaryObj summaries} of named references
+ * relative to the default branch, see {@link
+ * org.projectnessie.versioned.storage.common.config.StoreConfig#referenceSummaries()}.
+ *
+ * <p>Summaries are written asynchronously after the HEAD of the summarized reference has been
+ * bumped, see {@link #referenceUpdatedAsync(Persist, String, ObjId, long, ObjId, long)}, so that
+ * commits do not wait for it. Reference listings only read
+ * summaries and never write them: a summary is used as is, if both HEADs are unchanged, and is
+ * adjusted in memory, if only the default branch advanced. Writing summaries is best-effort,
+ * failures are logged and never fail the calling operation.
+ */
+final class ReferenceSummaries {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ReferenceSummaries.class);
+
+  /**
+   * Duration for which the name of the default branch is cached per {@link Persist}, a changed
+   * default branch is picked up after this duration.
+   */
+  static final long BASE_REFERENCE_CACHE_NANOS = SECONDS.toNanos(30);
+
+  /** Maximum number of threads that update summaries. */
+  static final int MAX_UPDATE_THREADS = 2;
+
+  /**
+   * Maximum number of queued summary updates. If the queue is full, updates are skipped, the
+   * summary is then recomputed by the next update of the same reference.
+   */
+  static final int MAX_QUEUED_UPDATES = 1024;
+
+  /** The most recently fetched name of the reference summaries are maintained against. */
+  private static final PerPersist<AtomicReference<BaseReference>> BASE_REFERENCES =
+      perPersist(persist -> new AtomicReference<>());
+
+  private static final class Holder {
+    static final Executor EXECUTOR =
+        AsyncPersistAdapter.newExecutor(
+            "nessie-reference-summaries-", MAX_UPDATE_THREADS, MAX_QUEUED_UPDATES);
+  }
+
+  private static final class BaseReference {
+    final String name;
+    final long fetchedNanos;
+
+    BaseReference(String name, long fetchedNanos) {
+      this.name = name;
+      this.fetchedNanos = fetchedNanos;
+    }
+  }
+
+  private final Persist persist;
+  private final CommitLogic commitLogic;
+  private final String baseReference;
+  private final CommitObj baseHead;
+
+  ReferenceSummaries(
+      @Nonnull Persist persist, @Nonnull String baseReference, @Nonnull CommitObj baseHead) {
+    this.persist = persist;
+    this.commitLogic = commitLogic(persist);
+    this.baseReference = baseReference;
+    this.baseHead = baseHead;
+  }
+
+  /**
+   * Returns the name of the reference summaries are maintained against, which is the default
+   * branch, or {@code null} if the repository has no description. The name is cached for {@link
+   * #BASE_REFERENCE_CACHE_NANOS}.
+   */
+  @Nullable
+  static String summariesBaseReference(@Nonnull Persist persist) {
+    AtomicReference<BaseReference> cached = BASE_REFERENCES.get(persist);
+    BaseReference current = cached.get();
+    long now = System.nanoTime();
+    if (current != null && now - current.fetchedNanos < BASE_REFERENCE_CACHE_NANOS) {
+      return current.name;
+    }
+
+    RepositoryDescription desc = repositoryLogic(persist).fetchRepositoryDescription();
+    if (desc == null) {
+      return null;
+    }
+    String name = REFS_HEADS + desc.defaultBranchName();
+    cached.set(new BaseReference(name, now));
+    return name;
+  }
+
+  /**
+   * Asynchronously updates the stored summary of {@code reference}, see {@link
+   * #referenceUpdated(Persist, String, ObjId, long, ObjId, long)}.
+   */
+  static void referenceUpdatedAsync(
+      @Nonnull Persist persist,
+      @Nonnull String reference,
+      @Nonnull ObjId previousHead,
+      long previousSeq,
+      @Nonnull ObjId newHead,
+      long newSeq) {
+    try {
+      Holder.EXECUTOR.execute(
+          () -> referenceUpdated(persist, reference, previousHead, previousSeq, newHead, newSeq));
+    } catch (RejectedExecutionException e) {
+      LOGGER.debug("Skipping the update of the summary of reference {}", reference);
+    }
+  }
+
+  /**
+   * Updates the stored summary of {@code reference} after its HEAD has been bumped from {@code
+   * previousHead} to {@code newHead} by a commit, merge or transplant.
+   *
+   * <p>The commits added by these operations are new, so none of them is reachable from the base
+   * reference: the common ancestor does not change and only the number of commits ahead grows. The
+   * summary is only computed from the commit logs, if there is no stored summary or if it does not
+   * match {@code previousHead}, for example after the reference has been reassigned.
+   */
+  static void referenceUpdated(
+      @Nonnull Persist persist,
+      @Nonnull String reference,
+      @Nonnull ObjId previousHead,
+      long previousSeq,
+      @Nonnull ObjId newHead,
+      long newSeq) {
+    try {
+      String baseReference = summariesBaseReference(persist);
+      if (baseReference == null || baseReference.equals(reference)) {
+        return;
+      }
+
+      ReferenceSummaryObj stored;
+      try {
+        stored =
+            persist.fetchTypedObj(
+                referenceSummaryObjId(reference, baseReference),
+                ReferenceSummaryObj.TYPE,
+                ReferenceSummaryObj.class);
+      } catch (ObjNotFoundException e) {
+        stored = null;
+      }
+
+      ReferenceSummaryObj summary;
+      if (stored != null && stored.head().equals(previousHead)) {
+        summary =
+            ReferenceSummaryObj.builder()
+                .from(stored)
+                .versionToken(randomObjId().toString())
+                .head(newHead)
+                .seq(newSeq)
+                .commitsAhead(stored.commitsAhead() + (int) (newSeq - previousSeq))
+                .build();
+      } else {
+        CommitLogic commitLogic = commitLogic(persist);
+        Reference base = persist.fetchReference(baseReference);
+        CommitObj baseHead = base != null ? commitLogic.fetchCommit(base.pointer()) : null;
+        CommitObj head = commitLogic.fetchCommit(newHead);
+        if (baseHead == null || head == null) {
+          return;
+        }
+        summary =
+            new ReferenceSummaries(persist, baseReference, baseHead)
+                .computeSummary(reference, head);
+      }
+
+      if (stored == null) {
+        persist.storeObj(summary);
+      } else {
+        persist.updateConditional(stored, summary);
+      }
+    } catch (Exception e) {
+      LOGGER.warn("Failed to update the summary of reference {}", reference, e);
+    }
+  }
+
+  /**
+   * Fetches the stored summaries of the given references, elements of the returned array are {@code
+   * null} for references without a stored summary.
+   */
+  @Nonnull
+  ReferenceSummaryObj[] fetchSummaries(@Nonnull List<String> references) {
+    ObjId[] ids =
+        references.stream()
+            .map(reference -> referenceSummaryObjId(reference, baseReference))
+            .toArray(ObjId[]::new);
+
+    Obj[] objs;
+    try {
+      objs = persist.fetchObjs(ids);
+    } catch (ObjNotFoundException e) {
+      // Fetch again, without the summaries that do not exist yet.
+      Set<ObjId> missing = new HashSet<>(e.objIds());
+      for (int i = 0; i < ids.length; i++) {
+        if (missing.contains(ids[i])) {
+          ids[i] = null;
+        }
+      }
+      try {
+        objs = persist.fetchObjs(ids);
+      } catch (ObjNotFoundException ex) {
+        // Summaries deleted concurrently, recompute all.
+        objs = new Obj[ids.length];
+      }
+    }
+
+    ReferenceSummaryObj[] summaries = new ReferenceSummaryObj[objs.length];
+    for (int i = 0; i < objs.length; i++) {
+      if (objs[i] instanceof ReferenceSummaryObj) {
+        summaries[i] = (ReferenceSummaryObj) objs[i];
+      }
+    }
+    return summaries;
+  }
+
+  /**
+   * Returns the current summary of the reference {@code reference} with the HEAD commit {@code
+   * head}, derived from {@code stored} if possible, otherwise computed. Summaries are not stored.
+   */
+  @Nonnull
+  ReferenceSummaryObj summary(
+      @Nonnull String reference, @Nonnull CommitObj head, @Nullable ReferenceSummaryObj stored)
+      throws ObjNotFoundException {
+    if (stored != null && stored.head().equals(head.id())) {
+      if (stored.baseHead().equals(baseHead.id())) {
+        return stored;
+      }
+      ReferenceSummaryObj advanced = baseAdvanced(stored, head);
+      if (advanced != null) {
+        return advanced;
+      }
+    }
+    return computeSummary(reference, head);
+  }
+
+  /**
+   * Adjusts {@code stored} to the current HEAD of the base reference, if the base reference only
+   * advanced via direct parents and none of the new base commits is reachable from {@code head}.
+   * The common ancestor is then unchanged and the number of commits behind grows by the number of
+   * new base commits. Returns {@code null}, if the summary has to be computed.
+   */
+  @Nullable
+  private ReferenceSummaryObj baseAdvanced(ReferenceSummaryObj stored, CommitObj head) {
+    long delta = baseHead.seq() - stored.baseSeq();
+    if (delta <= 0L) {
+      return null;
+    }
+
+    CommitCheckpoints checkpoints = new CommitCheckpoints(persist);
+    if (!stored.baseHead().equals(checkpoints.findNthPredecessor(baseHead, delta))) {
+      return null;
+    }
+
+    // Commits in a chain of direct parents have consecutive sequence numbers, so two chains that
+    // share a commit also share all its predecessors. Comparing the commits with the sequence
+    // number of the oldest new base commit is therefore sufficient.
+    long firstNewSeq = stored.baseSeq() + 1L;
+    if (head.seq() >= firstNewSeq) {
+      ObjId baseAtSeq =
+          delta == 1L ? baseHead.id() : checkpoints.findNthPredecessor(baseHead, delta - 1L);
+      ObjId headAtSeq =
+          head.seq() == firstNewSeq
+              ? head.id()
+              : checkpoints.findNthPredecessor(head, head.seq() - firstNewSeq);
+      if (Objects.equals(baseAtSeq, headAtSeq)) {
+        return null;
+      }
+    }
+
+    return ReferenceSummaryObj.builder()
+        .from(stored)
+        .baseHead(baseHead.id())
+        .baseSeq(baseHead.seq())
+        .commitsBehind(stored.commitsBehind() + (int) delta)
+        .build();
+  }
+
+  @Nonnull
+  ReferenceSummaryObj computeSummary(@Nonnull String reference, @Nonnull CommitObj head)
+      throws ObjNotFoundException {
+    ImmutableReferenceSummaryObj.Builder summary =
+        ReferenceSummaryObj.builder()
+            .id(referenceSummaryObjId(reference, baseReference))
+            .versionToken(randomObjId().toString())
+            .reference(reference)
+            .baseReference(baseReference)
+            .head(head.id())
+            .seq(head.seq())
+            .baseHead(baseHead.id())
+            .baseSeq(baseHead.seq());
+
+    try {
+      ObjId commonAncestorId = commitLogic.findCommonAncestor(baseHead.id(), head.id());
+      long commonAncestorSeq = commitLogic.fetchCommit(commonAncestorId).seq();
+      summary
+          .commonAncestor(commonAncestorId)
+          .commitsAhead((int) (head.seq() - commonAncestorSeq))
+          .commitsBehind((int) (baseHead.seq() - commonAncestorSeq));
+    } catch (NoSuchElementException e) {
+      // no common ancestor
+      summary.commitsAhead((int) head.seq()).commitsBehind((int) baseHead.seq());
+    }
+
+    return summary.build();
+  }
+}
@@ -114,6 +114,7 @@ class RepositoryConfigBackend {
     try {
       return commitRetry(
           persist,
+          REPO_CONFIG_REF,
           (p, retryState) -> {
             Reference reference;
             try {
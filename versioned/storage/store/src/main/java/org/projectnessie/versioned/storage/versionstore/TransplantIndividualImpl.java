@@ -31,10 +31,13 @@ import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.projectnessie.model.CommitMeta;
+import org.projectnessie.model.Content;
 import org.projectnessie.model.ContentKey;
 import org.projectnessie.versioned.BranchName;
 import org.projectnessie.versioned.Commit;
@@ -50,6 +53,7 @@ import org.projectnessie.versioned.VersionStore.TransplantOp;
 import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
 import org.projectnessie.versioned.storage.common.indexes.StoreIndex;
 import org.projectnessie.versioned.storage.common.indexes.StoreIndexElement;
+import org.projectnessie.versioned.storage.common.indexes.StoreKey;
 import org.projectnessie.versioned.storage.common.logic.CommitLogic;
 import org.projectnessie.versioned.storage.common.logic.CommitRetry.RetryException;
 import org.projectnessie.versioned.storage.common.logic.CreateCommit;
@@ -90,6 +94,7 @@ final class TransplantIndividualImpl extends BaseCommitHelper implements Transpl
 
     CommitLogic commitLogic = commitLogic(persist);
     ObjId newHead = headId();
+    long newHeadSeq = headSeq();
     boolean empty = true;
     Map<ContentKey, MergeResult.KeyDetails> keyDetailsMap = new HashMap<>();
     for (CommitObj sourceCommit : mergeTransplantContext.sourceCommits()) {
@@ -99,7 +104,13 @@ final class TransplantIndividualImpl extends BaseCommitHelper implements Transpl
 
       validateMergeTransplantCommit(createCommit, transplantOp.validator(), targetParentIndex);
 
-      verifyMergeTransplantCommitPolicies(targetParentIndex, sourceCommit);
+      Map<ObjId, Content> sourceContents;
+      try {
+        sourceContents = mergeTransplantContext.sourceContents(persist, sourceCommit);
+      } catch (ObjNotFoundException e) {
+        throw referenceNotFound(e);
+      }
+      verifyMergeTransplantCommitPolicies(targetParentIndex, sourceCommit, sourceContents);
 
       List<Obj> objsToStore = new ArrayList<>();
       CommitObj newCommit =
@@ -114,6 +125,7 @@ final class TransplantIndividualImpl extends BaseCommitHelper implements Transpl
       empty = false;
       if (!transplantOp.dryRun()) {
         newHead = newCommit.id();
+        newHeadSeq = newCommit.seq();
         boolean committed = commitLogic.storeCommit(newCommit, objsToStore);
         if (committed) {
           mergeResult.addCreatedCommits(commitObjToCommit(newCommit));
@@ -126,7 +138,8 @@ final class TransplantIndividualImpl extends BaseCommitHelper implements Transpl
 
     boolean hasConflicts = recordKeyDetailsAndCheckConflicts(mergeResult, keyDetailsMap);
 
-    return finishMergeTransplant(empty, mergeResult, newHead, transplantOp.dryRun(), hasConflicts);
+    return finishMergeTransplant(
+        empty, mergeResult, newHead, newHeadSeq, transplantOp.dryRun(), hasConflicts);
   }
 
   private CreateCommit cloneCommit(
@@ -141,7 +154,15 @@ final class TransplantIndividualImpl extends BaseCommitHelper implements Transpl
     fromCommitMeta(updatedMeta, createCommitBuilder);
 
     IndexesLogic indexesLogic = indexesLogic(persist);
-    for (StoreIndexElement<CommitOp> el : indexesLogic.commitOperations(sourceCommit)) {
+    Iterable<StoreIndexElement<CommitOp>> commitOperations =
+        indexesLogic.commitOperations(sourceCommit);
+
+    // Eagerly bulk-(pre)fetch the keys of the source commit
+    Set<StoreKey> opKeys = new HashSet<>();
+    commitOperations.forEach(el -> opKeys.add(el.key()));
+    sourceParentIndex.loadIfNecessary(opKeys);
+
+    for (StoreIndexElement<CommitOp> el : commitOperations) {
       StoreIndexElement<CommitOp> expected = sourceParentIndex.get(el.key());
       ObjId expectedId = null;
       if (expected != null) {
@@ -23,6 +23,8 @@ import static java.util.Objects.requireNonNull;
 import static org.projectnessie.model.IdentifiedContentKey.identifiedContentKeyFromContent;
 import static org.projectnessie.nessie.relocated.protobuf.ByteString.copyFromUtf8;
 import static org.projectnessie.versioned.ContentResult.contentResult;
+import static org.projectnessie.versioned.ReferenceChangeResult.referenceChangeFailure;
+import static org.projectnessie.versioned.ReferenceChangeResult.referenceChangeSuccess;
 import static org.projectnessie.versioned.ReferenceHistory.ReferenceHistoryElement.referenceHistoryElement;
 import static org.projectnessie.versioned.storage.common.logic.CommitLogQuery.commitLogQuery;
 import static org.projectnessie.versioned.storage.common.logic.DiffQuery.diffQuery;
@@ -63,7 +65,10 @@ import static org.projectnessie.versioned.store.DefaultStoreWorker.contentTypeFo
 import com.google.common.collect.AbstractIterator;
 import jakarta.annotation.Nonnull;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -72,6 +77,11 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
@@ -110,6 +120,8 @@ import org.projectnessie.versioned.Operation;
 import org.projectnessie.versioned.Ref;
 import org.projectnessie.versioned.ReferenceAlreadyExistsException;
 import org.projectnessie.versioned.ReferenceAssignedResult;
+import org.projectnessie.versioned.ReferenceChange;
+import org.projectnessie.versioned.ReferenceChangeResult;
 import org.projectnessie.versioned.ReferenceConflictException;
 import org.projectnessie.versioned.ReferenceCreatedResult;
 import org.projectnessie.versioned.ReferenceDeletedResult;
@@ -126,11 +138,13 @@ import org.projectnessie.versioned.paging.PaginationIterator;
 import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
 import org.projectnessie.versioned.storage.common.exceptions.RefAlreadyExistsException;
 import org.projectnessie.versioned.storage.common.exceptions.RefConditionFailedException;
+import org.projectnessie.versioned.storage.common.exceptions.RefException;
 import org.projectnessie.versioned.storage.common.exceptions.RefNotFoundException;
 import org.projectnessie.versioned.storage.common.exceptions.RetryTimeoutException;
 import org.projectnessie.versioned.storage.common.indexes.StoreIndex;
 import org.projectnessie.versioned.storage.common.indexes.StoreIndexElement;
 import org.projectnessie.versioned.storage.common.indexes.StoreKey;
+import org.projectnessie.versioned.storage.common.logic.BulkReferenceResult;
 import org.projectnessie.versioned.storage.common.logic.CommitLogic;
 import org.projectnessie.versioned.storage.common.logic.ConsistencyLogic;
 import org.projectnessie.versioned.storage.common.logic.DiffEntry;
@@ -142,6 +156,9 @@ import org.projectnessie.versioned.storage.common.logic.ReferenceLogic;
 import org.projectnessie.versioned.storage.common.logic.RepositoryDescription;
 import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
 import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
+import org.projectnessie.versioned.storage.common.objtypes.ReferenceSummaryObj;
+import org.projectnessie.versioned.storage.common.persist.AsyncPersistAdapter;
+import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.common.persist.Reference;
@@ -150,6 +167,26 @@ import org.projectnessie.versioned.storage.versionstore.BaseCommitHelper.Committ
 public class VersionStoreImpl implements VersionStore {
 
   public static final int GET_KEYS_CONTENT_BATCH_SIZE = 50;
+  static final int NAMED_REFS_INITIAL_BATCH_SIZE = 10;
+  static final int NAMED_REFS_MAX_BATCH_SIZE = 100;
+
+  /**
+   * Maximum number of concurrent common-ancestor and ahead/behind computations of a single named
+   * references listing.
+   */
+  static final int NAMED_REFS_MAX_CONCURRENT_INFOS = 8;
+
+  /**
+   * Executor for the common-ancestor and ahead/behind computations of named references listings,
+   * which walk the commit logs and must neither exhaust nor wait for the shared executor of {@link
+   * AsyncPersistAdapter}.
+   */
+  private static final class NamedRefsExecutor {
+    static final Executor EXECUTOR =
+        AsyncPersistAdapter.newExecutor(
+            "nessie-named-refs-", AsyncPersistAdapter.MAX_THREADS, AsyncPersistAdapter.MAX_QUEUED);
+  }
+
   private final Persist persist;
 
   @SuppressWarnings("unused")
@@ -208,41 +245,169 @@ public class VersionStoreImpl implements VersionStore {
       throws ReferenceNotFoundException, ReferenceAlreadyExistsException {
     ReferenceLogic referenceLogic = referenceLogic(persist);
     try {
-      ObjId objId;
-      if (targetHash.isPresent()) {
-        Hash hash = targetHash.get();
-        objId = hashToObjId(hash);
+      ObjId objId = verifyCreateReference(referenceLogic, namedRef, targetHash);
+      Reference reference =
+          referenceLogic.createReference(namedRefToRefName(namedRef), objId, null);
+      return referenceCreatedResult(namedRef, reference);
+    } catch (RefAlreadyExistsException e) {
+      throw referenceAlreadyExists(namedRef);
+    } catch (RetryTimeoutException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Verifies that {@code targetHash}, if present, refers to an existing commit and that no tag with
+   * the same name as the branch being created (or a branch with the same name as the tag being
+   * created) exists.
+   *
+   * @return the pointer of the reference to create
+   */
+  private ObjId verifyCreateReference(
+      ReferenceLogic referenceLogic, NamedRef namedRef, Optional<Hash> targetHash)
+      throws ReferenceNotFoundException, ReferenceAlreadyExistsException {
+    ObjId objId;
+    if (targetHash.isPresent()) {
+      Hash hash = targetHash.get();
+      objId = hashToObjId(hash);
+      try {
         if (!hash.equals(RefMapping.NO_ANCESTOR) && persist.fetchObjType(objId) != COMMIT) {
           throw RefMapping.hashNotFound(hash);
         }
-      } else {
-        objId = EMPTY_OBJ_ID;
+      } catch (ObjNotFoundException e) {
+        throw referenceNotFound(e);
       }
+    } else {
+      objId = EMPTY_OBJ_ID;
+    }
+
+    String mustNotExist =
+        namedRef instanceof TagName
+            ? asBranchName(namedRef.getName())
+            : asTagName(namedRef.getName());
+    try {
+      referenceLogic.getReference(mustNotExist);
+      // A tag with the same name as the branch being created (or a branch with the same name
+      // as the tag being created) already exists.
+      throw referenceAlreadyExists(namedRef);
+    } catch (RefNotFoundException good) {
+      return objId;
+    }
+  }
 
-      String mustNotExist =
-          namedRef instanceof TagName
-              ? asBranchName(namedRef.getName())
-              : asTagName(namedRef.getName());
+  private static ReferenceCreatedResult referenceCreatedResult(
+      NamedRef namedRef, Reference reference) {
+    return ImmutableReferenceCreatedResult.builder()
+        .namedRef(namedRef)
+        .hash(objIdToHash(reference.pointer()))
+        .build();
+  }
+
+  /**
+   * Applies the changes like {@link VersionStore#changeReferences(List)}, but records the creation
+   * of all references and the deletion of all references using one commit each to the internal
+   * references-log.
+   */
+  @Override
+  public List<ReferenceChangeResult> changeReferences(List<ReferenceChange> changes) {
+    Set<String> names = new HashSet<>();
+    for (ReferenceChange change : changes) {
+      String name = change.getNamedRef().getName();
+      checkArgument(names.add(name), "Duplicate reference name '%s'", name);
+    }
+
+    ReferenceLogic referenceLogic = referenceLogic(persist);
+    ReferenceChangeResult[] results = new ReferenceChangeResult[changes.size()];
+    List<Reference> toCreate = new ArrayList<>();
+    List<Integer> createIndexes = new ArrayList<>();
+    List<Reference> toDelete = new ArrayList<>();
+    List<Integer> deleteIndexes = new ArrayList<>();
+
+    for (int i = 0; i < results.length; i++) {
+      ReferenceChange change = changes.get(i);
+      NamedRef namedRef = change.getNamedRef();
+      String refName = namedRefToRefName(namedRef);
       try {
-        referenceLogic.getReference(mustNotExist);
-        // A tag with the same name as the branch being created (or a branch with the same name
-        // as the tag being created) already exists.
-        throw referenceAlreadyExists(namedRef);
-      } catch (RefNotFoundException good) {
-        Reference reference =
-            referenceLogic.createReference(namedRefToRefName(namedRef), objId, null);
-        return ImmutableReferenceCreatedResult.builder()
-            .namedRef(namedRef)
-            .hash(objIdToHash(reference.pointer()))
-            .build();
+        switch (change.getKind()) {
+          case CREATE:
+            ObjId pointer = verifyCreateReference(referenceLogic, namedRef, change.getTargetHash());
+            toCreate.add(reference(refName, pointer, false, 0L, null));
+            createIndexes.add(i);
+            break;
+          case ASSIGN:
+            results[i] =
+                referenceChangeSuccess(
+                    change,
+                    assign(
+                        namedRef,
+                        change.getExpectedHash().orElseThrow(IllegalStateException::new),
+                        change.getTargetHash().orElseThrow(IllegalStateException::new)));
+            break;
+          case DELETE:
+            ObjId expected =
+                hashToObjId(change.getExpectedHash().orElseThrow(IllegalStateException::new));
+            toDelete.add(reference(refName, expected, false, 0L, null));
+            deleteIndexes.add(i);
+            break;
+          default:
+            throw new IllegalStateException("Unknown kind " + change.getKind());
+        }
+      } catch (ReferenceNotFoundException
+          | ReferenceAlreadyExistsException
+          | ReferenceConflictException e) {
+        results[i] = referenceChangeFailure(change, e);
+      }
+    }
+
+    try {
+      if (!toCreate.isEmpty()) {
+        List<BulkReferenceResult> created = referenceLogic.createReferences(toCreate);
+        for (int i = 0; i < created.size(); i++) {
+          int index = createIndexes.get(i);
+          ReferenceChange change = changes.get(index);
+          BulkReferenceResult result = created.get(i);
+          results[index] =
+              result.isSuccess()
+                  ? referenceChangeSuccess(
+                      change,
+                      referenceCreatedResult(change.getNamedRef(), result.reference().get()))
+                  : referenceChangeFailure(change, referenceAlreadyExists(change.getNamedRef()));
+        }
+      }
+
+      if (!toDelete.isEmpty()) {
+        List<BulkReferenceResult> deleted = referenceLogic.deleteReferences(toDelete);
+        for (int i = 0; i < deleted.size(); i++) {
+          int index = deleteIndexes.get(i);
+          ReferenceChange change = changes.get(index);
+          NamedRef namedRef = change.getNamedRef();
+          Hash expected = objIdToHash(toDelete.get(i).pointer());
+          BulkReferenceResult result = deleted.get(i);
+          if (result.isSuccess()) {
+            results[index] =
+                referenceChangeSuccess(
+                    change,
+                    ImmutableReferenceDeletedResult.builder()
+                        .namedRef(namedRef)
+                        .hash(expected)
+                        .build());
+          } else {
+            RefException failure = result.failure().get();
+            Reference current = failure.reference();
+            results[index] =
+                referenceChangeFailure(
+                    change,
+                    failure instanceof RefConditionFailedException && current != null
+                        ? referenceConflictException(namedRef, expected, current.pointer())
+                        : referenceNotFound(namedRef));
+          }
+        }
       }
-    } catch (RefAlreadyExistsException e) {
-      throw referenceAlreadyExists(namedRef);
-    } catch (ObjNotFoundException e) {
-      throw referenceNotFound(e);
     } catch (RetryTimeoutException e) {
       throw new RuntimeException(e);
     }
+
+    return Arrays.asList(results);
   }
 
   @Override
@@ -288,6 +453,8 @@ public class VersionStoreImpl implements VersionStore {
       }
 
       referenceLogic.assignReference(expected, newPointer);
+      new ReferenceHistoryLog(persist).appendAsync(expected.name(), expected.pointer(), newPointer);
+      RefMapping.rememberHead(persist, expected.name(), newPointer);
       return ImmutableReferenceAssignedResult.builder()
           .namedRef(namedRef)
           .previousHash(objIdToHash(expected.pointer()))
@@ -485,7 +652,7 @@ public class VersionStoreImpl implements VersionStore {
 
     CommitLogic commitLogic = commitLogic(persist);
     try {
-      return buildReferenceInfo(params, baseRefHead, commitLogic, namedRef, head);
+      return buildReferenceInfo(params, baseRefHead, commitLogic, namedRef, head, null, null);
     } catch (ObjNotFoundException e) {
       throw referenceNotFound(e);
     }
@@ -532,22 +699,142 @@ public class VersionStoreImpl implements VersionStore {
 
     CommitLogic commitLogic = commitLogic(persist);
 
-    return new FilteringPaginationIterator<>(
-        result,
-        reference -> {
-          try {
-            NamedRef namedRef = referenceToNamedRef(reference);
-            CommitObj head = commitLogic(persist).headCommit(reference);
-            return buildReferenceInfo(params, baseRefHead, commitLogic, namedRef, head);
-          } catch (ReferenceNotFoundException | ObjNotFoundException e) {
-            throw new RuntimeException("Could not resolve reference " + reference, e);
+    // Common-ancestor and ahead/behind computations are rather expensive, run those concurrently
+    // for all references of a batch.
+    boolean concurrent =
+        baseRefHead.isPresent()
+            && (params.getBranchRetrieveOptions().isComputeAheadBehind()
+                || params.getBranchRetrieveOptions().isComputeCommonAncestor()
+                || params.getTagRetrieveOptions().isComputeAheadBehind()
+                || params.getTagRetrieveOptions().isComputeCommonAncestor());
+
+    // Materialized summaries replace the common-ancestor and ahead/behind computations for
+    // references whose HEAD did not change, if enabled. Summaries are maintained against the
+    // default branch only.
+    String baseRefName = concurrent ? namedRefToRefName(params.getBaseReference()) : null;
+    ReferenceSummaries summaries =
+        concurrent
+                && persist.config().referenceSummaries()
+                && baseRefName.equals(ReferenceSummaries.summariesBaseReference(persist))
+            ? new ReferenceSummaries(persist, baseRefName, baseRefHead.get())
+            : null;
+
+    // "Batching" iterator, fetches the head commits for a batch of references using a single bulk
+    // request. The batch size grows, so that small pages do not need to resolve many references
+    // that are not returned.
+    Iterator<ReferenceWithInfo> withInfo =
+        new AbstractIterator<>() {
+          int batchSize = NAMED_REFS_INITIAL_BATCH_SIZE;
+          final Semaphore inFlight = new Semaphore(NAMED_REFS_MAX_CONCURRENT_INFOS);
+
+          Iterator<ReferenceWithInfo> current;
+
+          @CheckForNull
+          @Override
+          protected ReferenceWithInfo computeNext() {
+            Iterator<ReferenceWithInfo> c = current;
+            if (c != null && c.hasNext()) {
+              return c.next();
+            }
+
+            List<Reference> batch = new ArrayList<>(batchSize);
+            for (int i = 0; i < batchSize && result.hasNext(); i++) {
+              batch.add(result.next());
+            }
+            if (batch.isEmpty()) {
+              current = null;
+              return endOfData();
+            }
+            batchSize = Math.min(batchSize * 2, NAMED_REFS_MAX_BATCH_SIZE);
+
+            CommitObj[] heads = fetchHeadCommits(batch);
+            ReferenceSummaryObj[] stored =
+                summaries != null
+                    ? summaries.fetchSummaries(
+                        batch.stream().map(Reference::name).collect(Collectors.toList()))
+                    : new ReferenceSummaryObj[batch.size()];
+
+            List<ReferenceWithInfo> infos = new ArrayList<>(batch.size());
+            if (concurrent) {
+              List<CompletableFuture<ReferenceInfo<CommitMeta>>> futures =
+                  new ArrayList<>(batch.size());
+              for (int i = 0; i < heads.length; i++) {
+                Reference reference = batch.get(i);
+                CommitObj head = heads[i];
+                ReferenceSummaryObj summary = stored[i];
+                // Limit the number of concurrent computations per listing, so that a single
+                // listing cannot occupy all threads of the executor.
+                inFlight.acquireUninterruptibly();
+                futures.add(
+                    AsyncPersistAdapter.supplyAsync(
+                            NamedRefsExecutor.EXECUTOR,
+                            () ->
+                                referenceInfo(
+                                    params,
+                                    baseRefHead,
+                                    commitLogic,
+                                    reference,
+                                    head,
+                                    summaries,
+                                    summary))
+                        .whenComplete((info, e) -> inFlight.release())
+                        .toCompletableFuture());
+              }
+              for (int i = 0; i < heads.length; i++) {
+                Reference reference = batch.get(i);
+                try {
+                  infos.add(new ReferenceWithInfo(reference, futures.get(i).join()));
+                } catch (CompletionException e) {
+                  Throwable cause = e.getCause();
+                  if (cause instanceof RejectedExecutionException) {
+                    // The executor is saturated, this listing is synchronous anyway
+                    infos.add(
+                        new ReferenceWithInfo(
+                            reference,
+                            referenceInfo(
+                                params,
+                                baseRefHead,
+                                commitLogic,
+                                reference,
+                                heads[i],
+                                summaries,
+                                stored[i])));
+                    continue;
+                  }
+                  if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                  }
+                  throw new RuntimeException("Could not resolve reference " + reference, cause);
+                }
+              }
+            } else {
+              for (int i = 0; i < heads.length; i++) {
+                Reference reference = batch.get(i);
+                infos.add(
+                    new ReferenceWithInfo(
+                        reference,
+                        referenceInfo(
+                            params,
+                            baseRefHead,
+                            commitLogic,
+                            reference,
+                            heads[i],
+                            summaries,
+                            stored[i])));
+              }
+            }
+
+            current = infos.iterator();
+            return current.next();
           }
-        }) {
+        };
+
+    return new FilteringPaginationIterator<>(withInfo, r -> r.info) {
 
       @Override
       protected String computeTokenForCurrent() {
-        Reference c = current();
-        return c != null ? tokenFor(c.name()) : null;
+        ReferenceWithInfo c = current();
+        return c != null ? tokenFor(c.reference.name()) : null;
       }
 
       @Override
@@ -561,12 +848,78 @@ public class VersionStoreImpl implements VersionStore {
     };
   }
 
+  /**
+   * Fetches the head commits of the given references using a single bulk request, the elements of
+   * the returned array correspond to the elements in {@code references}.
+   */
+  private CommitObj[] fetchHeadCommits(List<Reference> references) {
+    Map<ObjId, Integer> indexes = new HashMap<>();
+    List<ObjId> ids = new ArrayList<>(references.size());
+    for (Reference reference : references) {
+      ObjId pointer = reference.pointer();
+      if (!EMPTY_OBJ_ID.equals(pointer) && !indexes.containsKey(pointer)) {
+        indexes.put(pointer, ids.size());
+        ids.add(pointer);
+      }
+    }
+
+    Obj[] objs;
+    try {
+      objs = persist.fetchObjs(ids.toArray(new ObjId[0]));
+    } catch (ObjNotFoundException e) {
+      throw new RuntimeException("Could not resolve references " + references, e);
+    }
+
+    CommitObj[] heads = new CommitObj[references.size()];
+    for (int i = 0; i < heads.length; i++) {
+      Integer index = indexes.get(references.get(i).pointer());
+      if (index != null) {
+        Obj obj = objs[index];
+        if (!(obj instanceof CommitObj)) {
+          throw new RuntimeException(
+              "Could not resolve reference " + references.get(i) + ", head is not a commit");
+        }
+        heads[i] = (CommitObj) obj;
+      }
+    }
+    return heads;
+  }
+
+  private ReferenceInfo<CommitMeta> referenceInfo(
+      GetNamedRefsParams params,
+      Optional<CommitObj> baseRefHead,
+      CommitLogic commitLogic,
+      Reference reference,
+      CommitObj head,
+      ReferenceSummaries summaries,
+      ReferenceSummaryObj storedSummary) {
+    try {
+      NamedRef namedRef = referenceToNamedRef(reference);
+      return buildReferenceInfo(
+          params, baseRefHead, commitLogic, namedRef, head, summaries, storedSummary);
+    } catch (ReferenceNotFoundException | ObjNotFoundException e) {
+      throw new RuntimeException("Could not resolve reference " + reference, e);
+    }
+  }
+
+  static final class ReferenceWithInfo {
+    final Reference reference;
+    final ReferenceInfo<CommitMeta> info;
+
+    ReferenceWithInfo(Reference reference, ReferenceInfo<CommitMeta> info) {
+      this.reference = reference;
+      this.info = info;
+    }
+  }
+
   private ReferenceInfo<CommitMeta> buildReferenceInfo(
       GetNamedRefsParams params,
       Optional<CommitObj> baseRefHead,
       CommitLogic commitLogic,
       NamedRef namedRef,
-      CommitObj head)
+      CommitObj head,
+      ReferenceSummaries summaries,
+      ReferenceSummaryObj storedSummary)
       throws ObjNotFoundException, ReferenceNotFoundException {
     ImmutableReferenceInfo.Builder<CommitMeta> refInfo =
         ReferenceInfo.<CommitMeta>builder().namedRef(namedRef);
@@ -587,7 +940,17 @@ public class VersionStoreImpl implements VersionStore {
 
       if (!namedRef.equals(params.getBaseReference())
           && (opts.isComputeAheadBehind() || opts.isComputeCommonAncestor())) {
-        if (baseRefHead.isPresent()) {
+        if (summaries != null) {
+          ReferenceSummaryObj summary =
+              summaries.summary(namedRefToRefName(namedRef), head, storedSummary);
+          ObjId commonAncestorId = summary.commonAncestor();
+          refInfo.commonAncestor(
+              commonAncestorId != null ? objIdToHash(commonAncestorId) : NO_ANCESTOR);
+          if (opts.isComputeAheadBehind()) {
+            refInfo.aheadBehind(
+                CommitsAheadBehind.of(summary.commitsAhead(), summary.commitsBehind()));
+          }
+        } else if (baseRefHead.isPresent()) {
           CommitObj baseHead = baseRefHead.get();
           try {
             ObjId commonAncestorId = commitLogic.findCommonAncestor(baseHead.id(), head.id());
@@ -1122,17 +1485,93 @@ public class VersionStoreImpl implements VersionStore {
       stopPredicate = x -> false;
     }
 
+    // "Base" iterator, which filters the diff entries using the key restrictions.
+    Iterator<DiffEntry> filtered =
+        new AbstractIterator<>() {
+          @CheckForNull
+          @Override
+          protected DiffEntry computeNext() {
+            while (true) {
+              if (!diffIter.hasNext()) {
+                return endOfData();
+              }
+
+              DiffEntry d = diffIter.next();
+
+              if (stopPredicate.test(d)) {
+                return endOfData();
+              }
+              if (keyPred.test(d)) {
+                return d;
+              }
+            }
+          }
+        };
+
+    // "Fetch content" iterator, fetches the contents for a batch of diff entries using a single
+    // bulk request.
+    int batchSize = Math.max(persist.config().diffContentBatchSize(), 1);
+    Iterator<DiffEntryWithContents> fetchContent =
+        new AbstractIterator<>() {
+          final List<DiffEntry> batch = new ArrayList<>(batchSize);
+
+          Iterator<DiffEntryWithContents> current;
+
+          @CheckForNull
+          @Override
+          protected DiffEntryWithContents computeNext() {
+            Iterator<DiffEntryWithContents> c = current;
+            if (c != null && c.hasNext()) {
+              return c.next();
+            }
+
+            for (int i = 0; i < batchSize; i++) {
+              if (!filtered.hasNext()) {
+                break;
+              }
+              batch.add(filtered.next());
+            }
+
+            if (batch.isEmpty()) {
+              current = null;
+              return endOfData();
+            }
+
+            List<ObjId> ids = new ArrayList<>(batch.size() * 2);
+            for (DiffEntry d : batch) {
+              if (d.fromId() != null) {
+                ids.add(d.fromId());
+              }
+              if (d.toId() != null) {
+                ids.add(d.toId());
+              }
+            }
+
+            Map<ObjId, Content> contents;
+            try {
+              contents = contentMapping.fetchContents(ids);
+            } catch (ObjNotFoundException e) {
+              throw new RuntimeException(e.getMessage());
+            }
+
+            List<DiffEntryWithContents> withContents = new ArrayList<>(batch.size());
+            for (DiffEntry d : batch) {
+              withContents.add(
+                  new DiffEntryWithContents(
+                      d,
+                      d.fromId() != null ? contents.get(d.fromId()) : null,
+                      d.toId() != null ? contents.get(d.toId()) : null));
+            }
+            batch.clear();
+            current = withContents.iterator();
+            return current.next();
+          }
+        };
+
     return new FilteringPaginationIterator<>(
-        diffIter,
-        d -> {
-          Function<ObjId, Content> contentFetcher =
-              id -> {
-                try {
-                  return contentMapping.fetchContent(id);
-                } catch (ObjNotFoundException e) {
-                  throw new RuntimeException(e.getMessage());
-                }
-              };
+        fetchContent,
+        dc -> {
+          DiffEntry d = dc.diffEntry;
           ContentKey contentKey = storeKeyToKey(d.key());
 
           IdentifiedContentKey fromKey =
@@ -1164,15 +1603,13 @@ public class VersionStoreImpl implements VersionStore {
           return Diff.of(
               fromKey,
               toKey,
-              Optional.ofNullable(d.fromId()).map(contentFetcher),
-              Optional.ofNullable(d.toId()).map(contentFetcher));
-        },
-        keyPred,
-        stopPredicate) {
+              Optional.ofNullable(dc.fromContent),
+              Optional.ofNullable(dc.toContent));
+        }) {
       @Override
       protected String computeTokenForCurrent() {
-        DiffEntry c = current();
-        return c != null ? tokenFor(c.key()) : null;
+        DiffEntryWithContents c = current();
+        return c != null ? tokenFor(c.diffEntry.key()) : null;
       }
 
       @Override
@@ -1186,6 +1623,18 @@ public class VersionStoreImpl implements VersionStore {
     };
   }
 
+  static final class DiffEntryWithContents {
+    final DiffEntry diffEntry;
+    final Content fromContent;
+    final Content toContent;
+
+    DiffEntryWithContents(DiffEntry diffEntry, Content fromContent, Content toContent) {
+      this.diffEntry = diffEntry;
+      this.fromContent = fromContent;
+      this.toContent = toContent;
+    }
+  }
+
   @Override
   public List<RepositoryConfig> getRepositoryConfig(
       Set<RepositoryConfig.Type> repositoryConfigTypes) {
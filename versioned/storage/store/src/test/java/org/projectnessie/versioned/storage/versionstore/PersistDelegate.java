@@ -16,6 +16,8 @@
 package org.projectnessie.versioned.storage.versionstore;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.List;
 import java.util.Set;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
 import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
@@ -102,6 +104,18 @@ public class PersistDelegate implements Persist {
     return delegate.fetchReferences(names);
   }
 
+  @Override
+  public boolean supportsReferenceScans() {
+    return delegate.supportsReferenceScans();
+  }
+
+  @Override
+  @Nonnull
+  public List<Reference> scanReferences(
+      @Nonnull String prefix, @Nullable String startAfter, int limit) {
+    return delegate.scanReferences(prefix, startAfter, limit);
+  }
+
   @Override
   @Nonnull
   public Obj fetchObj(@Nonnull ObjId id) throws ObjNotFoundException {
@@ -186,6 +200,13 @@ public class PersistDelegate implements Persist {
     return delegate.scanAllObjects(returnedObjTypes);
   }
 
+  @Override
+  @Nonnull
+  public List<CloseableIterator<Obj>> scanAllObjects(
+      @Nonnull Set<ObjType> returnedObjTypes, int partitions) {
+    return delegate.scanAllObjects(returnedObjTypes, partitions);
+  }
+
   @Override
   public void erase() {
     delegate.erase();
@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static java.time.Instant.ofEpochSecond;
+import static java.util.Collections.emptyList;
+import static java.util.Objects.requireNonNull;
+import static org.projectnessie.versioned.storage.common.logic.CreateCommit.newCommitBuilder;
+import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitHeaders.newCommitHeaders;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
+import static org.projectnessie.versioned.storage.versionstore.CommitCheckpoints.CHECKPOINT_INTERVAL;
+import static org.projectnessie.versioned.storage.versionstore.CommitCheckpoints.maxSkips;
+import static org.projectnessie.versioned.storage.versionstore.CommitCheckpoints.needsCheckpoints;
+import static org.projectnessie.versioned.storage.versionstore.TypeMapping.COMMIT_TIME;
+import static org.projectnessie.versioned.storage.versionstore.TypeMapping.instantToHeaderValue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.versioned.storage.common.objtypes.CommitCheckpointObj;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.testextension.NessiePersist;
+import org.projectnessie.versioned.storage.testextension.PersistExtension;
+
+@ExtendWith({PersistExtension.class, SoftAssertionsExtension.class})
+public class TestCommitCheckpoints {
+  @NessiePersist protected static Persist persist;
+
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  static final int NUM_COMMITS = 5 * CHECKPOINT_INTERVAL + 17;
+
+  @Test
+  public void maxSkipsForSeq() {
+    soft.assertThat(maxSkips(CHECKPOINT_INTERVAL)).isEqualTo(0);
+    soft.assertThat(maxSkips(2 * CHECKPOINT_INTERVAL)).isEqualTo(1);
+    soft.assertThat(maxSkips(3 * CHECKPOINT_INTERVAL)).isEqualTo(2);
+    soft.assertThat(maxSkips(4 * CHECKPOINT_INTERVAL)).isEqualTo(2);
+    soft.assertThat(maxSkips(5 * CHECKPOINT_INTERVAL)).isEqualTo(3);
+    soft.assertThat(maxSkips(9 * CHECKPOINT_INTERVAL)).isEqualTo(4);
+  }
+
+  @Test
+  public void needsCheckpointsForSeq() {
+    soft.assertThat(needsCheckpoints(0, 1)).isFalse();
+    soft.assertThat(needsCheckpoints(0, CHECKPOINT_INTERVAL - 1)).isFalse();
+    soft.assertThat(needsCheckpoints(0, CHECKPOINT_INTERVAL)).isTrue();
+    soft.assertThat(needsCheckpoints(CHECKPOINT_INTERVAL - 1, CHECKPOINT_INTERVAL)).isTrue();
+    soft.assertThat(needsCheckpoints(CHECKPOINT_INTERVAL, CHECKPOINT_INTERVAL + 1)).isFalse();
+    soft.assertThat(needsCheckpoints(CHECKPOINT_INTERVAL, 2 * CHECKPOINT_INTERVAL - 1)).isFalse();
+    soft.assertThat(needsCheckpoints(1, 3 * CHECKPOINT_INTERVAL)).isTrue();
+  }
+
+  @Test
+  public void updateCheckpointsOnCommit() throws Exception {
+    CommitCheckpoints checkpoints = new CommitCheckpoints(persist);
+
+    List<CommitObj> commits = new ArrayList<>();
+    ObjId head = EMPTY_OBJ_ID;
+    for (int i = 0; i < NUM_COMMITS; i++) {
+      CommitObj commit = generateCommit(head, "update", i);
+      checkpoints.updateCheckpoints(head, commit.id());
+      commits.add(commit);
+      head = commit.id();
+    }
+
+    for (CommitObj commit : commits) {
+      CommitCheckpointObj checkpoint = checkpoints.fetchCheckpoint(commit.id(), commit.seq());
+      if (commit.seq() % CHECKPOINT_INTERVAL == 0) {
+        soft.assertThat(checkpoint).isNotNull();
+        soft.assertThat(checkpoint.skips()).hasSize(maxSkips(commit.seq()));
+        for (int i = 0; i < checkpoint.skips().size(); i++) {
+          CommitCheckpointObj.Skip skip = checkpoint.skips().get(i);
+          CommitObj target = commits.get((int) skip.seq() - 1);
+          soft.assertThat(skip.commitId()).isEqualTo(target.id());
+          soft.assertThat(skip.seq()).isEqualTo(commit.seq() - ((long) CHECKPOINT_INTERVAL << i));
+        }
+      } else {
+        soft.assertThat(checkpoint).isNull();
+      }
+    }
+
+    // Nothing left to do
+    soft.assertThat(checkpoints.backfill(head)).isEqualTo(0);
+
+    verifyLookups(checkpoints, commits);
+  }
+
+  @Test
+  public void backfill() throws Exception {
+    CommitCheckpoints checkpoints = new CommitCheckpoints(persist);
+
+    List<CommitObj> commits = new ArrayList<>();
+    ObjId head = EMPTY_OBJ_ID;
+    for (int i = 0; i < NUM_COMMITS; i++) {
+      CommitObj commit = generateCommit(head, "backfill", i);
+      commits.add(commit);
+      head = commit.id();
+    }
+
+    // Lookups work without checkpoints
+    verifyLookups(checkpoints, commits);
+
+    soft.assertThat(checkpoints.backfill(head)).isEqualTo(NUM_COMMITS / CHECKPOINT_INTERVAL);
+    soft.assertThat(checkpoints.backfill(head)).isEqualTo(0);
+
+    verifyLookups(checkpoints, commits);
+  }
+
+  private void verifyLookups(CommitCheckpoints checkpoints, List<CommitObj> commits) {
+    for (int start = 0; start < commits.size(); start += 23) {
+      CommitObj startCommit = commits.get(start);
+
+      for (int n = 0; n <= start + 2; n += 7) {
+        soft.assertThat(checkpoints.findNthPredecessor(startCommit, n))
+            .describedAs("start %d, n %d", start, n)
+            .isEqualTo(n > 0 && n <= start ? commits.get(start - n).id() : null);
+      }
+
+      for (int t = -200; t <= start + 1; t += 11) {
+        Instant timestamp = ofEpochSecond(t);
+        soft.assertThat(checkpoints.findWithSmallerTimestamp(startCommit, timestamp))
+            .describedAs("start %d, timestamp %s", start, timestamp)
+            .isEqualTo(linearFindWithSmallerTimestamp(commits, start, timestamp));
+      }
+    }
+  }
+
+  private static CommitObj linearFindWithSmallerTimestamp(
+      List<CommitObj> commits, int start, Instant timestamp) {
+    for (int i = start; i >= 0; i--) {
+      CommitObj commit = commits.get(i);
+      if (RefMapping.createdTimestampMatches(commit, timestamp)) {
+        return commit;
+      }
+    }
+    return null;
+  }
+
+  /** Timestamps are mostly increasing, but some commits have timestamps in the past. */
+  private static Instant commitTime(int i) {
+    return ofEpochSecond(i % 37 == 0 ? i - 150 : i);
+  }
+
+  private CommitObj generateCommit(ObjId head, String msg, int i) throws Exception {
+    return requireNonNull(
+        commitLogic(persist)
+            .doCommit(
+                newCommitBuilder()
+                    .parentCommitId(head)
+                    .message("commit " + msg + " " + i)
+                    .headers(
+                        newCommitHeaders()
+                            .add(COMMIT_TIME, instantToHeaderValue(commitTime(i)))
+                            .build())
+                    .build(),
+                emptyList()));
+  }
+}
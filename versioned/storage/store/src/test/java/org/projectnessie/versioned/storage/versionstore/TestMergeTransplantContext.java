@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2022 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static java.util.Collections.singletonList;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexElement.indexElement;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.newStoreIndex;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitHeaders.EMPTY_COMMIT_HEADERS;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.COMMIT_OP_SERIALIZER;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.commitOp;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+import static org.projectnessie.versioned.storage.versionstore.TypeMapping.keyToStoreKey;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.model.CommitMeta;
+import org.projectnessie.model.Content;
+import org.projectnessie.model.ContentKey;
+import org.projectnessie.model.IcebergTable;
+import org.projectnessie.versioned.storage.common.indexes.StoreIndex;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
+import org.projectnessie.versioned.storage.common.objtypes.CommitOp.Action;
+import org.projectnessie.versioned.storage.common.objtypes.ContentValueObj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.testextension.NessiePersist;
+import org.projectnessie.versioned.storage.testextension.PersistExtension;
+
+@ExtendWith({PersistExtension.class, SoftAssertionsExtension.class})
+public class TestMergeTransplantContext {
+  @NessiePersist protected static Persist persist;
+
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @Test
+  public void prefetchSourceContentsInWindows() throws Exception {
+    List<CommitObj> commits = new ArrayList<>();
+    List<Map<ObjId, Content>> commitContents = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      Map<ObjId, Content> contents = new HashMap<>();
+      commits.add(sourceCommit(i, 3, contents));
+      commitContents.add(contents);
+    }
+
+    // Windows of up to 7 content values: commits 0+1, 2+3 and 4
+    MergeTransplantContext context =
+        new MergeTransplantContext(commits, null, CommitMeta.fromMessage("msg"), 7);
+
+    Map<ObjId, Content> window = context.sourceContents(persist, commits.get(0));
+    soft.assertThat(window)
+        .hasSize(6)
+        .containsAllEntriesOf(commitContents.get(0))
+        .containsAllEntriesOf(commitContents.get(1));
+    soft.assertThat(context.sourceContents(persist, commits.get(1))).isSameAs(window);
+
+    window = context.sourceContents(persist, commits.get(2));
+    soft.assertThat(window)
+        .hasSize(6)
+        .containsAllEntriesOf(commitContents.get(2))
+        .containsAllEntriesOf(commitContents.get(3))
+        .doesNotContainKeys(commitContents.get(0).keySet().toArray(new ObjId[0]));
+
+    window = context.sourceContents(persist, commits.get(4));
+    soft.assertThat(window).isEqualTo(commitContents.get(4));
+
+    // Going back re-fetches the window of the requested commit
+    soft.assertThat(context.sourceContents(persist, commits.get(1)))
+        .containsAllEntriesOf(commitContents.get(1));
+
+    // Commits that are not source commits have no prefetched contents
+    Map<ObjId, Content> unused = new HashMap<>();
+    soft.assertThat(context.sourceContents(persist, sourceCommit(9, 1, unused))).isEmpty();
+  }
+
+  @Test
+  public void prefetchSourceCommitAboveLimit() throws Exception {
+    Map<ObjId, Content> contents = new HashMap<>();
+    CommitObj commit = sourceCommit(0, 5, contents);
+
+    MergeTransplantContext context =
+        new MergeTransplantContext(singletonList(commit), null, CommitMeta.fromMessage("msg"), 2);
+
+    soft.assertThat(context.sourceContents(persist, commit)).isEqualTo(contents);
+  }
+
+  private static CommitObj sourceCommit(int num, int numContents, Map<ObjId, Content> contents)
+      throws Exception {
+    ContentMapping contentMapping = new ContentMapping(persist);
+    StoreIndex<CommitOp> index = newStoreIndex(COMMIT_OP_SERIALIZER);
+    for (int i = 0; i < numContents; i++) {
+      Content content =
+          IcebergTable.of("meta-" + num + "-" + i, 42, 43, 44, 45, UUID.randomUUID().toString());
+      ContentValueObj value = contentMapping.buildContent(content, 1);
+      persist.storeObj(value);
+      contents.put(value.id(), content);
+      index.add(
+          indexElement(
+              keyToStoreKey(ContentKey.of("commit-" + num, "table-" + i)),
+              commitOp(Action.ADD, 1, value.id())));
+    }
+    return CommitObj.commitBuilder()
+        .id(randomObjId())
+        .created(42L)
+        .headers(EMPTY_COMMIT_HEADERS)
+        .addTail(EMPTY_OBJ_ID)
+        .incrementalIndex(index.serialize())
+        .message("commit " + num)
+        .seq(num + 1)
+        .build();
+  }
+}
@@ -60,10 +60,13 @@ import static org.projectnessie.versioned.storage.versionstore.TypeMapping.insta
 import static org.projectnessie.versioned.storage.versionstore.TypeMapping.keyToStoreKey;
 import static org.projectnessie.versioned.storage.versionstore.TypeMapping.objIdToHash;
 
+import jakarta.annotation.Nonnull;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.IntFunction;
 import java.util.stream.Collectors;
@@ -76,6 +79,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.projectnessie.model.ContentKey;
 import org.projectnessie.nessie.relocated.protobuf.ByteString;
 import org.projectnessie.versioned.BranchName;
@@ -89,6 +93,7 @@ import org.projectnessie.versioned.storage.common.exceptions.CommitConflictExcep
 import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
 import org.projectnessie.versioned.storage.common.logic.ReferenceLogic;
 import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.common.persist.Reference;
@@ -445,6 +450,69 @@ public class TestRefMapping {
         .isInstanceOf(ReferenceNotFoundException.class);
   }
 
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  public void speculativeHeadFetch(boolean nativeAsync) throws Exception {
+    AtomicInteger asyncFetches = new AtomicInteger();
+    Persist uncached =
+        new PersistDelegate(persist) {
+          @Override
+          public Obj getImmediate(@Nonnull ObjId id) {
+            return null;
+          }
+
+          @Override
+          public boolean supportsNativeAsync() {
+            return nativeAsync;
+          }
+
+          @Nonnull
+          @Override
+          public CompletionStage<Obj> fetchObjAsync(@Nonnull ObjId id) {
+            asyncFetches.incrementAndGet();
+            return super.fetchObjAsync(id);
+          }
+        };
+    RefMapping refMapping = new RefMapping(uncached);
+
+    CommitObj commit = generateCommit(EMPTY_OBJ_ID, "foo", 42);
+    referenceLogic(persist).createReference(REFS_HEADS + "branch", commit.id(), randomObjId());
+
+    soft.assertThat(refMapping.resolveNamedRefHead(BranchName.of("branch"))).isEqualTo(commit);
+    soft.assertThat(asyncFetches).hasValue(0);
+
+    // The HEAD is known now, but only fetched speculatively with native asynchronous support.
+    soft.assertThat(refMapping.resolveNamedRefHead(BranchName.of("branch"))).isEqualTo(commit);
+    soft.assertThat(asyncFetches).hasValue(nativeAsync ? 1 : 0);
+  }
+
+  @Test
+  public void resolveNamedRefHeadAfterPointerChange() throws Exception {
+    ReferenceLogic referenceLogic = referenceLogic(persist);
+    RefMapping refMapping = new RefMapping(persist);
+
+    CommitObj first = generateCommit(EMPTY_OBJ_ID, "first", 42);
+    CommitObj second = generateCommit(first.id(), "second", 43);
+
+    Reference branch =
+        referenceLogic.createReference(REFS_HEADS + "speculative", first.id(), randomObjId());
+    BranchName branchName = BranchName.of("speculative");
+
+    // first resolution remembers the HEAD, second resolution uses the speculatively fetched HEAD
+    soft.assertThat(refMapping.resolveNamedRefHead(branchName)).isEqualTo(first);
+    soft.assertThat(refMapping.resolveNamedRefHead(branchName)).isEqualTo(first);
+
+    // pointer changed without the change being remembered
+    branch = referenceLogic.assignReference(branch, second.id());
+    soft.assertThat(refMapping.resolveNamedRefHead(branchName)).isEqualTo(second);
+    soft.assertThat(refMapping.resolveNamedRefHead(branchName)).isEqualTo(second);
+
+    // pointer changed to a non-existing commit
+    referenceLogic.assignReference(branch, objIdFromString("00001111"));
+    soft.assertThatThrownBy(() -> refMapping.resolveNamedRefHead(branchName))
+        .isInstanceOf(ReferenceNotFoundException.class);
+  }
+
   @Test
   public void commitInChain() throws Exception {
     ReferenceLogic referenceLogic = referenceLogic(persist);
@@ -476,6 +544,38 @@ public class TestRefMapping {
     }
   }
 
+  @Test
+  public void commitInChainLongHistory() throws Exception {
+    RefMapping refMapping = new RefMapping(persist);
+    CommitCheckpoints checkpoints = new CommitCheckpoints(persist);
+
+    List<ObjId> commits = new ArrayList<>();
+    ObjId head = EMPTY_OBJ_ID;
+    for (int i = 0; i < 3 * CommitCheckpoints.CHECKPOINT_INTERVAL + 5; i++) {
+      ObjId previous = head;
+      head = generateCommit(head, "long", i).id();
+      checkpoints.updateCheckpoints(previous, head);
+      commits.add(head);
+    }
+    ObjId other = generateCommit(commits.get(100), "other", 0).id();
+
+    for (ObjId testId : commits) {
+      soft.assertThat(refMapping.commitInChain(head, testId))
+          .extracting(CommitObj::id)
+          .isEqualTo(testId);
+      // positive result is cached
+      soft.assertThat(checkpoints.isKnownAncestor(head, testId)).isEqualTo(!testId.equals(head));
+      soft.assertThat(refMapping.commitInChain(head, testId))
+          .extracting(CommitObj::id)
+          .isEqualTo(testId);
+    }
+    soft.assertThat(refMapping.commitInChain(head, other)).isNull();
+    soft.assertThat(refMapping.commitInChain(commits.get(50), head)).isNull();
+    soft.assertThat(refMapping.commitInChain(other, commits.get(100))).isNotNull();
+    soft.assertThat(refMapping.commitInChain(other, commits.get(101))).isNull();
+    soft.assertThat(refMapping.commitInChain(head, randomObjId())).isNull();
+  }
+
   private List<ObjId> generateCommits(String msg) throws Exception {
     ObjId head = EMPTY_OBJ_ID;
     List<ObjId> r = new ArrayList<>();
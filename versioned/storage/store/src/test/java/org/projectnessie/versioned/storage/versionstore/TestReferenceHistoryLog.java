@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_REFERENCE_HISTORY_LOG;
+import static org.projectnessie.versioned.storage.common.objtypes.ReferenceHistoryObj.referenceHistoryHeadId;
+import static org.projectnessie.versioned.storage.common.objtypes.ReferenceHistoryObj.referenceHistorySegmentId;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+import static org.projectnessie.versioned.storage.versionstore.ReferenceHistoryLog.SEGMENT_SIZE;
+
+import com.google.common.collect.Lists;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.versioned.storage.common.logic.PagedResult;
+import org.projectnessie.versioned.storage.common.objtypes.ReferenceHistoryObj;
+import org.projectnessie.versioned.storage.common.objtypes.ReferenceHistoryObj.Entry;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.testextension.NessiePersist;
+import org.projectnessie.versioned.storage.testextension.NessieStoreConfig;
+import org.projectnessie.versioned.storage.testextension.PersistExtension;
+
+@ExtendWith({PersistExtension.class, SoftAssertionsExtension.class})
+public class TestReferenceHistoryLog {
+  @NessiePersist protected static Persist persist;
+
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  static final int NUM_ENTRIES = 2 * SEGMENT_SIZE + 17;
+
+  @Test
+  public void appendAndRead() throws Exception {
+    ReferenceHistoryLog log = new ReferenceHistoryLog(persist);
+    String reference = "refs/heads/history-log";
+
+    soft.assertThat(log.entries(reference, null)).isExhausted();
+
+    List<Entry> appended = new ArrayList<>();
+    ObjId pointer = EMPTY_OBJ_ID;
+    for (int i = 0; i < NUM_ENTRIES; i++) {
+      ObjId next = randomObjId();
+      Entry entry = log.append(reference, pointer, next, 1000L + i);
+      soft.assertThat(entry)
+          .extracting(Entry::seq, Entry::from, Entry::to, Entry::created)
+          .containsExactly(i + 1L, pointer, next, 1000L + i);
+      appended.add(entry);
+      pointer = next;
+    }
+
+    // Full segments are immutable objects, the head segment holds the remaining entries
+    soft.assertThat(
+            persist.fetchTypedObj(
+                referenceHistorySegmentId(reference, 1),
+                ReferenceHistoryObj.TYPE,
+                ReferenceHistoryObj.class))
+        .extracting(ReferenceHistoryObj::entries)
+        .isEqualTo(appended.subList(SEGMENT_SIZE, 2 * SEGMENT_SIZE));
+    soft.assertThat(
+            persist.fetchTypedObj(
+                referenceHistoryHeadId(reference),
+                ReferenceHistoryObj.TYPE,
+                ReferenceHistoryObj.class))
+        .extracting(ReferenceHistoryObj::entries)
+        .isEqualTo(appended.subList(2 * SEGMENT_SIZE, NUM_ENTRIES));
+
+    List<Entry> expected = Lists.reverse(appended);
+    soft.assertThat(Lists.newArrayList(log.entries(reference, null)))
+        .containsExactlyElementsOf(expected);
+
+    // Paging
+    for (int pageSize : new int[] {1, 13, SEGMENT_SIZE, 3 * SEGMENT_SIZE}) {
+      List<Entry> all = new ArrayList<>();
+      PagedResult<Entry, Long> page = log.entries(reference, null);
+      while (true) {
+        for (int i = 0; i < pageSize && page.hasNext(); i++) {
+          all.add(page.next());
+        }
+        if (!page.hasNext()) {
+          break;
+        }
+        page = log.entries(reference, page.tokenForKey(all.get(all.size() - 1).seq() - 1));
+      }
+      soft.assertThat(all).describedAs("page size %d", pageSize).isEqualTo(expected);
+    }
+
+    // Other references are not affected
+    soft.assertThat(log.entries("refs/heads/history-log-other", null)).isExhausted();
+  }
+
+  @Test
+  public void gapMarker() throws Exception {
+    ReferenceHistoryLog log = new ReferenceHistoryLog(persist);
+    String reference = "refs/heads/history-log-gap";
+
+    ObjId a = randomObjId();
+    ObjId b = randomObjId();
+    ObjId c = randomObjId();
+    soft.assertThat(log.append(reference, EMPTY_OBJ_ID, a, 1L).gap()).isFalse();
+    // the change from 'a' to 'b' is missing
+    soft.assertThat(log.append(reference, b, c, 2L))
+        .extracting(Entry::seq, Entry::from, Entry::gap)
+        .containsExactly(2L, b, true);
+    soft.assertThat(log.append(reference, c, randomObjId(), 3L).gap()).isFalse();
+  }
+
+  @Test
+  public void appendAsyncOrdered(
+      @NessieStoreConfig(name = CONFIG_REFERENCE_HISTORY_LOG, value = "true") @NessiePersist
+          Persist historyPersist)
+      throws Exception {
+    ReferenceHistoryLog log = new ReferenceHistoryLog(historyPersist);
+    String reference = "refs/heads/history-log-async";
+
+    List<CompletableFuture<Entry>> appends = new ArrayList<>();
+    List<ObjId> pointers = new ArrayList<>();
+    ObjId pointer = EMPTY_OBJ_ID;
+    for (int i = 0; i < NUM_ENTRIES; i++) {
+      ObjId next = randomObjId();
+      appends.add(log.appendAsync(reference, pointer, next).toCompletableFuture());
+      pointers.add(next);
+      pointer = next;
+    }
+    CompletableFuture.allOf(appends.toArray(new CompletableFuture<?>[0])).get(30, SECONDS);
+
+    List<Entry> entries = Lists.reverse(Lists.newArrayList(log.entries(reference, null)));
+    soft.assertThat(entries).extracting(Entry::to).containsExactlyElementsOf(pointers);
+    soft.assertThat(entries).extracting(Entry::gap).containsOnly(false);
+  }
+
+  @Test
+  public void appendAsyncDisabled() {
+    String reference = "refs/heads/history-log-disabled";
+    new ReferenceHistoryLog(persist).appendAsync(reference, EMPTY_OBJ_ID, randomObjId());
+    soft.assertThat(new ReferenceHistoryLog(persist).entries(reference, null)).isExhausted();
+  }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.Objects.requireNonNull;
+import static org.projectnessie.versioned.storage.common.logic.CreateCommit.newCommitBuilder;
+import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitHeaders.EMPTY_COMMIT_HEADERS;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
+import static org.projectnessie.versioned.storage.versionstore.ReferenceSummaries.referenceUpdated;
+import static org.projectnessie.versioned.storage.versionstore.ReferenceSummaries.summariesBaseReference;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.objtypes.ReferenceSummaryObj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.testextension.NessiePersist;
+import org.projectnessie.versioned.storage.testextension.PersistExtension;
+
+@ExtendWith({PersistExtension.class, SoftAssertionsExtension.class})
+public class TestReferenceSummaries {
+  @NessiePersist protected static Persist persist;
+
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @Test
+  public void summaries() throws Exception {
+    List<CommitObj> main = generateCommits(EMPTY_OBJ_ID, "main", 5);
+    List<CommitObj> branch = generateCommits(main.get(2).id(), "branch", 2);
+    CommitObj unrelated = generateCommits(EMPTY_OBJ_ID, "unrelated", 1).get(0);
+
+    String mainName = "refs/heads/main";
+    String branchName = "refs/heads/summaries-branch";
+    String unrelatedName = "refs/heads/summaries-unrelated";
+    soft.assertThat(summariesBaseReference(persist)).isEqualTo(mainName);
+    persist.updateReferencePointer(
+        requireNonNull(persist.fetchReference(mainName)), main.get(4).id());
+    ReferenceSummaries summaries = new ReferenceSummaries(persist, mainName, main.get(4));
+
+    // listings compute missing summaries, but do not store those
+    soft.assertThat(summaries.summary(branchName, branch.get(1), null))
+        .extracting(
+            ReferenceSummaryObj::head,
+            ReferenceSummaryObj::seq,
+            ReferenceSummaryObj::baseSeq,
+            ReferenceSummaryObj::commonAncestor,
+            ReferenceSummaryObj::commitsAhead,
+            ReferenceSummaryObj::commitsBehind)
+        .containsExactly(branch.get(1).id(), 5L, 5L, main.get(2).id(), 2, 2);
+    soft.assertThat(summaries.fetchSummaries(singletonList(branchName))).containsOnlyNulls();
+
+    // reference updated without a stored summary
+    referenceUpdated(persist, branchName, branch.get(0).id(), 4L, branch.get(1).id(), 5L);
+    ReferenceSummaryObj stored = summaries.fetchSummaries(singletonList(branchName))[0];
+    soft.assertThat(stored)
+        .extracting(
+            ReferenceSummaryObj::head,
+            ReferenceSummaryObj::commonAncestor,
+            ReferenceSummaryObj::commitsAhead,
+            ReferenceSummaryObj::commitsBehind)
+        .containsExactly(branch.get(1).id(), main.get(2).id(), 2, 2);
+    soft.assertThat(summaries.summary(branchName, branch.get(1), stored)).isSameAs(stored);
+
+    // reference updated from the HEAD of the stored summary
+    CommitObj next = generateCommits(branch.get(1).id(), "branch-next", 1).get(0);
+    referenceUpdated(persist, branchName, branch.get(1).id(), 5L, next.id(), 6L);
+    ReferenceSummaryObj updated = summaries.fetchSummaries(singletonList(branchName))[0];
+    soft.assertThat(updated)
+        .extracting(
+            ReferenceSummaryObj::head,
+            ReferenceSummaryObj::seq,
+            ReferenceSummaryObj::commonAncestor,
+            ReferenceSummaryObj::commitsAhead,
+            ReferenceSummaryObj::commitsBehind)
+        .containsExactly(next.id(), 6L, main.get(2).id(), 3, 2);
+
+    // base reference advanced, the summary is adjusted but not stored
+    List<CommitObj> mainNext = generateCommits(main.get(4).id(), "main-next", 3);
+    ReferenceSummaries advancedBase = new ReferenceSummaries(persist, mainName, mainNext.get(2));
+    soft.assertThat(advancedBase.summary(branchName, next, updated))
+        .extracting(
+            ReferenceSummaryObj::baseHead,
+            ReferenceSummaryObj::baseSeq,
+            ReferenceSummaryObj::commonAncestor,
+            ReferenceSummaryObj::commitsAhead,
+            ReferenceSummaryObj::commitsBehind)
+        .containsExactly(mainNext.get(2).id(), 8L, main.get(2).id(), 3, 5);
+    soft.assertThat(summaries.fetchSummaries(singletonList(branchName))).containsExactly(updated);
+
+    // base reference moved to an older commit
+    ReferenceSummaries olderBase = new ReferenceSummaries(persist, mainName, main.get(3));
+    soft.assertThat(olderBase.summary(branchName, next, updated))
+        .extracting(ReferenceSummaryObj::commitsAhead, ReferenceSummaryObj::commitsBehind)
+        .containsExactly(3, 1);
+
+    // base reference advanced onto the summarized reference
+    CommitObj onMain = generateCommits(main.get(4).id(), "on-main", 1).get(0);
+    ReferenceSummaryObj onMainSummary = summaries.computeSummary("refs/heads/on-main", onMain);
+    soft.assertThat(onMainSummary)
+        .extracting(ReferenceSummaryObj::commitsAhead, ReferenceSummaryObj::commitsBehind)
+        .containsExactly(1, 0);
+    soft.assertThat(
+            new ReferenceSummaries(persist, mainName, onMain)
+                .summary("refs/heads/on-main", onMain, onMainSummary))
+        .extracting(
+            ReferenceSummaryObj::commonAncestor,
+            ReferenceSummaryObj::commitsAhead,
+            ReferenceSummaryObj::commitsBehind)
+        .containsExactly(onMain.id(), 0, 0);
+    CommitObj fastForward = generateCommits(next.id(), "fast-forward", 1).get(0);
+    ReferenceSummaries pastReference = new ReferenceSummaries(persist, mainName, fastForward);
+    soft.assertThat(pastReference.summary(branchName, next, updated))
+        .extracting(
+            ReferenceSummaryObj::commonAncestor,
+            ReferenceSummaryObj::commitsAhead,
+            ReferenceSummaryObj::commitsBehind)
+        .containsExactly(next.id(), 0, 1);
+
+    // no common ancestor
+    soft.assertThat(summaries.summary(unrelatedName, unrelated, null))
+        .extracting(
+            ReferenceSummaryObj::commonAncestor,
+            ReferenceSummaryObj::commitsAhead,
+            ReferenceSummaryObj::commitsBehind)
+        .containsExactly(null, 1, 5);
+    referenceUpdated(persist, unrelatedName, EMPTY_OBJ_ID, 0L, unrelated.id(), 1L);
+
+    ReferenceSummaryObj[] fetched =
+        summaries.fetchSummaries(asList(unrelatedName, "refs/heads/no-summary", branchName));
+    soft.assertThat(fetched[0].reference()).isEqualTo(unrelatedName);
+    soft.assertThat(fetched[1]).isNull();
+    soft.assertThat(fetched[2].reference()).isEqualTo(branchName);
+
+    // no summary of the base reference itself
+    referenceUpdated(persist, mainName, main.get(4).id(), 5L, mainNext.get(0).id(), 6L);
+    soft.assertThat(summaries.fetchSummaries(singletonList(mainName))).containsOnlyNulls();
+  }
+
+  private List<CommitObj> generateCommits(ObjId parent, String msg, int num) throws Exception {
+    List<CommitObj> commits = new ArrayList<>(num);
+    ObjId head = parent;
+    for (int i = 0; i < num; i++) {
+      CommitObj commit =
+          requireNonNull(
+              commitLogic(persist)
+                  .doCommit(
+                      newCommitBuilder()
+                          .parentCommitId(head)
+                          .message("commit " + msg + " " + i)
+                          .headers(EMPTY_COMMIT_HEADERS)
+                          .build(),
+                      emptyList()));
+      commits.add(commit);
+      head = commit.id();
+    }
+    return commits;
+  }
+}
@@ -15,31 +15,62 @@
  */
 package org.projectnessie.versioned.storage.versionstore;
 
+import static java.lang.String.format;
+import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.InstanceOfAssertFactories.list;
+import static org.assertj.core.api.InstanceOfAssertFactories.type;
 import static org.projectnessie.model.CommitMeta.fromMessage;
+import static org.projectnessie.model.Conflict.ConflictType.NAMESPACE_ABSENT;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_COMMIT_RETRIES;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_COMMIT_TIMEOUT_MILLIS;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_DIFF_CONTENT_BATCH_SIZE;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_MAX_INCREMENTAL_INDEX_SIZE;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_MAX_SERIALIZED_INDEX_SIZE;
+import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
+import static org.projectnessie.versioned.storage.common.objtypes.StandardObjType.INDEX;
+import static org.projectnessie.versioned.storage.versionstore.TypeMapping.hashToObjId;
 
 import jakarta.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 import org.assertj.core.api.SoftAssertions;
 import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
 import org.junit.jupiter.api.Test;
+import org.projectnessie.error.ReferenceConflicts;
+import org.projectnessie.model.Conflict;
 import org.projectnessie.model.ContentKey;
 import org.projectnessie.model.IcebergTable;
+import org.projectnessie.model.Namespace;
 import org.projectnessie.versioned.BranchName;
+import org.projectnessie.versioned.Diff;
 import org.projectnessie.versioned.Hash;
+import org.projectnessie.versioned.Operation;
 import org.projectnessie.versioned.Put;
 import org.projectnessie.versioned.ReferenceConflictException;
 import org.projectnessie.versioned.ReferenceNotFoundException;
 import org.projectnessie.versioned.ReferenceRetryFailureException;
 import org.projectnessie.versioned.VersionStore;
+import org.projectnessie.versioned.VersionStore.KeyRestrictions;
+import org.projectnessie.versioned.paging.PaginationIterator;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
 import org.projectnessie.versioned.storage.common.exceptions.RefConditionFailedException;
 import org.projectnessie.versioned.storage.common.exceptions.RefNotFoundException;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.objtypes.ContentValueObj;
+import org.projectnessie.versioned.storage.common.objtypes.IndexObj;
+import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.ObjType;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.common.persist.Reference;
 import org.projectnessie.versioned.storage.commontests.AbstractVersionStoreTests;
@@ -156,4 +187,185 @@ public class TestVersionStoreImpl extends AbstractVersionStoreTests {
         fromMessage("commit foo"),
         singletonList(Put.of(ContentKey.of("some-key"), IcebergTable.of("meta", 42, 43, 44, 45))));
   }
+
+  @Test
+  public void diffFetchesContentsInBatches(
+      @NessieStoreConfig(name = CONFIG_DIFF_CONTENT_BATCH_SIZE, value = "3") @NessiePersist
+          Persist persist)
+      throws Exception {
+    List<Integer> contentFetches = new ArrayList<>();
+
+    Persist tested =
+        new PersistDelegate(persist) {
+          @Nonnull
+          @Override
+          public Obj[] fetchObjs(@Nonnull ObjId[] ids) throws ObjNotFoundException {
+            Obj[] objs = super.fetchObjs(ids);
+            if (Arrays.stream(objs).allMatch(o -> o instanceof ContentValueObj)) {
+              contentFetches.add(objs.length);
+            }
+            return objs;
+          }
+        };
+
+    VersionStore store = new VersionStoreImpl(tested);
+
+    BranchName branch = BranchName.of("branch1");
+    Hash initial = store.create(branch, Optional.empty()).getHash();
+
+    List<Operation> puts =
+        IntStream.range(0, 7)
+            .mapToObj(
+                i -> Put.of(ContentKey.of("key-" + i), IcebergTable.of("meta" + i, 42, 43, 44, 45)))
+            .collect(toList());
+    Hash head =
+        store.commit(branch, Optional.of(initial), fromMessage("commit"), puts).getCommitHash();
+
+    contentFetches.clear();
+
+    List<Diff> diffs = new ArrayList<>();
+    try (PaginationIterator<Diff> diffIter =
+        store.getDiffs(initial, head, null, KeyRestrictions.NO_KEY_RESTRICTIONS)) {
+      diffIter.forEachRemaining(diffs::add);
+    }
+
+    soft.assertThat(diffs)
+        .hasSize(7)
+        .allMatch(d -> d.getFromValue().isEmpty() && d.getToValue().isPresent());
+    soft.assertThat(contentFetches).containsExactly(3, 3, 1);
+  }
+
+  @Test
+  public void commitUnderDeepNamespaceWithMissingParents() throws Exception {
+    VersionStore store = new VersionStoreImpl(persist);
+
+    BranchName branch = BranchName.of("deepNamespace");
+    Hash head = store.create(branch, Optional.empty()).getHash();
+
+    ContentKey a = ContentKey.of("a");
+    ContentKey b = ContentKey.of("a", "b");
+    head =
+        store
+            .commit(
+                branch,
+                Optional.of(head),
+                fromMessage("namespaces a + a.b"),
+                asList(Put.of(a, Namespace.of(a)), Put.of(b, Namespace.of(b))))
+            .getCommitHash();
+
+    // 'a.b.c.d.e' is added by the same commit, its parents 'a.b.c.d' and 'a.b.c' are missing
+    ContentKey c = ContentKey.of("a", "b", "c");
+    ContentKey d = ContentKey.of("a", "b", "c", "d");
+    ContentKey e = ContentKey.of("a", "b", "c", "d", "e");
+    ContentKey table = ContentKey.of("a", "b", "c", "d", "e", "table");
+    Hash expected = head;
+    soft.assertThatThrownBy(
+            () ->
+                store.commit(
+                    branch,
+                    Optional.of(expected),
+                    fromMessage("deep"),
+                    asList(
+                        Put.of(e, Namespace.of(e)),
+                        Put.of(table, IcebergTable.of("meta", 42, 43, 44, 45)))))
+        .isInstanceOf(ReferenceConflictException.class)
+        .hasMessage(
+            "There are multiple conflicts that prevent committing the provided operations: "
+                + "namespace 'a.b.c.d' must exist, "
+                + "namespace 'a.b.c' must exist.")
+        .asInstanceOf(type(ReferenceConflictException.class))
+        .extracting(ReferenceConflictException::getReferenceConflicts)
+        .extracting(ReferenceConflicts::conflicts, list(Conflict.class))
+        .extracting(Conflict::conflictType, Conflict::key)
+        .containsExactly(tuple(NAMESPACE_ABSENT, d), tuple(NAMESPACE_ABSENT, c));
+  }
+
+  @Test
+  public void namespaceParentsLoadedInBulk(
+      @NessieStoreConfig(name = CONFIG_MAX_INCREMENTAL_INDEX_SIZE, value = "1024")
+          @NessieStoreConfig(name = CONFIG_MAX_SERIALIZED_INDEX_SIZE, value = "1024")
+          @NessiePersist
+          Persist persist)
+      throws Exception {
+    AtomicInteger individualStripeFetches = new AtomicInteger();
+    AtomicInteger bulkStripeFetches = new AtomicInteger();
+    AtomicBoolean count = new AtomicBoolean();
+
+    Persist tested =
+        new PersistDelegate(persist) {
+          @Nonnull
+          @Override
+          public <T extends Obj> T fetchTypedObj(
+              @Nonnull ObjId id, ObjType type, Class<T> typeClass) throws ObjNotFoundException {
+            if (count.get() && type == INDEX) {
+              individualStripeFetches.incrementAndGet();
+            }
+            return super.fetchTypedObj(id, type, typeClass);
+          }
+
+          @Nonnull
+          @Override
+          public Obj[] fetchObjs(@Nonnull ObjId[] ids) throws ObjNotFoundException {
+            Obj[] objs = super.fetchObjs(ids);
+            if (count.get() && Arrays.stream(objs).anyMatch(o -> o instanceof IndexObj)) {
+              bulkStripeFetches.incrementAndGet();
+            }
+            return objs;
+          }
+        };
+
+    VersionStore store = new VersionStoreImpl(tested);
+
+    BranchName branch = BranchName.of("bulkNamespaces");
+    Hash head = store.create(branch, Optional.empty()).getHash();
+
+    // Namespaces 'level-0' ... 'level-3', each followed by enough sibling namespaces to place the
+    // levels into different stripes of the reference index.
+    List<String> elements = new ArrayList<>();
+    for (int level = 0; level < 4; level++) {
+      List<Operation> puts = new ArrayList<>();
+      for (int i = 0; i < 40; i++) {
+        List<String> filler = new ArrayList<>(elements);
+        filler.add(format("filler-%02d-with-a-name-long-enough-to-fill-stripes", i));
+        ContentKey key = ContentKey.of(filler);
+        puts.add(Put.of(key, Namespace.of(key)));
+      }
+      elements.add("level-" + level);
+      ContentKey key = ContentKey.of(elements);
+      puts.add(Put.of(key, Namespace.of(key)));
+      head =
+          store
+              .commit(branch, Optional.of(head), fromMessage("level " + level), puts)
+              .getCommitHash();
+    }
+
+    CommitObj headCommit = requireNonNull(commitLogic(persist).fetchCommit(hashToObjId(head)));
+    soft.assertThat(headCommit.referenceIndexStripes()).hasSizeGreaterThan(1);
+
+    elements.add("missing");
+    ContentKey missing = ContentKey.of(elements);
+    elements.add("table");
+    ContentKey table = ContentKey.of(elements);
+
+    count.set(true);
+    Hash expected = head;
+    soft.assertThatThrownBy(
+            () ->
+                store.commit(
+                    branch,
+                    Optional.of(expected),
+                    fromMessage("table"),
+                    singletonList(Put.of(table, IcebergTable.of("meta", 42, 43, 44, 45)))))
+        .isInstanceOf(ReferenceConflictException.class)
+        .asInstanceOf(type(ReferenceConflictException.class))
+        .extracting(ReferenceConflictException::getReferenceConflicts)
+        .extracting(ReferenceConflicts::conflicts, list(Conflict.class))
+        .extracting(Conflict::conflictType, Conflict::key)
+        .containsExactly(tuple(NAMESPACE_ABSENT, missing));
+    count.set(false);
+
+    // The stripes holding 'level-0' ... 'level-3' are loaded with bulk fetches, not one by one.
+    soft.assertThat(individualStripeFetches).hasValue(0);
+    soft.assertThat(bulkStripeFetches.get()).isBetween(1, 2);
+  }
 }
@@ -20,9 +20,16 @@ import static org.assertj.core.util.Streams.stream;
 import static org.projectnessie.versioned.GetNamedRefsParams.RetrieveOptions.BARE;
 import static org.projectnessie.versioned.GetNamedRefsParams.RetrieveOptions.BASE_REFERENCE_RELATED_AND_COMMIT_META;
 import static org.projectnessie.versioned.GetNamedRefsParams.RetrieveOptions.OMIT;
+import static org.projectnessie.versioned.ReferenceChange.referenceAssign;
+import static org.projectnessie.versioned.ReferenceChange.referenceCreate;
+import static org.projectnessie.versioned.ReferenceChange.referenceDelete;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -38,9 +45,14 @@ import org.projectnessie.versioned.GetNamedRefsParams;
 import org.projectnessie.versioned.Hash;
 import org.projectnessie.versioned.NamedRef;
 import org.projectnessie.versioned.ReferenceAlreadyExistsException;
+import org.projectnessie.versioned.ReferenceAssignedResult;
+import org.projectnessie.versioned.ReferenceChange;
+import org.projectnessie.versioned.ReferenceChangeResult;
+import org.projectnessie.versioned.ReferenceConflictException;
 import org.projectnessie.versioned.ReferenceCreatedResult;
 import org.projectnessie.versioned.ReferenceDeletedResult;
 import org.projectnessie.versioned.ReferenceInfo;
+import org.projectnessie.versioned.ReferenceInfo.CommitsAheadBehind;
 import org.projectnessie.versioned.ReferenceNotFoundException;
 import org.projectnessie.versioned.TagName;
 import org.projectnessie.versioned.VersionStore;
@@ -305,4 +317,148 @@ public abstract class AbstractReferences extends AbstractNestedVersionStore {
           .containsAll(tags);
     }
   }
+
+  @Test
+  void listManyReferencesWithAheadBehind() throws Exception {
+    BranchName base = BranchName.of("many-refs-base");
+    store().create(base, Optional.empty());
+    List<Hash> commits = new ArrayList<>();
+    for (int i = 0; i < 30; i++) {
+      commits.add(commit("commit " + i).toBranch(base));
+    }
+
+    // More references than fit into a single batch
+    Map<NamedRef, Integer> refs = new HashMap<>();
+    for (int i = 0; i < 250; i++) {
+      NamedRef ref =
+          i % 3 == 0
+              ? TagName.of(String.format("many-refs-t-%03d", i))
+              : BranchName.of(String.format("many-refs-b-%03d", i));
+      int commit = i % commits.size();
+      store().create(ref, Optional.of(commits.get(commit)));
+      refs.put(ref, commit);
+    }
+
+    GetNamedRefsParams params =
+        GetNamedRefsParams.builder()
+            .baseReference(base)
+            .branchRetrieveOptions(BASE_REFERENCE_RELATED_AND_COMMIT_META)
+            .tagRetrieveOptions(BASE_REFERENCE_RELATED_AND_COMMIT_META)
+            .build();
+
+    List<ReferenceInfo<CommitMeta>> all;
+    try (PaginationIterator<ReferenceInfo<CommitMeta>> iter = store().getNamedRefs(params, null)) {
+      all = Lists.newArrayList(iter);
+    }
+
+    soft.assertThat(all)
+        .extracting(ReferenceInfo::getNamedRef)
+        .containsAll(refs.keySet());
+    for (ReferenceInfo<CommitMeta> info : all) {
+      Integer commit = refs.get(info.getNamedRef());
+      if (commit == null) {
+        continue;
+      }
+      soft.assertThat(info.getHash()).isEqualTo(commits.get(commit));
+      soft.assertThat(info.getCommonAncestor()).isEqualTo(commits.get(commit));
+      soft.assertThat(info.getAheadBehind())
+          .isEqualTo(CommitsAheadBehind.of(0, commits.size() - 1 - commit));
+    }
+
+    // Paging resumes at the same position
+    String token;
+    try (PaginationIterator<ReferenceInfo<CommitMeta>> iter = store().getNamedRefs(params, null)) {
+      for (int i = 0; i < 37; i++) {
+        iter.next();
+      }
+      token = iter.tokenForEntry(iter.next());
+    }
+    try (PaginationIterator<ReferenceInfo<CommitMeta>> iter =
+        store().getNamedRefs(params, token)) {
+      soft.assertThat(Lists.newArrayList(iter)).isEqualTo(all.subList(37, all.size()));
+    }
+  }
+
+  @Test
+  void changeReferencesInBulk() throws Exception {
+    BranchName base = BranchName.of("bulk-refs-base");
+    store().create(base, Optional.empty());
+    Hash commit1 = commit("commit 1").toBranch(base);
+    Hash commit2 = commit("commit 2").toBranch(base);
+
+    BranchName existing = BranchName.of("bulk-refs-existing");
+    store().create(existing, Optional.of(commit1));
+    BranchName toAssign = BranchName.of("bulk-refs-assign");
+    store().create(toAssign, Optional.of(commit1));
+
+    List<ReferenceChange> creates = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      NamedRef ref =
+          i % 2 == 0
+              ? BranchName.of(String.format("bulk-refs-b-%02d", i))
+              : TagName.of(String.format("bulk-refs-t-%02d", i));
+      creates.add(referenceCreate(ref, Optional.of(i % 3 == 0 ? commit1 : commit2)));
+    }
+    List<ReferenceChange> changes = new ArrayList<>(creates);
+    changes.add(referenceCreate(existing, Optional.empty()));
+    changes.add(referenceCreate(BranchName.of("bulk-refs-bad-hash"), Optional.of(Hash.of("1234"))));
+    changes.add(referenceAssign(toAssign, commit1, commit2));
+
+    List<ReferenceChangeResult> results = store().changeReferences(changes);
+    soft.assertThat(results).extracting(ReferenceChangeResult::getChange).isEqualTo(changes);
+    soft.assertThat(results.subList(0, creates.size())).allMatch(ReferenceChangeResult::isSuccess);
+    soft.assertThat(results.get(creates.size()).getFailure())
+        .get()
+        .isInstanceOf(ReferenceAlreadyExistsException.class);
+    soft.assertThat(results.get(creates.size() + 1).getFailure())
+        .get()
+        .isInstanceOf(ReferenceNotFoundException.class);
+    soft.assertThat(results.get(creates.size() + 2).getResult())
+        .get()
+        .isInstanceOf(ReferenceAssignedResult.class);
+
+    for (ReferenceChange create : creates) {
+      soft.assertThat(store().hashOnReference(create.getNamedRef(), Optional.empty(), emptyList()))
+          .isEqualTo(create.getTargetHash().orElseThrow(IllegalStateException::new));
+    }
+    soft.assertThat(store().hashOnReference(toAssign, Optional.empty(), emptyList()))
+        .isEqualTo(commit2);
+
+    List<ReferenceChange> deletes = new ArrayList<>();
+    for (ReferenceChange create : creates) {
+      deletes.add(
+          referenceDelete(
+              create.getNamedRef(),
+              create.getTargetHash().orElseThrow(IllegalStateException::new)));
+    }
+    changes = new ArrayList<>(deletes);
+    changes.add(referenceDelete(existing, commit2));
+    changes.add(referenceDelete(BranchName.of("bulk-refs-not-there"), commit1));
+
+    results = store().changeReferences(changes);
+    soft.assertThat(results.subList(0, deletes.size())).allMatch(ReferenceChangeResult::isSuccess);
+    soft.assertThat(results.get(deletes.size()).getFailure())
+        .get()
+        .isInstanceOf(ReferenceConflictException.class);
+    soft.assertThat(results.get(deletes.size() + 1).getFailure())
+        .get()
+        .isInstanceOf(ReferenceNotFoundException.class);
+
+    for (ReferenceChange delete : deletes) {
+      soft.assertThatThrownBy(
+              () -> store().hashOnReference(delete.getNamedRef(), Optional.empty(), emptyList()))
+          .isInstanceOf(ReferenceNotFoundException.class);
+    }
+    soft.assertThat(store().hashOnReference(existing, Optional.empty(), emptyList()))
+        .isEqualTo(commit1);
+
+    soft.assertThatIllegalArgumentException()
+        .isThrownBy(
+            () ->
+                store()
+                    .changeReferences(
+                        Arrays.asList(
+                            referenceCreate(BranchName.of("bulk-refs-dup"), Optional.empty()),
+                            referenceCreate(TagName.of("bulk-refs-dup"), Optional.empty()))));
+  }
 }
@@ -18,6 +18,7 @@ package org.projectnessie.versioned.transfer;
 import static java.lang.Integer.parseInt;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -183,6 +184,7 @@ public abstract class AbstractExportImport {
 
     when(exportPersist.config()).thenReturn(config);
     when(exportPersist.scanAllObjects(any())).thenReturn(exportScan);
+    when(exportPersist.scanAllObjects(any(), anyInt())).thenCallRealMethod();
 
     RepositoryLogic repositoryLogic = mock(RepositoryLogic.class);
     when(repositoryLogic.repositoryExists()).thenReturn(true);